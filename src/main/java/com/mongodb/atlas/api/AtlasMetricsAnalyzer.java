@@ -1,10 +1,17 @@
 package com.mongodb.atlas.api;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,11 +19,17 @@ import org.slf4j.LoggerFactory;
 import com.mongodb.atlas.api.charts.ApiVisualReporter;
 import com.mongodb.atlas.api.charts.StorageVisualReporter;
 import com.mongodb.atlas.api.clients.AtlasApiClient;
+import com.mongodb.atlas.api.clients.ProjectFanOut;
+import com.mongodb.atlas.api.config.AtlasTestConfig;
 import com.mongodb.atlas.api.csv.CsvExporter;
 import com.mongodb.atlas.api.csv.DetailedMetricsCsvExporter;
+import com.mongodb.atlas.api.http.ApiKey;
 import com.mongodb.atlas.api.metrics.MetricsCollector;
 import com.mongodb.atlas.api.metrics.MetricsReporter;
+import com.mongodb.atlas.api.metrics.LocalMetricsStore;
 import com.mongodb.atlas.api.metrics.MetricsStorage;
+import com.mongodb.atlas.api.metrics.MetricsStore;
+import com.mongodb.atlas.api.metrics.StoragePipeline;
 import com.mongodb.atlas.api.metrics.ProjectMetricsResult;
 import com.mongodb.atlas.api.util.MetricsUtils;
 
@@ -44,6 +57,10 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
     @Option(names = { "--apiPrivateKey" }, description = "Atlas API private key", required = false)
     private String apiPrivateKey;
     
+    @Option(names = { "--apiKeys" }, description = "additional API keys to spread requests across, each with its own rate limit "
+            + "(comma-separated publicKey:privateKey[:projectId|projectId...])", required = false)
+    private String apiKeys;
+    
     @Option(names = { "--includeProjectNames" }, description = "project names to be processed", required = false, split = ",")
     private Set<String> includeProjectNames;
     
@@ -90,13 +107,81 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
     @Option(names = { "--darkMode" }, description = "Enable dark mode for charts and HTML", required = false, defaultValue = "true")
     private boolean darkMode;
     
+    @Option(names = { "--hostParallelism" }, description = "MongoDB instances per project to collect concurrently (default 4; 1 collects them serially, as earlier versions did)", 
+            required = false, defaultValue = "4")
+    private int hostParallelism;
+    
+    @Option(names = { "--storageWriters" }, description = "background threads writing collected metrics to storage (0 stores on the collecting thread)", 
+            required = false, defaultValue = "2")
+    private int storageWriters;
+    
+    @Option(names = { "--storageQueueCapacity" }, description = "collected metric series that may wait for a storage writer before collection is slowed down", 
+            required = false, defaultValue = "64")
+    private int storageQueueCapacity;
+    
+    @Option(names = { "--storageFlushDocuments" }, description = "buffer this many metric documents across hosts and metrics before writing them in bulk (0 writes each batch immediately)", 
+            required = false, defaultValue = "5000")
+    private int storageFlushDocuments;
+    
+    @Option(names = { "--storageFlushIntervalMs" }, description = "longest time a buffered metric document waits before it is written", 
+            required = false, defaultValue = "1000")
+    private long storageFlushIntervalMs;
+    
+    @Option(names = { "--storageReadBatchSize" }, description = "stored metric documents fetched per round trip when reading for reports, charts and exports", 
+            required = false, defaultValue = "4096")
+    private int storageReadBatchSize;
+    
+    @Option(names = { "--storageReadWindow" }, description = "split stored metric reads into queries over time windows of this ISO-8601 duration, e.g. P1D", 
+            required = false)
+    private Duration storageReadWindow;
+    
+    @Option(names = { "--compressedChunks" }, description = "also store metrics as compressed hourly chunks next to the point documents and read raw ranges from them; adds about 7-13 bytes per stored point and a read-modify-write of the chunks on every insert", 
+            required = false, defaultValue = "false")
+    private boolean compressedChunks;
+    
+    @Option(names = { "--compressedChunkReads" }, negatable = true, description = "with --compressedChunks, read raw stored metrics from their compressed hourly chunks where these cover the range (--no-compressedChunkReads to read every point document)", 
+            required = false, defaultValue = "true")
+    private boolean compressedChunkReads;
+    
+    @Option(names = { "--backfillRollups" }, description = "recompute the hourly and daily rollups of stored metrics before reporting", 
+            required = false, defaultValue = "false")
+    private boolean backfillRollups;
+    
+    @Option(names = { "--rollupBackfillWindow" }, description = "only backfill rollups for metrics stored within this ISO-8601 duration, e.g. P90D", 
+            required = false, defaultValue = "P90D")
+    private Duration rollupBackfillWindow;
+    
+    @Option(names = { "--rollupBackfillParallelism" }, description = "number of hosts whose rollups are backfilled at the same time", 
+            required = false, defaultValue = "4")
+    private int rollupBackfillParallelism;
+    
+    @Option(names = { "--serverAggregation" }, negatable = true, description = "summarize stored metrics in MongoDB for reports instead of reading every data point (--no-serverAggregation to disable)", 
+            required = false, defaultValue = "true")
+    private boolean serverAggregation;
+    
+    @Option(names = { "--trackerSnapshotDir" }, description = "directory to keep a local timestamp tracker snapshot in for fast startup, e.g. ~/.atlas-metrics (not kept by default)", 
+            required = false)
+    private String trackerSnapshotDir;
+    
+    @Option(names = { "--reconcileTracker" }, description = "rebuild the timestamp tracker from stored metrics in the background (resumes an interrupted run)", 
+            required = false, defaultValue = "false")
+    private boolean reconcileTracker;
+    
+    @Option(names = { "--reconcileWindow" }, description = "only reconcile metrics stored within this ISO-8601 duration, e.g. P7D", 
+            required = false, defaultValue = "P7D")
+    private Duration reconcileWindow;
+    
+    @Option(names = { "--reconcileParallelism" }, description = "number of hosts reconciled at the same time", 
+            required = false, defaultValue = "4")
+    private int reconcileParallelism;
+    
     @Option(names = { "--debug" }, description = "Enable debug logging for troubleshooting", required = false, defaultValue = "false")
     private boolean debug;
     
     @Option(names = { "--interactive" }, description = "Enable interactive mode for long-running operations", required = false, defaultValue = "false")
     private boolean interactive;
     
-    // Storage options (automatically enabled when mongodbUri is provided)
+    // Storage options (automatically enabled when mongodbUri or localStorageDir is provided)
     
     @Option(names = { "--collect" }, description = "Only collect and store metrics without processing or reporting", required = false, defaultValue = "false")
     private boolean collect;
@@ -110,6 +195,9 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
     @Option(names = { "--mongodbCollection" }, description = "MongoDB collection name for metrics storage", required = false, defaultValue = "metrics")
     private String mongodbCollection;
     
+    @Option(names = { "--localStorageDir" }, description = "store metrics in local files under this directory instead of MongoDB, for running without a mongod", required = false)
+    private String localStorageDir;
+    
     @Option(names = { "--reportFromStorage" }, description = "Generate report from stored data instead of API", required = false, defaultValue = "false")
     private boolean reportFromStorage;
     
@@ -119,7 +207,8 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
     
     // Service components
     private AtlasApiClient apiClient;
-    private MetricsStorage metricsStorage;
+    private MetricsStore metricsStorage;
+    private CompletableFuture<Integer> trackerReconciliation;
     private MetricsCollector metricsCollector;
     private MetricsReporter metricsReporter;
     
@@ -127,28 +216,35 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
     public Integer call() throws Exception {
         
         // Validate options
-        if ((reportFromStorage || dataAvailabilityOnly) && (mongodbUri == null || mongodbUri.isEmpty())) {
-            logger.error("MongoDB URI is required when --reportFromStorage or --dataAvailabilityOnly is enabled");
+        boolean mongodbStorage = mongodbUri != null && !mongodbUri.isEmpty();
+        boolean localStorage = localStorageDir != null && !localStorageDir.isEmpty();
+        if (mongodbStorage && localStorage) {
+            logger.error("Use either --mongodbUri or --localStorageDir for metrics storage, not both");
+            return 1;
+        }
+        if ((reportFromStorage || dataAvailabilityOnly) && !mongodbStorage && !localStorage) {
+            logger.error("MongoDB URI or --localStorageDir is required when --reportFromStorage or --dataAvailabilityOnly is enabled");
             return 1;
         }
         
-        if (!reportFromStorage && !dataAvailabilityOnly && (apiPublicKey == null || apiPrivateKey == null)) {
+        List<ApiKey> keyPool;
+        try {
+            keyPool = buildKeyPool();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid --apiKeys: {}", e.getMessage());
+            return 1;
+        }
+        
+        if (!reportFromStorage && !dataAvailabilityOnly && keyPool.isEmpty()) {
             logger.error("Atlas API credentials are required when not using --reportFromStorage or --dataAvailabilityOnly");
             return 1;
         }
         
         // Initialize metrics storage if needed
-        boolean enableStorage = (mongodbUri != null && !mongodbUri.isEmpty());
-        if (enableStorage || reportFromStorage || dataAvailabilityOnly) {
-            if (mongodbUri == null || mongodbUri.isEmpty()) {
-                logger.error("MongoDB URI is required for storage operations");
-                return 1;
-            }
-            
+        boolean enableStorage = mongodbStorage || localStorage;
+        if (enableStorage) {
             try {
-                logger.info("Initializing metrics storage: database={}, collection={}", 
-                        mongodbDatabase, mongodbCollection);
-                this.metricsStorage = new MetricsStorage(mongodbUri, mongodbDatabase, mongodbCollection, interactive);
+                this.metricsStorage = localStorage ? openLocalStorage() : openMongodbStorage();
             } catch (Exception e) {
                 logger.error("Failed to initialize metrics storage: {}", e.getMessage(), e);
                 return 1;
@@ -158,7 +254,10 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
         // Initialize API client if not using storage-only mode
         if (!reportFromStorage && !dataAvailabilityOnly) {
             int debugLevel = debug ? 1 : 0;
-            this.apiClient = new AtlasApiClient(apiPublicKey, apiPrivateKey, debugLevel);
+            this.apiClient = new AtlasApiClient(keyPool, debugLevel);
+            if (keyPool.size() > 1) {
+                logger.info("Spreading API requests across {} keys", keyPool.size());
+            }
         }
         
         Map<String, ProjectMetricsResult> results = null;
@@ -173,7 +272,7 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
                 return 1;
             }
             
-            this.metricsReporter = new MetricsReporter(metricsStorage, metrics, false);
+            this.metricsReporter = newMetricsReporter();
             
             logger.info("Generating data availability report...");
             metricsReporter.generateDataAvailabilityReport(includeProjectNames);
@@ -186,7 +285,7 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
         else if (reportFromStorage) {
             logger.info("Generating report from stored data...");
             
-            this.metricsReporter = new MetricsReporter(metricsStorage, metrics, false);
+            this.metricsReporter = newMetricsReporter();
             
             // Use reportPeriod if specified, otherwise use all available data (null)
             String effectiveReportPeriod = reportPeriod != null ? reportPeriod : null;
@@ -242,7 +341,7 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
                     // Switch to storage-based reporting
                     if (metricsStorage == null) {
                         logger.error("❌ Cannot use storage-based reporting: MongoDB URI not provided");
-                        logger.error("💡 To analyze data beyond Atlas retention limits, provide --mongodbUri");
+                        logger.error("💡 To analyze data beyond Atlas retention limits, provide --mongodbUri or --localStorageDir");
                         logger.error("💡 Or adjust to compatible period/granularity:");
                         logger.error("   • For PT1M granularity: Use period ≤ PT48H (48 hours)");
                         logger.error("   • For PT1H granularity: Use period ≤ PT1512H (63 days)");  
@@ -253,7 +352,7 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
                     
                     // Use storage-based reporting instead
                     logger.info("Generating report from stored data...");
-                    this.metricsReporter = new MetricsReporter(metricsStorage, metrics, false);
+                    this.metricsReporter = newMetricsReporter();
                     results = metricsReporter.generateProjectMetricsReport(includeProjectNames, period);
                 } else {
                     logger.error("❌ {}", validationError);
@@ -268,9 +367,21 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
                 // Initialize the metrics collector with storage option
                 this.metricsCollector = new MetricsCollector(apiClient, metrics, period, granularity, 
                         metricsStorage, enableStorage, collect);
+                metricsCollector.setHostParallelism(hostParallelism);
+                
+                // Write to storage on background writers so storing overlaps with fetching
+                StoragePipeline storagePipeline = enableStorage && storageWriters > 0
+                        ? new StoragePipeline(metricsStorage, storageWriters, storageQueueCapacity) : null;
+                metricsCollector.setStoragePipeline(storagePipeline);
                 
                 // Collect metrics for all projects
-                results = metricsCollector.collectMetrics(includeProjectNames);
+                try {
+                    results = metricsCollector.collectMetrics(includeProjectNames);
+                } finally {
+                    if (storagePipeline != null) {
+                        storagePipeline.close();
+                    }
+                }
             }
             
             // If in collect-only mode, generate data availability report if storage is enabled, then exit
@@ -280,14 +391,12 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
                 // Generate data availability report when storage is available
                 if (metricsStorage != null) {
                     logger.info("Generating data availability report...");
-                    this.metricsReporter = new MetricsReporter(metricsStorage, metrics, false);
+                    this.metricsReporter = newMetricsReporter();
                     metricsReporter.generateDataAvailabilityReport(includeProjectNames);
                 }
                 
                 // Close the metrics storage if used
-                if (metricsStorage != null) {
-                    metricsStorage.close();
-                }
+                closeStorage();
                 
                 return 0;
             }
@@ -344,7 +453,7 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
             // Generate data availability report when storage is available
             if (metricsStorage != null) {
                 logger.info("Generating data availability report...");
-                this.metricsReporter = new MetricsReporter(metricsStorage, metrics, false);
+                this.metricsReporter = newMetricsReporter();
                 metricsReporter.generateDataAvailabilityReport(includeProjectNames);
             }
         }
@@ -391,13 +500,98 @@ public class AtlasMetricsAnalyzer implements Callable<Integer> {
         }
         
         // Close the metrics storage if used
-        if (metricsStorage != null) {
-            metricsStorage.close();
-        }
+        closeStorage();
         
         return 0;
     }
     
+    private MetricsReporter newMetricsReporter() {
+        MetricsReporter reporter = new MetricsReporter(metricsStorage, metrics, false, reportFanOut());
+        reporter.setServerSideAggregation(serverAggregation);
+        return reporter;
+    }
+    
+    private MetricsStorage openMongodbStorage() throws InterruptedException {
+        logger.info("Initializing metrics storage: database={}, collection={}", 
+                mongodbDatabase, mongodbCollection);
+        MetricsStorage storage = new MetricsStorage(mongodbUri, mongodbDatabase, mongodbCollection, interactive,
+                trackerSnapshotFile());
+        if (storageFlushDocuments > 0 && !reportFromStorage && !dataAvailabilityOnly) {
+            storage.enableWriteBehind(storageFlushDocuments, storageFlushIntervalMs);
+        }
+        storage.setReadBatchSize(storageReadBatchSize);
+        storage.setReadChunkWindow(storageReadWindow);
+        if (compressedChunks) {
+            storage.enableCompressedChunks();
+        }
+        storage.setReadCompressedChunks(compressedChunkReads);
+        if (reconcileTracker) {
+            trackerReconciliation = storage.reconcileTracker(reconcileWindow, reconcileParallelism);
+        }
+        if (backfillRollups) {
+            storage.backfillRollups(rollupBackfillWindow, rollupBackfillParallelism);
+        }
+        return storage;
+    }
+    
+    /**
+     * Local files need no mongod; there are no rollups or tracker to maintain
+     */
+    private LocalMetricsStore openLocalStorage() throws IOException {
+        logger.info("Initializing local metrics storage: directory={}", localStorageDir);
+        LocalMetricsStore storage = new LocalMetricsStore(Paths.get(localStorageDir));
+        storage.setReadBatchSize(storageReadBatchSize);
+        return storage;
+    }
+    
+    /**
+     * Snapshot file for the storage's timestamp tracker, one per cluster, database and collection
+     */
+    private Path trackerSnapshotFile() {
+        if (trackerSnapshotDir == null || trackerSnapshotDir.isEmpty()) {
+            return null;
+        }
+        String name = String.format("%s.%s-%08x.tracker", mongodbDatabase, mongodbCollection, mongodbUri.hashCode());
+        return Paths.get(trackerSnapshotDir, name);
+    }
+    
+    /**
+     * Wait for a tracker reconciliation still running, then close the metrics storage
+     */
+    private void closeStorage() {
+        if (metricsStorage == null) {
+            return;
+        }
+        if (trackerReconciliation != null) {
+            try {
+                logger.info("Timestamp tracker reconciliation updated {} entries", trackerReconciliation.join());
+            } catch (CompletionException e) {
+                logger.error("Timestamp tracker reconciliation failed: {}", e.getCause().getMessage());
+            }
+        }
+        metricsStorage.close();
+    }
+    
+    /**
+     * Storage reports make no API calls; without an API client they get their own threads
+     */
+    private ProjectFanOut reportFanOut() {
+        return apiClient != null ? apiClient.projectFanOut()
+                : ProjectFanOut.withThreads(AtlasTestConfig.getInstance().getProjectFanOutParallelism());
+    }
+    
+    /**
+     * The --apiPublicKey/--apiPrivateKey pair, if given, followed by any --apiKeys entries
+     */
+    private List<ApiKey> buildKeyPool() {
+        List<ApiKey> keys = new ArrayList<>();
+        if (apiPublicKey != null && apiPrivateKey != null) {
+            keys.add(new ApiKey(apiPublicKey, apiPrivateKey));
+        }
+        keys.addAll(ApiKey.parseList(apiKeys));
+        return keys;
+    }
+    
     public static void main(String[] args) {
         AtlasMetricsAnalyzer client = new AtlasMetricsAnalyzer();
         Logger logger = LoggerFactory.getLogger(AtlasMetricsAnalyzer.class);
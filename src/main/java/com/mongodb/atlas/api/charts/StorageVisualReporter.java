@@ -2,11 +2,9 @@ package com.mongodb.atlas.api.charts;
 
 import java.time.Instant;
 import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
-import org.bson.Document;
 import org.jfree.chart.JFreeChart;
 import org.jfree.data.time.Millisecond;
 import org.jfree.data.time.TimeSeries;
@@ -14,7 +12,8 @@ import org.jfree.data.time.TimeSeriesCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.mongodb.atlas.api.metrics.MetricsStorage;
+import com.mongodb.atlas.api.metrics.MetricsRollups;
+import com.mongodb.atlas.api.metrics.MetricsStore;
 import com.mongodb.atlas.api.metrics.ProjectMetricsResult;
 import com.mongodb.atlas.api.util.MetricsUtils;
 
@@ -26,13 +25,13 @@ public class StorageVisualReporter extends BaseVisualReporter {
     
     private static final Logger logger = LoggerFactory.getLogger(StorageVisualReporter.class);
     
-    private final MetricsStorage metricsStorage;
+    private final MetricsStore metricsStorage;
     
-    public StorageVisualReporter(MetricsStorage metricsStorage, String outputDirectory) {
+    public StorageVisualReporter(MetricsStore metricsStorage, String outputDirectory) {
         this(metricsStorage, outputDirectory, 600, 300, false);
     }
     
-    public StorageVisualReporter(MetricsStorage metricsStorage, String outputDirectory, 
+    public StorageVisualReporter(MetricsStore metricsStorage, String outputDirectory, 
             int chartWidth, int chartHeight, boolean darkMode) {
         super(outputDirectory, chartWidth, chartHeight, darkMode);
         this.metricsStorage = metricsStorage;
@@ -111,71 +110,51 @@ public class StorageVisualReporter extends BaseVisualReporter {
             logger.debug("Querying storage for project={}, metric={}, timeRange={} to {} (expected: {} hours)", 
                     projectName, metricName, startTime, endTime, hours);
             
-            // Get all stored data for this project and metric
-            List<Document> documents = metricsStorage.getMetrics(
-                    projectName, null, metricName, startTime, endTime);
-            
-            logger.debug("Found {} stored data points for project {} metric {}", 
-                    documents.size(), projectName, metricName);
-            
-            if (documents.isEmpty()) {
+            // Stream the stored data for this project and metric, from rollups when the chart
+            // is too narrow to show every point; their bucket maxima keep spikes visible
+            MetricsRollups.Resolution resolution = metricsStorage.chooseResolution(startTime, endTime, chartWidth);
+            Map<String, TimeSeries> seriesByName = new LinkedHashMap<>();
+            long[] actualRange = { Long.MAX_VALUE, Long.MIN_VALUE };
+            metricsStorage.streamMetrics(projectName, null, metricName, startTime, endTime, resolution,
+                    MetricsRollups.Statistic.MAX, (host, partition, timestamps, values, length) -> {
+                        // Separate time series per host and partition
+                        String seriesName = partition != null && !partition.isEmpty() ? host + ":" + partition : host;
+                        TimeSeries timeSeries = seriesByName.computeIfAbsent(seriesName, TimeSeries::new);
+                        for (int i = 0; i < length; i++) {
+                            timeSeries.add(new Millisecond(new Date(timestamps[i])), values[i]);
+                        }
+                        actualRange[0] = Math.min(actualRange[0], timestamps[0]);
+                        actualRange[1] = Math.max(actualRange[1], timestamps[length - 1]);
+                    });
+            
+            if (seriesByName.isEmpty()) {
                 logger.warn("No stored data found for project={}, metric={} in timeRange={} to {}", 
                         projectName, metricName, startTime, endTime);
                 return dataset;
             }
             
             // Debug: Check actual time range of retrieved data
-            Date earliestTimestamp = null;
-            Date latestTimestamp = null;
-            
-            for (Document doc : documents) {
-                Date timestamp = doc.getDate("timestamp");
-                if (earliestTimestamp == null || timestamp.before(earliestTimestamp)) {
-                    earliestTimestamp = timestamp;
-                }
-                if (latestTimestamp == null || timestamp.after(latestTimestamp)) {
-                    latestTimestamp = timestamp;
-                }
-            }
+            long actualHours = (actualRange[1] - actualRange[0]) / (1000 * 60 * 60);
+            logger.debug("Actual data time range at {} resolution: {} to {} ({} hours)", 
+                    resolution, new Date(actualRange[0]), new Date(actualRange[1]), actualHours);
             
-            if (earliestTimestamp != null && latestTimestamp != null) {
-                long actualHours = (latestTimestamp.getTime() - earliestTimestamp.getTime()) / (1000 * 60 * 60);
-                logger.debug("Actual data time range: {} to {} ({} hours)", 
-                        earliestTimestamp, latestTimestamp, actualHours);
-                
-                // Check if we got the expected time range
-                if (actualHours < hours * 0.8) { // If we got less than 80% of expected time
-                    logger.warn("Retrieved data covers only {} hours but expected {} hours", actualHours, hours);
-                }
+            // Check if we got the expected time range
+            if (actualHours < hours * 0.8) { // If we got less than 80% of expected time
+                logger.warn("Retrieved data covers only {} hours but expected {} hours", actualHours, hours);
             }
             
-            // Group by host and partition (if applicable)
-            Map<String, List<Document>> seriesGroups = groupDocumentsForSeries(documents);
-            
-            logger.debug("Grouped data into {} series", seriesGroups.size());
+            logger.debug("Grouped data into {} series", seriesByName.size());
             
-            // Create time series for each group
-            for (Map.Entry<String, List<Document>> entry : seriesGroups.entrySet()) {
-                String seriesName = entry.getKey();
-                List<Document> seriesDocuments = entry.getValue();
+            for (TimeSeries timeSeries : seriesByName.values()) {
+                dataset.addSeries(timeSeries);
                 
-                TimeSeries timeSeries = createTimeSeriesFromDocuments(seriesName, seriesDocuments);
+                // Debug individual series time range
+                Date seriesStart = ((Millisecond)timeSeries.getDataItem(0).getPeriod()).getStart();
+                Date seriesEnd = ((Millisecond)timeSeries.getDataItem(timeSeries.getItemCount()-1).getPeriod()).getStart();
+                long seriesHours = (seriesEnd.getTime() - seriesStart.getTime()) / (1000 * 60 * 60);
                 
-                if (timeSeries.getItemCount() > 0) {
-                    dataset.addSeries(timeSeries);
-                    
-                    // Debug individual series time range
-                    if (timeSeries.getItemCount() > 0) {
-                        Date seriesStart = ((Millisecond)timeSeries.getDataItem(0).getPeriod()).getStart();
-                        Date seriesEnd = ((Millisecond)timeSeries.getDataItem(timeSeries.getItemCount()-1).getPeriod()).getStart();
-                        long seriesHours = (seriesEnd.getTime() - seriesStart.getTime()) / (1000 * 60 * 60);
-                        
-                        logger.debug("Added series '{}' with {} data points, time range: {} to {} ({} hours)", 
-                                seriesName, timeSeries.getItemCount(), seriesStart, seriesEnd, seriesHours);
-                    }
-                } else {
-                    logger.warn("Series '{}' has no data points", seriesName);
-                }
+                logger.debug("Added series '{}' with {} data points, time range: {} to {} ({} hours)", 
+                        timeSeries.getKey(), timeSeries.getItemCount(), seriesStart, seriesEnd, seriesHours);
             }
             
             // Log summary instead of per-series details
@@ -194,46 +173,4 @@ public class StorageVisualReporter extends BaseVisualReporter {
         
         return dataset;
     }
-    
-    /**
-     * Group documents for creating separate time series
-     */
-    private Map<String, List<Document>> groupDocumentsForSeries(List<Document> documents) {
-        return documents.stream()
-                .collect(Collectors.groupingBy(doc -> {
-                    Document metadata = doc.get("metadata", Document.class);
-                    String host = metadata.getString("host");
-                    String partition = metadata.getString("partition");
-                    
-                    // Create series name
-                    if (partition != null && !partition.isEmpty()) {
-                        return host + ":" + partition;
-                    } else {
-                        return host;
-                    }
-                }));
-    }
-    
-    /**
-     * Create a time series from a list of documents
-     */
-    private TimeSeries createTimeSeriesFromDocuments(String seriesName, List<Document> documents) {
-        TimeSeries timeSeries = new TimeSeries(seriesName);
-        
-        // Sort documents by timestamp
-        documents.sort((d1, d2) -> d1.getDate("timestamp").compareTo(d2.getDate("timestamp")));
-        
-        // Add data points
-        for (Document doc : documents) {
-            Date timestamp = doc.getDate("timestamp");
-            Object valueObj = doc.get("value");
-            
-            if (valueObj instanceof Number) {
-                double value = ((Number) valueObj).doubleValue();
-                timeSeries.add(new Millisecond(timestamp), value);
-            }
-        }
-        
-        return timeSeries;
-    }
 }
\ No newline at end of file
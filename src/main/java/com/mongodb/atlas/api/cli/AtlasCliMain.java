@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -190,6 +191,8 @@ public class AtlasCliMain implements Callable<Integer> {
         } catch (Exception ex) {
             System.err.println("Error: " + ex.getMessage());
             exitCode = 1;
+        } finally {
+            GlobalConfig.closeApiBases();
         }
         
         System.exit(exitCode);
@@ -341,7 +344,7 @@ public class AtlasCliMain implements Callable<Integer> {
         } else if (apiPublicKey != null && apiPrivateKey != null) {
             // Auto-discover projects if API credentials are available
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(apiPublicKey, apiPrivateKey);
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(apiPublicKey, apiPrivateKey);
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 List<Map<String, Object>> projects = projectsClient.getAllProjects();
                 
@@ -364,7 +367,7 @@ public class AtlasCliMain implements Callable<Integer> {
     private String suggestClusterName() {
         try {
             // Try to get existing clusters to suggest a unique name
-            AtlasApiBase apiBase = new AtlasApiBase(apiPublicKey, apiPrivateKey);
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(apiPublicKey, apiPrivateKey);
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             List<Map<String, Object>> projects = projectsClient.getAllProjects();
             
@@ -418,7 +421,7 @@ public class AtlasCliMain implements Callable<Integer> {
             
             // Fetch available projects
             System.out.println("🔄 Fetching your Atlas projects...");
-            AtlasApiBase apiBase = new AtlasApiBase(publicKey, privateKey);
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(publicKey, privateKey);
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             List<Map<String, Object>> projects = projectsClient.getAllProjects();
             
@@ -759,7 +762,7 @@ public class AtlasCliMain implements Callable<Integer> {
                 return;
             }
 
-            AtlasApiBase apiBase = new AtlasApiBase(publicKey, privateKey);
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(publicKey, privateKey);
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             AtlasClustersClient clustersClient = new AtlasClustersClient(apiBase);
 
@@ -1260,7 +1263,7 @@ public class AtlasCliMain implements Callable<Integer> {
                         String privateKey = apiPrivateKey != null ? apiPrivateKey : System.getProperty("atlas.api.private.key");
                         
                         if (publicKey != null && privateKey != null) {
-                            AtlasApiBase apiBase = new AtlasApiBase(publicKey, privateKey);
+                            AtlasApiBase apiBase = GlobalConfig.getApiBase(publicKey, privateKey);
                             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                             List<Map<String, Object>> projects = projectsClient.getAllProjects();
                             
@@ -1544,7 +1547,7 @@ public class AtlasCliMain implements Callable<Integer> {
                     String privateKey = apiPrivateKey != null ? apiPrivateKey : System.getProperty("atlas.api.private.key");
 
                     if (publicKey != null && privateKey != null) {
-                        AtlasApiBase apiBase = new AtlasApiBase(publicKey, privateKey);
+                        AtlasApiBase apiBase = GlobalConfig.getApiBase(publicKey, privateKey);
                         AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                         List<Map<String, Object>> projects = projectsClient.getAllProjects();
 
@@ -1704,7 +1707,7 @@ public class AtlasCliMain implements Callable<Integer> {
                 return;
             }
 
-            AtlasApiBase apiBase = new AtlasApiBase(publicKey, privateKey);
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(publicKey, privateKey);
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             AtlasNetworkAccessClient networkClient = new AtlasNetworkAccessClient(apiBase);
 
@@ -1972,6 +1975,29 @@ public class AtlasCliMain implements Callable<Integer> {
         private static String orgId;
         private static OutputFormat format = OutputFormat.TABLE;
         private static AtlasCliMain rootCommand;
+        private static final Map<String, AtlasApiBase> apiBases = new ConcurrentHashMap<>();
+
+        /**
+         * API base shared by every command of this run that uses the same keys, so its
+         * connection pool and request threads are created once; closed on exit
+         */
+        public static AtlasApiBase getApiBase(String publicKey, String privateKey) {
+            return apiBases.computeIfAbsent(publicKey + ":" + privateKey, key -> new AtlasApiBase(publicKey, privateKey));
+        }
+
+        /**
+         * Close the API bases handed out by {@link #getApiBase}
+         */
+        public static void closeApiBases() {
+            for (AtlasApiBase apiBase : apiBases.values()) {
+                try {
+                    apiBase.close();
+                } catch (RuntimeException e) {
+                    System.err.println("Warning: Could not close API client: " + e.getMessage());
+                }
+            }
+            apiBases.clear();
+        }
 
         public static AtlasTestConfig getAtlasConfig() {
             boolean systemPropertiesChanged = false;
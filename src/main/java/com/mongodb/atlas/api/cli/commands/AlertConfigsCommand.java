@@ -68,7 +68,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
                     return 1;
                 }
 
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 List<Map<String, Object>> configs = configClient.getAlertConfigurations(effectiveProjectId);
@@ -127,7 +127,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 Map<String, Object> alertConfig = configClient.getAlertConfiguration(projectId, alertConfigId);
@@ -180,7 +180,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 String jsonContent = Files.readString(configFile.toPath());
@@ -218,7 +218,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 String jsonContent = Files.readString(configFile.toPath());
@@ -253,7 +253,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 Map<String, Object> result = configClient.enableAlertConfiguration(projectId, alertConfigId);
@@ -283,7 +283,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 Map<String, Object> result = configClient.disableAlertConfiguration(projectId, alertConfigId);
@@ -326,7 +326,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
                 }
 
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 configClient.deleteAlertConfiguration(projectId, alertConfigId);
@@ -348,7 +348,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 List<String> fieldNames = configClient.getMatcherFieldNames();
@@ -389,7 +389,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 List<Map<String, Object>> notifications = List.of();
@@ -439,7 +439,7 @@ public class AlertConfigsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertConfigurationsClient configClient = new AtlasAlertConfigurationsClient(apiBase);
 
                 List<Map<String, Object>> notifications = List.of();
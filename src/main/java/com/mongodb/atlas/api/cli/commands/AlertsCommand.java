@@ -7,9 +7,11 @@ import picocli.CommandLine.Parameters;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.atlas.api.cli.AtlasCliMain;
+import com.mongodb.atlas.api.cli.utils.ProjectSelectionUtils;
 import com.mongodb.atlas.api.clients.AtlasAlertsClient;
 import com.mongodb.atlas.api.clients.AtlasApiBase;
 import com.mongodb.atlas.api.clients.AtlasProjectsClient;
+import com.mongodb.atlas.api.clients.ProjectFanOut;
 import com.mongodb.atlas.api.config.AtlasTestConfig;
 
 import java.io.IOException;
@@ -118,7 +120,7 @@ public class AlertsCommand implements Callable<Integer> {
                     return 1;
                 }
                 
-                AtlasApiBase apiBase = new AtlasApiBase(apiPublicKey, apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(apiPublicKey, apiPrivateKey);
                 
                 // Get projects to process
                 List<String> projectsToProcess = new ArrayList<>();
@@ -179,24 +181,27 @@ public class AlertsCommand implements Callable<Integer> {
                     }
                 }
                 
-                for (String pid : projectsToProcess) {
-                    try {
-                        List<Map<String, Object>> projectAlerts = alertsClient.getProjectAlerts(pid, status);
+                // Fetch all projects concurrently; results are merged here as each one completes
+                new ProjectFanOut(apiBase).forEach(ProjectSelectionUtils.projectsByName(projectsToProcess, projectIdToName),
+                        (projectName, pid) -> alertsClient.getProjectAlerts(pid, status), outcome -> {
+                    String pid = outcome.getProjectId();
+                    if (!outcome.isSuccess()) {
                         if (debug) {
-                            System.err.println("DEBUG: Got " + projectAlerts.size() + " alerts from project " + pid + " (" + projectIdToName.get(pid) + ")");
-                        }
-                        // Add project context to each alert
-                        for (Map<String, Object> alert : projectAlerts) {
-                            alert.put("_projectId", pid);
-                            alert.put("_projectName", projectIdToName.get(pid));
-                        }
-                        allAlerts.addAll(projectAlerts);
-                    } catch (Exception e) {
-                        if (debug) {
-                            System.err.println("Warning: Failed to get alerts for project " + pid + ": " + e.getMessage());
+                            System.err.println("Warning: Failed to get alerts for project " + pid + ": " + outcome.getError().getMessage());
                         }
+                        return;
                     }
-                }
+                    List<Map<String, Object>> projectAlerts = outcome.getValue();
+                    if (debug) {
+                        System.err.println("DEBUG: Got " + projectAlerts.size() + " alerts from project " + pid + " (" + projectIdToName.get(pid) + ")");
+                    }
+                    // Add project context to each alert
+                    for (Map<String, Object> alert : projectAlerts) {
+                        alert.put("_projectId", pid);
+                        alert.put("_projectName", projectIdToName.get(pid));
+                    }
+                    allAlerts.addAll(projectAlerts);
+                });
 
                 // Sort alerts by created timestamp (descending - newest first)
                 Collections.sort(allAlerts, new Comparator<Map<String, Object>>() {
@@ -651,7 +656,7 @@ public class AlertsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertsClient alertsClient = new AtlasAlertsClient(apiBase);
 
                 Map<String, Object> alert = alertsClient.getAlert(projectId, alertId);
@@ -715,7 +720,7 @@ public class AlertsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertsClient alertsClient = new AtlasAlertsClient(apiBase);
 
                 Map<String, Object> result;
@@ -757,7 +762,7 @@ public class AlertsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertsClient alertsClient = new AtlasAlertsClient(apiBase);
 
                 Map<String, Object> result = alertsClient.unacknowledgeAlert(projectId, alertId);
@@ -790,7 +795,7 @@ public class AlertsCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasAlertsClient alertsClient = new AtlasAlertsClient(apiBase);
 
                 List<Map<String, Object>> alerts = alertsClient.getAlertsForConfiguration(projectId, alertConfigId);
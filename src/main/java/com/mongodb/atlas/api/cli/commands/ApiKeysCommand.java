@@ -55,7 +55,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 List<Map<String, Object>> apiKeys = client.getOrganizationAPIKeys(effectiveOrgId);
@@ -98,7 +98,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 Map<String, Object> apiKey = client.getOrganizationAPIKey(effectiveOrgId, apiKeyId);
@@ -147,7 +147,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 System.out.println("🚀 Creating API key '" + description + "'...");
@@ -209,7 +209,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 // Get current API key details
@@ -276,7 +276,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 System.out.println("🗑️ Deleting API key '" + apiKeyId + "'...");
@@ -326,7 +326,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 if (list) {
@@ -402,7 +402,7 @@ public class ApiKeysCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProgrammaticAPIKeysClient client = new AtlasProgrammaticAPIKeysClient(apiBase);
                 
                 System.out.println("📋 Assigning API key '" + apiKeyId + "' to project '" + projectId + "'...");
@@ -101,7 +101,7 @@ public class ClustersCommand implements Callable<Integer> {
             // 3. Try to resolve project names to IDs
             if (rootCmd.includeProjectNames != null && !rootCmd.includeProjectNames.isEmpty()) {
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                     List<Map<String, Object>> projects = projectsClient.getAllProjects();
                     
@@ -118,7 +118,7 @@ public class ClustersCommand implements Callable<Integer> {
             
             // 4. Auto-discover if only one project available
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 List<Map<String, Object>> projects = projectsClient.getAllProjects();
                 
@@ -151,7 +151,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 
                 List<Map<String, Object>> allClusters = new ArrayList<>();
                 
@@ -305,7 +305,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 AtlasClustersClient clustersClient = new AtlasClustersClient(apiBase);
                 
@@ -505,7 +505,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasClustersClient client = new AtlasClustersClient(apiBase);
                 
                 Map<String, Object> cluster = client.getCluster(effectiveProjectId, clusterName);
@@ -581,7 +581,7 @@ public class ClustersCommand implements Callable<Integer> {
             // 3. Try to resolve project names to IDs
             if (rootCmd.includeProjectNames != null && !rootCmd.includeProjectNames.isEmpty()) {
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                     List<Map<String, Object>> projects = projectsClient.getAllProjects();
                     
@@ -598,7 +598,7 @@ public class ClustersCommand implements Callable<Integer> {
             
             // 4. Auto-discover if only one project available
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 List<Map<String, Object>> projects = projectsClient.getAllProjects();
                 
@@ -631,7 +631,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasClustersClient client = new AtlasClustersClient(apiBase);
                 
                 String clusterType = sharded ? (asymmetric ? "asymmetric sharded cluster" : "sharded cluster") : "replica set cluster";
@@ -757,7 +757,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasClustersClient client = new AtlasClustersClient(apiBase);
                 
                 System.out.println("🔧 Updating cluster '" + clusterName + "'...");
@@ -825,7 +825,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasClustersClient dedicatedClient = new AtlasClustersClient(apiBase);
                 AtlasFlexClustersClient flexClient = new AtlasFlexClustersClient(apiBase);
 
@@ -1099,7 +1099,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasClustersClient client = new AtlasClustersClient(apiBase);
                 
                 Map<String, Object> cluster = client.getCluster(effectiveProjectId, clusterName);
@@ -1176,7 +1176,7 @@ public class ClustersCommand implements Callable<Integer> {
             
             if (rootCmd.includeProjectNames != null && !rootCmd.includeProjectNames.isEmpty()) {
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                     List<Map<String, Object>> projects = projectsClient.getAllProjects();
                     
@@ -1192,7 +1192,7 @@ public class ClustersCommand implements Callable<Integer> {
             }
             
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 List<Map<String, Object>> projects = projectsClient.getAllProjects();
                 
@@ -1253,7 +1253,7 @@ public class ClustersCommand implements Callable<Integer> {
                 System.out.println("   Region: " + region);
                 System.out.println("   Cloud Provider: " + cloudProvider);
 
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasClustersClient clustersClient = new AtlasClustersClient(apiBase);
 
                 Map<String, Object> result = clustersClient.createAsymmetricShardedClusterSimple(
@@ -53,7 +53,7 @@ public class FlexClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasFlexClustersClient client = new AtlasFlexClustersClient(apiBase);
                 
                 List<Map<String, Object>> clusters = client.getFlexClusters(effectiveProjectId);
@@ -96,7 +96,7 @@ public class FlexClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasFlexClustersClient client = new AtlasFlexClustersClient(apiBase);
                 
                 Map<String, Object> cluster = client.getFlexCluster(effectiveProjectId, clusterName);
@@ -152,7 +152,7 @@ public class FlexClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasFlexClustersClient client = new AtlasFlexClustersClient(apiBase);
                 
                 System.out.println("🚀 Creating Flex cluster '" + clusterName + "'...");
@@ -221,7 +221,7 @@ public class FlexClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasFlexClustersClient client = new AtlasFlexClustersClient(apiBase);
                 
                 System.out.println("🗑️ Deleting Flex cluster '" + clusterName + "'...");
@@ -267,7 +267,7 @@ public class FlexClustersCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasFlexClustersClient client = new AtlasFlexClustersClient(apiBase);
                 
                 Map<String, Object> cluster = client.getFlexCluster(effectiveProjectId, clusterName);
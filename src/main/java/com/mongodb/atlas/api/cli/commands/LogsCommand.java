@@ -15,6 +15,7 @@ import com.mongodb.atlas.api.cli.utils.OutputFormatter;
 import com.mongodb.atlas.api.cli.utils.ProjectSelectionUtils;
 import com.mongodb.atlas.api.config.AtlasTestConfig;
 import com.mongodb.atlas.api.logs.AtlasLogType;
+import com.mongodb.atlas.api.model.AtlasCluster;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -97,7 +98,7 @@ public class LogsCommand implements Callable<Integer> {
             // 3. Try to resolve project names to IDs
             if (rootCmd.includeProjectNames != null && !rootCmd.includeProjectNames.isEmpty()) {
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                     List<Map<String, Object>> projects = projectsClient.getAllProjects();
                     
@@ -121,7 +122,7 @@ public class LogsCommand implements Callable<Integer> {
                 System.out.println("🏢 Project Selection");
                 System.out.println("─".repeat(30));
                 
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 
                 List<Map<String, Object>> projects = projectsClient.getAllProjects();
@@ -179,7 +180,7 @@ public class LogsCommand implements Callable<Integer> {
         private String selectClusterInteractively(Scanner scanner, AtlasApiClient apiClient, String projectId) {
             try {
                 System.out.println("🔍 Available clusters:");
-                List<Map<String, Object>> clusters = apiClient.clusters().getClusters(projectId);
+                List<AtlasCluster> clusters = apiClient.clusters().getAtlasClusters(projectId);
                 
                 if (clusters.isEmpty()) {
                     System.err.println("❌ No clusters found in project " + projectId);
@@ -188,15 +189,15 @@ public class LogsCommand implements Callable<Integer> {
 
                 // Auto-select if only one cluster
                 if (clusters.size() == 1) {
-                    String clusterName = (String) clusters.get(0).get("name");
-                    String state = (String) clusters.get(0).get("stateName");
+                    String clusterName = clusters.get(0).getName();
+                    String state = clusters.get(0).getStateName();
                     System.out.println("✅ Auto-selected cluster: " + clusterName + " (" + state + ")");
                     return clusterName;
                 }
 
                 for (int i = 0; i < clusters.size(); i++) {
-                    String name = (String) clusters.get(i).get("name");
-                    String state = (String) clusters.get(i).get("stateName");
+                    String name = clusters.get(i).getName();
+                    String state = clusters.get(i).getStateName();
                     System.out.printf("  %d. %s (%s)%n", i + 1, name, state);
                 }
 
@@ -211,7 +212,7 @@ public class LogsCommand implements Callable<Integer> {
                     try {
                         int index = Integer.parseInt(choice) - 1;
                         if (index >= 0 && index < clusters.size()) {
-                            return (String) clusters.get(index).get("name");
+                            return clusters.get(index).getName();
                         } else {
                             System.err.println("❌ Invalid selection. Please choose a number between 1 and " + clusters.size());
                         }
@@ -249,8 +250,7 @@ public class LogsCommand implements Callable<Integer> {
                 return 1;
             }
 
-            try {
-                AtlasApiClient apiClient = new AtlasApiClient(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+            try (AtlasApiClient apiClient = new AtlasApiClient(rootCmd.apiPublicKey, rootCmd.apiPrivateKey)) {
                 AtlasLogsClient logsClient = apiClient.logs();
 
                 // Parse dates if provided
@@ -344,8 +344,7 @@ public class LogsCommand implements Callable<Integer> {
         private Integer runInteractiveDownload(AtlasCliMain rootCmd) {
             Scanner scanner = new Scanner(System.in);
             
-            try {
-                AtlasApiClient apiClient = new AtlasApiClient(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+            try (AtlasApiClient apiClient = new AtlasApiClient(rootCmd.apiPublicKey, rootCmd.apiPrivateKey)) {
                 AtlasLogsClient logsClient = apiClient.logs();
 
                 System.out.println("📥 Interactive Log Download");
@@ -632,8 +631,7 @@ public class LogsCommand implements Callable<Integer> {
                 return 1;
             }
 
-            try {
-                AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey());
+            try (AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey())) {
                 AtlasLogsClient logsClient = apiClient.logs();
 
                 System.out.println("📊 Available log types for cluster: " + clusterName);
@@ -684,8 +682,7 @@ public class LogsCommand implements Callable<Integer> {
         private Integer runInteractiveList(AtlasTestConfig config) {
             Scanner scanner = new Scanner(System.in);
             
-            try {
-                AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey());
+            try (AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey())) {
                 AtlasLogsClient logsClient = apiClient.logs();
 
                 System.out.println("📊 Interactive Log Type Listing");
@@ -704,7 +701,7 @@ public class LogsCommand implements Callable<Integer> {
                 if (selectedCluster == null || selectedCluster.trim().isEmpty()) {
                     System.out.println("🔍 Available clusters:");
                     try {
-                        List<Map<String, Object>> clusters = apiClient.clusters().getClusters(selectedProjectId);
+                        List<AtlasCluster> clusters = apiClient.clusters().getAtlasClusters(selectedProjectId);
                         if (clusters.isEmpty()) {
                             System.out.println("⚠️  No clusters found in project " + selectedProjectId);
                             return 1;
@@ -712,14 +709,14 @@ public class LogsCommand implements Callable<Integer> {
 
                         // Auto-select if only one cluster
                         if (clusters.size() == 1) {
-                            String clusterName = (String) clusters.get(0).get("name");
-                            String state = (String) clusters.get(0).get("stateName");
+                            String clusterName = clusters.get(0).getName();
+                            String state = clusters.get(0).getStateName();
                             System.out.println("✅ Auto-selected cluster: " + clusterName + " (" + state + ")");
                             selectedCluster = clusterName;
                         } else {
                             for (int i = 0; i < clusters.size(); i++) {
-                                String name = (String) clusters.get(i).get("name");
-                                String state = (String) clusters.get(i).get("stateName");
+                                String name = clusters.get(i).getName();
+                                String state = clusters.get(i).getStateName();
                                 System.out.printf("  %d. %s (%s)%n", i + 1, name, state);
                             }
 
@@ -729,7 +726,7 @@ public class LogsCommand implements Callable<Integer> {
                             try {
                                 int index = Integer.parseInt(choice) - 1;
                                 if (index >= 0 && index < clusters.size()) {
-                                    selectedCluster = (String) clusters.get(index).get("name");
+                                    selectedCluster = clusters.get(index).getName();
                                 } else {
                                     System.err.println("❌ Invalid selection");
                                     return 1;
@@ -837,8 +834,7 @@ public class LogsCommand implements Callable<Integer> {
                 return 1;
             }
 
-            try {
-                AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey());
+            try (AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey())) {
                 AtlasLogsClient logsClient = apiClient.logs();
 
                 System.out.println("🔍 Fetching database access logs for cluster: " + clusterName);
@@ -873,8 +869,7 @@ public class LogsCommand implements Callable<Integer> {
         private Integer runInteractiveAccessLogs(AtlasTestConfig config) {
             Scanner scanner = new Scanner(System.in);
             
-            try {
-                AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey());
+            try (AtlasApiClient apiClient = new AtlasApiClient(config.getApiPublicKey(), config.getApiPrivateKey())) {
                 AtlasLogsClient logsClient = apiClient.logs();
 
                 System.out.println("🔐 Interactive Access Logs Viewer");
@@ -893,7 +888,7 @@ public class LogsCommand implements Callable<Integer> {
                 if (selectedCluster == null || selectedCluster.trim().isEmpty()) {
                     System.out.println("🔍 Available clusters:");
                     try {
-                        List<Map<String, Object>> clusters = apiClient.clusters().getClusters(selectedProjectId);
+                        List<AtlasCluster> clusters = apiClient.clusters().getAtlasClusters(selectedProjectId);
                         if (clusters.isEmpty()) {
                             System.out.println("⚠️  No clusters found in project " + selectedProjectId);
                             return 1;
@@ -901,14 +896,14 @@ public class LogsCommand implements Callable<Integer> {
 
                         // Auto-select if only one cluster
                         if (clusters.size() == 1) {
-                            String clusterName = (String) clusters.get(0).get("name");
-                            String state = (String) clusters.get(0).get("stateName");
+                            String clusterName = clusters.get(0).getName();
+                            String state = clusters.get(0).getStateName();
                             System.out.println("✅ Auto-selected cluster: " + clusterName + " (" + state + ")");
                             selectedCluster = clusterName;
                         } else {
                             for (int i = 0; i < clusters.size(); i++) {
-                                String name = (String) clusters.get(i).get("name");
-                                String state = (String) clusters.get(i).get("stateName");
+                                String name = clusters.get(i).getName();
+                                String state = clusters.get(i).getStateName();
                                 System.out.printf("  %d. %s (%s)%n", i + 1, name, state);
                             }
 
@@ -918,7 +913,7 @@ public class LogsCommand implements Callable<Integer> {
                             try {
                                 int index = Integer.parseInt(choice) - 1;
                                 if (index >= 0 && index < clusters.size()) {
-                                    selectedCluster = (String) clusters.get(index).get("name");
+                                    selectedCluster = clusters.get(index).getName();
                                 } else {
                                     System.err.println("❌ Invalid selection");
                                     return 1;
@@ -44,8 +44,7 @@ public class LogsTestCommand implements Callable<Integer> {
         }
         
         // Try to create API client
-        try {
-            AtlasApiClient apiClient = new AtlasApiClient(parent.apiPublicKey, parent.apiPrivateKey);
+        try (AtlasApiClient apiClient = new AtlasApiClient(parent.apiPublicKey, parent.apiPrivateKey)) {
             System.out.println("✅ API client created successfully");
             
             // Try to get a logs client
@@ -7,9 +7,11 @@ import picocli.CommandLine.Parameters;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.atlas.api.cli.AtlasCliMain;
+import com.mongodb.atlas.api.cli.utils.ProjectSelectionUtils;
 import com.mongodb.atlas.api.clients.AtlasApiBase;
 import com.mongodb.atlas.api.clients.AtlasNetworkAccessClient;
 import com.mongodb.atlas.api.clients.AtlasProjectsClient;
+import com.mongodb.atlas.api.clients.ProjectFanOut;
 import com.mongodb.atlas.api.config.AtlasTestConfig;
 
 import java.util.ArrayList;
@@ -77,7 +79,7 @@ public class NetworkAccessCommand implements Callable<Integer> {
                     return 1;
                 }
 
-                AtlasApiBase apiBase = new AtlasApiBase(apiPublicKey, apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(apiPublicKey, apiPrivateKey);
 
                 // Get projects to process
                 List<String> projectsToProcess = new ArrayList<>();
@@ -135,24 +137,27 @@ public class NetworkAccessCommand implements Callable<Integer> {
                     }
                 }
 
-                for (String pid : projectsToProcess) {
-                    try {
-                        List<Map<String, Object>> projectEntries = networkClient.getIpAccessList(pid);
+                // Fetch all projects concurrently; results are merged here as each one completes
+                new ProjectFanOut(apiBase).forEach(ProjectSelectionUtils.projectsByName(projectsToProcess, projectIdToName),
+                        (projectName, pid) -> networkClient.getIpAccessList(pid), outcome -> {
+                    String pid = outcome.getProjectId();
+                    if (!outcome.isSuccess()) {
                         if (debug) {
-                            System.err.println("DEBUG: Got " + projectEntries.size() + " network access entries from project " + pid + " (" + projectIdToName.get(pid) + ")");
-                        }
-                        // Add project context to each entry
-                        for (Map<String, Object> entry : projectEntries) {
-                            entry.put("_projectId", pid);
-                            entry.put("_projectName", projectIdToName.get(pid));
-                        }
-                        allEntries.addAll(projectEntries);
-                    } catch (Exception e) {
-                        if (debug) {
-                            System.err.println("Warning: Failed to get network access for project " + pid + ": " + e.getMessage());
+                            System.err.println("Warning: Failed to get network access for project " + pid + ": " + outcome.getError().getMessage());
                         }
+                        return;
                     }
-                }
+                    List<Map<String, Object>> projectEntries = outcome.getValue();
+                    if (debug) {
+                        System.err.println("DEBUG: Got " + projectEntries.size() + " network access entries from project " + pid + " (" + projectIdToName.get(pid) + ")");
+                    }
+                    // Add project context to each entry
+                    for (Map<String, Object> entry : projectEntries) {
+                        entry.put("_projectId", pid);
+                        entry.put("_projectName", projectIdToName.get(pid));
+                    }
+                    allEntries.addAll(projectEntries);
+                });
 
                 if ("JSON".equalsIgnoreCase(format)) {
                     ObjectMapper mapper = new ObjectMapper();
@@ -246,7 +251,7 @@ public class NetworkAccessCommand implements Callable<Integer> {
         public Integer call() throws Exception {
             try {
                 AtlasTestConfig config = AtlasCliMain.GlobalConfig.getAtlasConfig();
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasNetworkAccessClient networkClient = new AtlasNetworkAccessClient(apiBase);
 
                 Map<String, Object> entry = networkClient.getIpAccessListEntry(projectId, entryValue);
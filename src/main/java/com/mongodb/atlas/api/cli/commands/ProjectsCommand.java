@@ -11,14 +11,17 @@ import com.mongodb.atlas.api.cli.AtlasCliMain.OutputFormat;
 import com.mongodb.atlas.api.cli.utils.OutputFormatter;
 import com.mongodb.atlas.api.clients.AtlasApiBase;
 import com.mongodb.atlas.api.clients.AtlasProjectsClient;
+import com.mongodb.atlas.api.clients.ProjectFanOut;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * CLI commands for Atlas project management
@@ -69,7 +72,7 @@ public class ProjectsCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                 
                 List<Map<String, Object>> projects = client.getAllProjects();
@@ -137,7 +140,7 @@ public class ProjectsCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                 
                 Map<String, Object> project = null;
@@ -199,7 +202,7 @@ public class ProjectsCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                 
                 System.out.println("🚀 Creating project '" + projectName + "' in organization " + effectiveOrgId + "...");
@@ -240,7 +243,7 @@ public class ProjectsCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                 
                 // Resolve project details for confirmation
@@ -319,10 +322,10 @@ public class ProjectsCommand implements Callable<Integer> {
             return 0;
         }
 
-        @Command(name = "list", description = "List users in a project")
+        @Command(name = "list", description = "List users in a project, or in each project selected with --projectIds/--projectNames")
         static class ListUsersCommand implements Callable<Integer> {
             
-            @Parameters(index = "0", description = "Project ID or name")
+            @Parameters(index = "0", arity = "0..1", description = "Project ID or name (default: the selected projects)")
             private String projectIdentifier;
             
             @Option(names = {"--format"}, description = "Output format: ${COMPLETION-CANDIDATES} (default: TABLE)")
@@ -337,28 +340,37 @@ public class ProjectsCommand implements Callable<Integer> {
                 }
 
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                     
-                    String projectId = resolveProjectId(client, projectIdentifier);
-                    if (projectId == null) {
-                        System.err.println("❌ Project '" + projectIdentifier + "' not found");
+                    Map<String, String> projects = resolveProjects(client, projectIdentifier);
+                    if (projects.isEmpty()) {
                         return 1;
                     }
                     
-                    List<Map<String, Object>> users = client.getProjectUsers(projectId);
-                    
-                    if (users.isEmpty()) {
-                        System.out.println("📭 No users found in project " + projectIdentifier);
-                        return 0;
-                    }
-                    
-                    System.out.println("👥 Found " + users.size() + " user(s) in project " + projectIdentifier + ":");
-                    
                     OutputFormat outputFormat = format != null ? format : GlobalConfig.getFormat();
-                    printUsersTable(users, outputFormat);
+                    AtomicInteger failures = new AtomicInteger();
                     
-                    return 0;
+                    // Each project's users are printed as soon as they arrive
+                    new ProjectFanOut(apiBase).forEach(projects, (projectName, projectId) -> client.getProjectUsers(projectId), outcome -> {
+                        String project = outcome.getProjectName();
+                        if (!outcome.isSuccess()) {
+                            System.err.println("❌ Error listing users in project " + project + ": " + outcome.getError().getMessage());
+                            failures.incrementAndGet();
+                            return;
+                        }
+                        
+                        List<Map<String, Object>> users = outcome.getValue();
+                        if (users.isEmpty()) {
+                            System.out.println("📭 No users found in project " + project);
+                            return;
+                        }
+                        
+                        System.out.println("👥 Found " + users.size() + " user(s) in project " + project + ":");
+                        printUsersTable(users, outputFormat);
+                    });
+                    
+                    return failures.get() == 0 ? 0 : 1;
                 } catch (Exception e) {
                     System.err.println("❌ Error listing users: " + e.getMessage());
                     if (GlobalConfig.isVerbose()) {
@@ -390,7 +402,7 @@ public class ProjectsCommand implements Callable<Integer> {
                 }
 
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                     
                     String projectId = resolveProjectId(client, projectIdentifier);
@@ -435,7 +447,7 @@ public class ProjectsCommand implements Callable<Integer> {
                 }
 
                 try {
-                    AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                    AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                     AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                     
                     String projectId = resolveProjectId(client, projectIdentifier);
@@ -465,7 +477,7 @@ public class ProjectsCommand implements Callable<Integer> {
     @Command(name = "teams", description = "List project teams", mixinStandardHelpOptions = true)
     static class TeamsCommand implements Callable<Integer> {
         
-        @Parameters(index = "0", description = "Project ID or name")
+        @Parameters(index = "0", arity = "0..1", description = "Project ID or name (default: the selected projects)")
         private String projectIdentifier;
         
         @Option(names = {"--format"}, description = "Output format: ${COMPLETION-CANDIDATES} (default: TABLE)")
@@ -480,28 +492,37 @@ public class ProjectsCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                 
-                String projectId = resolveProjectId(client, projectIdentifier);
-                if (projectId == null) {
-                    System.err.println("❌ Project '" + projectIdentifier + "' not found");
+                Map<String, String> projects = resolveProjects(client, projectIdentifier);
+                if (projects.isEmpty()) {
                     return 1;
                 }
                 
-                List<Map<String, Object>> teams = client.getProjectTeams(projectId);
-                
-                if (teams.isEmpty()) {
-                    System.out.println("👥 No teams found in project " + projectIdentifier);
-                    return 0;
-                }
-                
-                System.out.println("👥 Found " + teams.size() + " team(s) in project " + projectIdentifier + ":");
-                
                 OutputFormat outputFormat = format != null ? format : GlobalConfig.getFormat();
-                printTeamsTable(teams, outputFormat);
+                AtomicInteger failures = new AtomicInteger();
+                
+                // Each project's teams are printed as soon as they arrive
+                new ProjectFanOut(apiBase).forEach(projects, (projectName, projectId) -> client.getProjectTeams(projectId), outcome -> {
+                    String project = outcome.getProjectName();
+                    if (!outcome.isSuccess()) {
+                        System.err.println("❌ Error listing teams in project " + project + ": " + outcome.getError().getMessage());
+                        failures.incrementAndGet();
+                        return;
+                    }
+                    
+                    List<Map<String, Object>> teams = outcome.getValue();
+                    if (teams.isEmpty()) {
+                        System.out.println("👥 No teams found in project " + project);
+                        return;
+                    }
+                    
+                    System.out.println("👥 Found " + teams.size() + " team(s) in project " + project + ":");
+                    printTeamsTable(teams, outputFormat);
+                });
                 
-                return 0;
+                return failures.get() == 0 ? 0 : 1;
             } catch (Exception e) {
                 System.err.println("❌ Error listing teams: " + e.getMessage());
                 if (GlobalConfig.isVerbose()) {
@@ -530,7 +551,7 @@ public class ProjectsCommand implements Callable<Integer> {
             }
 
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
+                AtlasApiBase apiBase = AtlasCliMain.GlobalConfig.getApiBase(rootCmd.apiPublicKey, rootCmd.apiPrivateKey);
                 AtlasProjectsClient client = new AtlasProjectsClient(apiBase);
                 
                 String projectId = resolveProjectId(client, projectIdentifier);
@@ -701,6 +722,47 @@ public class ProjectsCommand implements Callable<Integer> {
         }
     }
     
+    /**
+     * Resolve the projects a listing covers: the given project, or when none is given the
+     * projects selected with --projectIds / --projectNames. Reports the problem and returns
+     * an empty map when nothing matches.
+     * 
+     * @return Project names (or the identifier as given) mapped to project IDs
+     */
+    private static Map<String, String> resolveProjects(AtlasProjectsClient client, String projectIdentifier) {
+        Map<String, String> projects = new LinkedHashMap<>();
+        if (projectIdentifier != null) {
+            String projectId = resolveProjectId(client, projectIdentifier);
+            if (projectId == null) {
+                System.err.println("❌ Project '" + projectIdentifier + "' not found");
+            } else {
+                projects.put(projectIdentifier, projectId);
+            }
+            return projects;
+        }
+        
+        List<String> projectIds = GlobalConfig.getProjectIds();
+        List<String> projectNames = GlobalConfig.getIncludeProjectNames();
+        boolean byId = projectIds != null && !projectIds.isEmpty();
+        boolean byName = projectNames != null && !projectNames.isEmpty();
+        if (!byId && !byName) {
+            System.err.println("❌ No project specified. Pass a project ID or name, or use --projectIds / --projectNames");
+            return projects;
+        }
+        
+        for (Map<String, Object> project : client.getAllProjects()) {
+            String id = (String) project.get("id");
+            String name = (String) project.get("name");
+            if ((byId && projectIds.contains(id)) || (byName && projectNames.contains(name))) {
+                projects.put(name, id);
+            }
+        }
+        if (projects.isEmpty()) {
+            System.err.println("❌ No matching projects found");
+        }
+        return projects;
+    }
+    
     private static String getString(Map<String, Object> map, String key, String defaultValue) {
         Object value = map.get(key);
         return value != null ? value.toString() : defaultValue;
@@ -7,6 +7,7 @@ import com.mongodb.atlas.api.config.AtlasTestConfig;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -28,7 +29,7 @@ public class ProjectSelectionUtils {
             System.out.println("🏢 Project Selection");
             System.out.println("─".repeat(30));
             
-            AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             
             List<Map<String, Object>> projects = projectsClient.getAllProjects();
@@ -112,7 +113,7 @@ public class ProjectSelectionUtils {
         List<String> globalProjectNames = GlobalConfig.getIncludeProjectNames();
         if (globalProjectNames != null && !globalProjectNames.isEmpty()) {
             try {
-                AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+                AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
                 AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
                 List<Map<String, Object>> projects = projectsClient.getAllProjects();
                 
@@ -155,7 +156,7 @@ public class ProjectSelectionUtils {
             projectsToProcess.addAll(GlobalConfig.getProjectIds());
         } else if (GlobalConfig.getIncludeProjectNames() != null && !GlobalConfig.getIncludeProjectNames().isEmpty()) {
             // Use project names - need to resolve to IDs
-            AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             List<Map<String, Object>> projects = projectsClient.getAllProjects();
             
@@ -186,7 +187,7 @@ public class ProjectSelectionUtils {
         Map<String, String> projectIdToName = new HashMap<>();
         
         try {
-            AtlasApiBase apiBase = new AtlasApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
+            AtlasApiBase apiBase = GlobalConfig.getApiBase(config.getApiPublicKey(), config.getApiPrivateKey());
             AtlasProjectsClient projectsClient = new AtlasProjectsClient(apiBase);
             List<Map<String, Object>> allProjects = projectsClient.getAllProjects();
             
@@ -216,4 +217,21 @@ public class ProjectSelectionUtils {
         }
         return true;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Build the project name to ID map expected by {@link com.mongodb.atlas.api.clients.ProjectFanOut},
+     * falling back to the ID for projects whose name is unknown
+     * 
+     * @param projectIds Project IDs in processing order
+     * @param projectIdToName Known project names by ID
+     * @return Project names mapped to IDs, in the order of {@code projectIds}
+     */
+    public static Map<String, String> projectsByName(List<String> projectIds, Map<String, String> projectIdToName) {
+        Map<String, String> projects = new LinkedHashMap<>();
+        for (String projectId : projectIds) {
+            String name = projectIdToName.get(projectId);
+            projects.put(name != null ? name : projectId, projectId);
+        }
+        return projects;
+    }
+}
@@ -1,14 +1,18 @@
 package com.mongodb.atlas.api.clients;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mongodb.atlas.api.model.AtlasAlert;
+import com.mongodb.atlas.api.model.AtlasPage;
 
 /**
  * Atlas API client for alerts endpoints
@@ -18,6 +22,8 @@ public class AtlasAlertsClient {
     
     private static final Logger logger = LoggerFactory.getLogger(AtlasAlertsClient.class);
     
+    private static final int ALERTS_PAGE_SIZE = 500; // Max items per page
+    
     private final AtlasApiBase apiBase;
     
     public AtlasAlertsClient(AtlasApiBase apiBase) {
@@ -32,63 +38,111 @@ public class AtlasAlertsClient {
      * @return List of alerts
      */
     public List<Map<String, Object>> getProjectAlerts(String projectId, String status) {
-        List<Map<String, Object>> allAlerts = new ArrayList<>();
-        int pageNum = 1;
-        boolean hasMorePages = true;
-        int itemsPerPage = 500; // Max items per page
-        
         logger.debug("Fetching all alerts for project {} with status filter: {}", projectId, status);
         
-        while (hasMorePages) {
-            StringBuilder urlBuilder = new StringBuilder(AtlasApiBase.BASE_URL_V2)
-                    .append("/groups/").append(projectId).append("/alerts")
-                    .append("?pageNum=").append(pageNum)
-                    .append("&itemsPerPage=").append(itemsPerPage);
+        try {
+            List<Map<String, Object>> pages = AtlasPaginator.fetchAll(apiBase,
+                    pageNum -> {
+                        logger.debug("Fetching alerts page {} for project {}", pageNum, projectId);
+                        String responseBody = fetchAlertsPage(projectId, status, pageNum);
+                        return (Map<String, Object>) apiBase.parseResponse(responseBody, Map.class);
+                    },
+                    page -> {
+                        // Atlas API returns totalCount; without it fall back to checking for a full page
+                        if (!(page.get("totalCount") instanceof Integer)) {
+                            return null;
+                        }
+                        int total = (Integer) page.get("totalCount");
+                        int totalPages = AtlasPaginator.pageCount(total, ALERTS_PAGE_SIZE);
+                        logger.debug("Alerts pagination: {} pages, {} total alerts", totalPages, total);
+                        return totalPages;
+                    },
+                    page -> pageAlerts(page).size() >= ALERTS_PAGE_SIZE);
             
-            // Add status filter if provided
-            if (status != null && !status.isEmpty()) {
-                urlBuilder.append("&status=").append(status);
+            List<Map<String, Object>> allAlerts = new ArrayList<>();
+            for (Map<String, Object> page : pages) {
+                allAlerts.addAll(pageAlerts(page));
             }
             
-            String url = urlBuilder.toString();
-            logger.debug("Fetching alerts page {} for project {}", pageNum, projectId);
+            logger.debug("Fetched {} total alerts for project {}", allAlerts.size(), projectId);
+            return allAlerts;
+        } catch (Exception e) {
+            logger.error("Failed to get alerts for project {}: {}", projectId, e.getMessage());
+            throw new AtlasApiBase.AtlasApiException("Failed to get project alerts", e);
+        }
+    }
+    
+    /**
+     * Get all alerts for a project as typed objects, with pagination
+     * 
+     * @param projectId Project ID (24-character hexadecimal string)
+     * @param status Optional filter by alert status (OPEN, CLOSED)
+     * @return List of alerts
+     */
+    public List<AtlasAlert> getAtlasAlerts(String projectId, String status) {
+        logger.debug("Fetching all alerts for project {} with status filter: {}", projectId, status);
+        
+        try {
+            List<AtlasPage<AtlasAlert>> pages = AtlasPaginator.fetchAll(apiBase,
+                    pageNum -> apiBase.parsePage(fetchAlertsPage(projectId, status, pageNum), AtlasAlert.class),
+                    page -> page.getTotalCount() != null
+                            ? AtlasPaginator.pageCount(page.getTotalCount(), ALERTS_PAGE_SIZE) : null,
+                    page -> page.getResults().size() >= ALERTS_PAGE_SIZE);
             
-            try {
-                String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
-                Map<String, Object> responseMap = apiBase.parseResponse(responseBody, Map.class);
-                
-                // Extract alerts from this page
-                List<Map<String, Object>> pageAlerts = (List<Map<String, Object>>) responseMap.get("results");
-                if (pageAlerts != null && !pageAlerts.isEmpty()) {
-                    allAlerts.addAll(pageAlerts);
-                    
-                    // Check pagination - Atlas API returns totalCount and resultsPerPage (or links)
-                    Object totalCount = responseMap.get("totalCount");
-                    
-                    if (totalCount instanceof Integer) {
-                        int total = (Integer) totalCount;
-                        int totalPages = (itemsPerPage > 0) ? (int) Math.ceil((double) total / itemsPerPage) : 0;
-                        hasMorePages = pageNum < totalPages;
-                        
-                        logger.debug("Alerts pagination: page {}/{}, {} total alerts", pageNum, totalPages, total);
-                    } else {
-                        // Fallback: check if we got a full page
-                        hasMorePages = pageAlerts.size() >= itemsPerPage;
-                    }
-                } else {
-                    hasMorePages = false;
-                }
-                
-                pageNum++;
-                
-            } catch (Exception e) {
-                logger.error("Failed to get alerts for project {} (page {}): {}", projectId, pageNum, e.getMessage());
-                throw new AtlasApiBase.AtlasApiException("Failed to get project alerts", e);
+            List<AtlasAlert> allAlerts = new ArrayList<>();
+            for (AtlasPage<AtlasAlert> page : pages) {
+                allAlerts.addAll(page.getResults());
             }
+            
+            logger.debug("Fetched {} total alerts for project {}", allAlerts.size(), projectId);
+            return allAlerts;
+        } catch (Exception e) {
+            logger.error("Failed to get alerts for project {}: {}", projectId, e.getMessage());
+            throw new AtlasApiBase.AtlasApiException("Failed to get project alerts", e);
+        }
+    }
+    
+    private String fetchAlertsPage(String projectId, String status, int pageNum) {
+        StringBuilder urlBuilder = new StringBuilder(AtlasApiBase.BASE_URL_V2)
+                .append("/groups/").append(projectId).append("/alerts")
+                .append("?pageNum=").append(pageNum)
+                .append("&itemsPerPage=").append(ALERTS_PAGE_SIZE);
+        
+        // Add status filter if provided
+        if (status != null && !status.isEmpty()) {
+            urlBuilder.append("&status=").append(status);
         }
         
-        logger.debug("Fetched {} total alerts for project {}", allAlerts.size(), projectId);
-        return allAlerts;
+        try {
+            return apiBase.getResponseBody(urlBuilder.toString(), AtlasApiBase.API_VERSION_V2, projectId);
+        } catch (Exception e) {
+            logger.error("Failed to get alerts for project {} (page {}): {}", projectId, pageNum, e.getMessage());
+            throw e;
+        }
+    }
+    
+    private static List<Map<String, Object>> pageAlerts(Map<String, Object> page) {
+        List<Map<String, Object>> alerts = (List<Map<String, Object>>) page.get("results");
+        return alerts != null ? alerts : Collections.emptyList();
+    }
+    
+    /**
+     * Get a specific alert by ID as a typed object
+     * 
+     * @param projectId Project ID (24-character hexadecimal string)
+     * @param alertId Alert ID (24-character hexadecimal string)
+     * @return Alert details
+     */
+    public AtlasAlert getAtlasAlert(String projectId, String alertId) {
+        String url = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/alerts/" + alertId;
+        
+        try {
+            String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
+            return apiBase.parseResponse(responseBody, AtlasAlert.class);
+        } catch (Exception e) {
+            logger.error("Failed to get alert {} for project {}: {}", alertId, projectId, e.getMessage());
+            throw new AtlasApiBase.AtlasApiException("Failed to get alert", e);
+        }
     }
     
     /**
@@ -265,4 +319,25 @@ public class AtlasAlertsClient {
             throw new AtlasApiBase.AtlasApiException("Failed to get alert configurations", e);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Asynchronous variant of {@link #getProjectAlerts(String, String)}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getProjectAlertsAsync(String projectId, String status) {
+        return apiBase.submitAsync(() -> getProjectAlerts(projectId, status));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getAlert(String, String)}
+     */
+    public CompletableFuture<Map<String, Object>> getAlertAsync(String projectId, String alertId) {
+        return apiBase.submitAsync(() -> getAlert(projectId, alertId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getAtlasAlerts(String, String)}
+     */
+    public CompletableFuture<List<AtlasAlert>> getAtlasAlertsAsync(String projectId, String status) {
+        return apiBase.submitAsync(() -> getAtlasAlerts(projectId, status));
+    }
+}
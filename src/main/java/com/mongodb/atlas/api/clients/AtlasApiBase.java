@@ -1,38 +1,77 @@
 package com.mongodb.atlas.api.clients;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.Credentials;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.atlas.api.config.AtlasTestConfig;
+import com.mongodb.atlas.api.http.ApiKey;
+import com.mongodb.atlas.api.http.ApiKeyPool;
+import com.mongodb.atlas.api.http.ApiMetrics;
+import com.mongodb.atlas.api.http.AsyncRequestExecutor;
+import com.mongodb.atlas.api.http.EndpointMetrics;
+import com.mongodb.atlas.api.http.PreemptiveDigestAuth;
+import com.mongodb.atlas.api.http.RateLimiter;
+import com.mongodb.atlas.api.http.ResponseCache;
+import com.mongodb.atlas.api.http.RetryPolicy;
+import com.mongodb.atlas.api.http.SingleFlight;
+import com.mongodb.atlas.api.http.TokenBucketRateLimiter;
+import com.mongodb.atlas.api.model.AtlasPage;
 
 /**
  * Base Atlas API client that handles authentication, rate limiting, and common HTTP operations.
  * Specialized clients for different API categories are built on top of this.
+ * 
+ * Every request runs through a shared {@link AsyncRequestExecutor} which caps the number
+ * of HTTP exchanges in flight across all threads. Blocking methods run on the caller's
+ * thread; the *Async variants return a {@link CompletableFuture} and run on the executor.
  */
-public class AtlasApiBase {
+public class AtlasApiBase implements AutoCloseable {
     
     private static final Logger logger = LoggerFactory.getLogger(AtlasApiBase.class);
     private static final Logger requestLogger = LoggerFactory.getLogger("AtlasRequestLogger");
@@ -43,21 +82,43 @@ public class AtlasApiBase {
     public static final String API_VERSION_V2 = "application/vnd.atlas.2025-03-12+json";
     public static final String API_VERSION_V1 = "application/json";
     
-    // Rate limiting constants
-    private static final int RATE_LIMIT_MAX_REQUESTS = 100;
-    private static final int RATE_LIMIT_WINDOW_MINUTES = 1;
+    // Fallback back-off when a 429 response carries no usable Retry-After header
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(10);
     
-    private final RestClient restClient;
     private final ObjectMapper objectMapper;
+    private final AsyncRequestExecutor asyncExecutor;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final IdleConnectionEvictor connectionEvictor;
     
-    // Rate limiting tracking (shared across all specialized clients)
-    private final Deque<Instant> requestTimestamps = new LinkedList<>();
+    // One client and rate limiter per API key; all keys share the connection pool
+    private final ApiKeyPool<KeyClient> keyPool;
+    
+    // Request tracking (shared across all specialized clients)
+    private final Deque<Instant> recentRequests = new ConcurrentLinkedDeque<>();
     private final Map<String, Integer> projectRequestCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicInteger> endpointCounts = new ConcurrentHashMap<>();
+    private final ApiMetrics apiMetrics = new ApiMetrics();
+    private volatile RetryPolicy retryPolicy;
+    private final ResponseCache responseCache;
+    private final SingleFlight<String, String> inFlightGets = new SingleFlight<>();
     private final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
-    private int totalRequests = 0;
-    private Instant rateWindowStart = Instant.now();
-    private int debugLevel = 0;
+    private final AtomicInteger totalRequests = new AtomicInteger();
+    private volatile int debugLevel = 0;
+    
+    /**
+     * HTTP client authenticating as one API key
+     */
+    private static final class KeyClient {
+        final RestClient restClient;
+        final CloseableHttpClient httpClient;
+        final PreemptiveDigestAuth digestAuth;
+        
+        KeyClient(RestClient restClient, CloseableHttpClient httpClient, PreemptiveDigestAuth digestAuth) {
+            this.restClient = restClient;
+            this.httpClient = httpClient;
+            this.digestAuth = digestAuth;
+        }
+    }
     
     public AtlasApiBase(String apiPublicKey, String apiPrivateKey) {
         this(apiPublicKey, apiPrivateKey, 0);
@@ -324,41 +385,179 @@ public class AtlasApiBase {
     }
     
     public AtlasApiBase(String apiPublicKey, String apiPrivateKey, int debugLevel) {
-        this.restClient = createRestClient(apiPublicKey, apiPrivateKey);
+        this(apiPublicKey, apiPrivateKey, debugLevel, new AsyncRequestExecutor(
+                AtlasTestConfig.getInstance().getAsyncMaxInFlight(),
+                AtlasTestConfig.getInstance().isAsyncVirtualThreadsEnabled()));
+    }
+    
+    public AtlasApiBase(String apiPublicKey, String apiPrivateKey, int debugLevel, AsyncRequestExecutor asyncExecutor) {
+        this(List.of(new ApiKey(apiPublicKey, apiPrivateKey)), debugLevel, asyncExecutor);
+    }
+    
+    /**
+     * Client that spreads requests over a pool of API keys, each with its own rate limit
+     * budget; see {@link ApiKeyPool} for how a key is chosen
+     */
+    public AtlasApiBase(List<ApiKey> apiKeys, int debugLevel) {
+        this(apiKeys, debugLevel, new AsyncRequestExecutor(
+                AtlasTestConfig.getInstance().getAsyncMaxInFlight(),
+                AtlasTestConfig.getInstance().isAsyncVirtualThreadsEnabled()));
+    }
+    
+    public AtlasApiBase(List<ApiKey> apiKeys, int debugLevel, AsyncRequestExecutor asyncExecutor) {
+        this.connectionManager = createConnectionManager(AtlasTestConfig.getInstance());
+        // Clients on a shared connection manager do not evict connections themselves
+        TimeValue maxIdle = TimeValue.ofSeconds(AtlasTestConfig.getInstance().getHttpIdleEvictSeconds());
+        this.connectionEvictor = new IdleConnectionEvictor(connectionManager, maxIdle, maxIdle);
+        this.connectionEvictor.start();
+        this.keyPool = new ApiKeyPool<>(apiKeys, this::createKeyClient,
+                key -> createRateLimiter(AtlasTestConfig.getInstance()));
         this.objectMapper = new ObjectMapper();
+        this.asyncExecutor = asyncExecutor;
+        this.retryPolicy = createRetryPolicy(AtlasTestConfig.getInstance());
+        this.responseCache = createResponseCache(AtlasTestConfig.getInstance());
         this.debugLevel = debugLevel;
         
-        logger.info("Atlas API base client initialized with debug level {}", debugLevel);
+        logger.info("Atlas API base client initialized with debug level {} (max in-flight requests: {}, virtual threads: {}, API keys: {})", 
+                debugLevel, asyncExecutor.getMaxInFlight(), asyncExecutor.isUsingVirtualThreads(), keyPool.size());
+    }
+    
+    private static RateLimiter createRateLimiter(AtlasTestConfig config) {
+        if (!config.isRateLimitEnabled()) {
+            logger.info("Client-side rate limiting disabled");
+            return RateLimiter.UNLIMITED;
+        }
+        return new TokenBucketRateLimiter(
+                config.getRateLimitRequestsPerMinute(),
+                config.getRateLimitProjectRequestsPerMinute(),
+                config.getRateLimitOrgRequestsPerMinute(),
+                config.getRateLimitBurst());
+    }
+    
+    private static RetryPolicy createRetryPolicy(AtlasTestConfig config) {
+        return new RetryPolicy(
+                config.getRetryMaxAttempts(),
+                Duration.ofMillis(config.getRetryBaseDelayMillis()),
+                Duration.ofMillis(config.getRetryMaxDelayMillis()),
+                Duration.ofSeconds(config.getRetryBudgetSeconds()));
+    }
+    
+    /**
+     * Cache the topology listings that change rarely but are read on every run. Cluster
+     * listings carry the cluster state, so they get their own, shorter TTL.
+     */
+    private static ResponseCache createResponseCache(AtlasTestConfig config) {
+        ResponseCache cache = new ResponseCache(config.getResponseCacheMaxEntries());
+        if (!config.isResponseCacheEnabled()) {
+            logger.info("Response cache disabled");
+            return cache;
+        }
+        Duration topologyTtl = Duration.ofSeconds(config.getResponseCacheTtlSeconds());
+        cache.setTtl("/groups", topologyTtl);
+        cache.setTtl("/groups/{id}/processes", topologyTtl);
+        cache.setTtl("/groups/{id}/processes/{id}/disks", topologyTtl);
+        cache.setTtl("/groups/{id}/clusters", Duration.ofSeconds(config.getResponseCacheClusterTtlSeconds()));
+        return cache;
+    }
+    
+    /**
+     * Build the pooled, keep-alive connection manager shared by every API key. Pool sizes,
+     * keep-alive, idle eviction and timeouts come from {@link AtlasTestConfig} so they can
+     * be tuned per deployment.
+     */
+    private static PoolingHttpClientConnectionManager createConnectionManager(AtlasTestConfig config) {
+        // All Atlas traffic goes to a single route, so the per-route limit is the effective cap
+        if (config.getHttpMaxConnectionsPerRoute() < config.getAsyncMaxInFlight()) {
+            logger.warn("httpMaxConnectionsPerRoute ({}) is lower than asyncMaxInFlight ({}); requests will queue for connections",
+                    config.getHttpMaxConnectionsPerRoute(), config.getAsyncMaxInFlight());
+        }
+        
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getHttpMaxConnections())
+                .setMaxConnPerRoute(config.getHttpMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(config.getHttpConnectTimeoutSeconds()))
+                        .setSocketTimeout(Timeout.ofSeconds(config.getHttpResponseTimeoutSeconds()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
     }
     
-    private RestClient createRestClient(String apiPublicKey, String apiPrivateKey) {
-        Credentials credentials = new UsernamePasswordCredentials(apiPublicKey, apiPrivateKey.toCharArray());
+    /**
+     * Build the HTTP client for one API key on top of the shared connection manager, which
+     * stays owned by this class
+     */
+    private KeyClient createKeyClient(ApiKey apiKey) {
+        AtlasTestConfig config = AtlasTestConfig.getInstance();
+        
+        Credentials credentials = new UsernamePasswordCredentials(apiKey.getPublicKey(), apiKey.getPrivateKey().toCharArray());
         BasicCredentialsProvider credsProvider = new BasicCredentialsProvider();
         credsProvider.setCredentials(new AuthScope(null, -1), credentials);
+        
+        TimeValue maxKeepAlive = TimeValue.ofSeconds(config.getHttpKeepAliveSeconds());
 
-        CloseableHttpClient httpClient = HttpClients.custom()
+        HttpClientBuilder builder = HttpClients.custom();
+        PreemptiveDigestAuth digestAuth = null;
+        if (config.isHttpPreemptiveDigestAuth()) {
+            // Answer Digest up front with a cached nonce; HttpClient's own Digest handling below
+            // still answers the first challenge on a route and any stale-nonce challenge
+            digestAuth = new PreemptiveDigestAuth(apiKey.getPublicKey(), apiKey.getPrivateKey().toCharArray());
+            builder.addRequestInterceptorLast(digestAuth)
+                    .addResponseInterceptorFirst(digestAuth);
+        }
+        
+        CloseableHttpClient httpClient = builder
                 .setDefaultCredentialsProvider(credsProvider)
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofSeconds(config.getHttpResponseTimeoutSeconds()))
+                        .setConnectionKeepAlive(maxKeepAlive)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    // Honour a shorter server-advertised keep-alive, but never exceed our own limit
+                    TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(serverKeepAlive) && serverKeepAlive.compareTo(maxKeepAlive) < 0
+                            ? serverKeepAlive : maxKeepAlive;
+                })
+                // Retries are owned by executeWithRetry; the built-in strategy would also retry non-idempotent requests
+                .disableAutomaticRetries()
                 .build();
 
         HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        return RestClient.builder().requestFactory(factory).build();
+        return new KeyClient(RestClient.builder().requestFactory(factory).build(), httpClient, digestAuth);
     }
     
     /**
      * Core HTTP GET method with rate limiting and logging - supports custom Accept headers
      */
     protected String getResponseBody(String url, String acceptHeader, String projectId) {
-        logRequest(url, projectId);
-        checkRateLimit();
-        trackRequest(projectId, url);
-        
+        String endpointTemplate = endpointTemplate(url);
+        String key = ResponseCache.key(url, acceptHeader);
+        boolean cacheable = responseCache.isCacheable(endpointTemplate);
+        if (cacheable) {
+            ResponseCache.Entry fresh = responseCache.getFresh(key);
+            if (fresh != null) {
+                if (debugLevel >= 2) {
+                    requestLogger.debug("Response cache hit for URL: {}", url);
+                }
+                return fresh.getBody();
+            }
+        }
+        // Identical GETs already in flight share that request instead of issuing their own
+        return inFlightGets.execute(key, () -> cacheable
+                ? fetchCachedResponseBody(url, acceptHeader, projectId, key, endpointTemplate)
+                : fetchResponseBody(url, acceptHeader, projectId));
+    }
+    
+    private String fetchResponseBody(String url, String acceptHeader, String projectId) {
         try {
             long startTime = System.currentTimeMillis();
-            String response = restClient.method(HttpMethod.GET)
+            String response = executeWithRetry(url, projectId, true, restClient -> restClient.method(HttpMethod.GET)
                     .uri(url)
                     .header("Accept", acceptHeader)
                     .retrieve()
-                    .body(String.class);
+                    .body(String.class));
             long endTime = System.currentTimeMillis();
             
             if (debugLevel >= 2) {
@@ -372,24 +571,59 @@ public class AtlasApiBase {
         }
     }
     
+    /**
+     * GET for a cacheable endpoint with no fresh entry: revalidate an expired entry with
+     * If-None-Match, otherwise fetch and store the response
+     */
+    private String fetchCachedResponseBody(String url, String acceptHeader, String projectId,
+            String key, String endpointTemplate) {
+        ResponseCache.Entry stale = responseCache.getRevalidatable(key);
+        try {
+            long startTime = System.currentTimeMillis();
+            ResponseEntity<String> response = executeWithRetry(url, projectId, true, restClient -> {
+                RestClient.RequestHeadersSpec<?> request = restClient.method(HttpMethod.GET)
+                        .uri(url)
+                        .header("Accept", acceptHeader);
+                if (stale != null) {
+                    request = request.header("If-None-Match", stale.getEtag());
+                }
+                return request.retrieve().toEntity(String.class);
+            });
+            long endTime = System.currentTimeMillis();
+            
+            if (debugLevel >= 2) {
+                requestLogger.debug("Response time: {} ms for URL: {} (status {})", 
+                        (endTime - startTime), url, response.getStatusCode().value());
+            }
+            
+            if (stale != null && response.getStatusCode().value() == 304) {
+                responseCache.revalidated(stale);
+                return stale.getBody();
+            }
+            
+            String body = response.getBody();
+            responseCache.put(key, endpointTemplate, body, response.getHeaders().getETag());
+            return body;
+        } catch (Exception e) {
+            requestLogger.error("Request failed: {} - {}", url, e.getMessage());
+            throw e;
+        }
+    }
+    
     /**
      * Core HTTP GET method for binary responses (e.g., gzip log data)
      */
     protected byte[] getBinaryResponseBody(String url, String acceptHeader, String projectId) {
-        logRequest(url, projectId);
-        checkRateLimit();
-        trackRequest(projectId, url);
-        
         try {
             logger.debug("BINARY REQUEST: Making request to URL: {}", url);
             logger.debug("BINARY REQUEST: Using Accept header: {}", acceptHeader);
             
             long startTime = System.currentTimeMillis();
-            byte[] response = restClient.method(HttpMethod.GET)
+            byte[] response = executeWithRetry(url, projectId, true, restClient -> restClient.method(HttpMethod.GET)
                     .uri(url)
                     .header("Accept", acceptHeader)
                     .retrieve()
-                    .body(byte[].class);
+                    .body(byte[].class));
             long endTime = System.currentTimeMillis();
             
             if (debugLevel >= 2) {
@@ -414,22 +648,25 @@ public class AtlasApiBase {
      */
     protected String makeApiRequest(String url, HttpMethod method, String requestBody, 
                                   String acceptHeader, String projectId) {
-        logRequest(url, projectId);
-        checkRateLimit();
-        trackRequest(projectId, url);
-        
         try {
             long startTime = System.currentTimeMillis();
-            RestClient.RequestBodySpec request = restClient.method(method)
-                    .uri(url)
-                    .header("Accept", acceptHeader)
-                    .header("Content-Type", "application/json");
-            
             String response;
-            if (requestBody != null && !requestBody.isEmpty()) {
-                response = request.body(requestBody).retrieve().body(String.class);
-            } else {
-                response = request.retrieve().body(String.class);
+            try {
+                response = executeWithRetry(url, projectId, HttpMethod.GET.equals(method), restClient -> {
+                    RestClient.RequestBodySpec request = restClient.method(method)
+                            .uri(url)
+                            .header("Accept", acceptHeader)
+                            .header("Content-Type", "application/json");
+                    if (requestBody != null && !requestBody.isEmpty()) {
+                        return request.body(requestBody).retrieve().body(String.class);
+                    }
+                    return request.retrieve().body(String.class);
+                });
+            } finally {
+                // Even a failed mutation may have been applied, so never keep serving the old state
+                if (!HttpMethod.GET.equals(method)) {
+                    invalidateCachedResponses(url);
+                }
             }
             
             long endTime = System.currentTimeMillis();
@@ -445,32 +682,205 @@ public class AtlasApiBase {
         }
     }
     
+    /**
+     * Send a request through rate limiting, the in-flight cap and the retry policy.
+     * 
+     * Every attempt is rate limited and tracked as a separate request. Transient failures
+     * (429, 5xx, I/O errors) are retried with decorrelated-jitter back-off while the
+     * policy's attempt limit and time budget allow; non-idempotent requests are only
+     * retried after a 429. Because retries happen per request, a failure in the middle
+     * of a paginated read retries just the failed page and keeps the pages already read.
+     * 
+     * Each attempt picks the least-loaded API key allowed to access the project. A key
+     * counts as loaded until its attempt finishes, including any back-off after a
+     * failure, so a retry after a 429 tends to move to another key.
+     */
+    private <T> T executeWithRetry(String url, String projectId, boolean idempotent, Function<RestClient, T> exchange) {
+        long startNanos = System.nanoTime();
+        Duration backoff = Duration.ZERO;
+        EndpointMetrics metrics = apiMetrics.forEndpoint(endpointTemplate(url));
+        String effectiveProjectId = projectId != null ? projectId : extractPathId(url, "/groups/");
+        
+        for (int attempt = 1; ; attempt++) {
+            ApiKeyPool.Member<KeyClient> apiKey = keyPool.acquire(effectiveProjectId);
+            try {
+                logRequest(url, projectId);
+                long rateLimitStart = System.nanoTime();
+                acquireRateLimit(apiKey.getRateLimiter(), url, projectId);
+                long permitRequested = System.nanoTime();
+                metrics.recordRateLimitWait(permitRequested - rateLimitStart);
+                trackRequest(projectId, url);
+                
+                RestClient restClient = apiKey.getClient().restClient;
+                T result = asyncExecutor.runWithPermit(
+                        () -> timedExchange(metrics, () -> exchange.apply(restClient), permitRequested));
+                if (attempt > 1) {
+                    metrics.getRetryStats().recordRecovered();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                apiKey.recordError();
+                Duration retryAfter = handleThrottling(apiKey, e, url, projectId);
+                RetryPolicy.FailureType failureType = RetryPolicy.classify(e);
+                if (!failureType.isTransient()) {
+                    throw e;
+                }
+                
+                backoff = retryPolicy.nextBackoff(backoff);
+                if (retryAfter != null && retryAfter.compareTo(backoff) > 0) {
+                    backoff = retryAfter;
+                }
+                
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+                if (!retryPolicy.shouldRetry(attempt, failureType, idempotent, elapsed, backoff)) {
+                    metrics.getRetryStats().recordExhausted();
+                    throw e;
+                }
+                
+                metrics.getRetryStats().recordRetry(failureType, backoff);
+                requestLogger.warn("Transient failure ({}) on attempt {} for {}: {} - retrying in {} ms",
+                        failureType, attempt, extractEndpoint(url), e.getMessage(), backoff.toMillis());
+                
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            } finally {
+                apiKey.release();
+            }
+        }
+    }
+    
+    /**
+     * Run one HTTP exchange, recording its latency, response size and outcome
+     * 
+     * @param permitRequested when the caller started waiting for the in-flight permit
+     */
+    private <T> T timedExchange(EndpointMetrics metrics, Supplier<T> exchange, long permitRequested) {
+        long start = System.nanoTime();
+        metrics.recordPermitWait(start - permitRequested);
+        try {
+            T result = exchange.get();
+            apiMetrics.recordExchange(metrics, System.nanoTime() - start, responseSize(result), false);
+            return result;
+        } catch (RuntimeException e) {
+            apiMetrics.recordExchange(metrics, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+    }
+    
+    /**
+     * Size of a response body; text is counted in characters, which matches its byte
+     * count for the ASCII JSON Atlas returns
+     */
+    private static long responseSize(Object body) {
+        if (body instanceof ResponseEntity) {
+            body = ((ResponseEntity<?>) body).getBody();
+        }
+        if (body instanceof String) {
+            return ((String) body).length();
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        return 0;
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getResponseBody(String, String, String)}
+     */
+    protected CompletableFuture<String> getResponseBodyAsync(String url, String acceptHeader, String projectId) {
+        return submitAsync(() -> getResponseBody(url, acceptHeader, projectId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getBinaryResponseBody(String, String, String)}
+     */
+    protected CompletableFuture<byte[]> getBinaryResponseBodyAsync(String url, String acceptHeader, String projectId) {
+        return submitAsync(() -> getBinaryResponseBody(url, acceptHeader, projectId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #makeApiRequest(String, HttpMethod, String, String, String)}
+     */
+    protected CompletableFuture<String> makeApiRequestAsync(String url, HttpMethod method, String requestBody, 
+                                                         String acceptHeader, String projectId) {
+        return submitAsync(() -> makeApiRequest(url, method, requestBody, acceptHeader, projectId));
+    }
+    
+    /**
+     * Run an arbitrary unit of API work (typically a typed client call that may span
+     * several requests) on the shared request executor
+     */
+    protected <T> CompletableFuture<T> submitAsync(Supplier<T> work) {
+        return asyncExecutor.submit(work);
+    }
+    
     /**
      * Generic method to parse API responses
      */
     protected <T> T parseResponse(String responseBody, Class<T> responseType) {
+        long start = System.nanoTime();
         try {
             return objectMapper.readValue(responseBody, responseType);
         } catch (JsonProcessingException e) {
             logger.error("Failed to parse JSON response: {}", e.getMessage());
             throw new AtlasApiException("Failed to parse JSON response", e);
+        } finally {
+            recordParse(start, responseBody);
         }
     }
     
+    /**
+     * Record the time spent decoding {@code responseBody}, from {@code startNanos} until now
+     */
+    void recordParse(long startNanos, String responseBody) {
+        apiMetrics.recordParse(System.nanoTime() - startNanos, responseBody != null ? responseBody.length() : 0);
+    }
+    
     /**
      * Extract results array from paginated API responses
      */
     @SuppressWarnings("unchecked")
     protected <T> List<T> extractResults(String responseBody) {
+        long start = System.nanoTime();
         try {
             Map<String, Object> responseMap = objectMapper.readValue(responseBody, Map.class);
             return (List<T>) responseMap.get("results");
         } catch (JsonProcessingException e) {
             logger.error("Failed to extract results from JSON response: {}", e.getMessage());
             throw new AtlasApiException("Failed to extract results from JSON response", e);
+        } finally {
+            recordParse(start, responseBody);
+        }
+    }
+    
+    /**
+     * Decode one page of a paginated API response, with the results bound directly to
+     * {@code elementType}
+     */
+    protected <T> AtlasPage<T> parsePage(String responseBody, Class<T> elementType) {
+        long start = System.nanoTime();
+        try {
+            JavaType pageType = objectMapper.getTypeFactory().constructParametricType(AtlasPage.class, elementType);
+            return objectMapper.readValue(responseBody, pageType);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to extract results from JSON response: {}", e.getMessage());
+            throw new AtlasApiException("Failed to extract results from JSON response", e);
+        } finally {
+            recordParse(start, responseBody);
         }
     }
     
+    /**
+     * Extract results array from paginated API responses as typed objects
+     */
+    protected <T> List<T> extractResults(String responseBody, Class<T> elementType) {
+        return parsePage(responseBody, elementType).getResults();
+    }
+    
     /**
      * Format metrics for URL parameters
      */
@@ -480,34 +890,67 @@ public class AtlasApiBase {
                 .collect(Collectors.joining("&"));
     }
     
-    // All the rate limiting and logging methods from your original class...
-    // (keeping the implementation exactly as you had it)
+    /**
+     * Block until a key's rate limiter grants a permit for this request's project/organization
+     */
+    private void acquireRateLimit(RateLimiter rateLimiter, String url, String projectId) {
+        String effectiveProjectId = projectId != null ? projectId : extractPathId(url, "/groups/");
+        rateLimiter.acquire(effectiveProjectId, extractPathId(url, "/orgs/"));
+    }
     
-    private synchronized void checkRateLimit() {
-        Instant now = Instant.now();
-        Instant cutoff = now.minus(RATE_LIMIT_WINDOW_MINUTES, ChronoUnit.MINUTES);
-        
-        while (!requestTimestamps.isEmpty() && requestTimestamps.peekFirst().isBefore(cutoff)) {
-            requestTimestamps.removeFirst();
+    /**
+     * Tell the key's rate limiter to back off when Atlas answers 429 Too Many Requests,
+     * honouring the Retry-After header when present
+     * 
+     * @return the Retry-After delay for a 429 response, otherwise null
+     */
+    private Duration handleThrottling(ApiKeyPool.Member<KeyClient> apiKey, Exception e, String url, String projectId) {
+        if (!(e instanceof RestClientResponseException)) {
+            return null;
+        }
+        RestClientResponseException responseException = (RestClientResponseException) e;
+        if (responseException.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return null;
         }
         
-        if (requestTimestamps.size() >= RATE_LIMIT_MAX_REQUESTS) {
+        String effectiveProjectId = projectId != null ? projectId : extractPathId(url, "/groups/");
+        Duration retryAfter = parseRetryAfter(responseException.getResponseHeaders());
+        apiKey.recordThrottled();
+        apiKey.getRateLimiter().onThrottled(effectiveProjectId, extractPathId(url, "/orgs/"), retryAfter);
+        return retryAfter;
+    }
+    
+    static Duration parseRetryAfter(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value != null) {
             try {
-                Instant oldestTimestamp = requestTimestamps.peekFirst();
-                Instant nextAllowedRequest = oldestTimestamp.plus(RATE_LIMIT_WINDOW_MINUTES, ChronoUnit.MINUTES);
-                long waitTimeMs = now.until(nextAllowedRequest, ChronoUnit.MILLIS);
-                
-                if (waitTimeMs > 0) {
-                    logger.warn("Rate limit reached. Waiting {} ms", waitTimeMs);
-                    Thread.sleep(waitTimeMs + 50);
+                return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    Instant retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                    return Duration.ofMillis(Math.max(0, Instant.now().until(retryAt, ChronoUnit.MILLIS)));
+                } catch (DateTimeParseException ignored) {
+                    // Fall through to the default
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.error("Rate limit wait interrupted", e);
             }
         }
-        
-        requestTimestamps.addLast(Instant.now());
+        return DEFAULT_RETRY_AFTER;
+    }
+    
+    /**
+     * Extract the path segment following {@code marker} (e.g. the project ID after "/groups/")
+     */
+    private static String extractPathId(String url, String marker) {
+        int start = url.indexOf(marker);
+        if (start < 0) {
+            return null;
+        }
+        start += marker.length();
+        int end = start;
+        while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != '?') {
+            end++;
+        }
+        return end > start ? url.substring(start, end) : null;
     }
     
     private void logRequest(String url, String projectId) {
@@ -531,7 +974,21 @@ public class AtlasApiBase {
         }
     }
     
-    private String extractEndpoint(String url) {
+    /**
+     * Path of a request relative to the Atlas API base URL, without the query string;
+     * URLs on other hosts are reduced to their path
+     */
+    static String endpointPath(String url) {
+        String endpoint = extractEndpoint(url);
+        int schemeEnd = endpoint.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = endpoint.indexOf('/', schemeEnd + 3);
+            endpoint = pathStart >= 0 ? endpoint.substring(pathStart) : "/";
+        }
+        return endpoint;
+    }
+    
+    private static String extractEndpoint(String url) {
         String endpoint = url;
         if (url.startsWith(BASE_URL_V2)) {
             endpoint = url.substring(BASE_URL_V2.length());
@@ -547,42 +1004,56 @@ public class AtlasApiBase {
         return endpoint;
     }
     
-    private synchronized void trackRequest(String projectId, String url) {
-        String effectiveProjectId = projectId;
-        if (effectiveProjectId == null && url.contains("/groups/")) {
-            String[] parts = url.split("/groups/");
-            if (parts.length > 1) {
-                parts = parts[1].split("/");
-                if (parts.length > 0) {
-                    effectiveProjectId = parts[0];
-                }
+    /**
+     * Reduce a URL to an endpoint template so statistics aggregate across projects and
+     * hosts. Atlas paths alternate collection and identifier segments
+     * (e.g. /groups/{id}/processes/{id}/measurements), so every identifier position
+     * is replaced with a placeholder.
+     */
+    static String endpointTemplate(String url) {
+        String[] segments = endpointPath(url).split("/");
+        StringBuilder template = new StringBuilder();
+        int position = 0;
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
             }
+            template.append('/').append(position % 2 == 1 ? "{id}" : segment);
+            position++;
         }
+        return template.length() > 0 ? template.toString() : "/";
+    }
+    
+    private void trackRequest(String projectId, String url) {
+        String effectiveProjectId = projectId != null ? projectId : extractPathId(url, "/groups/");
         
         if (effectiveProjectId != null) {
-            int count = projectRequestCounts.getOrDefault(effectiveProjectId, 0) + 1;
-            projectRequestCounts.put(effectiveProjectId, count);
+            projectRequestCounts.merge(effectiveProjectId, 1, Integer::sum);
         }
         
-        totalRequests++;
+        Instant now = Instant.now();
+        recentRequests.addLast(now);
+        pruneRecentRequests(now);
         
-        if (totalRequests % 10 == 0) {
+        if (totalRequests.incrementAndGet() % 10 == 0) {
             logRequestStats();
         }
     }
     
-    public void logRequestStats() {
-        Instant now = Instant.now();
-        int requestsInLastMinute = 0;
-        
-        for (Instant timestamp : requestTimestamps) {
-            if (timestamp.isAfter(now.minus(1, ChronoUnit.MINUTES))) {
-                requestsInLastMinute++;
-            }
+    private void pruneRecentRequests(Instant now) {
+        Instant cutoff = now.minus(1, ChronoUnit.MINUTES);
+        Instant oldest;
+        while ((oldest = recentRequests.peekFirst()) != null && oldest.isBefore(cutoff)) {
+            recentRequests.pollFirst();
         }
+    }
+    
+    public void logRequestStats() {
+        pruneRecentRequests(Instant.now());
+        int requestsInLastMinute = recentRequests.size();
         
         logger.debug("API request stats: {} total, {} in last minute, {} projects",
-                totalRequests, requestsInLastMinute, projectRequestCounts.size());
+                totalRequests.get(), requestsInLastMinute, projectRequestCounts.size());
     }
     
     public void setDebugLevel(int level) {
@@ -596,23 +1067,211 @@ public class AtlasApiBase {
     
     public Map<String, Object> getApiStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalRequests", totalRequests);
-        
-        Instant now = Instant.now();
-        long requestsInLastMinute = requestTimestamps.stream()
-                .filter(ts -> ts.isAfter(now.minus(1, ChronoUnit.MINUTES)))
-                .count();
+        stats.put("totalRequests", totalRequests.get());
         
-        stats.put("requestsInLastMinute", requestsInLastMinute);
+        pruneRecentRequests(Instant.now());
+        stats.put("requestsInLastMinute", recentRequests.size());
         stats.put("projectStats", new HashMap<>(projectRequestCounts));
         
         Map<String, Integer> endpointStats = new HashMap<>();
         endpointCounts.forEach((endpoint, count) -> endpointStats.put(endpoint, count.get()));
         stats.put("endpointStats", endpointStats);
+        stats.put("asyncStats", asyncExecutor.getStats());
+        stats.put("rateLimiter", getRateLimiter().getStats());
+        stats.put("apiKeys", keyPool.getStats());
+        
+        Map<String, Object> retryStats = new HashMap<>();
+        for (EndpointMetrics endpoint : apiMetrics.getEndpoints()) {
+            if (!endpoint.getRetryStats().isEmpty()) {
+                retryStats.put(endpoint.getEndpoint(), endpoint.getRetryStats().toMap());
+            }
+        }
+        stats.put("retryStats", retryStats);
+        stats.put("endpointMetrics", apiMetrics.getEndpointStats());
+        stats.put("parsing", apiMetrics.getParseStats());
+        stats.put("connectionPool", getConnectionPoolStats());
+        Map<String, Object> digestStats = getDigestAuthStats();
+        if (digestStats != null) {
+            stats.put("digestAuth", digestStats);
+        }
+        stats.put("responseCache", responseCache.getStats());
+        stats.put("singleFlight", inFlightGets.getStats());
         
         return stats;
     }
     
+    /**
+     * Preemptive Digest counters summed over all keys, or null when preemptive Digest is off
+     */
+    private Map<String, Object> getDigestAuthStats() {
+        Map<String, Object> totals = null;
+        for (ApiKeyPool.Member<KeyClient> apiKey : keyPool.getMembers()) {
+            PreemptiveDigestAuth digestAuth = apiKey.getClient().digestAuth;
+            if (digestAuth == null) {
+                continue;
+            }
+            if (totals == null) {
+                totals = new HashMap<>();
+            }
+            for (Map.Entry<String, Object> counter : digestAuth.getStats().entrySet()) {
+                long value = ((Number) counter.getValue()).longValue();
+                totals.merge(counter.getKey(), value, (a, b) -> (Long) a + (Long) b);
+            }
+        }
+        return totals;
+    }
+    
+    /**
+     * Live connection pool counters: leased (in use), available (idle, reusable),
+     * pending (threads waiting for a connection) and the configured maximum
+     */
+    public Map<String, Object> getConnectionPoolStats() {
+        Map<String, Object> poolStats = new HashMap<>();
+        PoolStats totals = connectionManager.getTotalStats();
+        poolStats.put("leased", totals.getLeased());
+        poolStats.put("available", totals.getAvailable());
+        poolStats.put("pending", totals.getPending());
+        poolStats.put("max", totals.getMax());
+        poolStats.put("maxPerRoute", connectionManager.getDefaultMaxPerRoute());
+        return poolStats;
+    }
+    
+    /**
+     * Replace the rate limiter used for all subsequent requests. With several API keys the
+     * same instance is given to every key, so they then share one budget; use
+     * {@link #setRateLimiter(String, RateLimiter)} to keep separate budgets.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        for (ApiKeyPool.Member<KeyClient> apiKey : keyPool.getMembers()) {
+            apiKey.setRateLimiter(rateLimiter);
+        }
+    }
+    
+    /**
+     * Replace the rate limiter of the API key with the given public key
+     */
+    public void setRateLimiter(String publicKey, RateLimiter rateLimiter) {
+        for (ApiKeyPool.Member<KeyClient> apiKey : keyPool.getMembers()) {
+            if (apiKey.getKey().getPublicKey().equals(publicKey)) {
+                apiKey.setRateLimiter(rateLimiter);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("No API key " + publicKey + " in the pool");
+    }
+    
+    /**
+     * The rate limiter of the first (or only) API key
+     */
+    public RateLimiter getRateLimiter() {
+        return keyPool.getPrimary().getRateLimiter();
+    }
+    
+    /**
+     * Per-key load counters keyed by public key: requests in flight, requests sent,
+     * errors, 429 responses, the key's project restriction and its rate limiter state
+     */
+    public Map<String, Object> getApiKeyStats() {
+        return keyPool.getStats();
+    }
+    
+    /**
+     * Replace the retry policy used for all subsequent requests
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.NONE;
+    }
+    
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+    
+    /**
+     * Per-endpoint latency histograms, error/retry counts, bytes received and pacing
+     * waits, plus response parsing time; see {@link com.mongodb.atlas.api.http.MicrometerApiMetrics}
+     * to publish them to a Micrometer registry
+     */
+    public ApiMetrics getApiMetrics() {
+        return apiMetrics;
+    }
+    
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+    
+    /**
+     * Cache GET responses of an endpoint, e.g. {@code /groups/{id}/databaseUsers}, for
+     * {@code ttl}; a zero TTL stops caching it
+     */
+    public void setResponseCacheTtl(String endpointTemplate, Duration ttl) {
+        responseCache.setTtl(endpointTemplate, ttl);
+    }
+    
+    /**
+     * Drop all cached responses, e.g. after changes made outside this client
+     */
+    public void clearResponseCache() {
+        responseCache.clear();
+    }
+    
+    /**
+     * Drop cached responses a mutation of {@code url} may have made stale: everything
+     * under the same project plus the project listing, or the whole cache when the URL
+     * is not project-scoped
+     */
+    private void invalidateCachedResponses(String url) {
+        String projectId = extractPathId(url, "/groups/");
+        if (projectId == null) {
+            responseCache.clear();
+            return;
+        }
+        String projectPath = "/groups/" + projectId;
+        int removed = responseCache.invalidate(cachedUrl -> {
+            String path = endpointPath(cachedUrl);
+            return path.equals("/groups") || path.equals(projectPath) || path.startsWith(projectPath + "/");
+        });
+        if (removed > 0 && debugLevel >= 1) {
+            requestLogger.debug("Invalidated {} cached responses after mutation of {}", removed, extractEndpoint(url));
+        }
+    }
+    
+    /**
+     * Record project to organization ownership from a project listing so per-organization
+     * rate limit budgets apply to project-scoped requests
+     */
+    void registerProjectOrganizations(List<Map<String, Object>> projects) {
+        if (projects == null) {
+            return;
+        }
+        for (ApiKeyPool.Member<KeyClient> apiKey : keyPool.getMembers()) {
+            if (!(apiKey.getRateLimiter() instanceof TokenBucketRateLimiter)) {
+                continue;
+            }
+            TokenBucketRateLimiter limiter = (TokenBucketRateLimiter) apiKey.getRateLimiter();
+            for (Map<String, Object> project : projects) {
+                limiter.assignProjectToOrganization((String) project.get("id"), (String) project.get("orgId"));
+            }
+        }
+    }
+    
+    public AsyncRequestExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+    
+    /**
+     * Shut down the request executor, waiting for queued asynchronous work to finish,
+     * then release pooled connections
+     */
+    @Override
+    public void close() {
+        asyncExecutor.close();
+        for (ApiKeyPool.Member<KeyClient> apiKey : keyPool.getMembers()) {
+            apiKey.getClient().httpClient.close(CloseMode.GRACEFUL);
+        }
+        connectionEvictor.shutdown();
+        connectionManager.close(CloseMode.GRACEFUL);
+    }
+    
     public static class AtlasApiException extends RuntimeException {
         private static final long serialVersionUID = 1L;
 
@@ -30,29 +30,44 @@ import org.springframework.web.client.RestClient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.atlas.api.http.ApiKey;
 
 /**
  * Main entry point for Atlas API operations.
  * Provides access to specialized clients for different API categories.
  */
-public class AtlasApiClient {
+public class AtlasApiClient implements AutoCloseable {
     
     private final AtlasApiBase apiBase;
     private final AtlasMonitoringClient monitoring;
     private final AtlasClustersClient clusters;
     private final AtlasLogsClient logs;
     private final AtlasProjectsClient projects;
+    private final ProjectFanOut projectFanOut;
     
     public AtlasApiClient(String apiPublicKey, String apiPrivateKey) {
         this(apiPublicKey, apiPrivateKey, 2);
     }
     
     public AtlasApiClient(String apiPublicKey, String apiPrivateKey, int debugLevel) {
-        this.apiBase = new AtlasApiBase(apiPublicKey, apiPrivateKey, debugLevel);
+        this(new AtlasApiBase(apiPublicKey, apiPrivateKey, debugLevel));
+    }
+    
+    /**
+     * Client that spreads requests over several API keys, each with its own rate limit
+     * budget and optional project restriction, to raise aggregate throughput
+     */
+    public AtlasApiClient(List<ApiKey> apiKeys, int debugLevel) {
+        this(new AtlasApiBase(apiKeys, debugLevel));
+    }
+    
+    private AtlasApiClient(AtlasApiBase apiBase) {
+        this.apiBase = apiBase;
         this.monitoring = new AtlasMonitoringClient(apiBase);
         this.clusters = new AtlasClustersClient(apiBase);
         this.logs = new AtlasLogsClient(apiBase, this);
         this.projects = new AtlasProjectsClient(apiBase);
+        this.projectFanOut = new ProjectFanOut(apiBase);
     }
     
     
@@ -81,6 +96,13 @@ public class AtlasApiClient {
         return logs;
     }
     
+    /**
+     * Run per-project operations concurrently, sharing this client's rate limits
+     */
+    public ProjectFanOut projectFanOut() {
+        return projectFanOut;
+    }
+    
     /**
      * Access base functionality (rate limiting stats, debug level, etc.)
      */
@@ -101,4 +123,12 @@ public class AtlasApiClient {
     public Map<String, Object> getApiStats() {
         return apiBase.getApiStats();
     }
+    
+    /**
+     * Release the shared request executor
+     */
+    @Override
+    public void close() {
+        apiBase.close();
+    }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.mongodb.atlas.api.clients;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -13,11 +15,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.atlas.api.model.AtlasCluster;
+import com.mongodb.atlas.api.model.AtlasPage;
+import com.mongodb.atlas.api.model.AtlasProcess;
 
 public class AtlasClustersClient {
 
 	private static final Logger logger = LoggerFactory.getLogger(AtlasClustersClient.class);
 
+	private static final int PROCESSES_PAGE_SIZE = 500;
+
 	private final AtlasApiBase apiBase;
 	private final ObjectMapper objectMapper;
 
@@ -45,6 +52,7 @@ public class AtlasClustersClient {
 
         try {
             List<Map<String, Object>> projects = apiBase.extractResults(responseBody);
+            apiBase.registerProjectOrganizations(projects);
             
             return projects.stream()
                     .filter(p -> includeProjectNames == null || includeProjectNames.isEmpty() || includeProjectNames.contains(p.get("name")))
@@ -61,52 +69,43 @@ public class AtlasClustersClient {
      * Get all processes for a project with pagination support
      */
     public List<Map<String, Object>> getProcesses(String projectId) {
-        List<Map<String, Object>> allProcesses = new ArrayList<>();
-        int pageNum = 1;
-        boolean hasMorePages = true;
-        
         logger.debug("Fetching all processes for project {} with pagination", projectId);
         
-        while (hasMorePages) {
-            String url = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes"
-                    + "?pageNum=" + pageNum + "&itemsPerPage=500";
-            
-            try {
-                String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
-                Map<String, Object> responseMap = apiBase.parseResponse(responseBody, Map.class);
-                
-                List<Map<String, Object>> pageProcesses = 
-                    (List<Map<String, Object>>) responseMap.get("results");
-                
-                if (pageProcesses != null && !pageProcesses.isEmpty()) {
-                    allProcesses.addAll(pageProcesses);
-                    
-                    // Check pagination - use totalCount and current page size
-                    Object totalCount = responseMap.get("totalCount");
-                    if (totalCount instanceof Integer) {
-                        int total = (Integer) totalCount;
-                        hasMorePages = allProcesses.size() < total;
-                    } else {
-                        // Fallback: if we got a full page, assume there might be more
-                        hasMorePages = pageProcesses.size() >= 500;
-                    }
-                    
-                    logger.debug("Page {}: {} processes (total so far: {})", 
-                            pageNum, pageProcesses.size(), allProcesses.size());
-                    pageNum++;
-                } else {
-                    hasMorePages = false;
-                }
-            } catch (Exception e) {
-                logger.error("Failed to fetch processes page {} for project {}: {}", 
-                        pageNum, projectId, e.getMessage());
-                throw e;
-            }
+        List<Map<String, Object>> pages = AtlasPaginator.fetchAll(apiBase,
+                pageNum -> fetchPage(processesPageUrl(projectId, pageNum), projectId, pageNum),
+                page -> page.get("totalCount") instanceof Integer
+                        ? AtlasPaginator.pageCount((Integer) page.get("totalCount"), PROCESSES_PAGE_SIZE) : null,
+                page -> pageResults(page).size() >= PROCESSES_PAGE_SIZE);
+        
+        List<Map<String, Object>> allProcesses = new ArrayList<>();
+        for (Map<String, Object> page : pages) {
+            allProcesses.addAll(pageResults(page));
         }
         
         logger.info("Retrieved {} total processes for project {}", allProcesses.size(), projectId);
         return allProcesses;
     }
+    
+    private static String processesPageUrl(String projectId, int pageNum) {
+        return AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes"
+                + "?pageNum=" + pageNum + "&itemsPerPage=" + PROCESSES_PAGE_SIZE;
+    }
+    
+    private Map<String, Object> fetchPage(String url, String projectId, int pageNum) {
+        try {
+            String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
+            return apiBase.parseResponse(responseBody, Map.class);
+        } catch (Exception e) {
+            logger.error("Failed to fetch processes page {} for project {}: {}", 
+                    pageNum, projectId, e.getMessage());
+            throw e;
+        }
+    }
+    
+    private static List<Map<String, Object>> pageResults(Map<String, Object> page) {
+        List<Map<String, Object>> results = (List<Map<String, Object>>) page.get("results");
+        return results != null ? results : Collections.emptyList();
+    }
 
     /**
      * Get processes for a specific cluster by cluster name
@@ -147,6 +146,115 @@ public class AtlasClustersClient {
         }
     }
 
+    /**
+     * Get all clusters in a project as typed summaries
+     */
+    public List<AtlasCluster> getAtlasClusters(String projectId) {
+        String url = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/clusters";
+        logger.info("Fetching clusters for project {}", projectId);
+        String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
+        return apiBase.extractResults(responseBody, AtlasCluster.class);
+    }
+    
+    /**
+     * Get all processes for a project as typed objects, with pagination support
+     */
+    public List<AtlasProcess> getAtlasProcesses(String projectId) {
+        logger.debug("Fetching all processes for project {} with pagination", projectId);
+        
+        List<AtlasPage<AtlasProcess>> pages = AtlasPaginator.fetchAll(apiBase,
+                pageNum -> {
+                    try {
+                        String responseBody = apiBase.getResponseBody(processesPageUrl(projectId, pageNum), 
+                                AtlasApiBase.API_VERSION_V2, projectId);
+                        return apiBase.parsePage(responseBody, AtlasProcess.class);
+                    } catch (Exception e) {
+                        logger.error("Failed to fetch processes page {} for project {}: {}", 
+                                pageNum, projectId, e.getMessage());
+                        throw e;
+                    }
+                },
+                page -> page.getTotalCount() != null
+                        ? AtlasPaginator.pageCount(page.getTotalCount(), PROCESSES_PAGE_SIZE) : null,
+                page -> page.getResults().size() >= PROCESSES_PAGE_SIZE);
+        
+        List<AtlasProcess> allProcesses = new ArrayList<>();
+        for (AtlasPage<AtlasProcess> page : pages) {
+            allProcesses.addAll(page.getResults());
+        }
+        
+        logger.info("Retrieved {} total processes for project {}", allProcesses.size(), projectId);
+        return allProcesses;
+    }
+    
+    /**
+     * Get processes for a specific cluster by cluster name as typed objects
+     * 
+     * @see #getProcessesForCluster(String, String)
+     */
+    public List<AtlasProcess> getAtlasProcessesForCluster(String projectId, String clusterName) {
+        logger.info("Fetching processes for cluster '{}' in project {}", clusterName, projectId);
+        
+        try {
+            List<AtlasProcess> clusterProcesses = getAtlasProcesses(projectId).stream()
+                    .filter(p -> p.getUserAlias() != null && p.getHostname() != null &&
+                            p.getUserAlias().startsWith(clusterName) &&
+                            dropCommonSuffix(p.getUserAlias(), p.getHostname()).equals(clusterName))
+                    .collect(Collectors.toList());
+            
+            logger.info("Found {} processes in project {}", clusterProcesses.size(), projectId);
+            return clusterProcesses;
+            
+        } catch (Exception e) {
+            logger.error("Failed to retrieve processes for cluster '{}' in project {}: {}", 
+                    clusterName, projectId, e.getMessage());
+            throw new AtlasApiBase.AtlasApiException(
+                    "Failed to retrieve processes for cluster '" + clusterName + "'", e);
+        }
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getClusters(String)}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getClustersAsync(String projectId) {
+        return apiBase.submitAsync(() -> getClusters(projectId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getCluster(String, String)}
+     */
+    public CompletableFuture<Map<String, Object>> getClusterAsync(String projectId, String clusterName) {
+        return apiBase.submitAsync(() -> getCluster(projectId, clusterName));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getProcesses(String)}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getProcessesAsync(String projectId) {
+        return apiBase.submitAsync(() -> getProcesses(projectId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getProcessesForCluster(String, String)}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getProcessesForClusterAsync(String projectId, String clusterName) {
+        return apiBase.submitAsync(() -> getProcessesForCluster(projectId, clusterName));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getAtlasProcesses(String)}
+     */
+    public CompletableFuture<List<AtlasProcess>> getAtlasProcessesAsync(String projectId) {
+        return apiBase.submitAsync(() -> getAtlasProcesses(projectId));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getAtlasProcessesForCluster(String, String)}
+     */
+    public CompletableFuture<List<AtlasProcess>> getAtlasProcessesForClusterAsync(String projectId, String clusterName) {
+        return apiBase.submitAsync(() -> getAtlasProcessesForCluster(projectId, clusterName));
+    }
+
     /**
      * Reverse string and return the outcome
      * @param s original string
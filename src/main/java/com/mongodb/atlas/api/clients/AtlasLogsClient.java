@@ -9,14 +9,17 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.atlas.api.logs.AtlasLogType;
+import com.mongodb.atlas.api.model.AtlasProcess;
 
 /**
  * Atlas API client for logs endpoints with binary gzip support
@@ -80,12 +83,12 @@ public class AtlasLogsClient {
         logger.info("Fetching log types for all processes in cluster: {}", clusterName);
         
         // Get all processes for the project
-        List<Map<String, Object>> processes = client.clusters().getProcessesForCluster(projectId, clusterName);
+        List<AtlasProcess> processes = client.clusters().getAtlasProcessesForCluster(projectId, clusterName);
         
         return processes.stream()
             .filter(process -> {
-                String processId = (String) process.get("id");
-                String typeName = (String) process.get("typeName");
+                String processId = process.getId();
+                String typeName = process.getTypeName();
                 
                 // Skip processes that don't provide user logs (config servers, arbiters)
                 if (shouldSkipProcess(typeName, processId)) {
@@ -96,17 +99,13 @@ public class AtlasLogsClient {
                 return true;
             })
             .collect(Collectors.toMap(
-                process -> (String) process.get("id"),
+                AtlasProcess::getId,
                 process -> {
-                    String[] hostPort = ((String) process.get("id")).split(":");
-                    String hostname = hostPort[0];
-                    int port = Integer.parseInt(hostPort[1]);
-                    
                     try {
-                        return getLogTypes(projectId, hostname, port);
+                        return getLogTypes(projectId, process.getHostname(), process.getPort());
                     } catch (Exception e) {
                         logger.warn("Failed to get log types for process {}: {}", 
-                                   process.get("id"), e.getMessage());
+                                   process.getId(), e.getMessage());
                         return new ArrayList<>();
                     }
                 }
@@ -182,27 +181,59 @@ public class AtlasLogsClient {
                                                           String logName, Instant startDate, Instant endDate) {
         logger.info("Fetching compressed {} logs for all processes in cluster: {}", logName, clusterName);
         
-        List<Map<String, Object>> processes = client.clusters().getProcessesForCluster(projectId, clusterName);
+        List<AtlasProcess> processes = client.clusters().getAtlasProcessesForCluster(projectId, clusterName);
         
         return processes.stream()
             .collect(Collectors.toMap(
-                process -> (String) process.get("id"),
+                AtlasProcess::getId,
                 process -> {
-                    String[] hostPort = ((String) process.get("id")).split(":");
-                    String hostname = hostPort[0];
-                    int port = Integer.parseInt(hostPort[1]);
-                    
                     try {
-                        return getCompressedLogsForHost(projectId, hostname, port, logName, startDate, endDate);
+                        return getCompressedLogsForHost(projectId, process.getHostname(), process.getPort(), 
+                                logName, startDate, endDate);
                     } catch (Exception e) {
                         logger.warn("Failed to get compressed logs for process {}: {}", 
-                                   process.get("id"), e.getMessage());
+                                   process.getId(), e.getMessage());
                         return new byte[0]; // Return empty array on failure
                     }
                 }
             ));
     }
     
+    /**
+     * Asynchronous variant of {@link #getCompressedLogsForHost}
+     */
+    public CompletableFuture<byte[]> getCompressedLogsForHostAsync(String projectId, String hostname, int port, 
+                                                                 String logName, Instant startDate, Instant endDate) {
+        return apiBase.submitAsync(() -> getCompressedLogsForHost(projectId, hostname, port, logName, startDate, endDate));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getCompressedLogsForCluster} - downloads for all
+     * processes in the cluster are issued concurrently, bounded by the request executor
+     */
+    public CompletableFuture<Map<String, byte[]>> getCompressedLogsForClusterAsync(String projectId, String clusterName, 
+                                                                                  String logName, Instant startDate, Instant endDate) {
+        return client.clusters().getAtlasProcessesForClusterAsync(projectId, clusterName).thenCompose(processes -> {
+            Map<String, CompletableFuture<byte[]>> downloads = new LinkedHashMap<>();
+            for (AtlasProcess process : processes) {
+                String processId = process.getId();
+                downloads.put(processId, getCompressedLogsForHostAsync(projectId, process.getHostname(), 
+                        process.getPort(), logName, startDate, endDate)
+                    .exceptionally(e -> {
+                        logger.warn("Failed to get compressed logs for process {}: {}", processId, e.getMessage());
+                        return new byte[0]; // Return empty array on failure
+                    }));
+            }
+            
+            return CompletableFuture.allOf(downloads.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Map<String, byte[]> results = new LinkedHashMap<>();
+                    downloads.forEach((processId, future) -> results.put(processId, future.join()));
+                    return results;
+                });
+        });
+    }
+    
     /**
      * Download compressed log files for all processes in a cluster
      * Downloads only MONGODB and MONGOS log types (excludes audit logs)
@@ -246,7 +277,7 @@ public class AtlasLogsClient {
         Files.createDirectories(outputDir);
         
         // Get all processes for the cluster using the existing method
-        List<Map<String, Object>> processes = client.clusters().getProcessesForCluster(projectId, clusterName);
+        List<AtlasProcess> processes = client.clusters().getAtlasProcessesForCluster(projectId, clusterName);
         
         if (processes.isEmpty()) {
             logger.warn("No processes found for cluster: {}", clusterName);
@@ -259,15 +290,14 @@ public class AtlasLogsClient {
         int processCount = 0;
         int failedCount = 0;
         // For each process, download only the appropriate log types
-        for (Map<String, Object> process : processes) {
+        for (AtlasProcess process : processes) {
             processCount++;
-            String processId = (String) process.get("id");
-            String[] hostPort = processId.split(":");
-            String hostname = hostPort[0]; // Use hostname WITHOUT port
-            int port = Integer.parseInt(hostPort[1]);
+            String processId = process.getId();
+            String hostname = process.getHostname(); // Use hostname WITHOUT port
+            int port = process.getPort();
             
             // Get process type for filtering
-            String typeName = (String) process.get("typeName");
+            String typeName = process.getTypeName();
             
             logger.debug("Processing logs for process: {} (type: {}) - using hostname: {}", 
                        processId, typeName, hostname);
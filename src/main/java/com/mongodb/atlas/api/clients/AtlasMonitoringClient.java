@@ -1,15 +1,21 @@
 package com.mongodb.atlas.api.clients;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
 /**
  * Atlas API client for monitoring and metrics endpoints
  */
@@ -17,6 +23,8 @@ public class AtlasMonitoringClient {
     
     private static final Logger logger = LoggerFactory.getLogger(AtlasMonitoringClient.class);
     
+    private static final int MEASUREMENTS_PAGE_SIZE = 500;
+    
     private final AtlasApiBase apiBase;
     
     public AtlasMonitoringClient(AtlasApiBase apiBase) {
@@ -42,57 +50,18 @@ public class AtlasMonitoringClient {
             String projectId, String hostname, int port, 
             List<String> metrics, String granularity, String period) {
         
-        List<Map<String, Object>> allMeasurements = new ArrayList<>();
-        String metricParams = apiBase.formatMetricsParam(metrics);
         String processId = hostname + ":" + port;
+        String urlPrefix = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
+                + "/measurements?granularity=" + granularity 
+                + "&period=" + period;
         
-        int pageNum = 1;
-        boolean hasMorePages = true;
-        
-        while (hasMorePages) {
-            String url = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
-                    + "/measurements?granularity=" + granularity 
-                    + "&period=" + period 
-                    + "&pageNum=" + pageNum
-                    + "&itemsPerPage=500"
-                    + "&" + metricParams;
-
-            try {
-                String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
-                Map<String, Object> responseMap = apiBase.parseResponse(responseBody, Map.class);
-                
-                List<Map<String, Object>> pageMeasurements = 
-                    (List<Map<String, Object>>) responseMap.get("measurements");
-                
-                if (pageMeasurements != null && !pageMeasurements.isEmpty()) {
-                    if (allMeasurements.isEmpty()) {
-                        allMeasurements.addAll(pageMeasurements);
-                    } else {
-                        mergeDataPoints(allMeasurements, pageMeasurements);
-                    }
-                    
-                    // Check pagination
-                    Object totalCount = responseMap.get("totalCount");
-                    Object resultsPerPage = responseMap.get("resultsPerPage");
-
-                    if (totalCount instanceof Integer && resultsPerPage instanceof Integer) {
-                        int total = (Integer) totalCount;
-                        int perPage = (Integer) resultsPerPage;
-                        int totalPages = (perPage > 0) ? (int) Math.ceil((double) total / perPage) : 0;
-                        hasMorePages = pageNum < totalPages;
-                    } else {
-                        hasMorePages = false;
-                    }
-                } else {
-                    hasMorePages = false;
-                }
-                
-                pageNum++;
-                
-            } catch (Exception e) {
-                logger.error("Failed to get measurements for {}:{} (page {}): {}", 
-                        hostname, port, pageNum, e.getMessage());
-                throw new AtlasApiBase.AtlasApiException("Failed to get measurements", e);
+        List<Map<String, Object>> allMeasurements = new ArrayList<>();
+        for (Map<String, Object> page : fetchMeasurementPages(projectId, hostname, port, urlPrefix, metrics)) {
+            List<Map<String, Object>> pageMeasurements = pageMeasurements(page);
+            if (allMeasurements.isEmpty()) {
+                allMeasurements.addAll(pageMeasurements);
+            } else {
+                mergeDataPoints(allMeasurements, pageMeasurements);
             }
         }
         
@@ -106,67 +75,31 @@ public class AtlasMonitoringClient {
             String projectId, String hostname, int port, 
             List<String> metrics, String granularity, String period) {
         
-        int pageSize = 500;
-        List<Map<String, Object>> allMeasurements = new ArrayList<>();
-        String metricParams = apiBase.formatMetricsParam(metrics);
         String processId = hostname + ":" + port;
+        String urlPrefix = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
+                + "/measurements?granularity=" + granularity 
+                + "&period=" + period;
         
-        int pageNum = 1;
-        boolean hasMorePages = true;
-        
-        while (hasMorePages) {
-            String url = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
-                    + "/measurements?granularity=" + granularity 
-                    + "&period=" + period
-                    + "&pageNum=" + pageNum
-                    + "&itemsPerPage=" + pageSize
-                    + "&" + metricParams;
-
-            try {
-                String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
-                Map<String, Object> responseMap = apiBase.parseResponse(responseBody, Map.class);
-                
-                List<Map<String, Object>> pageMeasurements = 
-                    (List<Map<String, Object>>) responseMap.get("measurements");
-                
-                if (pageMeasurements != null && !pageMeasurements.isEmpty()) {
-                    apiBase.logResponseDataInfo(pageMeasurements, processId, pageNum);
-                    
-                    if (allMeasurements.isEmpty()) {
-                        allMeasurements.addAll(pageMeasurements);
-                    } else {
-                    	apiBase.checkAndLogTimestampOverlaps(allMeasurements, pageMeasurements, processId, pageNum);
-                        mergeDataPoints(allMeasurements, pageMeasurements);
-                    }
-                    
-                    int pageDataPoints = apiBase.countDataPoints(pageMeasurements);
-                    
-                    logger.debug("Page {} processed: {} data points", pageNum, pageDataPoints);
-                    
-                    Object totalCount = responseMap.get("totalCount");
-                    Object resultsPerPage = responseMap.get("resultsPerPage");
-
-                    if (totalCount instanceof Integer && resultsPerPage instanceof Integer) {
-                        int total = (Integer) totalCount;
-                        int perPage = (Integer) resultsPerPage;
-                        int totalPages = (perPage > 0) ? (int) Math.ceil((double) total / perPage) : 0;
-                        hasMorePages = pageNum < totalPages;
-                        logger.debug("Pagination info: page {}/{}, hasMorePages: {}", 
-                                pageNum, totalPages, hasMorePages);
-                    } else {
-                        hasMorePages = false;
-                    }
-                } else {
-                    hasMorePages = false;
-                }
-                
-                pageNum++;
-                
-            } catch (Exception e) {
-                logger.error("Failed to get measurements for {}:{} (page {}): {}", 
-                        hostname, port, pageNum, e.getMessage());
-                throw new AtlasApiBase.AtlasApiException("Failed to get measurements", e);
+        List<Map<String, Object>> allMeasurements = new ArrayList<>();
+        int pageNum = 0;
+        for (Map<String, Object> page : fetchMeasurementPages(projectId, hostname, port, urlPrefix, metrics)) {
+            pageNum++;
+            List<Map<String, Object>> pageMeasurements = pageMeasurements(page);
+            if (pageMeasurements.isEmpty()) {
+                continue;
             }
+            apiBase.logResponseDataInfo(pageMeasurements, processId, pageNum);
+            
+            if (allMeasurements.isEmpty()) {
+                allMeasurements.addAll(pageMeasurements);
+            } else {
+            	apiBase.checkAndLogTimestampOverlaps(allMeasurements, pageMeasurements, processId, pageNum);
+                mergeDataPoints(allMeasurements, pageMeasurements);
+            }
+            
+            int pageDataPoints = apiBase.countDataPoints(pageMeasurements);
+            
+            logger.debug("Page {} processed: {} data points", pageNum, pageDataPoints);
         }
         
         return allMeasurements;
@@ -181,7 +114,6 @@ public class AtlasMonitoringClient {
             Instant startTime, Instant endTime) {
         
         List<Map<String, Object>> allMeasurements = new ArrayList<>();
-        String metricParams = apiBase.formatMetricsParam(metrics);
         String processId = hostname + ":" + port;
         
         String endTimeStr = endTime.toString();
@@ -190,57 +122,21 @@ public class AtlasMonitoringClient {
         logger.info("Fetching measurements for {}:{} from {} to {}", 
                 hostname, port, startTimeStr, endTimeStr);
         
-        int pageNum = 1;
-        boolean hasMorePages = true;
-        
-        while (hasMorePages) {
-            String url = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
-                    + "/measurements?granularity=" + granularity 
-                    + "&start=" + startTimeStr
-                    + "&end=" + endTimeStr
-                    + "&pageNum=" + pageNum
-                    + "&itemsPerPage=500"
-                    + "&" + metricParams;
-
-            try {
-                String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
-                Map<String, Object> responseMap = apiBase.parseResponse(responseBody, Map.class);
-                
-                List<Map<String, Object>> pageMeasurements = 
-                    (List<Map<String, Object>>) responseMap.get("measurements");
-                
-                if (pageMeasurements != null && !pageMeasurements.isEmpty()) {
-                    if (allMeasurements.isEmpty()) {
-                        allMeasurements.addAll(pageMeasurements);
-                        apiBase.logTimeRangeInfo(pageMeasurements, processId);
-                    } else {
-                        mergeDataPoints(allMeasurements, pageMeasurements);
-                    }
-                    
-                    Object totalCount = responseMap.get("totalCount");
-                    Object resultsPerPage = responseMap.get("resultsPerPage");
-
-                    if (totalCount instanceof Integer && resultsPerPage instanceof Integer) {
-                        int total = (Integer) totalCount;
-                        int perPage = (Integer) resultsPerPage;
-                        int totalPages = (perPage > 0) ? (int) Math.ceil((double) total / perPage) : 0;
-                        hasMorePages = pageNum < totalPages;
-                        logger.debug("Pagination info: page {}/{}, hasMorePages: {}", 
-                                pageNum, totalPages, hasMorePages);
-                    } else {
-                        hasMorePages = false;
-                    }
-                } else {
-                    hasMorePages = false;
-                    logger.debug("No data on page {}, ending pagination", pageNum);
-                }
-                
-                pageNum++;
-                
-            } catch (Exception e) {
-                logger.error("Failed to get measurements for {}:{} (page {}): {}", 
-                        hostname, port, pageNum, e.getMessage());
-                throw new AtlasApiBase.AtlasApiException("Failed to get measurements", e);
+        String urlPrefix = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
+                + "/measurements?granularity=" + granularity 
+                + "&start=" + startTimeStr
+                + "&end=" + endTimeStr;
+        
+        for (Map<String, Object> page : fetchMeasurementPages(projectId, hostname, port, urlPrefix, metrics)) {
+            List<Map<String, Object>> pageMeasurements = pageMeasurements(page);
+            if (pageMeasurements.isEmpty()) {
+                continue;
+            }
+            if (allMeasurements.isEmpty()) {
+                allMeasurements.addAll(pageMeasurements);
+                apiBase.logTimeRangeInfo(pageMeasurements, processId);
+            } else {
+                mergeDataPoints(allMeasurements, pageMeasurements);
             }
         }
         
@@ -458,6 +354,163 @@ public class AtlasMonitoringClient {
         }
     }
     
+    /**
+     * Get process measurements using explicit start and end timestamps, decoded straight
+     * into compact per-metric series. Equivalent to
+     * {@link #getProcessMeasurementsWithExplicitTimeRange} without the per-data-point maps.
+     */
+    public List<MeasurementSeries> getProcessMeasurementSeries(
+            String projectId, String hostname, int port, 
+            List<String> metrics, String granularity, 
+            Instant startTime, Instant endTime) {
+        
+        Map<String, MeasurementSeries> seriesByMetric = new LinkedHashMap<>();
+        String metricParams = apiBase.formatMetricsParam(metrics);
+        String processId = hostname + ":" + port;
+        
+        String endTimeStr = endTime.toString();
+        String startTimeStr = startTime.toString();
+        
+        logger.info("Fetching measurements for {}:{} from {} to {}", 
+                hostname, port, startTimeStr, endTimeStr);
+        
+        String urlPrefix = AtlasApiBase.BASE_URL_V2 + "/groups/" + projectId + "/processes/" + processId
+                + "/measurements?granularity=" + granularity 
+                + "&start=" + startTimeStr
+                + "&end=" + endTimeStr;
+        
+        try {
+            List<MeasurementsParser.Page> pages = AtlasPaginator.fetchAll(apiBase,
+                    pageNum -> parseMeasurementsPage(fetchMeasurementsPage(urlPrefix, metricParams, projectId, pageNum)),
+                    page -> page.getMeasurements().isEmpty() || page.getTotalCount() == null || page.getResultsPerPage() == null
+                            ? null : AtlasPaginator.pageCount(page.getTotalCount(), page.getResultsPerPage()),
+                    page -> false);
+            for (MeasurementsParser.Page page : pages) {
+                for (MeasurementSeries series : page.getMeasurements()) {
+                    seriesByMetric.merge(series.getName(), series, MeasurementSeries::concat);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to get measurements for {}:{}: {}", hostname, port, e.getMessage());
+            throw new AtlasApiBase.AtlasApiException("Failed to get measurements", e);
+        }
+        
+        for (MeasurementSeries series : seriesByMetric.values()) {
+            if (series.size() > 1) {
+                logger.info("Final data timespan for {}:{} metric {}: {} to {} ({} points)", 
+                        hostname, port, series.getName(), series.getTimestamp(0),
+                        series.getTimestamp(series.size() - 1), series.size());
+            }
+        }
+        
+        return new ArrayList<>(seriesByMetric.values());
+    }
+    
+    /**
+     * Get disk measurements using explicit start and end timestamps, decoded straight
+     * into compact per-metric series. Returns an empty list on error, like
+     * {@link #getDiskMeasurementsWithExplicitTimeRange}.
+     */
+    public List<MeasurementSeries> getDiskMeasurementSeries(
+            String projectId, String hostname, int port, String partitionName,
+            List<String> metrics, String granularity, 
+            Instant startTime, Instant endTime) {
+        
+        String processId = hostname + ":" + port;
+        String metricParams = apiBase.formatMetricsParam(metrics);
+        
+        String endTimeStr = endTime.toString();
+        String startTimeStr = startTime.toString();
+        
+        logger.info("Fetching disk measurements for {}:{} partition {} from {} to {}", 
+                hostname, port, partitionName, startTimeStr, endTimeStr);
+        
+        try {
+            String url = AtlasApiBase.BASE_URL_V1 + "/groups/" + projectId + "/processes/" + processId + 
+                    "/disks/" + partitionName + "/measurements" +
+                    "?granularity=" + granularity + 
+                    "&start=" + startTimeStr +
+                    "&end=" + endTimeStr +
+                    "&" + metricParams;
+            
+            logger.debug("Calling disk measurements URL with explicit timerange: {}", url);
+            String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V1, projectId);
+            
+            return new ArrayList<>(parseMeasurementsPage(responseBody).getMeasurements());
+        } catch (Exception e) {
+            logger.error("Error fetching disk measurements for {}:{} partition {}: {}", 
+                    hostname, port, partitionName, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Fetch every page of a process measurements query; {@code urlPrefix} carries the
+     * granularity and time range parameters
+     */
+    private List<Map<String, Object>> fetchMeasurementPages(String projectId, String hostname, int port,
+            String urlPrefix, List<String> metrics) {
+        String metricParams = apiBase.formatMetricsParam(metrics);
+        try {
+            return AtlasPaginator.fetchAll(apiBase,
+                    pageNum -> (Map<String, Object>) apiBase.parseResponse(
+                            fetchMeasurementsPage(urlPrefix, metricParams, projectId, pageNum), Map.class),
+                    this::measurementPageCount,
+                    page -> false);
+        } catch (Exception e) {
+            logger.error("Failed to get measurements for {}:{}: {}", hostname, port, e.getMessage());
+            throw new AtlasApiBase.AtlasApiException("Failed to get measurements", e);
+        }
+    }
+    
+    private String fetchMeasurementsPage(String urlPrefix, String metricParams, String projectId, int pageNum) {
+        String url = urlPrefix
+                + "&pageNum=" + pageNum
+                + "&itemsPerPage=" + MEASUREMENTS_PAGE_SIZE
+                + "&" + metricParams;
+        try {
+            return apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, projectId);
+        } catch (Exception e) {
+            logger.error("Failed to get measurements page {}: {}", pageNum, e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Page count reported with the first page, or null when there is nothing more to fetch
+     */
+    private Integer measurementPageCount(Map<String, Object> firstPage) {
+        if (pageMeasurements(firstPage).isEmpty()) {
+            logger.debug("No data on page 1, ending pagination");
+            return null;
+        }
+        Object totalCount = firstPage.get("totalCount");
+        Object resultsPerPage = firstPage.get("resultsPerPage");
+        if (totalCount instanceof Integer && resultsPerPage instanceof Integer) {
+            int totalPages = AtlasPaginator.pageCount((Integer) totalCount, (Integer) resultsPerPage);
+            logger.debug("Pagination info: {} pages", totalPages);
+            return totalPages;
+        }
+        return null;
+    }
+    
+    private static List<Map<String, Object>> pageMeasurements(Map<String, Object> page) {
+        List<Map<String, Object>> measurements = (List<Map<String, Object>>) page.get("measurements");
+        return measurements != null ? measurements : Collections.emptyList();
+    }
+    
+    private MeasurementsParser.Page parseMeasurementsPage(String responseBody) {
+        long start = System.nanoTime();
+        try {
+            return MeasurementsParser.parse(apiBase.getObjectMapper().getFactory(), responseBody);
+        } catch (IOException e) {
+            logger.error("Failed to parse measurements response: {}", e.getMessage());
+            throw new AtlasApiBase.AtlasApiException("Failed to parse JSON response", e);
+        } finally {
+            apiBase.recordParse(start, responseBody);
+        }
+    }
+    
     private void mergeDataPoints(List<Map<String, Object>> existingMeasurements, 
                                 List<Map<String, Object>> newPageMeasurements) {
         Map<String, Map<String, Object>> existingMap = new HashMap<>();
@@ -482,4 +535,68 @@ public class AtlasMonitoringClient {
             }
         }
     }
+    
+    // Asynchronous variants, run on the shared request executor
+    
+    /**
+     * Asynchronous variant of {@link #getProcessDisks(String, String, int)}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getProcessDisksAsync(
+            String projectId, String hostname, int port) {
+        return apiBase.submitAsync(() -> getProcessDisks(projectId, hostname, port));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getProcessMeasurementsWithTimeRange}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getProcessMeasurementsWithTimeRangeAsync(
+            String projectId, String hostname, int port, 
+            List<String> metrics, String granularity, String period) {
+        return apiBase.submitAsync(() -> getProcessMeasurementsWithTimeRange(
+                projectId, hostname, port, metrics, granularity, period));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getProcessMeasurementsWithExplicitTimeRange}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getProcessMeasurementsWithExplicitTimeRangeAsync(
+            String projectId, String hostname, int port, 
+            List<String> metrics, String granularity, 
+            Instant startTime, Instant endTime) {
+        return apiBase.submitAsync(() -> getProcessMeasurementsWithExplicitTimeRange(
+                projectId, hostname, port, metrics, granularity, startTime, endTime));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getDiskMeasurementsWithExplicitTimeRange}
+     */
+    public CompletableFuture<List<Map<String, Object>>> getDiskMeasurementsWithExplicitTimeRangeAsync(
+            String projectId, String hostname, int port, String partitionName,
+            List<String> metrics, String granularity, 
+            Instant startTime, Instant endTime) {
+        return apiBase.submitAsync(() -> getDiskMeasurementsWithExplicitTimeRange(
+                projectId, hostname, port, partitionName, metrics, granularity, startTime, endTime));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getProcessMeasurementSeries}
+     */
+    public CompletableFuture<List<MeasurementSeries>> getProcessMeasurementSeriesAsync(
+            String projectId, String hostname, int port, 
+            List<String> metrics, String granularity, 
+            Instant startTime, Instant endTime) {
+        return apiBase.submitAsync(() -> getProcessMeasurementSeries(
+                projectId, hostname, port, metrics, granularity, startTime, endTime));
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getDiskMeasurementSeries}
+     */
+    public CompletableFuture<List<MeasurementSeries>> getDiskMeasurementSeriesAsync(
+            String projectId, String hostname, int port, String partitionName,
+            List<String> metrics, String granularity, 
+            Instant startTime, Instant endTime) {
+        return apiBase.submitAsync(() -> getDiskMeasurementSeries(
+                projectId, hostname, port, partitionName, metrics, granularity, startTime, endTime));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.mongodb.atlas.api.clients;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches every page of a paginated Atlas list endpoint.
+ *
+ * Page 1 is fetched on the calling thread. When it reports how many pages exist, the
+ * remaining pages are fetched concurrently on the shared request executor, so each one
+ * still passes through the rate limiter, retry policy and in-flight cap of
+ * {@link AtlasApiBase}. At most {@code maxInFlight} pages are outstanding at a time and
+ * the returned pages are always in page order. When page 1 carries no count the pages
+ * are walked one by one for as long as {@code mayHaveMore} says so.
+ */
+public final class AtlasPaginator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AtlasPaginator.class);
+
+    private AtlasPaginator() {
+    }
+
+    /**
+     * @param fetchPage fetches and parses page {@code pageNum}, starting at 1
+     * @param totalPages total page count derived from page 1, or null if it is not reported
+     * @param mayHaveMore fallback used when the count is unknown: whether another page
+     *        may follow the given one
+     * @return all pages in page order
+     */
+    public static <P> List<P> fetchAll(AtlasApiBase apiBase, IntFunction<P> fetchPage,
+            Function<P, Integer> totalPages, Predicate<P> mayHaveMore) {
+        List<P> pages = new ArrayList<>();
+        P first = fetchPage.apply(1);
+        pages.add(first);
+
+        Integer pageCount = totalPages.apply(first);
+        if (pageCount == null) {
+            P last = first;
+            for (int pageNum = 2; mayHaveMore.test(last); pageNum++) {
+                last = fetchPage.apply(pageNum);
+                pages.add(last);
+            }
+            return pages;
+        }
+
+        if (pageCount > 1) {
+            int window = Math.max(1, apiBase.getAsyncExecutor().getMaxInFlight());
+            logger.debug("Fetching pages 2..{} with up to {} in flight", pageCount, window);
+            Deque<CompletableFuture<P>> outstanding = new ArrayDeque<>();
+            int nextPage = 2;
+            while (nextPage <= pageCount || !outstanding.isEmpty()) {
+                while (nextPage <= pageCount && outstanding.size() < window) {
+                    int pageNum = nextPage++;
+                    outstanding.add(apiBase.submitAsync(() -> fetchPage.apply(pageNum)));
+                }
+                pages.add(join(outstanding.poll()));
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Number of pages needed for {@code totalCount} results at {@code perPage} per page
+     */
+    public static int pageCount(int totalCount, int perPage) {
+        return perPage > 0 ? (totalCount + perPage - 1) / perPage : 0;
+    }
+
+    private static <P> P join(CompletableFuture<P> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
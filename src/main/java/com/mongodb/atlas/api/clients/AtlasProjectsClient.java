@@ -40,6 +40,7 @@ public class AtlasProjectsClient {
 
         try {
             List<Map<String, Object>> projects = apiBase.extractResults(responseBody);
+            apiBase.registerProjectOrganizations(projects);
             
             return projects.stream()
                     .filter(p -> includeProjectNames.isEmpty() || includeProjectNames.contains(p.get("name")))
@@ -61,7 +62,9 @@ public class AtlasProjectsClient {
         String url = AtlasApiBase.BASE_URL_V2 + "/groups";
         logger.info("Fetching all projects");
         String responseBody = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2);
-        return apiBase.extractResults(responseBody);
+        List<Map<String, Object>> projects = apiBase.extractResults(responseBody);
+        apiBase.registerProjectOrganizations(projects);
+        return projects;
     }
 
     /**
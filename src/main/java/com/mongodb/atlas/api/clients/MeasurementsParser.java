@@ -0,0 +1,265 @@
+package com.mongodb.atlas.api.clients;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Streaming decoder for Atlas measurements responses.
+ *
+ * Walks the response with a Jackson {@link JsonParser} and writes
+ * {@code measurements[].dataPoints[]} straight into {@link MeasurementSeries} arrays,
+ * without building a {@code Map} per data point. Timestamps are decoded from the
+ * parser's character buffer, so the common {@code yyyy-MM-ddTHH:mm:ss[.SSS]Z} form does
+ * not allocate a {@code String} either. Fields other than the measurements and the
+ * pagination counters are skipped.
+ */
+public final class MeasurementsParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeasurementsParser.class);
+
+    private MeasurementsParser() {
+    }
+
+    /**
+     * One decoded response page
+     */
+    public static final class Page {
+
+        private final List<MeasurementSeries> measurements;
+        private final Integer totalCount;
+        private final Integer resultsPerPage;
+
+        Page(List<MeasurementSeries> measurements, Integer totalCount, Integer resultsPerPage) {
+            this.measurements = measurements;
+            this.totalCount = totalCount;
+            this.resultsPerPage = resultsPerPage;
+        }
+
+        public List<MeasurementSeries> getMeasurements() {
+            return measurements;
+        }
+
+        /**
+         * @return the total result count, or null if the response is not paginated
+         */
+        public Integer getTotalCount() {
+            return totalCount;
+        }
+
+        public Integer getResultsPerPage() {
+            return resultsPerPage;
+        }
+    }
+
+    public static Page parse(JsonFactory factory, String responseBody) throws IOException {
+        try (JsonParser parser = factory.createParser(responseBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in measurements response");
+            }
+
+            List<MeasurementSeries> measurements = Collections.emptyList();
+            Integer totalCount = null;
+            Integer resultsPerPage = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("measurements".equals(field) && token == JsonToken.START_ARRAY) {
+                    measurements = parseMeasurements(parser);
+                } else if ("totalCount".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                    totalCount = parser.getIntValue();
+                } else if ("resultsPerPage".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                    resultsPerPage = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Page(measurements, totalCount, resultsPerPage);
+        }
+    }
+
+    private static List<MeasurementSeries> parseMeasurements(JsonParser parser) throws IOException {
+        List<MeasurementSeries> measurements = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            MeasurementSeries.Builder builder = MeasurementSeries.builder(null);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("name".equals(field) && token == JsonToken.VALUE_STRING) {
+                    builder.name(parser.getText());
+                } else if ("units".equals(field) && token == JsonToken.VALUE_STRING) {
+                    builder.units(parser.getText());
+                } else if ("dataPoints".equals(field) && token == JsonToken.START_ARRAY) {
+                    parseDataPoints(parser, builder);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            measurements.add(builder.build());
+        }
+        return measurements;
+    }
+
+    private static void parseDataPoints(JsonParser parser, MeasurementSeries.Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            long timestamp = Long.MIN_VALUE;
+            double value = Double.NaN;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("timestamp".equals(field) && token == JsonToken.VALUE_STRING) {
+                    try {
+                        timestamp = parseTimestamp(parser.getTextCharacters(), parser.getTextOffset(),
+                                parser.getTextLength());
+                    } catch (DateTimeParseException e) {
+                        logger.warn("Failed to parse timestamp: {}", parser.getText());
+                    }
+                } else if ("value".equals(field) && token.isNumeric()) {
+                    value = parser.getDoubleValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (timestamp != Long.MIN_VALUE) {
+                builder.add(timestamp, value);
+            }
+        }
+    }
+
+    /**
+     * Convert the {@code dataPoints} of a Map-decoded measurement into a series, for
+     * callers that still hold responses in that form
+     */
+    public static MeasurementSeries fromDataPoints(String metric, List<Map<String, Object>> dataPoints) {
+        MeasurementSeries.Builder builder = MeasurementSeries.builder(metric);
+        if (dataPoints == null) {
+            return builder.build();
+        }
+        for (Map<String, Object> dataPoint : dataPoints) {
+            String timestampStr = (String) dataPoint.get("timestamp");
+            if (timestampStr == null) {
+                continue;
+            }
+            long timestamp;
+            try {
+                timestamp = parseTimestamp(timestampStr);
+            } catch (DateTimeParseException e) {
+                logger.warn("Failed to parse timestamp: {}", timestampStr);
+                continue;
+            }
+            Object valueObj = dataPoint.get("value");
+            double value = valueObj instanceof Number ? ((Number) valueObj).doubleValue() : Double.NaN;
+            builder.add(timestamp, value);
+        }
+        return builder.build();
+    }
+
+    public static long parseTimestamp(String text) {
+        return parseTimestamp(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Parse an ISO-8601 timestamp to epoch milliseconds. UTC timestamps of the form
+     * {@code yyyy-MM-ddTHH:mm:ss[.fraction]Z}, which is what Atlas returns, are decoded
+     * in place; anything else goes through {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+     *
+     * @throws DateTimeParseException if the text is not a valid timestamp
+     */
+    static long parseTimestamp(char[] buf, int offset, int length) {
+        int end = offset + length;
+        if (length >= 20 && buf[end - 1] == 'Z'
+                && buf[offset + 4] == '-' && buf[offset + 7] == '-' && buf[offset + 10] == 'T'
+                && buf[offset + 13] == ':' && buf[offset + 16] == ':') {
+            int year = digits(buf, offset, 4);
+            int month = digits(buf, offset + 5, 2);
+            int day = digits(buf, offset + 8, 2);
+            int hour = digits(buf, offset + 11, 2);
+            int minute = digits(buf, offset + 14, 2);
+            int second = digits(buf, offset + 17, 2);
+
+            int millis = 0;
+            int pos = offset + 19;
+            boolean valid = true;
+            if (pos < end - 1) {
+                if (buf[pos] != '.' || end - 1 - (pos + 1) < 1 || end - 1 - (pos + 1) > 9) {
+                    valid = false;
+                } else {
+                    int scale = 100;
+                    for (int i = pos + 1; i < end - 1; i++) {
+                        int d = buf[i] - '0';
+                        if (d < 0 || d > 9) {
+                            valid = false;
+                            break;
+                        }
+                        millis += d * scale;
+                        scale /= 10;
+                    }
+                }
+            }
+
+            if (valid && year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month)
+                    && hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                long epochDay = epochDay(year, month, day);
+                return ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+            }
+        }
+        return OffsetDateTime.parse(new String(buf, offset, length), DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                .toInstant().toEpochMilli();
+    }
+
+    /**
+     * @return the decimal value of {@code count} digits, or -1 if any character is not a digit
+     */
+    private static int digits(char[] buf, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's days_from_civil)
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yoe = y - era * 400;
+        long doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+}
@@ -0,0 +1,213 @@
+package com.mongodb.atlas.api.clients;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.atlas.api.config.AtlasTestConfig;
+
+/**
+ * Runs a per-project operation for many projects concurrently.
+ *
+ * Tasks built on an {@link AtlasApiBase} run on its shared request executor, so every
+ * API call they make still passes through the key pool, rate limiters, retry policy and
+ * in-flight cap; the fan-out only bounds how many projects are worked on at once. A
+ * failing project does not affect the others: its exception is captured in its
+ * {@link ProjectResult}. Results are handed to the caller's consumer on the calling
+ * thread, in completion order, so the consumer can aggregate without synchronization.
+ *
+ * With a parallelism of 1 projects are processed one after another on the calling thread.
+ */
+public class ProjectFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectFanOut.class);
+
+    /**
+     * Work done for one project
+     */
+    @FunctionalInterface
+    public interface ProjectTask<T> {
+        T run(String projectName, String projectId) throws Exception;
+    }
+
+    /**
+     * Outcome of a {@link ProjectTask} for one project: either a value or the failure
+     */
+    public static final class ProjectResult<T> {
+        private final String projectName;
+        private final String projectId;
+        private final T value;
+        private final Exception error;
+        private final Duration duration;
+
+        ProjectResult(String projectName, String projectId, T value, Exception error, Duration duration) {
+            this.projectName = projectName;
+            this.projectId = projectId;
+            this.value = value;
+            this.error = error;
+            this.duration = duration;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public String getProjectId() {
+            return projectId;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+    }
+
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Fan-out on the request executor of {@code apiBase} with the configured parallelism
+     */
+    public ProjectFanOut(AtlasApiBase apiBase) {
+        this(apiBase, AtlasTestConfig.getInstance().getProjectFanOutParallelism());
+    }
+
+    public ProjectFanOut(AtlasApiBase apiBase, int parallelism) {
+        this(command -> apiBase.getAsyncExecutor().submit(() -> {
+            command.run();
+            return null;
+        }), parallelism);
+    }
+
+    /**
+     * @param executor runs the project tasks, or null to start {@code parallelism}
+     *        daemon threads for each fan-out, e.g. for work that makes no API calls
+     */
+    public ProjectFanOut(Executor executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Fan-out on its own threads, for per-project work that does not go through the API
+     */
+    public static ProjectFanOut withThreads(int parallelism) {
+        return new ProjectFanOut((Executor) null, parallelism);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Run {@code task} for every project, passing each result to {@code onResult} on the
+     * calling thread as soon as it completes. Returns once every project has been handed
+     * to {@code onResult}; an exception thrown by {@code onResult} stops the fan-out and
+     * is rethrown, leaving tasks already started to finish in the background.
+     *
+     * @param projects project names to project IDs
+     */
+    public <T> void forEach(Map<String, String> projects, ProjectTask<T> task, Consumer<ProjectResult<T>> onResult) {
+        if (parallelism == 1 || projects.size() <= 1) {
+            for (Map.Entry<String, String> project : projects.entrySet()) {
+                onResult.accept(runTask(project.getKey(), project.getValue(), task));
+            }
+            return;
+        }
+
+        ExecutorService ownThreads = executor == null ? newThreads(Math.min(parallelism, projects.size())) : null;
+        Executor runOn = ownThreads != null ? ownThreads : executor;
+        BlockingQueue<ProjectResult<T>> completed = new LinkedBlockingQueue<>();
+        Iterator<Map.Entry<String, String>> pending = projects.entrySet().iterator();
+        int outstanding = 0;
+        logger.debug("Processing {} projects with up to {} at a time", projects.size(), parallelism);
+
+        try {
+            while (outstanding < parallelism && pending.hasNext()) {
+                submit(runOn, pending.next(), task, completed);
+                outstanding++;
+            }
+            while (outstanding > 0) {
+                ProjectResult<T> result = take(completed);
+                outstanding--;
+                if (pending.hasNext()) {
+                    submit(runOn, pending.next(), task, completed);
+                    outstanding++;
+                }
+                onResult.accept(result);
+            }
+        } finally {
+            if (ownThreads != null) {
+                ownThreads.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Run {@code task} for every project and collect the results, keyed by project name
+     * in the iteration order of {@code projects}
+     */
+    public <T> Map<String, ProjectResult<T>> run(Map<String, String> projects, ProjectTask<T> task) {
+        Map<String, ProjectResult<T>> results = new LinkedHashMap<>();
+        projects.keySet().forEach(projectName -> results.put(projectName, null));
+        forEach(projects, task, result -> results.put(result.getProjectName(), result));
+        return results;
+    }
+
+    private static <T> void submit(Executor runOn, Map.Entry<String, String> project, ProjectTask<T> task,
+            BlockingQueue<ProjectResult<T>> completed) {
+        runOn.execute(() -> completed.add(runTask(project.getKey(), project.getValue(), task)));
+    }
+
+    private static <T> ProjectResult<T> runTask(String projectName, String projectId, ProjectTask<T> task) {
+        long start = System.nanoTime();
+        try {
+            T value = task.run(projectName, projectId);
+            return new ProjectResult<>(projectName, projectId, value, null, Duration.ofNanos(System.nanoTime() - start));
+        } catch (Throwable t) {
+            Exception error = t instanceof Exception ? (Exception) t : new CompletionException(t);
+            return new ProjectResult<>(projectName, projectId, null, error, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private static <T> ProjectResult<T> take(BlockingQueue<ProjectResult<T>> completed) {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AtlasApiBase.AtlasApiException("Interrupted while waiting for project results", e);
+        }
+    }
+
+    private static ExecutorService newThreads(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "project-fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
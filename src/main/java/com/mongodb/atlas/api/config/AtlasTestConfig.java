@@ -29,6 +29,14 @@ public class AtlasTestConfig {
     public static final String TEST_MONGO_VERSION = "testMongoVersion";
     public static final String DEBUG_LEVEL = "debugLevel";
     public static final String RATE_LIMIT_ENABLED = "rateLimitEnabled";
+    public static final String RATE_LIMIT_REQUESTS_PER_MINUTE = "rateLimitRequestsPerMinute";
+    public static final String RATE_LIMIT_PROJECT_REQUESTS_PER_MINUTE = "rateLimitProjectRequestsPerMinute";
+    public static final String RATE_LIMIT_ORG_REQUESTS_PER_MINUTE = "rateLimitOrgRequestsPerMinute";
+    public static final String RATE_LIMIT_BURST = "rateLimitBurst";
+    public static final String RETRY_MAX_ATTEMPTS = "retryMaxAttempts";
+    public static final String RETRY_BASE_DELAY_MILLIS = "retryBaseDelayMillis";
+    public static final String RETRY_MAX_DELAY_MILLIS = "retryMaxDelayMillis";
+    public static final String RETRY_BUDGET_SECONDS = "retryBudgetSeconds";
     
     // Cluster management configuration
     public static final String CLUSTER_REUSE_ENABLED = "clusterReuseEnabled";
@@ -36,6 +44,26 @@ public class AtlasTestConfig {
     public static final String CLUSTER_TIMEOUT_MINUTES = "clusterTimeoutMinutes";
     public static final String CLEANUP_EPHEMERAL_CLUSTERS = "cleanupEphemeralClusters";
     
+    // Request engine configuration
+    public static final String ASYNC_MAX_IN_FLIGHT = "asyncMaxInFlight";
+    public static final String ASYNC_VIRTUAL_THREADS_ENABLED = "asyncVirtualThreadsEnabled";
+    public static final String PROJECT_FAN_OUT_PARALLELISM = "projectFanOutParallelism";
+    
+    // HTTP transport configuration
+    public static final String HTTP_MAX_CONNECTIONS = "httpMaxConnections";
+    public static final String HTTP_MAX_CONNECTIONS_PER_ROUTE = "httpMaxConnectionsPerRoute";
+    public static final String HTTP_KEEP_ALIVE_SECONDS = "httpKeepAliveSeconds";
+    public static final String HTTP_IDLE_EVICT_SECONDS = "httpIdleEvictSeconds";
+    public static final String HTTP_CONNECT_TIMEOUT_SECONDS = "httpConnectTimeoutSeconds";
+    public static final String HTTP_RESPONSE_TIMEOUT_SECONDS = "httpResponseTimeoutSeconds";
+    public static final String HTTP_PREEMPTIVE_DIGEST_AUTH = "httpPreemptiveDigestAuth";
+    
+    // Response cache configuration
+    public static final String RESPONSE_CACHE_ENABLED = "responseCacheEnabled";
+    public static final String RESPONSE_CACHE_MAX_ENTRIES = "responseCacheMaxEntries";
+    public static final String RESPONSE_CACHE_TTL_SECONDS = "responseCacheTtlSeconds";
+    public static final String RESPONSE_CACHE_CLUSTER_TTL_SECONDS = "responseCacheClusterTtlSeconds";
+    
     // Environment variable keys (for backward compatibility)
     public static final String ENV_API_PUBLIC_KEY = "ATLAS_API_PUBLIC_KEY";
     public static final String ENV_API_PRIVATE_KEY = "ATLAS_API_PRIVATE_KEY";
@@ -134,8 +162,16 @@ public class AtlasTestConfig {
         String[] atlasProps = {
             API_PUBLIC_KEY, API_PRIVATE_KEY, TEST_PROJECT_ID, TEST_ORG_ID,
             TEST_REGION, TEST_CLOUD_PROVIDER, TEST_MONGO_VERSION, DEBUG_LEVEL,
-            RATE_LIMIT_ENABLED, CLUSTER_REUSE_ENABLED, SHARED_CLUSTERS_ENABLED,
-            CLUSTER_TIMEOUT_MINUTES, CLEANUP_EPHEMERAL_CLUSTERS
+            RATE_LIMIT_ENABLED, RATE_LIMIT_REQUESTS_PER_MINUTE, RATE_LIMIT_PROJECT_REQUESTS_PER_MINUTE,
+            RATE_LIMIT_ORG_REQUESTS_PER_MINUTE, RATE_LIMIT_BURST, RETRY_MAX_ATTEMPTS,
+            RETRY_BASE_DELAY_MILLIS, RETRY_MAX_DELAY_MILLIS, RETRY_BUDGET_SECONDS, CLUSTER_REUSE_ENABLED, SHARED_CLUSTERS_ENABLED,
+            CLUSTER_TIMEOUT_MINUTES, CLEANUP_EPHEMERAL_CLUSTERS,
+            ASYNC_MAX_IN_FLIGHT, ASYNC_VIRTUAL_THREADS_ENABLED, PROJECT_FAN_OUT_PARALLELISM,
+            HTTP_MAX_CONNECTIONS, HTTP_MAX_CONNECTIONS_PER_ROUTE, HTTP_KEEP_ALIVE_SECONDS,
+            HTTP_IDLE_EVICT_SECONDS, HTTP_CONNECT_TIMEOUT_SECONDS, HTTP_RESPONSE_TIMEOUT_SECONDS,
+            HTTP_PREEMPTIVE_DIGEST_AUTH,
+            RESPONSE_CACHE_ENABLED, RESPONSE_CACHE_MAX_ENTRIES, RESPONSE_CACHE_TTL_SECONDS,
+            RESPONSE_CACHE_CLUSTER_TTL_SECONDS
         };
         
         for (String propKey : atlasProps) {
@@ -220,6 +256,49 @@ public class AtlasTestConfig {
         return Boolean.parseBoolean(properties.getProperty(RATE_LIMIT_ENABLED, "true"));
     }
     
+    public int getRateLimitRequestsPerMinute() {
+        return Integer.parseInt(properties.getProperty(RATE_LIMIT_REQUESTS_PER_MINUTE, "100"));
+    }
+    
+    /**
+     * Per-project budget in requests per minute (0 disables per-project limiting)
+     */
+    public int getRateLimitProjectRequestsPerMinute() {
+        return Integer.parseInt(properties.getProperty(RATE_LIMIT_PROJECT_REQUESTS_PER_MINUTE, "0"));
+    }
+    
+    /**
+     * Per-organization budget in requests per minute (0 disables per-organization limiting)
+     */
+    public int getRateLimitOrgRequestsPerMinute() {
+        return Integer.parseInt(properties.getProperty(RATE_LIMIT_ORG_REQUESTS_PER_MINUTE, "0"));
+    }
+    
+    public int getRateLimitBurst() {
+        return Integer.parseInt(properties.getProperty(RATE_LIMIT_BURST, "10"));
+    }
+    
+    // Retry getters
+    
+    public int getRetryMaxAttempts() {
+        return Integer.parseInt(properties.getProperty(RETRY_MAX_ATTEMPTS, "4"));
+    }
+    
+    public long getRetryBaseDelayMillis() {
+        return Long.parseLong(properties.getProperty(RETRY_BASE_DELAY_MILLIS, "500"));
+    }
+    
+    public long getRetryMaxDelayMillis() {
+        return Long.parseLong(properties.getProperty(RETRY_MAX_DELAY_MILLIS, "30000"));
+    }
+    
+    /**
+     * Maximum total time a single request may spend retrying, including back-off
+     */
+    public int getRetryBudgetSeconds() {
+        return Integer.parseInt(properties.getProperty(RETRY_BUDGET_SECONDS, "120"));
+    }
+    
     // Cluster management getters
     
     public boolean isClusterReuseEnabled() {
@@ -238,6 +317,77 @@ public class AtlasTestConfig {
         return Boolean.parseBoolean(properties.getProperty(CLEANUP_EPHEMERAL_CLUSTERS, "true"));
     }
     
+    // Request engine getters
+    
+    public int getAsyncMaxInFlight() {
+        return Integer.parseInt(properties.getProperty(ASYNC_MAX_IN_FLIGHT, "16"));
+    }
+    
+    public boolean isAsyncVirtualThreadsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(ASYNC_VIRTUAL_THREADS_ENABLED, "true"));
+    }
+    
+    /**
+     * Number of projects processed at the same time by multi-project operations
+     */
+    public int getProjectFanOutParallelism() {
+        return Integer.parseInt(properties.getProperty(PROJECT_FAN_OUT_PARALLELISM, "4"));
+    }
+    
+    // HTTP transport getters
+    
+    public int getHttpMaxConnections() {
+        return Integer.parseInt(properties.getProperty(HTTP_MAX_CONNECTIONS, "50"));
+    }
+    
+    public int getHttpMaxConnectionsPerRoute() {
+        return Integer.parseInt(properties.getProperty(HTTP_MAX_CONNECTIONS_PER_ROUTE, "20"));
+    }
+    
+    public int getHttpKeepAliveSeconds() {
+        return Integer.parseInt(properties.getProperty(HTTP_KEEP_ALIVE_SECONDS, "60"));
+    }
+    
+    public int getHttpIdleEvictSeconds() {
+        return Integer.parseInt(properties.getProperty(HTTP_IDLE_EVICT_SECONDS, "30"));
+    }
+    
+    public int getHttpConnectTimeoutSeconds() {
+        return Integer.parseInt(properties.getProperty(HTTP_CONNECT_TIMEOUT_SECONDS, "10"));
+    }
+    
+    public int getHttpResponseTimeoutSeconds() {
+        return Integer.parseInt(properties.getProperty(HTTP_RESPONSE_TIMEOUT_SECONDS, "120"));
+    }
+    
+    public boolean isHttpPreemptiveDigestAuth() {
+        return Boolean.parseBoolean(properties.getProperty(HTTP_PREEMPTIVE_DIGEST_AUTH, "true"));
+    }
+    
+    // Response cache getters
+    
+    public boolean isResponseCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(RESPONSE_CACHE_ENABLED, "true"));
+    }
+    
+    public int getResponseCacheMaxEntries() {
+        return Integer.parseInt(properties.getProperty(RESPONSE_CACHE_MAX_ENTRIES, "500"));
+    }
+    
+    /**
+     * Time-to-live for cached project, process and disk listings
+     */
+    public int getResponseCacheTtlSeconds() {
+        return Integer.parseInt(properties.getProperty(RESPONSE_CACHE_TTL_SECONDS, "300"));
+    }
+    
+    /**
+     * Time-to-live for cached cluster listings, which also report cluster state
+     */
+    public int getResponseCacheClusterTtlSeconds() {
+        return Integer.parseInt(properties.getProperty(RESPONSE_CACHE_CLUSTER_TTL_SECONDS, "60"));
+    }
+    
     // Validation methods
     
     public boolean hasRequiredCredentials() {
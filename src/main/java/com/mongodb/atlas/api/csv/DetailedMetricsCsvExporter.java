@@ -2,6 +2,7 @@ package com.mongodb.atlas.api.csv;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
@@ -9,12 +10,12 @@ import java.util.Map;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
-import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.atlas.api.clients.AtlasApiClient;
-import com.mongodb.atlas.api.metrics.MetricsStorage;
+import com.mongodb.atlas.api.metrics.MetricsRollups;
+import com.mongodb.atlas.api.metrics.MetricsStore;
 import com.mongodb.atlas.api.util.MetricsUtils;
 
 /**
@@ -25,13 +26,19 @@ public class DetailedMetricsCsvExporter {
     
     private static final Logger logger = LoggerFactory.getLogger(DetailedMetricsCsvExporter.class);
     
-    private final MetricsStorage metricsStorage;
+    // Rows per host and metric before the export switches to hourly or daily averages
+    private static final int MAX_ROWS_PER_SERIES = 50_000;
+    
+    // Timestamps per window when collecting rows from storage
+    private static final int ROWS_PER_EXPORT_WINDOW = 1_440;
+    
+    private final MetricsStore metricsStorage;
     private final AtlasApiClient apiClient;
     private final List<String> metrics;
     private final String period;
     private final String granularity;
     
-    public DetailedMetricsCsvExporter(MetricsStorage metricsStorage, AtlasApiClient apiClient, 
+    public DetailedMetricsCsvExporter(MetricsStore metricsStorage, AtlasApiClient apiClient, 
                                     List<String> metrics, String period, String granularity) {
         this.metricsStorage = metricsStorage;
         this.apiClient = apiClient;
@@ -48,7 +55,7 @@ public class DetailedMetricsCsvExporter {
      */
     public void exportProjectDetailedMetricsFromStorage(String projectName, String filename) {
         if (metricsStorage == null) {
-            throw new IllegalStateException("MetricsStorage is required for exporting from storage");
+            throw new IllegalStateException("MetricsStore is required for exporting from storage");
         }
         
         try (FileWriter writer = new FileWriter(filename)) {
@@ -67,13 +74,10 @@ public class DetailedMetricsCsvExporter {
                         projectName, startTime, endTime);
             }
             
-            // Collect all data first, organized by timestamp and host/partition
-            Map<String, Map<String, Map<String, Double>>> allData = collectAllMetricsData(
-                    projectName, startTime, endTime);
-            
-            if (allData.isEmpty()) {
-                logger.warn("No data found for project '{}' in the specified time range", projectName);
-                return;
+            MetricsRollups.Resolution resolution = metricsStorage.chooseResolution(startTime, endTime, 
+                    MAX_ROWS_PER_SERIES);
+            if (resolution != MetricsRollups.Resolution.RAW) {
+                logger.info("Exporting {} averages for project '{}'", resolution, projectName);
             }
             
             // Check if we have any disk metrics to determine if we need partition column
@@ -82,8 +86,28 @@ public class DetailedMetricsCsvExporter {
             // Write CSV header
             writeHeader(writer, hasDiskMetrics);
             
-            // Write data rows
-            int totalRows = writeDataRows(writer, allData, hasDiskMetrics);
+            // Rows need all metrics of a timestamp, so the data is collected and written one
+            // time window at a time instead of holding the whole range; windows of rollups
+            // start on bucket boundaries so no bucket is read twice
+            Duration window = resolution.getInterval().multipliedBy(ROWS_PER_EXPORT_WINDOW);
+            long intervalMillis = resolution.getInterval().toMillis();
+            Instant windowStart = resolution == MetricsRollups.Resolution.RAW ? startTime 
+                    : Instant.ofEpochMilli(startTime.toEpochMilli() / intervalMillis * intervalMillis);
+            int totalRows = 0;
+            for (; windowStart.isBefore(endTime); windowStart = windowStart.plus(window)) {
+                boolean lastWindow = !windowStart.plus(window).isBefore(endTime);
+                Instant windowEnd = lastWindow ? endTime : windowStart.plus(window);
+                Map<String, Map<String, Map<String, Double>>> windowData = collectAllMetricsData(
+                        projectName, windowStart, windowEnd, resolution, lastWindow);
+                
+                // Write data rows
+                totalRows += writeDataRows(writer, windowData, hasDiskMetrics);
+            }
+            
+            if (totalRows == 0) {
+                logger.warn("No data found for project '{}' in the specified time range", projectName);
+                return;
+            }
             
             logger.info("Exported {} rows of detailed metrics for project '{}' to {}", 
                     totalRows, projectName, filename);
@@ -96,28 +120,21 @@ public class DetailedMetricsCsvExporter {
     }
     
     /**
-     * Collect all metrics data and organize by timestamp -> host/partition -> metric -> value
+     * Collect the metrics data of a time window, ending exclusive unless {@code includeEnd},
+     * and organize by timestamp -> host/partition -> metric -> value
      */
     private Map<String, Map<String, Map<String, Double>>> collectAllMetricsData(
-            String projectName, Instant startTime, Instant endTime) {
+            String projectName, Instant startTime, Instant endTime, MetricsRollups.Resolution resolution, 
+            boolean includeEnd) {
         
         // Structure: timestamp -> host/partition -> metric -> value
         Map<String, Map<String, Map<String, Double>>> allData = new TreeMap<>();
+        long endMillis = endTime.toEpochMilli();
         
         // Process each metric
         for (String metric : metrics) {
-            List<Document> documents = metricsStorage.getMetrics(
-                    projectName, null, metric, startTime, endTime);
-            
-            // Process each document
-            for (Document doc : documents) {
-                Instant timestamp = doc.getDate("timestamp").toInstant();
-                String timestampStr = timestamp.toString();
-                
-                Document metadata = doc.get("metadata", Document.class);
-                String host = metadata.getString("host");
-                String partition = metadata.getString("partition");
-                
+            metricsStorage.streamMetrics(projectName, null, metric, startTime, endTime, resolution, 
+                    (host, partition, timestamps, values, length) -> {
                 // Create location key
                 String locationKey;
                 if (partition != null && !partition.isEmpty()) {
@@ -128,18 +145,18 @@ public class DetailedMetricsCsvExporter {
                     locationKey = host;
                 }
                 
-                // Get value
-                Object valueObj = doc.get("value");
-                Double value = 0.0;
-                if (valueObj instanceof Number) {
-                    value = ((Number) valueObj).doubleValue();
+                for (int i = 0; i < length; i++) {
+                    // The end belongs to the next window unless it is the end of the export
+                    if (timestamps[i] >= endMillis && !includeEnd) {
+                        continue;
+                    }
+                    
+                    // Store in nested structure
+                    allData.computeIfAbsent(Instant.ofEpochMilli(timestamps[i]).toString(), k -> new TreeMap<>())
+                           .computeIfAbsent(locationKey, k -> new HashMap<>())
+                           .put(metric, values[i]);
                 }
-                
-                // Store in nested structure
-                allData.computeIfAbsent(timestampStr, k -> new TreeMap<>())
-                       .computeIfAbsent(locationKey, k -> new HashMap<>())
-                       .put(metric, value);
-            }
+            });
         }
         
         return allData;
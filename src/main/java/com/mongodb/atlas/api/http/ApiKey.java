@@ -0,0 +1,101 @@
+package com.mongodb.atlas.api.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An Atlas programmatic API key and the projects it may be used for.
+ *
+ * An empty project set means the key is not restricted, e.g. an organization key that
+ * can reach every project. Keys are written as {@code publicKey:privateKey} or
+ * {@code publicKey:privateKey:projectId1|projectId2}; several keys are separated by commas.
+ */
+public final class ApiKey {
+
+    private final String publicKey;
+    private final String privateKey;
+    private final Set<String> projectIds;
+
+    public ApiKey(String publicKey, String privateKey) {
+        this(publicKey, privateKey, Collections.emptySet());
+    }
+
+    public ApiKey(String publicKey, String privateKey, Set<String> projectIds) {
+        if (publicKey == null || publicKey.isBlank() || privateKey == null || privateKey.isBlank()) {
+            throw new IllegalArgumentException("API key needs both a public and a private key");
+        }
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        this.projectIds = projectIds != null
+                ? Collections.unmodifiableSet(new LinkedHashSet<>(projectIds))
+                : Collections.emptySet();
+    }
+
+    /**
+     * Parse a single {@code publicKey:privateKey[:projectId|projectId...]} entry
+     */
+    public static ApiKey parse(String spec) {
+        String[] parts = spec.trim().split(":", 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Expected publicKey:privateKey[:projectIds] but got an entry with "
+                    + parts.length + " field(s)");
+        }
+        Set<String> projectIds = new LinkedHashSet<>();
+        if (parts.length == 3) {
+            for (String projectId : parts[2].split("\\|")) {
+                if (!projectId.isBlank()) {
+                    projectIds.add(projectId.trim());
+                }
+            }
+        }
+        return new ApiKey(parts[0].trim(), parts[1].trim(), projectIds);
+    }
+
+    /**
+     * Parse a comma-separated list of key entries
+     */
+    public static List<ApiKey> parseList(String specs) {
+        List<ApiKey> keys = new ArrayList<>();
+        if (specs != null) {
+            for (String spec : specs.split(",")) {
+                if (!spec.isBlank()) {
+                    keys.add(parse(spec));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Whether this key may be used for {@code projectId}; unrestricted keys may be used for
+     * any project
+     */
+    public boolean canAccess(String projectId) {
+        return projectIds.isEmpty() || projectIds.contains(projectId);
+    }
+
+    public boolean isRestricted() {
+        return !projectIds.isEmpty();
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public Set<String> getProjectIds() {
+        return projectIds;
+    }
+
+    @Override
+    public String toString() {
+        // Never expose the private key in logs
+        return publicKey + (projectIds.isEmpty() ? "" : " " + projectIds);
+    }
+}
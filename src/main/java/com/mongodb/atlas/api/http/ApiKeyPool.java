@@ -0,0 +1,176 @@
+package com.mongodb.atlas.api.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Spreads requests across several API keys so aggregate throughput grows with the
+ * number of keys instead of being capped by one key's rate limit.
+ *
+ * Each member pairs an {@link ApiKey} with the client that authenticates as it and its
+ * own {@link RateLimiter}. A request goes to the least-loaded key that may access its
+ * project: the one with the fewest requests in flight (including those waiting for its
+ * rate limiter), then the one that has sent the fewest requests. Requests not tied to a
+ * project prefer unrestricted keys, since project-scoped keys cannot reach organization
+ * level endpoints.
+ *
+ * @param <C> the per-key client
+ */
+public class ApiKeyPool<C> {
+
+    /**
+     * One key in the pool with its client, rate limiter and load counters
+     */
+    public static final class Member<C> {
+        private final ApiKey key;
+        private final C client;
+        private volatile RateLimiter rateLimiter;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong throttled = new AtomicLong();
+
+        Member(ApiKey key, C client, RateLimiter rateLimiter) {
+            this.key = key;
+            this.client = client;
+            this.rateLimiter = rateLimiter;
+        }
+
+        public ApiKey getKey() {
+            return key;
+        }
+
+        public C getClient() {
+            return client;
+        }
+
+        public RateLimiter getRateLimiter() {
+            return rateLimiter;
+        }
+
+        public void setRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter != null ? rateLimiter : RateLimiter.UNLIMITED;
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        /**
+         * Hand back a request obtained from {@link ApiKeyPool#acquire(String)}
+         */
+        public void release() {
+            inFlight.decrementAndGet();
+        }
+
+        public void recordError() {
+            errors.incrementAndGet();
+        }
+
+        public void recordThrottled() {
+            throttled.incrementAndGet();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("projects", key.isRestricted() ? new ArrayList<>(key.getProjectIds()) : "all");
+            stats.put("inFlight", inFlight.get());
+            stats.put("requests", requests.get());
+            stats.put("errors", errors.get());
+            stats.put("throttled", throttled.get());
+            stats.put("rateLimiter", rateLimiter.getStats());
+            return stats;
+        }
+    }
+
+    private final List<Member<C>> members;
+    private final boolean hasUnrestrictedKey;
+
+    /**
+     * @param clientFactory builds the client that authenticates as a key
+     * @param rateLimiterFactory builds each key's own rate limiter
+     */
+    public ApiKeyPool(List<ApiKey> keys, Function<ApiKey, C> clientFactory,
+            Function<ApiKey, RateLimiter> rateLimiterFactory) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one API key is required");
+        }
+        List<Member<C>> created = new ArrayList<>(keys.size());
+        boolean unrestricted = false;
+        for (ApiKey key : keys) {
+            created.add(new Member<>(key, clientFactory.apply(key), rateLimiterFactory.apply(key)));
+            unrestricted |= !key.isRestricted();
+        }
+        this.members = Collections.unmodifiableList(created);
+        this.hasUnrestrictedKey = unrestricted;
+    }
+
+    /**
+     * Reserve the least-loaded key that may serve a request for {@code projectId}. The
+     * caller must {@link Member#release() release} it once the request completes.
+     *
+     * @param projectId the target project, or null for requests not tied to a project
+     * @throws IllegalStateException when no key in the pool may access the project
+     */
+    public Member<C> acquire(String projectId) {
+        Member<C> best = null;
+        for (Member<C> member : members) {
+            if (!eligible(member.key, projectId)) {
+                continue;
+            }
+            if (best == null || member.inFlight.get() < best.inFlight.get()
+                    || (member.inFlight.get() == best.inFlight.get() && member.requests.get() < best.requests.get())) {
+                best = member;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No API key in the pool is authorized for project " + projectId);
+        }
+        best.inFlight.incrementAndGet();
+        best.requests.incrementAndGet();
+        return best;
+    }
+
+    private boolean eligible(ApiKey key, String projectId) {
+        if (projectId == null) {
+            return !hasUnrestrictedKey || !key.isRestricted();
+        }
+        return key.canAccess(projectId);
+    }
+
+    public List<Member<C>> getMembers() {
+        return members;
+    }
+
+    /**
+     * The first key; the one used for single-key setups
+     */
+    public Member<C> getPrimary() {
+        return members.get(0);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Per-key load counters keyed by public key
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        for (Member<C> member : members) {
+            stats.put(member.key.getPublicKey(), member.toMap());
+        }
+        return stats;
+    }
+}
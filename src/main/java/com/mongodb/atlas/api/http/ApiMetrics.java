@@ -0,0 +1,110 @@
+package com.mongodb.atlas.api.http;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request metrics for all endpoints of an API client, plus the time spent parsing
+ * responses.
+ *
+ * Endpoints are keyed by template (e.g. {@code /groups/{id}/processes}) so statistics
+ * aggregate across projects and hosts. Listeners are told about each endpoint the first
+ * time it is used, which lets a monitoring system such as Micrometer register meters
+ * for it without this class depending on that system.
+ */
+public class ApiMetrics {
+
+    /**
+     * Receives callbacks as endpoints appear and measurements are recorded
+     */
+    public interface Listener {
+
+        void endpointAdded(EndpointMetrics endpoint);
+
+        default void exchangeRecorded(EndpointMetrics endpoint, long nanos) {
+        }
+
+        default void parseRecorded(long nanos) {
+        }
+    }
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final AtomicLong charsParsed = new AtomicLong();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public EndpointMetrics forEndpoint(String endpointTemplate) {
+        EndpointMetrics metrics = endpoints.get(endpointTemplate);
+        if (metrics != null) {
+            return metrics;
+        }
+        EndpointMetrics created = new EndpointMetrics(endpointTemplate);
+        metrics = endpoints.putIfAbsent(endpointTemplate, created);
+        if (metrics != null) {
+            return metrics;
+        }
+        for (Listener listener : listeners) {
+            listener.endpointAdded(created);
+        }
+        return created;
+    }
+
+    public void recordExchange(EndpointMetrics endpoint, long nanos, long bytes, boolean failed) {
+        endpoint.recordExchange(nanos, bytes, failed);
+        for (Listener listener : listeners) {
+            listener.exchangeRecorded(endpoint, nanos);
+        }
+    }
+
+    /**
+     * Time spent decoding a response body of {@code chars} characters
+     */
+    public void recordParse(long nanos, long chars) {
+        parseLatency.recordNanos(nanos);
+        charsParsed.addAndGet(chars);
+        for (Listener listener : listeners) {
+            listener.parseRecorded(nanos);
+        }
+    }
+
+    /**
+     * Add a listener; it is immediately told about every endpoint seen so far
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        for (EndpointMetrics endpoint : endpoints.values()) {
+            listener.endpointAdded(endpoint);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public Collection<EndpointMetrics> getEndpoints() {
+        return Collections.unmodifiableCollection(new ArrayList<>(endpoints.values()));
+    }
+
+    public LatencyHistogram getParseLatency() {
+        return parseLatency;
+    }
+
+    public Map<String, Object> getEndpointStats() {
+        Map<String, Object> stats = new HashMap<>();
+        endpoints.forEach((endpoint, metrics) -> stats.put(endpoint, metrics.toMap()));
+        return stats;
+    }
+
+    public Map<String, Object> getParseStats() {
+        Map<String, Object> stats = parseLatency.toMap();
+        stats.put("charsParsed", charsParsed.get());
+        return stats;
+    }
+}
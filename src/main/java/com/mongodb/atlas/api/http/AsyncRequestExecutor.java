@@ -0,0 +1,162 @@
+package com.mongodb.atlas.api.http;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes blocking Atlas API calls asynchronously with a global cap on the number
+ * of requests that may be in flight at the same time.
+ *
+ * On Java 21+ each task runs on its own virtual thread; on older runtimes a
+ * {@link ForkJoinPool} sized to the in-flight cap is used instead, so tasks that join
+ * on other tasks get compensating threads rather than deadlocking the pool.
+ *
+ * The in-flight cap is enforced with a semaphore around the HTTP exchange itself
+ * ({@link #runWithPermit}), not around whole tasks. Callers can therefore submit any
+ * number of tasks, and tasks can fan out further work, without ever holding a permit
+ * while waiting on another future.
+ */
+public class AsyncRequestExecutor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRequestExecutor.class);
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private final ExecutorService executor;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    private final boolean virtualThreads;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AsyncRequestExecutor(int maxInFlight) {
+        this(maxInFlight, true);
+    }
+
+    public AsyncRequestExecutor(int maxInFlight, boolean preferVirtualThreads) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlightPermits = new Semaphore(this.maxInFlight, true);
+
+        ExecutorService virtualExecutor = preferVirtualThreads ? createVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            this.executor = virtualExecutor;
+            this.virtualThreads = true;
+        } else {
+            this.executor = createForkJoinExecutor(this.maxInFlight);
+            this.virtualThreads = false;
+        }
+
+        logger.debug("Async request executor initialized: maxInFlight={}, virtualThreads={}",
+                this.maxInFlight, this.virtualThreads);
+    }
+
+    /**
+     * Run a task asynchronously on the request executor
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Run a single blocking HTTP exchange on the current thread, holding one in-flight
+     * permit for its duration
+     */
+    public <T> T runWithPermit(Supplier<T> call) {
+        waiting.incrementAndGet();
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted waiting for an in-flight permit", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            T result = call.get();
+            completed.incrementAndGet();
+            return result;
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            inFlightPermits.release();
+        }
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("inFlight", inFlight.get());
+        stats.put("waiting", waiting.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("virtualThreads", virtualThreads);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Virtual threads are only available from Java 21, so look the factory method up
+     * reflectively to keep the library compatible with Java 11 runtimes.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService createForkJoinExecutor(int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("atlas-api-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, true);
+    }
+}
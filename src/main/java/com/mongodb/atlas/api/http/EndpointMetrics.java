@@ -0,0 +1,95 @@
+package com.mongodb.atlas.api.http;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe request metrics for a single endpoint template.
+ *
+ * Latency covers only the HTTP exchange of each attempt. Time spent waiting for the rate
+ * limiter and for an in-flight permit is tracked separately, so slow collections can be
+ * attributed to Atlas itself or to our own pacing.
+ */
+public class EndpointMetrics {
+
+    private final String endpoint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final RetryStats retryStats = new RetryStats();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong rateLimitWaitNanos = new AtomicLong();
+    private final AtomicLong permitWaitNanos = new AtomicLong();
+
+    public EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * One attempt of an HTTP exchange finished
+     *
+     * @param bytes size of the response body, 0 if unknown or failed
+     */
+    public void recordExchange(long nanos, long bytes, boolean failed) {
+        latency.recordNanos(nanos);
+        requests.incrementAndGet();
+        bytesReceived.addAndGet(bytes);
+        if (failed) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public void recordRateLimitWait(long nanos) {
+        rateLimitWaitNanos.addAndGet(nanos);
+    }
+
+    public void recordPermitWait(long nanos) {
+        permitWaitNanos.addAndGet(nanos);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public RetryStats getRetryStats() {
+        return retryStats;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getRateLimitWaitNanos() {
+        return rateLimitWaitNanos.get();
+    }
+
+    public long getPermitWaitNanos() {
+        return permitWaitNanos.get();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("errors", errors.get());
+        stats.put("retries", retryStats.getRetries());
+        stats.put("bytesReceived", bytesReceived.get());
+        stats.put("rateLimitWaitMs", TimeUnit.NANOSECONDS.toMillis(rateLimitWaitNanos.get()));
+        stats.put("permitWaitMs", TimeUnit.NANOSECONDS.toMillis(permitWaitNanos.get()));
+        stats.put("latency", latency.toMap());
+        return stats;
+    }
+}
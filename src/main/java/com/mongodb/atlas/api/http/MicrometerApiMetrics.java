@@ -0,0 +1,104 @@
+package com.mongodb.atlas.api.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes {@link ApiMetrics} to a Micrometer {@link MeterRegistry}.
+ *
+ * micrometer-core is an optional dependency; this is the only class that refers to it,
+ * so applications without Micrometer simply never load it. Usage:
+ *
+ * <pre>
+ * new MicrometerApiMetrics(apiBase.getApiMetrics()).bindTo(registry);
+ * </pre>
+ *
+ * Every endpoint template gets an {@code atlas.api.requests} timer (with p50/p90/p99)
+ * and counters for errors, retries, bytes received and time spent waiting for the rate
+ * limiter and in-flight permits, all tagged with {@code endpoint}. Response parsing is
+ * timed as {@code atlas.api.parse}.
+ */
+public class MicrometerApiMetrics implements MeterBinder, ApiMetrics.Listener {
+
+    private final ApiMetrics apiMetrics;
+    private final Map<EndpointMetrics, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+    private volatile Timer parseTimer;
+
+    public MicrometerApiMetrics(ApiMetrics apiMetrics) {
+        this.apiMetrics = apiMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        this.parseTimer = Timer.builder("atlas.api.parse")
+                .description("Time spent decoding Atlas API responses")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(registry);
+        apiMetrics.addListener(this);
+    }
+
+    @Override
+    public void endpointAdded(EndpointMetrics endpoint) {
+        MeterRegistry meterRegistry = registry;
+        Tags tags = Tags.of("endpoint", endpoint.getEndpoint());
+
+        timers.computeIfAbsent(endpoint, e -> Timer.builder("atlas.api.requests")
+                .description("Atlas API HTTP exchange latency per attempt")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry));
+
+        FunctionCounter.builder("atlas.api.errors", endpoint, EndpointMetrics::getErrors)
+                .description("Failed Atlas API request attempts")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("atlas.api.retries", endpoint, e -> e.getRetryStats().getRetries())
+                .description("Retried Atlas API request attempts")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("atlas.api.bytes.received", endpoint, EndpointMetrics::getBytesReceived)
+                .description("Atlas API response body size")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("atlas.api.ratelimit.wait", endpoint, e -> seconds(e.getRateLimitWaitNanos()))
+                .description("Time spent blocked in the client-side rate limiter")
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("atlas.api.permit.wait", endpoint, e -> seconds(e.getPermitWaitNanos()))
+                .description("Time spent waiting for an in-flight request permit")
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void exchangeRecorded(EndpointMetrics endpoint, long nanos) {
+        Timer timer = timers.get(endpoint);
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void parseRecorded(long nanos) {
+        Timer timer = parseTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+}
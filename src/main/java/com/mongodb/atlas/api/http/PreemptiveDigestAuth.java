@@ -0,0 +1,320 @@
+package com.mongodb.atlas.api.http;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hc.client5.http.auth.AuthChallenge;
+import org.apache.hc.client5.http.auth.ChallengeType;
+import org.apache.hc.client5.http.impl.auth.AuthChallengeParser;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpResponseInterceptor;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.message.ParserCursor;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends HTTP Digest credentials preemptively, reusing the server nonce across requests.
+ *
+ * Atlas programmatic API keys authenticate with Digest. Left to itself, HttpClient
+ * answers every request that starts without an auth cache with a 401 challenge first,
+ * doubling the round trips. This class, registered as both a request and a response
+ * interceptor, remembers the last challenge per route and computes the
+ * {@code Authorization} header up front with an incrementing nonce count.
+ *
+ * When the nonce expires Atlas answers 401 (usually {@code stale=true}); the new
+ * challenge is remembered here and HttpClient's own Digest support, which stays
+ * configured as the fallback, answers it. A {@code nextnonce} in
+ * {@code Authentication-Info} is adopted directly. Only {@code qop=auth} (or no qop)
+ * challenges are answered preemptively.
+ */
+public class PreemptiveDigestAuth implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreemptiveDigestAuth.class);
+
+    private static final String ROUTE_ATTRIBUTE = PreemptiveDigestAuth.class.getName() + ".route";
+    private static final String PREEMPTIVE_ATTRIBUTE = PreemptiveDigestAuth.class.getName() + ".preemptive";
+    private static final String AUTHENTICATION_INFO = "Authentication-Info";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Last Digest challenge seen on a route, with the count of requests sent against it
+     */
+    static final class NonceState {
+        final String realm;
+        final String nonce;
+        final String opaque;
+        final String algorithm;
+        final boolean qopAuth;
+        final String ha1;
+        final AtomicLong nonceCount;
+
+        NonceState(String realm, String nonce, String opaque, String algorithm, boolean qopAuth,
+                String ha1, long usedCount) {
+            this.realm = realm;
+            this.nonce = nonce;
+            this.opaque = opaque;
+            this.algorithm = algorithm;
+            this.qopAuth = qopAuth;
+            this.ha1 = ha1;
+            this.nonceCount = new AtomicLong(usedCount);
+        }
+
+        NonceState withNonce(String nextNonce) {
+            return new NonceState(realm, nextNonce, opaque, algorithm, qopAuth, ha1, 0);
+        }
+    }
+
+    private final String username;
+    private final char[] password;
+    private final Map<String, NonceState> noncesByRoute = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    private final AtomicLong preemptive = new AtomicLong();
+    private final AtomicLong challengesAvoided = new AtomicLong();
+    private final AtomicLong challenges = new AtomicLong();
+    private final AtomicLong staleNonces = new AtomicLong();
+    private final AtomicLong nextNonces = new AtomicLong();
+
+    public PreemptiveDigestAuth(String username, char[] password) {
+        this.username = username;
+        this.password = password.clone();
+    }
+
+    @Override
+    public void process(HttpRequest request, EntityDetails entity, HttpContext context) {
+        String route = request.getScheme() + "://" + request.getAuthority();
+        context.setAttribute(ROUTE_ATTRIBUTE, route);
+        // HttpClient adds its own header when answering a challenge; leave that alone
+        if (request.containsHeader(HttpHeaders.AUTHORIZATION)) {
+            return;
+        }
+        NonceState state = noncesByRoute.get(route);
+        if (state == null) {
+            return;
+        }
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization(state, request.getMethod(), request.getRequestUri()));
+        context.setAttribute(PREEMPTIVE_ATTRIBUTE, Boolean.TRUE);
+        preemptive.incrementAndGet();
+    }
+
+    @Override
+    public void process(HttpResponse response, EntityDetails entity, HttpContext context) {
+        String route = (String) context.getAttribute(ROUTE_ATTRIBUTE);
+        boolean wasPreemptive = context.removeAttribute(PREEMPTIVE_ATTRIBUTE) != null;
+
+        if (response.getCode() == HttpStatus.SC_UNAUTHORIZED) {
+            Map<String, String> challenge = digestChallenge(response);
+            if (challenge == null || route == null) {
+                return;
+            }
+            challenges.incrementAndGet();
+            if (wasPreemptive) {
+                staleNonces.incrementAndGet();
+            }
+            NonceState state = newState(challenge);
+            if (state != null) {
+                noncesByRoute.put(route, state);
+            } else {
+                noncesByRoute.remove(route);
+            }
+            return;
+        }
+
+        if (wasPreemptive) {
+            challengesAvoided.incrementAndGet();
+        }
+        if (route != null) {
+            adoptNextNonce(route, response.getFirstHeader(AUTHENTICATION_INFO));
+        }
+    }
+
+    /**
+     * Forget every remembered nonce, e.g. after the credentials changed
+     */
+    public void reset() {
+        noncesByRoute.clear();
+    }
+
+    public long getChallengesAvoided() {
+        return challengesAvoided.get();
+    }
+
+    public long getChallenges() {
+        return challenges.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("preemptive", preemptive.get());
+        stats.put("challengesAvoided", challengesAvoided.get());
+        stats.put("challenges", challenges.get());
+        stats.put("staleNonces", staleNonces.get());
+        stats.put("nextNonces", nextNonces.get());
+        stats.put("routes", noncesByRoute.size());
+        return stats;
+    }
+
+    private void adoptNextNonce(String route, Header authenticationInfo) {
+        if (authenticationInfo == null) {
+            return;
+        }
+        String nextNonce = parseParams(authenticationInfo.getValue()).get("nextnonce");
+        if (nextNonce == null) {
+            return;
+        }
+        NonceState current = noncesByRoute.get(route);
+        if (current != null && !nextNonce.equals(current.nonce)
+                && noncesByRoute.replace(route, current, current.withNonce(nextNonce))) {
+            nextNonces.incrementAndGet();
+        }
+    }
+
+    /**
+     * State for a fresh challenge. HttpClient answers it itself with nonce count 1, so
+     * our first preemptive request uses 2.
+     */
+    private NonceState newState(Map<String, String> challenge) {
+        String nonce = challenge.get("nonce");
+        String realm = challenge.get("realm");
+        String algorithm = challenge.getOrDefault("algorithm", "MD5");
+        String qop = challenge.get("qop");
+        boolean qopAuth = false;
+        if (qop != null) {
+            for (String option : qop.split(",")) {
+                qopAuth |= option.trim().equalsIgnoreCase("auth");
+            }
+            if (!qopAuth) {
+                logger.debug("Digest challenge offers qop={} only; not authenticating preemptively", qop);
+                return null;
+            }
+        }
+        if (nonce == null || realm == null || digestName(algorithm) == null) {
+            return null;
+        }
+        String ha1 = hash(algorithm, username + ":" + realm + ":" + new String(password));
+        return new NonceState(realm, nonce, challenge.get("opaque"), algorithm, qopAuth, ha1, 1);
+    }
+
+    String authorization(NonceState state, String method, String uri) {
+        String cnonce = cnonce();
+        String ha1 = state.ha1;
+        if (state.algorithm.toLowerCase(Locale.ROOT).endsWith("-sess")) {
+            ha1 = hash(state.algorithm, ha1 + ":" + state.nonce + ":" + cnonce);
+        }
+        String ha2 = hash(state.algorithm, method + ":" + uri);
+
+        StringBuilder header = new StringBuilder(256)
+                .append("Digest username=\"").append(username)
+                .append("\", realm=\"").append(state.realm)
+                .append("\", nonce=\"").append(state.nonce)
+                .append("\", uri=\"").append(uri)
+                .append("\", algorithm=").append(state.algorithm);
+        String response;
+        if (state.qopAuth) {
+            String nc = String.format("%08x", state.nonceCount.incrementAndGet());
+            response = hash(state.algorithm, ha1 + ":" + state.nonce + ":" + nc + ":" + cnonce + ":auth:" + ha2);
+            header.append(", qop=auth, nc=").append(nc)
+                    .append(", cnonce=\"").append(cnonce).append('"');
+        } else {
+            response = hash(state.algorithm, ha1 + ":" + state.nonce + ":" + ha2);
+        }
+        header.append(", response=\"").append(response).append('"');
+        if (state.opaque != null) {
+            header.append(", opaque=\"").append(state.opaque).append('"');
+        }
+        return header.toString();
+    }
+
+    private String cnonce() {
+        byte[] bytes = new byte[8];
+        random.nextBytes(bytes);
+        return hex(bytes);
+    }
+
+    private static Map<String, String> digestChallenge(HttpResponse response) {
+        for (Header header : response.getHeaders(HttpHeaders.WWW_AUTHENTICATE)) {
+            try {
+                List<AuthChallenge> parsed = AuthChallengeParser.INSTANCE.parse(ChallengeType.TARGET,
+                        header.getValue(), new ParserCursor(0, header.getValue().length()));
+                for (AuthChallenge challenge : parsed) {
+                    if ("digest".equalsIgnoreCase(challenge.getSchemeName()) && challenge.getParams() != null) {
+                        Map<String, String> params = new HashMap<>();
+                        for (NameValuePair param : challenge.getParams()) {
+                            params.put(param.getName().toLowerCase(Locale.ROOT), param.getValue());
+                        }
+                        return params;
+                    }
+                }
+            } catch (ParseException e) {
+                logger.debug("Ignoring malformed WWW-Authenticate header: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseParams(String value) {
+        Map<String, String> params = new HashMap<>();
+        for (String part : value.split(",")) {
+            int eq = part.indexOf('=');
+            if (eq > 0) {
+                String name = part.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+                String paramValue = part.substring(eq + 1).trim();
+                if (paramValue.length() >= 2 && paramValue.startsWith("\"") && paramValue.endsWith("\"")) {
+                    paramValue = paramValue.substring(1, paramValue.length() - 1);
+                }
+                params.put(name, paramValue);
+            }
+        }
+        return params;
+    }
+
+    private static String digestName(String algorithm) {
+        String base = algorithm.toUpperCase(Locale.ROOT);
+        if (base.endsWith("-SESS")) {
+            base = base.substring(0, base.length() - 5);
+        }
+        switch (base) {
+            case "MD5":
+                return "MD5";
+            case "SHA-256":
+                return "SHA-256";
+            default:
+                return null;
+        }
+    }
+
+    private static String hash(String algorithm, String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(digestName(algorithm));
+            return hex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Digest algorithm not available: " + algorithm, e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mongodb.atlas.api.http;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Pluggable rate limiter consulted before every Atlas API request.
+ *
+ * Requests are scoped by project and organization so implementations can enforce
+ * separate budgets for each, in addition to any global budget. Either scope may be
+ * null when a request is not tied to a project or organization.
+ */
+public interface RateLimiter {
+
+    /**
+     * Limiter that never delays requests
+     */
+    RateLimiter UNLIMITED = new RateLimiter() {
+        @Override
+        public long acquire(String projectId, String orgId) {
+            return 0;
+        }
+
+        @Override
+        public void onThrottled(String projectId, String orgId, Duration retryAfter) {
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            return Collections.singletonMap("enabled", false);
+        }
+    };
+
+    /**
+     * Block until a request in the given scope may be sent
+     *
+     * @return nanoseconds spent waiting for a permit
+     */
+    long acquire(String projectId, String orgId);
+
+    /**
+     * Called when Atlas rejects a request with 429 Too Many Requests so the limiter can
+     * back off for at least {@code retryAfter}
+     */
+    void onThrottled(String projectId, String orgId, Duration retryAfter);
+
+    Map<String, Object> getStats();
+}
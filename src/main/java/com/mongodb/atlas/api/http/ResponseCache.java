@@ -0,0 +1,212 @@
+package com.mongodb.atlas.api.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded LRU cache of GET response bodies for read-mostly endpoints.
+ *
+ * Entries are keyed by URL and Accept header. Only endpoints that have been given a
+ * time-to-live with {@link #setTtl} are cached; the TTL is looked up by endpoint
+ * template (e.g. {@code /groups/{id}/processes}) so all projects share one setting.
+ * A fresh entry is served without a request. An expired entry that carried an ETag is
+ * kept so the caller can revalidate it with {@code If-None-Match}; a 304 answer then
+ * renews it via {@link #revalidated}. Expired entries without an ETag are refetched.
+ *
+ * Bodies are stored as the raw response text, so every caller parses its own copy and
+ * may freely modify the result.
+ */
+public class ResponseCache {
+
+    /**
+     * A cached response body
+     */
+    public static final class Entry {
+
+        private final String body;
+        private final String etag;
+        private final long ttlNanos;
+        private volatile long storedAtNanos;
+
+        Entry(String body, String etag, long ttlNanos, long storedAtNanos) {
+            this.body = body;
+            this.etag = etag;
+            this.ttlNanos = ttlNanos;
+            this.storedAtNanos = storedAtNanos;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * @return the validator sent by Atlas, or null if the response had none
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        boolean isFresh(long now) {
+            return now - storedAtNanos < ttlNanos;
+        }
+    }
+
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<String, Duration> ttlByEndpoint = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseCache(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    ResponseCache(int maxEntries, LongSupplier nanoClock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseCache.Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static String key(String url, String acceptHeader) {
+        return acceptHeader + ' ' + url;
+    }
+
+    /**
+     * Cache responses of an endpoint for {@code ttl}; a zero TTL stops caching it
+     */
+    public void setTtl(String endpointTemplate, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            ttlByEndpoint.remove(endpointTemplate);
+        } else {
+            ttlByEndpoint.put(endpointTemplate, ttl);
+        }
+    }
+
+    public boolean isCacheable(String endpointTemplate) {
+        return ttlByEndpoint.containsKey(endpointTemplate);
+    }
+
+    /**
+     * @return the fresh entry for {@code key}, counting a hit, or null after counting a miss
+     */
+    public Entry getFresh(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.isFresh(nanoClock.getAsLong())) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @return an expired entry that can be revalidated with its ETag, or null
+     */
+    public Entry getRevalidatable(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.etag != null ? entry : null;
+        }
+    }
+
+    public void put(String key, String endpointTemplate, String body, String etag) {
+        Duration ttl = ttlByEndpoint.get(endpointTemplate);
+        if (ttl == null || body == null) {
+            return;
+        }
+        Entry entry = new Entry(body, etag, ttl.toNanos(), nanoClock.getAsLong());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Atlas confirmed with a 304 that {@code entry} is still current
+     */
+    public void revalidated(Entry entry) {
+        entry.storedAtNanos = nanoClock.getAsLong();
+        revalidations.incrementAndGet();
+    }
+
+    /**
+     * Drop every entry whose URL matches {@code urlMatcher}
+     *
+     * @return number of entries removed
+     */
+    public int invalidate(Predicate<String> urlMatcher) {
+        int removed = 0;
+        synchronized (entries) {
+            Iterator<String> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (urlMatcher.test(key.substring(key.indexOf(' ') + 1))) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidations.addAndGet(removed);
+        return removed;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("revalidations", revalidations.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mongodb.atlas.api.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Retry policy for transient Atlas API failures.
+ *
+ * Failures are classified as throttling (429), server errors (5xx), I/O errors
+ * (connection resets, timeouts) or non-retryable errors. Back-off uses
+ * "decorrelated jitter": each delay is drawn uniformly between the base delay and three
+ * times the previous delay, capped at {@code maxDelay}. This spreads out retries from
+ * concurrent callers far better than plain exponential back-off. A total time budget
+ * bounds how long a single request may spend retrying.
+ */
+public class RetryPolicy {
+
+    public enum FailureType {
+        THROTTLED, SERVER_ERROR, IO_ERROR, NOT_RETRYABLE;
+
+        public boolean isTransient() {
+            return this != NOT_RETRYABLE;
+        }
+    }
+
+    /**
+     * Policy that never retries
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration totalBudget;
+
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration totalBudget) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.totalBudget = totalBudget;
+    }
+
+    public static FailureType classify(Throwable failure) {
+        if (failure instanceof RestClientResponseException) {
+            int status = ((RestClientResponseException) failure).getStatusCode().value();
+            if (status == 429) {
+                return FailureType.THROTTLED;
+            }
+            if (status >= 500 && status != 501) {
+                return FailureType.SERVER_ERROR;
+            }
+            return FailureType.NOT_RETRYABLE;
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ResourceAccessException || t instanceof IOException) {
+                return FailureType.IO_ERROR;
+            }
+        }
+        return FailureType.NOT_RETRYABLE;
+    }
+
+    /**
+     * Compute the next back-off delay from the previous one
+     *
+     * @param previous the previous delay, or null/zero for the first retry
+     */
+    public Duration nextBackoff(Duration previous) {
+        long base = baseDelay.toMillis();
+        long cap = maxDelay.toMillis();
+        if (base <= 0 || cap <= 0) {
+            return Duration.ZERO;
+        }
+        long prev = previous == null || previous.isZero() ? base : previous.toMillis();
+        long upper = Math.max(base + 1, Math.min(cap, prev * 3));
+        return Duration.ofMillis(Math.min(cap, ThreadLocalRandom.current().nextLong(base, upper)));
+    }
+
+    /**
+     * Decide whether another attempt should be made
+     *
+     * @param attempt the attempt that just failed (1-based)
+     * @param type classification of the failure
+     * @param idempotent whether the request can safely be repeated
+     * @param elapsed time spent on this request so far, including earlier back-offs
+     * @param backoff the delay that would precede the next attempt
+     */
+    public boolean shouldRetry(int attempt, FailureType type, boolean idempotent, Duration elapsed, Duration backoff) {
+        if (!type.isTransient() || attempt >= maxAttempts) {
+            return false;
+        }
+        // A 429 means the request was never processed, so it is safe to repeat for any method
+        if (!idempotent && type != FailureType.THROTTLED) {
+            return false;
+        }
+        return elapsed.plus(backoff).compareTo(totalBudget) <= 0;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getTotalBudget() {
+        return totalBudget;
+    }
+}
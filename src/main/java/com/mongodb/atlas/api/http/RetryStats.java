@@ -0,0 +1,79 @@
+package com.mongodb.atlas.api.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe retry counters for a single endpoint
+ */
+public class RetryStats {
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong backoffMillis = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    private final AtomicLong ioErrors = new AtomicLong();
+
+    public void recordRetry(RetryPolicy.FailureType type, Duration backoff) {
+        retries.incrementAndGet();
+        backoffMillis.addAndGet(backoff.toMillis());
+        switch (type) {
+            case THROTTLED:
+                throttled.incrementAndGet();
+                break;
+            case SERVER_ERROR:
+                serverErrors.incrementAndGet();
+                break;
+            case IO_ERROR:
+                ioErrors.incrementAndGet();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * A request succeeded after at least one retry
+     */
+    public void recordRecovered() {
+        recovered.incrementAndGet();
+    }
+
+    /**
+     * A request failed with a transient error and no further retries were allowed
+     */
+    public void recordExhausted() {
+        exhausted.incrementAndGet();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    public long getBackoffMillis() {
+        return backoffMillis.get();
+    }
+
+    /**
+     * @return true if no request to the endpoint has been retried or run out of retries
+     */
+    public boolean isEmpty() {
+        return retries.get() == 0 && exhausted.get() == 0;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("retries", retries.get());
+        stats.put("backoffMs", backoffMillis.get());
+        stats.put("recovered", recovered.get());
+        stats.put("exhausted", exhausted.get());
+        stats.put("throttled", throttled.get());
+        stats.put("serverErrors", serverErrors.get());
+        stats.put("ioErrors", ioErrors.get());
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mongodb.atlas.api.http;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ *
+ * The whole bucket state is a single "theoretical arrival time" held in an
+ * {@link AtomicLong}. Reserving a permit is one compare-and-set that moves that time
+ * forward by one emission interval; the caller is told how long to wait before its
+ * permit is due and sleeps without holding any lock. Up to {@code burst} permits are
+ * granted immediately after an idle period, after which requests are paced evenly at
+ * {@code permitsPerPeriod / period} rather than stalling at a window boundary.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    private final AtomicLong permitsGranted = new AtomicLong();
+    private final AtomicLong permitsDelayed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    public TokenBucket(int permitsPerPeriod, Duration period, int burst) {
+        this(permitsPerPeriod, period, burst, System::nanoTime);
+    }
+
+    TokenBucket(int permitsPerPeriod, Duration period, int burst, LongSupplier nanoClock) {
+        if (permitsPerPeriod <= 0) {
+            throw new IllegalArgumentException("permitsPerPeriod must be positive");
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / permitsPerPeriod);
+        this.burstToleranceNanos = intervalNanos * (Math.max(1, burst) - 1L);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserve one permit without blocking
+     *
+     * @return nanoseconds the caller must wait before using the permit (0 if it may proceed now)
+     */
+    public long reserve() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long base = Math.max(arrival, now);
+            if (theoreticalArrival.compareAndSet(arrival, base + intervalNanos)) {
+                long wait = Math.max(0, base - burstToleranceNanos - now);
+                permitsGranted.incrementAndGet();
+                if (wait > 0) {
+                    permitsDelayed.incrementAndGet();
+                    totalWaitNanos.addAndGet(wait);
+                }
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Reserve one permit and sleep until it is due
+     *
+     * @return nanoseconds spent waiting
+     */
+    public long acquire() {
+        long wait = reserve();
+        sleepNanos(wait);
+        return wait;
+    }
+
+    /**
+     * Stop issuing permits until {@code pause} has elapsed, e.g. to honour a Retry-After
+     * header. Permits already reserved are unaffected; the pause never shortens an
+     * existing backlog.
+     */
+    public void pauseFor(Duration pause) {
+        long resumeAt = nanoClock.getAsLong() + pause.toNanos() + burstToleranceNanos;
+        theoreticalArrival.accumulateAndGet(resumeAt, Math::max);
+    }
+
+    public long getPermitsGranted() {
+        return permitsGranted.get();
+    }
+
+    public long getPermitsDelayed() {
+        return permitsDelayed.get();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.get();
+    }
+
+    static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
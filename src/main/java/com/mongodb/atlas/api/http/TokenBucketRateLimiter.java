@@ -0,0 +1,146 @@
+package com.mongodb.atlas.api.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link RateLimiter} built from lock-free {@link TokenBucket}s.
+ *
+ * A request must obtain a permit from the global bucket and, when configured, from the
+ * bucket of its project and of its organization. Permits are reserved in every
+ * applicable bucket first and the caller then sleeps once for the longest of the
+ * waits, so no thread ever sleeps while holding a lock. A budget of 0 requests per
+ * minute disables that scope.
+ *
+ * Requests that only carry a project ID are charged against their organization's
+ * budget once the project has been mapped with {@link #assignProjectToOrganization}.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+
+    private final TokenBucket globalBucket;
+    private final int projectRequestsPerMinute;
+    private final int orgRequestsPerMinute;
+    private final int burst;
+
+    private final Map<String, TokenBucket> projectBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> orgBuckets = new ConcurrentHashMap<>();
+    private final Map<String, String> projectOrganizations = new ConcurrentHashMap<>();
+
+    private final AtomicLong throttledResponses = new AtomicLong();
+
+    public TokenBucketRateLimiter(int globalRequestsPerMinute, int burst) {
+        this(globalRequestsPerMinute, 0, 0, burst);
+    }
+
+    public TokenBucketRateLimiter(int globalRequestsPerMinute, int projectRequestsPerMinute,
+                                  int orgRequestsPerMinute, int burst) {
+        this.globalBucket = globalRequestsPerMinute > 0
+                ? new TokenBucket(globalRequestsPerMinute, PERIOD, burst) : null;
+        this.projectRequestsPerMinute = projectRequestsPerMinute;
+        this.orgRequestsPerMinute = orgRequestsPerMinute;
+        this.burst = burst;
+    }
+
+    /**
+     * Record which organization owns a project so its requests count against the org budget
+     */
+    public void assignProjectToOrganization(String projectId, String orgId) {
+        if (projectId != null && orgId != null) {
+            projectOrganizations.put(projectId, orgId);
+        }
+    }
+
+    @Override
+    public long acquire(String projectId, String orgId) {
+        long wait = 0;
+
+        if (globalBucket != null) {
+            wait = globalBucket.reserve();
+        }
+
+        TokenBucket projectBucket = projectBucket(projectId);
+        if (projectBucket != null) {
+            wait = Math.max(wait, projectBucket.reserve());
+        }
+
+        TokenBucket orgBucket = orgBucket(resolveOrg(projectId, orgId));
+        if (orgBucket != null) {
+            wait = Math.max(wait, orgBucket.reserve());
+        }
+
+        if (wait > 0 && logger.isDebugEnabled()) {
+            logger.debug("Rate limit: waiting {} ms (project: {}, org: {})",
+                    TimeUnit.NANOSECONDS.toMillis(wait), projectId, orgId);
+        }
+
+        TokenBucket.sleepNanos(wait);
+        return wait;
+    }
+
+    @Override
+    public void onThrottled(String projectId, String orgId, Duration retryAfter) {
+        throttledResponses.incrementAndGet();
+        logger.warn("Atlas returned 429 Too Many Requests (project: {}, org: {}); pausing for {} ms",
+                projectId, orgId, retryAfter.toMillis());
+
+        // Pause the narrowest scope we know about; fall back to the global budget
+        TokenBucket projectBucket = projectBucket(projectId);
+        TokenBucket orgBucket = orgBucket(resolveOrg(projectId, orgId));
+        if (projectBucket != null) {
+            projectBucket.pauseFor(retryAfter);
+        } else if (orgBucket != null) {
+            orgBucket.pauseFor(retryAfter);
+        } else if (globalBucket != null) {
+            globalBucket.pauseFor(retryAfter);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", true);
+        stats.put("throttledResponses", throttledResponses.get());
+        if (globalBucket != null) {
+            stats.put("permitsGranted", globalBucket.getPermitsGranted());
+            stats.put("permitsDelayed", globalBucket.getPermitsDelayed());
+            stats.put("totalWaitMs", TimeUnit.NANOSECONDS.toMillis(globalBucket.getTotalWaitNanos()));
+        }
+        stats.put("projectBuckets", projectBuckets.size());
+        stats.put("orgBuckets", orgBuckets.size());
+        return stats;
+    }
+
+    private String resolveOrg(String projectId, String orgId) {
+        if (orgId != null || projectId == null) {
+            return orgId;
+        }
+        return projectOrganizations.get(projectId);
+    }
+
+    private TokenBucket projectBucket(String projectId) {
+        if (projectId == null || projectRequestsPerMinute <= 0) {
+            return null;
+        }
+        return projectBuckets.computeIfAbsent(projectId,
+                k -> new TokenBucket(projectRequestsPerMinute, PERIOD, burst));
+    }
+
+    private TokenBucket orgBucket(String orgId) {
+        if (orgId == null || orgRequestsPerMinute <= 0) {
+            return null;
+        }
+        return orgBuckets.computeIfAbsent(orgId,
+                k -> new TokenBucket(orgRequestsPerMinute, PERIOD, burst));
+    }
+}
@@ -0,0 +1,237 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Compressed encoding of a run of metric points in time order, after Facebook's Gorilla:
+ * timestamps as delta-of-deltas and values as the XOR with the previous value. Points at
+ * a fixed interval take one bit for the timestamp, and an unchanged value one bit; a
+ * slowly varying value only stores the bits that differ from the previous one.
+ *
+ * A chunk is a 4-byte point count followed by a bit stream: the first timestamp and
+ * value in 64 bits each, then per point its timestamp code and value code. Chunks are
+ * self-contained, stored as a binary field by {@link MetricChunks} and as blocks of
+ * {@link LocalMetricsStore} segments.
+ */
+public final class GorillaChunk {
+
+	private static final int HEADER_BYTES = 4;
+	private static final VarHandle BIG_ENDIAN_LONG =
+			MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	private GorillaChunk() {
+	}
+
+	/**
+	 * Encode points {@code from} inclusive to {@code to} exclusive; timestamps must not
+	 * decrease
+	 */
+	public static byte[] encode(long[] timestamps, double[] values, int from, int to) {
+		int count = to - from;
+		if (count < 1) {
+			throw new IllegalArgumentException("A chunk needs at least one point");
+		}
+		BitWriter writer = new BitWriter(HEADER_BYTES + 16 + count * 2);
+		writer.writeBits(count, 32);
+		writer.writeBits(timestamps[from], 64);
+		long previousBits = Double.doubleToRawLongBits(values[from]);
+		writer.writeBits(previousBits, 64);
+
+		long previousTimestamp = timestamps[from];
+		long previousDelta = 0;
+		int previousLeading = -1;
+		int previousTrailing = 0;
+		for (int i = from + 1; i < to; i++) {
+			long delta = timestamps[i] - previousTimestamp;
+			long deltaOfDelta = delta - previousDelta;
+			if (deltaOfDelta == 0) {
+				writer.writeBits(0b0, 1);
+			} else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+				writer.writeBits(0b10, 2);
+				writer.writeBits(deltaOfDelta + 63, 7);
+			} else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+				writer.writeBits(0b110, 3);
+				writer.writeBits(deltaOfDelta + 255, 9);
+			} else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+				writer.writeBits(0b1110, 4);
+				writer.writeBits(deltaOfDelta + 2047, 12);
+			} else {
+				writer.writeBits(0b1111, 4);
+				writer.writeBits(deltaOfDelta, 64);
+			}
+			previousTimestamp = timestamps[i];
+			previousDelta = delta;
+
+			long bits = Double.doubleToRawLongBits(values[i]);
+			long xor = bits ^ previousBits;
+			previousBits = bits;
+			if (xor == 0) {
+				writer.writeBits(0b0, 1);
+				continue;
+			}
+			int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+			int trailing = Long.numberOfTrailingZeros(xor);
+			if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+				// The differing bits fit the previous value's window
+				writer.writeBits(0b10, 2);
+				writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+			} else {
+				int significant = 64 - leading - trailing;
+				writer.writeBits(0b11, 2);
+				writer.writeBits(leading, 5);
+				writer.writeBits(significant - 1, 6);
+				writer.writeBits(xor >>> trailing, significant);
+				previousLeading = leading;
+				previousTrailing = trailing;
+			}
+		}
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Number of points in the chunk starting at {@code offset}
+	 */
+	public static int count(byte[] chunk, int offset) {
+		return (chunk[offset] & 0xFF) << 24 | (chunk[offset + 1] & 0xFF) << 16 | (chunk[offset + 2] & 0xFF) << 8
+				| (chunk[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * Decode every point of a chunk
+	 *
+	 * @return the number of points decoded into the arrays, which must hold
+	 *         {@link #count} points
+	 */
+	public static int decode(byte[] chunk, long[] timestamps, double[] values) {
+		return decodeRange(chunk, 0, Long.MIN_VALUE, Long.MAX_VALUE, timestamps, values);
+	}
+
+	/**
+	 * Decode the points of the chunk starting at {@code offset} within
+	 * {@code [startMillis, endMillis]}, stopping at the first point after the range
+	 *
+	 * @return the number of points decoded into the arrays
+	 */
+	public static int decodeRange(byte[] chunk, int offset, long startMillis, long endMillis, long[] timestamps,
+			double[] values) {
+		int count = count(chunk, offset);
+		BitReader reader = new BitReader(chunk, offset + HEADER_BYTES);
+		long timestamp = reader.readBits(64);
+		long bits = reader.readBits(64);
+
+		int decoded = 0;
+		long delta = 0;
+		int leading = 0;
+		int significant = 0;
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				if (reader.readBit() == 0) {
+					// Same delta as before
+				} else if (reader.readBit() == 0) {
+					delta += reader.readBits(7) - 63;
+				} else if (reader.readBit() == 0) {
+					delta += reader.readBits(9) - 255;
+				} else if (reader.readBit() == 0) {
+					delta += reader.readBits(12) - 2047;
+				} else {
+					delta += reader.readBits(64);
+				}
+				timestamp += delta;
+
+				if (reader.readBit() == 1) {
+					if (reader.readBit() == 1) {
+						leading = (int) reader.readBits(5);
+						significant = (int) reader.readBits(6) + 1;
+					}
+					bits ^= reader.readBits(significant) << (64 - leading - significant);
+				}
+			}
+			if (timestamp > endMillis) {
+				break;
+			}
+			if (timestamp >= startMillis) {
+				timestamps[decoded] = timestamp;
+				values[decoded] = Double.longBitsToDouble(bits);
+				decoded++;
+			}
+		}
+		return decoded;
+	}
+
+	private static final class BitWriter {
+		private byte[] bytes;
+		private long bitPosition;
+
+		BitWriter(int initialBytes) {
+			this.bytes = new byte[initialBytes];
+		}
+
+		/**
+		 * Write the low {@code length} bits of {@code value}, most significant first
+		 */
+		void writeBits(long value, int length) {
+			while (length > 0) {
+				int index = (int) (bitPosition >>> 3);
+				if (index == bytes.length) {
+					bytes = Arrays.copyOf(bytes, bytes.length * 2);
+				}
+				int free = 8 - (int) (bitPosition & 7);
+				int written = Math.min(free, length);
+				int part = (int) (value >>> (length - written)) & ((1 << written) - 1);
+				bytes[index] |= part << (free - written);
+				bitPosition += written;
+				length -= written;
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(bytes, (int) ((bitPosition + 7) >>> 3));
+		}
+	}
+
+	private static final class BitReader {
+		private final byte[] bytes;
+		private long bitPosition;
+
+		BitReader(byte[] bytes, int offset) {
+			this.bytes = bytes;
+			this.bitPosition = (long) offset << 3;
+		}
+
+		int readBit() {
+			int bit = (bytes[(int) (bitPosition >>> 3)] >>> (7 - (int) (bitPosition & 7))) & 1;
+			bitPosition++;
+			return bit;
+		}
+
+		/**
+		 * Read {@code length} bits, 1 to 64, from the eight bytes at the position and the
+		 * next one
+		 */
+		long readBits(int length) {
+			int index = (int) (bitPosition >>> 3);
+			int shift = (int) (bitPosition & 7);
+			long value = (word(index) << shift) >>> (64 - length);
+			int remaining = shift + length - 64;
+			if (remaining > 0) {
+				value |= (bytes[index + 8] & 0xFF) >>> (8 - remaining);
+			}
+			bitPosition += length;
+			return value;
+		}
+
+		private long word(int index) {
+			if (index + 8 <= bytes.length) {
+				return (long) BIG_ENDIAN_LONG.get(bytes, index);
+			}
+			long word = 0;
+			for (int i = 0; i < 8; i++) {
+				word = (word << 8) | (index + i < bytes.length ? bytes[index + i] & 0xFF : 0);
+			}
+			return word;
+		}
+	}
+}
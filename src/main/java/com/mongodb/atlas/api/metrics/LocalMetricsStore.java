@@ -0,0 +1,742 @@
+package com.mongodb.atlas.api.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Stores Atlas metrics in local files, for running the analyzer without a mongod.
+ *
+ * Each series has a directory {@code <project>/<host>/<metric>[~<partition>]} of
+ * append-only segment files, one per UTC day. A segment starts with a magic number and
+ * format version, followed by blocks of up to {@link #MAX_BLOCK_POINTS} points, each a
+ * header and the points as a {@link GorillaChunk}. Next to each segment a sparse time index holds the time range
+ * and offset of every block, so a read maps the segment into memory and decodes only
+ * the blocks overlapping the requested range.
+ *
+ * A block is appended before its index entry. A segment whose last block is missing
+ * from the index, or was only partially written, is repaired when it is first opened.
+ * A segment in another format is never repaired: it is skipped by reads and refuses
+ * appends, leaving its file untouched.
+ * Points are kept in time order, so points at or before a series' last stored timestamp
+ * are skipped like duplicates. Only raw points are stored, there are no rollups.
+ */
+public class LocalMetricsStore implements MetricsStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocalMetricsStore.class);
+
+	static final int MAX_BLOCK_POINTS = 1_024;
+	static final String SEGMENT_SUFFIX = ".seg";
+	static final String INDEX_SUFFIX = ".idx";
+
+	// Segment header: magic number and format version
+	private static final int SEGMENT_MAGIC = 0x41544D53; // "ATMS"
+	static final int SEGMENT_VERSION = 2;
+	static final int SEGMENT_HEADER_BYTES = 4 + 4;
+	// Block header: point count, first and last timestamp, size of the chunk
+	private static final int BLOCK_HEADER_BYTES = 4 + 8 + 8 + 4;
+	// Largest chunk of MAX_BLOCK_POINTS: count, first point, then at most 145 bits a point
+	static final int MAX_CHUNK_BYTES = 4 + 16 + (MAX_BLOCK_POINTS * 145 + 7) / 8;
+	// Index entry: first and last timestamp of a block and its offset in the segment
+	private static final int INDEX_ENTRY_BYTES = 8 + 8 + 8;
+	private static final long SEGMENT_MILLIS = Duration.ofDays(1).toMillis();
+	private static final char PARTITION_SEPARATOR = '~';
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private final Path directory;
+
+	// Series by their directory relative to the store's
+	private final Map<String, Series> seriesByPath = new ConcurrentHashMap<>();
+
+	private volatile int readBatchSize = MetricsStorage.DEFAULT_READ_BATCH_SIZE;
+
+	/**
+	 * Open the store in {@code directory}, creating it if needed
+	 */
+	public LocalMetricsStore(Path directory) throws IOException {
+		this.directory = directory;
+		long startTime = System.currentTimeMillis();
+		Files.createDirectories(directory);
+		loadSeries();
+		logger.info("Opened local metrics store at {} with {} series in {}ms", directory, seriesByPath.size(),
+				System.currentTimeMillis() - startTime);
+	}
+
+	private void loadSeries() throws IOException {
+		for (Path projectDirectory : subdirectories(directory)) {
+			String projectName = decodeName(projectDirectory.getFileName().toString());
+			for (Path hostDirectory : subdirectories(projectDirectory)) {
+				String host = decodeName(hostDirectory.getFileName().toString());
+				for (Path seriesDirectory : subdirectories(hostDirectory)) {
+					String name = seriesDirectory.getFileName().toString();
+					int separator = name.indexOf(PARTITION_SEPARATOR);
+					String metric = decodeName(separator < 0 ? name : name.substring(0, separator));
+					String partition = separator < 0 ? null : decodeName(name.substring(separator + 1));
+
+					Series series = new Series(seriesDirectory, projectName, host, metric, partition);
+					series.loadSegments();
+					seriesByPath.put(directory.relativize(seriesDirectory).toString(), series);
+				}
+			}
+		}
+	}
+
+	private static List<Path> subdirectories(Path parent) throws IOException {
+		List<Path> subdirectories = new ArrayList<>();
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(parent, Files::isDirectory)) {
+			entries.forEach(subdirectories::add);
+		}
+		return subdirectories;
+	}
+
+	@Override
+	public int storeMetrics(String projectName, String host, int port, String partition, String metric,
+			MeasurementSeries series) {
+
+		if (series == null || series.isEmpty()) {
+			logger.debug("No data points to store for {}:{} metric {}", host, port, metric);
+			return 0;
+		}
+
+		String hostPort = host + ":" + port;
+		String seriesName = encodeName(metric);
+		if (partition != null) {
+			seriesName += PARTITION_SEPARATOR + encodeName(partition);
+		}
+		Path relative = Path.of(encodeName(projectName), encodeName(hostPort), seriesName);
+		Series target = seriesByPath.computeIfAbsent(relative.toString(),
+				path -> new Series(directory.resolve(relative), projectName, hostPort, metric, partition));
+
+		try {
+			int stored = target.append(series);
+			logger.debug("Stored {} new data points for {} metric {} (skipped {})", stored, hostPort, metric,
+					series.size() - stored);
+			return stored;
+		} catch (IOException | UncheckedIOException e) {
+			logger.error("Failed to store metrics for {} metric {}: {}", hostPort, metric, e.getMessage());
+			return 0;
+		}
+	}
+
+	@Override
+	public Instant getLatestTimestampForHostMetric(String host, String metric) {
+		return latest(find(null, host, metric, false, null));
+	}
+
+	@Override
+	public Instant getLatestTimestampForHostPartitionMetric(String host, String partition, String metric) {
+		return latest(find(null, host, metric, true, partition));
+	}
+
+	@Override
+	public Instant getEarliestDataTime(String projectName, String host, String metric) {
+		long earliest = Long.MAX_VALUE;
+		for (Series series : find(projectName, host, metric, false, null)) {
+			long first = series.firstTimestamp();
+			if (first != TimestampTracker.NO_TIMESTAMP) {
+				earliest = Math.min(earliest, first);
+			}
+		}
+		return earliest == Long.MAX_VALUE ? Instant.EPOCH : Instant.ofEpochMilli(earliest);
+	}
+
+	@Override
+	public Instant getLatestDataTime(String projectName, String host, String metric) {
+		return latest(find(projectName, host, metric, false, null));
+	}
+
+	private static Instant latest(List<Series> matching) {
+		long latest = TimestampTracker.NO_TIMESTAMP;
+		for (Series series : matching) {
+			latest = Math.max(latest, series.lastTimestamp());
+		}
+		return latest == TimestampTracker.NO_TIMESTAMP ? Instant.EPOCH : Instant.ofEpochMilli(latest);
+	}
+
+	/**
+	 * Series matching the given filters, null matching any value, ordered by host and
+	 * partition
+	 *
+	 * @param matchPartition whether {@code partition} is a filter, where null matches
+	 *                       only series without a partition
+	 */
+	private List<Series> find(String projectName, String host, String metric, boolean matchPartition,
+			String partition) {
+		List<Series> matching = new ArrayList<>();
+		for (Series series : seriesByPath.values()) {
+			if ((projectName == null || projectName.equals(series.projectName))
+					&& (host == null || host.equals(series.host))
+					&& (metric == null || metric.equals(series.metric))
+					&& (!matchPartition || (partition == null ? series.partition == null
+							: partition.equals(series.partition)))) {
+				matching.add(series);
+			}
+		}
+		matching.sort(Comparator.comparing((Series series) -> series.host)
+				.thenComparing(series -> series.partition, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparing(series -> series.projectName));
+		return matching;
+	}
+
+	/**
+	 * Stream stored points one series after another, decoding only the blocks that
+	 * overlap the range. Only {@link MetricsRollups.Resolution#RAW} is available.
+	 */
+	@Override
+	public void streamMetrics(String projectName, String host, String metric, Instant startTime, Instant endTime,
+			MetricsRollups.Resolution resolution, MetricsRollups.Statistic statistic, SeriesChunkConsumer consumer) {
+		if (resolution != MetricsRollups.Resolution.RAW) {
+			throw new IllegalArgumentException("The local metrics store has no " + resolution + " rollups");
+		}
+
+		long startMillis = startTime.toEpochMilli();
+		long endMillis = (endTime != null ? endTime : Instant.now()).toEpochMilli();
+		int batchSize = readBatchSize;
+		long[] timestamps = new long[batchSize];
+		double[] values = new double[batchSize];
+		byte[] chunk = new byte[MAX_CHUNK_BYTES];
+		long[] blockTimestamps = new long[MAX_BLOCK_POINTS];
+		double[] blockValues = new double[MAX_BLOCK_POINTS];
+
+		for (Series series : find(projectName, host, metric, false, null)) {
+			int length = 0;
+			for (SegmentView segment : series.segments(startMillis, endMillis)) {
+				try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+					MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.length);
+					for (int block = segment.firstBlockEndingAtOrAfter(startMillis); block < segment.blocks
+							&& segment.firstTimestamps[block] <= endMillis; block++) {
+						buffer.position((int) segment.offsets[block]);
+						int count = decodeBlock(buffer, startMillis, endMillis, chunk, blockTimestamps, blockValues);
+						for (int i = 0; i < count; i++) {
+							timestamps[length] = blockTimestamps[i];
+							values[length] = blockValues[i];
+							if (++length == batchSize) {
+								consumer.accept(series.host, series.partition, timestamps, values, length);
+								length = 0;
+							}
+						}
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException("Failed to read metrics segment " + segment.file, e);
+				}
+			}
+			if (length > 0) {
+				consumer.accept(series.host, series.partition, timestamps, values, length);
+			}
+		}
+	}
+
+	/**
+	 * Largest chunk handed to a {@link #streamMetrics} consumer
+	 */
+	public void setReadBatchSize(int readBatchSize) {
+		this.readBatchSize = Math.max(1, readBatchSize);
+	}
+
+	/**
+	 * Points are written as they are stored; there is nothing to flush or release
+	 */
+	@Override
+	public void close() {
+		logger.info("Closed local metrics store at {}", directory);
+	}
+
+	/**
+	 * Encode one block of points, {@code from} inclusive to {@code to} exclusive
+	 */
+	static ByteBuffer encodeBlock(long[] timestamps, double[] values, int from, int to) {
+		byte[] chunk = GorillaChunk.encode(timestamps, values, from, to);
+		ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_BYTES + chunk.length);
+		block.putInt(to - from).putLong(timestamps[from]).putLong(timestamps[to - 1]).putInt(chunk.length).put(chunk);
+		block.flip();
+		return block;
+	}
+
+	/**
+	 * Decode the points within {@code [startMillis, endMillis]} of the block at the
+	 * buffer's position, copying its chunk into {@code chunk}, which must hold
+	 * {@link #MAX_CHUNK_BYTES}
+	 *
+	 * @return the number of points decoded into the arrays
+	 */
+	static int decodeBlock(ByteBuffer buffer, long startMillis, long endMillis, byte[] chunk, long[] timestamps,
+			double[] values) throws IOException {
+		int count = buffer.getInt();
+		buffer.position(buffer.position() + 16); // first and last timestamp
+		int chunkBytes = buffer.getInt();
+		if (count < 1 || count > timestamps.length || chunkBytes < 20 || chunkBytes > chunk.length) {
+			throw new IOException("Corrupt metrics block with " + count + " points in " + chunkBytes + " bytes");
+		}
+		buffer.get(chunk, 0, chunkBytes);
+		if (GorillaChunk.count(chunk, 0) != count) {
+			throw new IOException("Corrupt metrics block with " + count + " points");
+		}
+		return GorillaChunk.decodeRange(chunk, 0, startMillis, endMillis, timestamps, values);
+	}
+
+	/**
+	 * File name for a project, host, metric or partition: letters, digits, '-', '_' and
+	 * '.' (except leading) are kept, other bytes are percent-encoded
+	 */
+	static String encodeName(String name) {
+		byte[] bytes = name.getBytes(UTF_8);
+		StringBuilder encoded = new StringBuilder(bytes.length);
+		for (int i = 0; i < bytes.length; i++) {
+			int b = bytes[i] & 0xFF;
+			if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '-' || b == '_'
+					|| (b == '.' && i > 0)) {
+				encoded.append((char) b);
+			} else {
+				encoded.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+			}
+		}
+		return encoded.toString();
+	}
+
+	static String decodeName(String encoded) {
+		return URLDecoder.decode(encoded, UTF_8);
+	}
+
+	/**
+	 * One series' segments, by the start of their day. Appends and index loading are
+	 * synchronized per series.
+	 */
+	private static final class Series {
+		private final Path directory;
+		private final String projectName;
+		private final String host;
+		private final String metric;
+		private final String partition;
+		private final TreeMap<Long, Segment> segments = new TreeMap<>();
+		private long lastTimestamp = TimestampTracker.NO_TIMESTAMP;
+		private boolean lastTimestampLoaded;
+
+		Series(Path directory, String projectName, String host, String metric, String partition) {
+			this.directory = directory;
+			this.projectName = projectName;
+			this.host = host;
+			this.metric = metric;
+			this.partition = partition;
+		}
+
+		synchronized void loadSegments() throws IOException {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+				for (Path file : files) {
+					String name = file.getFileName().toString();
+					try {
+						long dayStart = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+						segments.put(dayStart, new Segment(file));
+					} catch (NumberFormatException e) {
+						logger.warn("Ignoring unexpected file {} in local metrics store", file);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Append the points of a series that have a value and are newer than the last
+		 * stored one, in time order
+		 *
+		 * @return the number of points appended
+		 */
+		synchronized int append(MeasurementSeries series) throws IOException {
+			long last = lastTimestamp();
+			long[] timestamps = new long[series.size()];
+			double[] values = new double[series.size()];
+			int count = 0;
+			for (int i = 0; i < series.size(); i++) {
+				if (series.getTimestampMillis(i) > last && series.hasValue(i)) {
+					timestamps[count] = series.getTimestampMillis(i);
+					values[count] = series.getValue(i);
+					count++;
+				}
+			}
+			if (!series.isStrictlyIncreasing()) {
+				count = sortAndDeduplicate(timestamps, values, count);
+			}
+			if (count == 0) {
+				return 0;
+			}
+
+			Files.createDirectories(directory);
+			int from = 0;
+			while (from < count) {
+				long dayStart = Math.floorDiv(timestamps[from], SEGMENT_MILLIS) * SEGMENT_MILLIS;
+				int to = from + 1;
+				while (to < count && to - from < MAX_BLOCK_POINTS && timestamps[to] < dayStart + SEGMENT_MILLIS) {
+					to++;
+				}
+				try {
+					segments.computeIfAbsent(dayStart, day -> new Segment(directory.resolve(day + SEGMENT_SUFFIX)))
+							.append(timestamps, values, from, to);
+				} catch (IOException e) {
+					// A segment that could not discard the failed block keeps it when repaired
+					lastTimestampLoaded = false;
+					throw e;
+				}
+				// Appended blocks stay even if a later one fails
+				lastTimestamp = timestamps[to - 1];
+				from = to;
+			}
+			return count;
+		}
+
+		/**
+		 * The series' latest timestamp, or NO_TIMESTAMP if it has no points
+		 */
+		synchronized long lastTimestamp() {
+			if (!lastTimestampLoaded) {
+				for (Segment segment : segments.descendingMap().values()) {
+					if (segment.load() > 0) {
+						lastTimestamp = segment.lastTimestamps[segment.blocks - 1];
+						break;
+					}
+				}
+				lastTimestampLoaded = true;
+			}
+			return lastTimestamp;
+		}
+
+		synchronized long firstTimestamp() {
+			for (Segment segment : segments.values()) {
+				if (segment.load() > 0) {
+					return segment.firstTimestamps[0];
+				}
+			}
+			return TimestampTracker.NO_TIMESTAMP;
+		}
+
+		/**
+		 * The indexed blocks, as of now, of the segments overlapping a time range
+		 */
+		synchronized List<SegmentView> segments(long startMillis, long endMillis) {
+			List<SegmentView> views = new ArrayList<>();
+			long firstDay = Math.floorDiv(startMillis, SEGMENT_MILLIS) * SEGMENT_MILLIS;
+			if (firstDay > endMillis) {
+				return views;
+			}
+			for (Segment segment : segments.subMap(firstDay, true, endMillis, true).values()) {
+				if (segment.load() > 0) {
+					views.add(new SegmentView(segment));
+				}
+			}
+			return views;
+		}
+
+		private static int sortAndDeduplicate(long[] timestamps, double[] values, int count) {
+			Integer[] order = new Integer[count];
+			Arrays.setAll(order, i -> i);
+			// Stable, so the first of several points with the same timestamp is kept
+			Arrays.sort(order, Comparator.comparingLong(i -> timestamps[i]));
+			long[] sortedTimestamps = new long[count];
+			double[] sortedValues = new double[count];
+			int unique = 0;
+			for (int i : order) {
+				if (unique == 0 || timestamps[i] != sortedTimestamps[unique - 1]) {
+					sortedTimestamps[unique] = timestamps[i];
+					sortedValues[unique] = values[i];
+					unique++;
+				}
+			}
+			System.arraycopy(sortedTimestamps, 0, timestamps, 0, unique);
+			System.arraycopy(sortedValues, 0, values, 0, unique);
+			return unique;
+		}
+	}
+
+	/**
+	 * One day of a series: the segment file and its block index, loaded on first use.
+	 * Guarded by the owning series.
+	 */
+	private static final class Segment {
+		private final Path file;
+		private final Path indexFile;
+		private long[] firstTimestamps = new long[8];
+		private long[] lastTimestamps = new long[8];
+		private long[] offsets = new long[8];
+		private int blocks;
+		private long length;
+		private boolean loaded;
+		private boolean unsupported;
+
+		Segment(Path file) {
+			String name = file.getFileName().toString();
+			this.file = file;
+			this.indexFile = file.resolveSibling(
+					name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+		}
+
+		void append(long[] timestamps, double[] values, int from, int to) throws IOException {
+			load();
+			if (unsupported) {
+				throw new IOException("Metrics segment " + file + " is in an unsupported format");
+			}
+			ByteBuffer block = encodeBlock(timestamps, values, from, to);
+			int size = block.remaining();
+			try {
+				if (length == 0) {
+					write(file, ByteBuffer.allocate(SEGMENT_HEADER_BYTES).putInt(SEGMENT_MAGIC)
+							.putInt(SEGMENT_VERSION).flip());
+					length = SEGMENT_HEADER_BYTES;
+				}
+				write(file, block);
+				write(indexFile, ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+						.putLong(timestamps[from]).putLong(timestamps[to - 1]).putLong(length).flip());
+			} catch (IOException e) {
+				discardFailedAppend();
+				throw e;
+			}
+			addBlock(timestamps[from], timestamps[to - 1], length);
+			length += size;
+		}
+
+		/**
+		 * Cut what a failed append wrote off the segment and its index, so the next
+		 * block is written where the index expects it. If that fails too, the segment
+		 * is loaded and repaired again on next use.
+		 */
+		private void discardFailedAppend() {
+			try {
+				truncate(file, length);
+				truncate(indexFile, (long) blocks * INDEX_ENTRY_BYTES);
+			} catch (IOException e) {
+				logger.warn("Failed to discard a partial append to metrics segment {}, reloading it: {}", file,
+						e.getMessage());
+				// New arrays, so views taken earlier keep their contents
+				firstTimestamps = new long[8];
+				lastTimestamps = new long[8];
+				offsets = new long[8];
+				blocks = 0;
+				length = 0;
+				loaded = false;
+			}
+		}
+
+		private static void truncate(Path target, long size) throws IOException {
+			if (Files.exists(target)) {
+				try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+					channel.truncate(size);
+				}
+			}
+		}
+
+		private static void write(Path target, ByteBuffer data) throws IOException {
+			try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND)) {
+				while (data.hasRemaining()) {
+					channel.write(data);
+				}
+			}
+		}
+
+		private void addBlock(long firstTimestamp, long lastTimestamp, long offset) {
+			if (blocks == offsets.length) {
+				// Grown into new arrays, so views taken earlier keep their contents
+				firstTimestamps = Arrays.copyOf(firstTimestamps, blocks * 2);
+				lastTimestamps = Arrays.copyOf(lastTimestamps, blocks * 2);
+				offsets = Arrays.copyOf(offsets, blocks * 2);
+			}
+			firstTimestamps[blocks] = firstTimestamp;
+			lastTimestamps[blocks] = lastTimestamp;
+			offsets[blocks] = offset;
+			blocks++;
+		}
+
+		/**
+		 * Load the index, repairing the segment if it does not match
+		 *
+		 * @return the number of blocks
+		 */
+		int load() {
+			if (loaded) {
+				return blocks;
+			}
+			try {
+				long segmentLength = Files.exists(file) ? Files.size(file) : 0;
+				if (segmentLength >= SEGMENT_HEADER_BYTES && readVersion() != SEGMENT_VERSION) {
+					unsupported = true;
+					logger.warn("Skipping metrics segment {}: not in segment format version {}", file,
+							SEGMENT_VERSION);
+				} else {
+					if (segmentLength > 0 && segmentLength < SEGMENT_HEADER_BYTES) {
+						// Only part of the header was written
+						try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+							channel.truncate(0);
+						}
+						segmentLength = 0;
+					}
+					if (!readIndex(segmentLength)) {
+						rebuildIndex(segmentLength);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to open metrics segment " + file, e);
+			}
+			loaded = true;
+			return blocks;
+		}
+
+		/**
+		 * @return the format version of the segment, or -1 for a file that is not a
+		 *         segment
+		 */
+		private int readVersion() throws IOException {
+			ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES);
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				while (header.hasRemaining()) {
+					if (channel.read(header, header.position()) < 0) {
+						return -1;
+					}
+				}
+			}
+			return header.getInt(0) == SEGMENT_MAGIC ? header.getInt(4) : -1;
+		}
+
+		/**
+		 * @return whether the index file covers exactly the segment's blocks
+		 */
+		private boolean readIndex(long segmentLength) throws IOException {
+			if (!Files.exists(indexFile)) {
+				return segmentLength == 0;
+			}
+			ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+			if (index.remaining() % INDEX_ENTRY_BYTES != 0) {
+				return false;
+			}
+			while (index.hasRemaining()) {
+				addBlock(index.getLong(), index.getLong(), index.getLong());
+			}
+			if (blocks == 0) {
+				length = segmentLength;
+				return segmentLength == 0 || segmentLength == SEGMENT_HEADER_BYTES;
+			}
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				ByteBuffer header = readHeader(channel, offsets[blocks - 1], segmentLength);
+				length = header != null ? blockEnd(offsets[blocks - 1], header) : -1;
+			}
+			return length == segmentLength;
+		}
+
+		/**
+		 * Rebuild the index from the block headers, dropping a partially written last
+		 * block
+		 */
+		private void rebuildIndex(long segmentLength) throws IOException {
+			blocks = 0;
+			length = 0;
+			ByteBuffer index = ByteBuffer.allocate(0);
+			if (segmentLength > 0) {
+				// Called for segments with a valid segment header only
+				length = SEGMENT_HEADER_BYTES;
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+						StandardOpenOption.WRITE)) {
+					ByteBuffer header;
+					while ((header = readHeader(channel, length, segmentLength)) != null) {
+						addBlock(header.getLong(4), header.getLong(12), length);
+						length = blockEnd(length, header);
+					}
+					if (length < segmentLength) {
+						channel.truncate(length);
+					}
+				}
+				index = ByteBuffer.allocate(blocks * INDEX_ENTRY_BYTES);
+				for (int i = 0; i < blocks; i++) {
+					index.putLong(firstTimestamps[i]).putLong(lastTimestamps[i]).putLong(offsets[i]);
+				}
+				index.flip();
+			}
+			Files.write(indexFile, Arrays.copyOf(index.array(), index.limit()));
+			logger.warn("Repaired metrics segment {}: kept {} blocks, {} of {} bytes", file, blocks, length,
+					segmentLength);
+		}
+
+		/**
+		 * Header of the block at {@code offset}, or null if no complete block is there
+		 */
+		private static ByteBuffer readHeader(FileChannel channel, long offset, long segmentLength)
+				throws IOException {
+			if (offset < 0 || offset + BLOCK_HEADER_BYTES > segmentLength) {
+				return null;
+			}
+			ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+			while (header.hasRemaining()) {
+				if (channel.read(header, offset + header.position()) < 0) {
+					return null;
+				}
+			}
+			int count = header.getInt(0);
+			int chunkBytes = header.getInt(20);
+			if (count < 1 || count > MAX_BLOCK_POINTS || chunkBytes < 0 || chunkBytes > MAX_CHUNK_BYTES
+					|| blockEnd(offset, header) > segmentLength) {
+				return null;
+			}
+			return header;
+		}
+
+		private static long blockEnd(long offset, ByteBuffer header) {
+			return offset + BLOCK_HEADER_BYTES + (long) header.getInt(20);
+		}
+	}
+
+	/**
+	 * The blocks of a segment indexed when the view was taken; blocks appended later are
+	 * not visible, and the arrays are not written below {@code blocks}
+	 */
+	private static final class SegmentView {
+		private final Path file;
+		private final long[] firstTimestamps;
+		private final long[] lastTimestamps;
+		private final long[] offsets;
+		private final int blocks;
+		private final long length;
+
+		SegmentView(Segment segment) {
+			this.file = segment.file;
+			this.firstTimestamps = segment.firstTimestamps;
+			this.lastTimestamps = segment.lastTimestamps;
+			this.offsets = segment.offsets;
+			this.blocks = segment.blocks;
+			this.length = segment.length;
+		}
+
+		/**
+		 * Binary search for the first block that ends at or after {@code millis}
+		 */
+		int firstBlockEndingAtOrAfter(long millis) {
+			int low = 0;
+			int high = blocks;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (lastTimestamps[middle] < millis) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+}
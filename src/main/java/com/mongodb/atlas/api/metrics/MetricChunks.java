@@ -0,0 +1,281 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * The stored metrics as {@link GorillaChunk}s in a collection next to the metrics
+ * collection ({@code <collection>_chunks}): one document per host, metric, partition and
+ * hour, holding the encoded points as a binary field with the series metadata and time
+ * range. Each insert merges its points into the chunks of their hours, so a series
+ * collected every minute still has one chunk per hour.
+ *
+ * Chunks are opt-in, see {@link MetricsStorage#enableCompressedChunks()}. They are a
+ * compact copy for reading: the points are still stored as documents in the metrics
+ * collection, so chunks add about 7 to 13 bytes per point to the storage, and every
+ * insert reads, re-encodes and replaces the chunks of its hours.
+ *
+ * Like rollups, chunks are complete from their coverage start on: the time they were
+ * first written for a collection that already held data. A failed chunk write moves
+ * the coverage to the time of the failure, and points stored without chunks end it
+ * (see {@link #endCoverage}), so readers fall back to the points for earlier windows.
+ */
+public class MetricChunks {
+
+	private static final Logger logger = LoggerFactory.getLogger(MetricChunks.class);
+
+	static final long CHUNK_MILLIS = Duration.ofHours(1).toMillis();
+	private static final String COVERAGE_ID = "coverage";
+
+	private final MongoCollection<Document> metricsCollection;
+	private final MongoCollection<Document> chunksCollection;
+	private final MongoCollection<Document> stateCollection;
+	private volatile Instant coverageStart;
+
+	public MetricChunks(MongoDatabase database, String collectionName, MongoCollection<Document> metricsCollection) {
+		this.metricsCollection = metricsCollection;
+		this.chunksCollection = database.getCollection(collectionName + "_chunks");
+		this.stateCollection = database.getCollection(collectionName + "_chunks_state");
+
+		chunksCollection.createIndex(Indexes.ascending("metadata.projectName", "metadata.metric", "start"));
+		chunksCollection.createIndex(Indexes.ascending("metadata.host", "metadata.metric", "start"));
+		this.coverageStart = loadCoverageStart();
+	}
+
+	public MongoCollection<Document> collection() {
+		return chunksCollection;
+	}
+
+	/**
+	 * @return the time from which chunks include every stored point
+	 */
+	public Instant getCoverageStart() {
+		return coverageStart;
+	}
+
+	/**
+	 * Whether a window starting at {@code startTime} can be read from chunks
+	 */
+	public boolean covers(Instant startTime) {
+		return !startTime.isBefore(coverageStart);
+	}
+
+	/**
+	 * Merge newly inserted metric points into the chunks of their series and hours: the
+	 * existing chunks are read with one query, then re-encoded with the new points and
+	 * written with one bulk write. A chunk changed by another writer meanwhile fails the
+	 * write rather than losing points.
+	 */
+	public void apply(List<MetricPoint> points) {
+		Map<Document, List<MetricPoint>> byChunk = new LinkedHashMap<>();
+		for (MetricPoint point : points) {
+			if (point.hasValue()) {
+				long hour = Math.floorDiv(point.getTimestampMillis(), CHUNK_MILLIS) * CHUNK_MILLIS;
+				byChunk.computeIfAbsent(chunkId(point.getMetadata(), hour), id -> new ArrayList<>()).add(point);
+			}
+		}
+		if (byChunk.isEmpty()) {
+			return;
+		}
+
+		Map<Object, Document> existing = new HashMap<>();
+		for (Document chunk : chunksCollection.find(Filters.in("_id", byChunk.keySet()))
+				.projection(Projections.include("count", "data"))) {
+			existing.put(chunk.get("_id"), chunk);
+		}
+
+		List<WriteModel<Document>> writes = new ArrayList<>(byChunk.size());
+		int replacements = 0;
+		for (Map.Entry<Document, List<MetricPoint>> entry : byChunk.entrySet()) {
+			List<MetricPoint> added = entry.getValue();
+			added.sort(Comparator.comparingLong(MetricPoint::getTimestampMillis));
+			Document stored = existing.get(entry.getKey());
+			int storedCount = stored != null ? stored.getInteger("count") : 0;
+
+			long[] timestamps = new long[storedCount + added.size()];
+			double[] values = new double[timestamps.length];
+			if (stored != null) {
+				GorillaChunk.decode(stored.get("data", Binary.class).getData(), timestamps, values);
+			}
+			int count = merge(timestamps, values, storedCount, added);
+
+			Document chunk = new Document("_id", entry.getKey())
+					.append("metadata", toDocument(added.get(0).getMetadata()))
+					.append("start", new Date(timestamps[0]))
+					.append("end", new Date(timestamps[count - 1]))
+					.append("count", count)
+					.append("data", new Binary(GorillaChunk.encode(timestamps, values, 0, count)));
+			if (stored != null) {
+				writes.add(new ReplaceOneModel<>(
+						Filters.and(Filters.eq("_id", entry.getKey()), Filters.eq("count", storedCount)), chunk));
+				replacements++;
+			} else {
+				writes.add(new InsertOneModel<>(chunk));
+			}
+		}
+
+		BulkWriteResult result = chunksCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+		if (result.getMatchedCount() != replacements) {
+			throw new IllegalStateException((replacements - result.getMatchedCount())
+					+ " compressed metric chunks were changed by another writer");
+		}
+	}
+
+	/**
+	 * Merge points in time order into the {@code count} sorted points at the start of
+	 * the arrays, keeping the stored point where both have a timestamp
+	 *
+	 * @return the number of points in the arrays
+	 */
+	private static int merge(long[] timestamps, double[] values, int count, List<MetricPoint> added) {
+		long[] storedTimestamps = Arrays.copyOf(timestamps, count);
+		double[] storedValues = Arrays.copyOf(values, count);
+		int merged = 0;
+		int i = 0;
+		int j = 0;
+		while (i < count || j < added.size()) {
+			long timestamp;
+			double value;
+			if (j == added.size() || (i < count && storedTimestamps[i] <= added.get(j).getTimestampMillis())) {
+				timestamp = storedTimestamps[i];
+				value = storedValues[i++];
+			} else {
+				timestamp = added.get(j).getTimestampMillis();
+				value = added.get(j++).getValue();
+			}
+			if (merged == 0 || timestamp != timestamps[merged - 1]) {
+				timestamps[merged] = timestamp;
+				values[merged] = value;
+				merged++;
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Chunks of points stored before now may be missing; read earlier windows from the
+	 * points from now on
+	 */
+	public void invalidateCoverage() {
+		Instant since = Instant.now();
+		coverageStart = since;
+		stateCollection.replaceOne(Filters.eq("_id", COVERAGE_ID),
+				new Document("_id", COVERAGE_ID).append("since", Date.from(since)), new ReplaceOptions().upsert(true));
+		logger.warn("Compressed metric chunks are complete from {} only", since);
+	}
+
+	/**
+	 * Points are stored into a metrics collection without chunks: chunks written before
+	 * no longer cover every point, and the next {@link MetricChunks} of the collection
+	 * starts its coverage afresh
+	 */
+	public static void endCoverage(MongoDatabase database, String collectionName) {
+		MongoCollection<Document> stateCollection = database.getCollection(collectionName + "_chunks_state");
+		if (stateCollection.deleteOne(Filters.eq("_id", COVERAGE_ID)).getDeletedCount() > 0) {
+			logger.info("Compressed metric chunks are no longer maintained for {}", collectionName);
+		}
+	}
+
+	/**
+	 * Decode the points of the chunks overlapping {@code [startMillis, endMillis]}, in
+	 * chunk start order, so each series' points arrive in time order. The arrays passed
+	 * to the consumer hold one chunk and are reused for the next.
+	 */
+	public void read(String projectName, String host, String metric, long startMillis, long endMillis,
+			int batchSize, MetricsStore.SeriesChunkConsumer consumer) {
+		List<Bson> filters = new ArrayList<>();
+		if (projectName != null) {
+			filters.add(Filters.eq("metadata.projectName", projectName));
+		}
+		if (host != null) {
+			filters.add(Filters.eq("metadata.host", host));
+		}
+		filters.add(Filters.eq("metadata.metric", metric));
+		// Chunks span at most an hour, which bounds the start of those overlapping the range
+		filters.add(Filters.gt("start", new Date(startMillis - CHUNK_MILLIS)));
+		filters.add(Filters.lte("start", new Date(endMillis)));
+		filters.add(Filters.gte("end", new Date(startMillis)));
+		Bson projection = Projections.fields(
+				Projections.include("metadata.host", "metadata.partition", "count", "data"), Projections.excludeId());
+
+		long[] timestamps = new long[0];
+		double[] values = new double[0];
+		for (Document chunk : chunksCollection.find(Filters.and(filters)).projection(projection)
+				.sort(Sorts.ascending("start")).batchSize(batchSize)) {
+			int count = chunk.getInteger("count");
+			if (count > timestamps.length) {
+				timestamps = new long[count];
+				values = new double[count];
+			}
+			int decoded = GorillaChunk.decodeRange(chunk.get("data", Binary.class).getData(), 0, startMillis,
+					endMillis, timestamps, values);
+			if (decoded > 0) {
+				Document metadata = chunk.get("metadata", Document.class);
+				consumer.accept(metadata.getString("host"), metadata.getString("partition"), timestamps, values,
+						decoded);
+			}
+		}
+	}
+
+	/**
+	 * Coverage recorded earlier, or starting now: from the beginning for an empty
+	 * metrics collection, otherwise from the current time, after which every inserted
+	 * point is also chunked
+	 */
+	private Instant loadCoverageStart() {
+		Document state = stateCollection.find(Filters.eq("_id", COVERAGE_ID)).first();
+		if (state != null && state.getDate("since") != null) {
+			return state.getDate("since").toInstant();
+		}
+		Instant since = metricsCollection.estimatedDocumentCount() == 0 ? Instant.EPOCH : Instant.now();
+		stateCollection.replaceOne(Filters.eq("_id", COVERAGE_ID),
+				new Document("_id", COVERAGE_ID).append("since", Date.from(since)), new ReplaceOptions().upsert(true));
+		logger.info("Maintaining compressed metric chunks, complete from {}", since);
+		return since;
+	}
+
+	/**
+	 * Key of a series' chunk for one hour; the fields are always in the same order, as
+	 * {@code _id} matches compare documents field by field
+	 */
+	private static Document chunkId(MetricPoint.Metadata metadata, long hourStart) {
+		return toDocument(metadata).append("hour", new Date(hourStart));
+	}
+
+	private static Document toDocument(MetricPoint.Metadata metadata) {
+		Document document = new Document("projectName", metadata.getProjectName())
+				.append("host", metadata.getHost())
+				.append("metric", metadata.getMetric());
+		if (metadata.getPartition() != null) {
+			document.append("partition", metadata.getPartition());
+		}
+		return document;
+	}
+}
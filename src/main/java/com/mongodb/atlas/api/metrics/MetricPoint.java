@@ -0,0 +1,97 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.util.Objects;
+
+/**
+ * One stored metric data point, read and written with {@link MetricPointCodec} instead
+ * of a {@code Document} per point. Points of the same series share one {@link Metadata}
+ * instance.
+ */
+public class MetricPoint {
+    private final long timestampMillis;
+    private final double value;
+    private final Metadata metadata;
+
+    /**
+     * @param value the value, or {@code Double.NaN} if the point has none
+     */
+    public MetricPoint(long timestampMillis, double value, Metadata metadata) {
+        this.timestampMillis = timestampMillis;
+        this.value = value;
+        this.metadata = metadata;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public boolean hasValue() {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * @return the series of the point, or null if it was not read
+     */
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Identifies the series a point belongs to; stored as the time-series meta field
+     */
+    public static final class Metadata {
+        private final String projectName;
+        private final String host;
+        private final String metric;
+        private final String partition;
+
+        /**
+         * @param host      hostname:port
+         * @param partition disk partition, or null for system metrics
+         */
+        public Metadata(String projectName, String host, String metric, String partition) {
+            this.projectName = projectName;
+            this.host = host;
+            this.metric = metric;
+            this.partition = partition;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public String getPartition() {
+            return partition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Metadata)) {
+                return false;
+            }
+            Metadata other = (Metadata) o;
+            return Objects.equals(projectName, other.projectName) && Objects.equals(host, other.host)
+                    && Objects.equals(metric, other.metric) && Objects.equals(partition, other.partition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectName, host, metric, partition);
+        }
+    }
+}
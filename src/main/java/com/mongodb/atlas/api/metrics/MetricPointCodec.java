@@ -0,0 +1,136 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Encodes {@link MetricPoint}s straight to and from BSON in the layout of the metrics
+ * collection: {@code {timestamp, value, metadata: {projectName, host, metric, partition}}}.
+ * No intermediate {@code Document}, map or {@code Date} is created per point.
+ *
+ * Decoding tolerates projections that leave out fields and skips fields it does not
+ * know. Consecutive points of the same series decoded on a thread share one metadata
+ * instance.
+ */
+public class MetricPointCodec implements Codec<MetricPoint> {
+
+	// Last metadata decoded per thread; reads return one series' points in runs
+	private final ThreadLocal<MetricPoint.Metadata> lastMetadata = new ThreadLocal<>();
+
+	/**
+	 * The given registry with this codec for {@link MetricPoint} in front of it
+	 */
+	public static CodecRegistry withRegistry(CodecRegistry registry) {
+		return CodecRegistries.fromRegistries(CodecRegistries.fromCodecs(new MetricPointCodec()), registry);
+	}
+
+	@Override
+	public void encode(BsonWriter writer, MetricPoint point, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writer.writeDateTime("timestamp", point.getTimestampMillis());
+		if (point.hasValue()) {
+			writer.writeDouble("value", point.getValue());
+		} else {
+			writer.writeNull("value");
+		}
+
+		MetricPoint.Metadata metadata = point.getMetadata();
+		if (metadata != null) {
+			writer.writeStartDocument("metadata");
+			writeString(writer, "projectName", metadata.getProjectName());
+			writeString(writer, "host", metadata.getHost());
+			writeString(writer, "metric", metadata.getMetric());
+			if (metadata.getPartition() != null) {
+				writer.writeString("partition", metadata.getPartition());
+			}
+			writer.writeEndDocument();
+		}
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public MetricPoint decode(BsonReader reader, DecoderContext decoderContext) {
+		long timestampMillis = 0;
+		double value = Double.NaN;
+		MetricPoint.Metadata metadata = null;
+
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			String name = reader.readName();
+			BsonType type = reader.getCurrentBsonType();
+			if (name.equals("timestamp") && type == BsonType.DATE_TIME) {
+				timestampMillis = reader.readDateTime();
+			} else if (name.equals("value") && type == BsonType.DOUBLE) {
+				value = reader.readDouble();
+			} else if (name.equals("value") && type == BsonType.INT32) {
+				value = reader.readInt32();
+			} else if (name.equals("value") && type == BsonType.INT64) {
+				value = reader.readInt64();
+			} else if (name.equals("metadata") && type == BsonType.DOCUMENT) {
+				metadata = readMetadata(reader);
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return new MetricPoint(timestampMillis, value, metadata);
+	}
+
+	@Override
+	public Class<MetricPoint> getEncoderClass() {
+		return MetricPoint.class;
+	}
+
+	private MetricPoint.Metadata readMetadata(BsonReader reader) {
+		String projectName = null;
+		String host = null;
+		String metric = null;
+		String partition = null;
+
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			String name = reader.readName();
+			if (reader.getCurrentBsonType() != BsonType.STRING) {
+				reader.skipValue();
+				continue;
+			}
+			switch (name) {
+			case "projectName":
+				projectName = reader.readString();
+				break;
+			case "host":
+				host = reader.readString();
+				break;
+			case "metric":
+				metric = reader.readString();
+				break;
+			case "partition":
+				partition = reader.readString();
+				break;
+			default:
+				reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+
+		MetricPoint.Metadata metadata = new MetricPoint.Metadata(projectName, host, metric, partition);
+		MetricPoint.Metadata last = lastMetadata.get();
+		if (metadata.equals(last)) {
+			return last;
+		}
+		lastMetadata.set(metadata);
+		return metadata;
+	}
+
+	private static void writeString(BsonWriter writer, String name, String value) {
+		if (value != null) {
+			writer.writeString(name, value);
+		}
+	}
+}
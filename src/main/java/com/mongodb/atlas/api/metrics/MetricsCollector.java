@@ -3,16 +3,27 @@ package com.mongodb.atlas.api.metrics;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.atlas.api.clients.AtlasApiClient;
+import com.mongodb.atlas.api.http.AsyncRequestExecutor;
+import com.mongodb.atlas.api.model.AtlasProcess;
+import com.mongodb.atlas.api.model.MeasurementSeries;
 import com.mongodb.atlas.api.util.MetricsUtils;
 
 /**
@@ -28,19 +39,19 @@ public class MetricsCollector {
 	private final String period; // Kept for backward compatibility
 	// private final int periodDays; // Period in days for explicit time range
 	private final String granularity;
-	private final MetricsStorage metricsStorage;
+	private final MetricsStore metricsStorage;
 	private final boolean storeMetrics;
 	private final boolean collectOnly;
 	private Set<String> includedProjects; // Track the projects we're collecting
-
-	// Caches for last timestamps
-	private final Map<String, Instant> systemLastTimestamps = new HashMap<>();
-	private final Map<String, Instant> diskLastTimestamps = new HashMap<>();
+	private int hostParallelism = 1; // MongoDB instances collected concurrently within a project
+	private StoragePipeline storagePipeline; // Stores fetched series in the background when set
 
 	// Tracking for collection statistics
 	private int totalProcessesScanned = 0;
 	private int totalDataPointsCollected = 0;
 	private int totalDataPointsStored = 0;
+	private long totalHostTimeNanos = 0;
+	private long totalHostWallNanos = 0;
 	private final Map<String, Integer> projectDataPoints = new HashMap<>();
 	private final Map<String, Exception> projectErrors = new HashMap<>();
 
@@ -63,7 +74,7 @@ public class MetricsCollector {
 	 * @param collectOnly    If true, only collect metrics without processing
 	 */
 	public MetricsCollector(AtlasApiClient apiClient, List<String> metrics, String period, String granularity,
-			MetricsStorage metricsStorage, boolean storeMetrics, boolean collectOnly) {
+			MetricsStore metricsStorage, boolean storeMetrics, boolean collectOnly) {
 		this.apiClient = apiClient;
 		this.metrics = metrics;
 		this.period = period;
@@ -81,71 +92,6 @@ public class MetricsCollector {
 		if (this.collectOnly) {
 			logger.info("📥 Collection-only mode enabled");
 		}
-
-		// Initialize timestamp caches if storage is enabled
-		if (this.storeMetrics) {
-			initializeTimestampCaches();
-		}
-	}
-
-	/**
-	 * Initialize caches for the last timestamps from storage
-	 */
-	private void initializeTimestampCaches() {
-		if (metricsStorage == null) {
-			return;
-		}
-
-		logger.info("Initializing timestamp caches from storage...");
-
-		// For system metrics (non-disk)
-		for (String metric : metrics) {
-			if (!metric.startsWith("DISK_")) {
-				try {
-					// First get the global latest timestamp for this metric type
-					Instant latestTime = metricsStorage.getLatestTimestampForMetric(metric);
-					if (latestTime != null && !latestTime.equals(Instant.EPOCH)) {
-						systemLastTimestamps.put(metric, latestTime);
-						logger.info("Last timestamp for system metric {}: {}", metric, latestTime);
-					}
-
-					// Next, get per-project timestamps for this metric if needed
-					// This can be useful for more targeted optimizations
-					if (includedProjects != null && !includedProjects.isEmpty()) {
-						for (String projectName : includedProjects) {
-							Instant projectLatestTime = metricsStorage.getLatestTimestampForProjectMetric(projectName,
-									metric);
-							if (projectLatestTime != null && !projectLatestTime.equals(Instant.EPOCH)) {
-								String key = projectName + ":" + metric;
-								systemLastTimestamps.put(key, projectLatestTime);
-								logger.debug("Last timestamp for project {} metric {}: {}", projectName, metric,
-										projectLatestTime);
-							}
-						}
-					}
-				} catch (Exception e) {
-					logger.warn("Error initializing timestamp cache for metric {}: {}", metric, e.getMessage());
-				}
-			}
-		}
-
-		// For disk metrics
-		for (String metric : metrics) {
-			if (metric.startsWith("DISK_")) {
-				try {
-					Instant latestTime = metricsStorage.getLatestTimestampForMetric(metric);
-					if (latestTime != null && !latestTime.equals(Instant.EPOCH)) {
-						diskLastTimestamps.put(metric, latestTime);
-						logger.info("Last timestamp for disk metric {}: {}", metric, latestTime);
-					}
-				} catch (Exception e) {
-					logger.warn("Error initializing timestamp cache for disk metric {}: {}", metric, e.getMessage());
-				}
-			}
-		}
-
-		logger.info("Timestamp caches initialized with {} system metrics and {} disk metrics",
-				systemLastTimestamps.size(), diskLastTimestamps.size());
 	}
 
 	/**
@@ -183,40 +129,41 @@ public class MetricsCollector {
 			}
 		}
 
-		// Process each project
-		for (String projectName : projectMap.keySet()) {
-			String projectId = projectMap.get(projectName);
-
-			try {
-				logger.info("📁 Processing project: {}", projectName);
-
-				// Collect metrics for this project
-				ProjectCollectionResult collectionResult = collectProjectMetrics(projectName, projectId);
-
-				// Update collection statistics
-				totalProcessesScanned += collectionResult.getProcessCount();
-				totalDataPointsCollected += collectionResult.getDataPointsCollected();
-				totalDataPointsStored += collectionResult.getDataPointsStored();
-				projectDataPoints.put(projectName, collectionResult.getDataPointsCollected());
-
-				// If not in collect-only mode, calculate final averages for the project
-				if (!collectOnly && results.containsKey(projectName)) {
-					results.get(projectName).calculateAverages();
-				}
-
-				// Log project summary
-				if (collectionResult.getDataPointsCollected() > 0) {
-					logger.info("✅ {} complete: {} data points collected", projectName, collectionResult.getDataPointsCollected());
-				} else {
-					logger.warn("⚠️  {} complete: No data points collected", projectName);
-				}
-
-			} catch (Exception e) {
+		// Collect projects concurrently; each result is merged here, on this thread, as it completes
+		apiClient.projectFanOut().forEach(projectMap, (projectName, projectId) -> {
+			logger.info("📁 Processing project: {}", projectName);
+			return collectProjectMetrics(projectName, projectId);
+		}, outcome -> {
+			String projectName = outcome.getProjectName();
+			if (!outcome.isSuccess()) {
+				Exception e = outcome.getError();
 				logger.error("Error collecting metrics for project {}: {}", projectName, e.getMessage(), e);
 				// Track the error for this project
 				projectErrors.put(projectName, e);
+				return;
 			}
-		}
+			ProjectCollectionResult collectionResult = outcome.getValue();
+
+			// Update collection statistics
+			totalProcessesScanned += collectionResult.getProcessCount();
+			totalDataPointsCollected += collectionResult.getDataPointsCollected();
+			totalDataPointsStored += collectionResult.getDataPointsStored();
+			totalHostTimeNanos += collectionResult.getHostTimeNanos();
+			totalHostWallNanos += collectionResult.getHostWallNanos();
+			projectDataPoints.put(projectName, collectionResult.getDataPointsCollected());
+
+			// If not in collect-only mode, calculate final averages for the project
+			if (!collectOnly && results.containsKey(projectName)) {
+				results.get(projectName).calculateAverages();
+			}
+
+			// Log project summary
+			if (collectionResult.getDataPointsCollected() > 0) {
+				logger.info("✅ {} complete: {} data points collected", projectName, collectionResult.getDataPointsCollected());
+			} else {
+				logger.warn("⚠️  {} complete: No data points collected", projectName);
+			}
+		});
 
 		// Log final collection statistics
 		logCollectionStats();
@@ -236,63 +183,45 @@ public class MetricsCollector {
 
 		try {
 			// Get all processes for this project
-			List<Map<String, Object>> processes = apiClient.clusters().getProcesses(projectId);
+			List<AtlasProcess> processes = apiClient.clusters().getAtlasProcesses(projectId);
 			logger.debug("Collecting metrics for project: {} with {} processes", projectName, processes.size());
 
 			// Filter out config servers and mongos instances
-			List<Map<String, Object>> filteredProcesses = processes.stream().filter(process -> {
-				String typeName = (String) process.get("typeName");
-				return !typeName.startsWith("SHARD_CONFIG") && !typeName.equals("SHARD_MONGOS");
-			}).collect(Collectors.toList());
+			List<AtlasProcess> filteredProcesses = processes.stream()
+					.filter(AtlasProcess::isDataBearing)
+					.collect(Collectors.toList());
 
 			logger.debug("Filtered to {} mongod processes for project {}", filteredProcesses.size(), projectName);
 
 			result.setProcessCount(filteredProcesses.size());
 
-			// Process each MongoDB instance sequentially
-			int processedCount = 0;
-			logger.info("📊 Processing {} MongoDB instances for project {}", filteredProcesses.size(), projectName);
-
-			for (Map<String, Object> process : filteredProcesses) {
-				String hostname = (String) process.get("hostname");
-				int port = (int) process.get("port");
-				
-				// Log progress periodically (every 25% or every 5 instances, whichever is smaller)
-				int progressInterval = Math.max(1, Math.min(5, filteredProcesses.size() / 4));
-				if (processedCount % progressInterval == 0 || processedCount == filteredProcesses.size() - 1) {
-					logger.info("   🔄 Processing instance {}/{}: {}:{}", 
-						processedCount + 1, filteredProcesses.size(), hostname, port);
-				} else {
-					logger.debug("   🔄 Processing instance {}/{}: {}:{}", 
-						processedCount + 1, filteredProcesses.size(), hostname, port);
-				}
-
-				try {
-					// Collect system metrics
-					logger.debug("      Collecting system metrics for {}:{}...", hostname, port);
-					int systemPoints = collectSystemMetrics(projectName, projectId, hostname, port, result);
-					result.addDataPointsCollected(systemPoints);
-					logger.debug("      ✓ Collected {} system metric data points", systemPoints);
-
-					// Collect disk metrics if requested
-					if (metrics.stream().anyMatch(m -> m.startsWith("DISK_"))) {
-						logger.debug("      Collecting disk metrics for {}:{}...", hostname, port);
-						int diskPoints = collectDiskMetrics(projectName, projectId, hostname, port, result);
-						result.addDataPointsCollected(diskPoints);
-						logger.debug("      ✓ Collected {} disk metric data points", diskPoints);
-					}
+			// Process the MongoDB instances, up to hostParallelism at a time
+			int parallelism = Math.min(hostParallelism, Math.max(1, filteredProcesses.size()));
+			if (parallelism > 1) {
+				logger.info("📊 Processing {} MongoDB instances for project {} ({} at a time)", filteredProcesses.size(),
+						projectName, parallelism);
+			} else {
+				logger.info("📊 Processing {} MongoDB instances for project {}", filteredProcesses.size(), projectName);
+			}
 
-					// Update progress periodically
-					processedCount++;
-					if (processedCount % progressInterval == 0 || processedCount == filteredProcesses.size()) {
-						logger.info("   ✅ Completed {}/{} instances. Total data points: {}", 
-							processedCount, filteredProcesses.size(), result.getDataPointsCollected());
-					}
-				} catch (Exception e) {
-					// Log error but continue with other processes
-					logger.error("Error collecting metrics for process {}:{} in project {}: {}", hostname, port,
-							projectName, e.getMessage());
+			HostProgress progress = new HostProgress(filteredProcesses.size());
+			long wallStart = System.nanoTime();
+			if (parallelism == 1) {
+				for (AtlasProcess process : filteredProcesses) {
+					collectHostMetrics(projectName, projectId, process, result, progress);
 				}
+			} else {
+				collectHostsConcurrently(projectName, projectId, filteredProcesses, parallelism, result, progress);
+			}
+			// Series still queued for storage belong to this project's counts
+			result.awaitPendingStores();
+			result.setHostWallNanos(System.nanoTime() - wallStart);
+
+			if (parallelism > 1 && result.getHostWallNanos() > 0) {
+				logger.info("   ⚡ {} instances in {}s (serial estimate {}s, estimated {}x speedup)", filteredProcesses.size(),
+						String.format("%.1f", result.getHostWallNanos() / 1e9),
+						String.format("%.1f", result.getHostTimeNanos() / 1e9),
+						String.format("%.1f", result.getHostSpeedup()));
 			}
 
 		} catch (Exception e) {
@@ -302,6 +231,80 @@ public class MetricsCollector {
 		return result;
 	}
 
+	/**
+	 * Run {@link #collectHostMetrics} for every process on the API client's request
+	 * executor, keeping at most {@code parallelism} hosts in progress. Waiting is done
+	 * through {@link CompletableFuture#join()} so a fork-join request executor can
+	 * compensate for this blocked thread.
+	 */
+	private void collectHostsConcurrently(String projectName, String projectId, List<AtlasProcess> processes,
+			int parallelism, ProjectCollectionResult result, HostProgress progress) {
+		AsyncRequestExecutor executor = apiClient.base().getAsyncExecutor();
+		List<CompletableFuture<Void>> inFlight = new ArrayList<>(parallelism);
+
+		for (AtlasProcess process : processes) {
+			if (inFlight.size() >= parallelism) {
+				CompletableFuture.anyOf(inFlight.toArray(new CompletableFuture<?>[0])).join();
+				inFlight.removeIf(CompletableFuture::isDone);
+			}
+			inFlight.add(executor.submit(() -> {
+				collectHostMetrics(projectName, projectId, process, result, progress);
+				return null;
+			}));
+		}
+		CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).join();
+	}
+
+	/**
+	 * Collect system and disk metrics for one MongoDB instance, logging progress
+	 * against the project's instance count
+	 */
+	private void collectHostMetrics(String projectName, String projectId, AtlasProcess process,
+			ProjectCollectionResult result, HostProgress progress) {
+		String hostname = process.getHostname();
+		int port = process.getPort();
+		long start = System.nanoTime();
+
+		// Log progress periodically (every 25% or every 5 instances, whichever is smaller)
+		int started = progress.started.getAndIncrement();
+		if (started % progress.interval == 0 || started == progress.total - 1) {
+			logger.info("   🔄 Processing instance {}/{}: {}:{}", 
+				started + 1, progress.total, hostname, port);
+		} else {
+			logger.debug("   🔄 Processing instance {}/{}: {}:{}", 
+				started + 1, progress.total, hostname, port);
+		}
+
+		try {
+			// Collect system metrics
+			logger.debug("      Collecting system metrics for {}:{}...", hostname, port);
+			int systemPoints = collectSystemMetrics(projectName, projectId, hostname, port, result);
+			result.addDataPointsCollected(systemPoints);
+			logger.debug("      ✓ Collected {} system metric data points", systemPoints);
+
+			// Collect disk metrics if requested
+			if (metrics.stream().anyMatch(m -> m.startsWith("DISK_"))) {
+				logger.debug("      Collecting disk metrics for {}:{}...", hostname, port);
+				int diskPoints = collectDiskMetrics(projectName, projectId, hostname, port, result);
+				result.addDataPointsCollected(diskPoints);
+				logger.debug("      ✓ Collected {} disk metric data points", diskPoints);
+			}
+
+			// Update progress periodically
+			int completed = progress.completed.incrementAndGet();
+			if (completed % progress.interval == 0 || completed == progress.total) {
+				logger.info("   ✅ Completed {}/{} instances. Total data points: {}", 
+					completed, progress.total, result.getDataPointsCollected());
+			}
+		} catch (Exception e) {
+			// Log error but continue with other processes
+			logger.error("Error collecting metrics for process {}:{} in project {}: {}", hostname, port,
+					projectName, e.getMessage());
+		} finally {
+			result.addHostTimeNanos(System.nanoTime() - start);
+		}
+	}
+
 	/**
 	 * Collect system-level metrics (CPU, memory) using time-range based approach
 	 * This optimizes the time range to only fetch new data
@@ -367,7 +370,7 @@ public class MetricsCollector {
 			// Fetch measurements from Atlas API using optimized time range
 			logger.debug("         📡 Fetching {} system metrics from Atlas API...", systemMetrics.size());
 
-			List<Map<String, Object>> measurements = apiClient.monitoring().getProcessMeasurementsWithExplicitTimeRange(
+			List<MeasurementSeries> measurements = apiClient.monitoring().getProcessMeasurementSeries(
 					projectId, hostname, port, systemMetrics, granularity, startTime, endTime);
 
 			if (measurements == null || measurements.isEmpty()) {
@@ -378,41 +381,37 @@ public class MetricsCollector {
 			logger.debug("         📊 Received {} metric measurements from API", measurements.size());
 
 			// Process each measurement
-			for (Map<String, Object> measurement : measurements) {
-				String metric = (String) measurement.get("name");
-				List<Map<String, Object>> dataPoints = (List<Map<String, Object>>) measurement.get("dataPoints");
+			for (MeasurementSeries series : measurements) {
+				String metric = series.getName();
 
-				if (dataPoints == null || dataPoints.isEmpty()) {
+				if (series.isEmpty()) {
 					logger.debug("         ⚠️  Metric {} has no data points", metric);
 					continue;
 				}
 				
-				logger.debug("         📈 Processing metric {}: {} data points", metric, dataPoints.size());
+				logger.debug("         📈 Processing metric {}: {} data points", metric, series.size());
 
 				// Count the data points
-				dataPointsCollected += dataPoints.size();
+				dataPointsCollected += series.size();
 
 				// Store the metrics if storage is enabled
 				if (storeMetrics && metricsStorage != null) {
-					logger.debug("         💾 Storing {} data points for {}...", dataPoints.size(), metric);
+					logger.debug("         💾 Storing {} data points for {}...", series.size(), metric);
 					
 					// Validate data quality before storing
-					validateDataPoints(dataPoints, metric, hostname, port);
+					validateDataPoints(series, metric, hostname, port);
 					
-					int stored = metricsStorage.storeMetrics(projectName, hostname, port, null, metric, dataPoints);
-					result.addDataPointsStored(stored);
-					
-					// Enhanced logging with efficiency metrics
-					if (dataPoints.size() > 0) {
-						double efficiency = (double) stored / dataPoints.size() * 100;
+					storeSeries(projectName, hostname, port, null, metric, series, result, stored -> {
+						// Enhanced logging with efficiency metrics
+						double efficiency = (double) stored / series.size() * 100;
 						logger.debug("         ✓ Stored {} new data points, skipped {} duplicates ({}% efficiency)", 
-								stored, dataPoints.size() - stored, String.format("%.1f", efficiency));
-					}
+								stored, series.size() - stored, String.format("%.1f", efficiency));
+					});
 				}
 
 				// If not in collect-only mode, process the measurements for the result
 				if (!collectOnly) {
-					processMetricData(metric, dataPoints, hostname + ":" + port, projectName, projectId);
+					processMetricData(metric, series, hostname + ":" + port, projectName, projectId);
 				}
 			}
 		} catch (Exception e) {
@@ -504,7 +503,7 @@ public class MetricsCollector {
 					// Get measurements for this disk partition using optimized time range
 					logger.info("         📡 Fetching disk metrics for partition '{}'...", partitionName);
 
-					List<Map<String, Object>> measurements = apiClient.monitoring().getDiskMeasurementsWithExplicitTimeRange(
+					List<MeasurementSeries> measurements = apiClient.monitoring().getDiskMeasurementSeries(
 							projectId, hostname, port, partitionName, diskMetrics, granularity, startTime, endTime);
 
 					if (measurements == null || measurements.isEmpty()) {
@@ -515,34 +514,31 @@ public class MetricsCollector {
 					logger.info("         📊 Received {} disk measurements for partition '{}'", measurements.size(), partitionName);
 
 					// Process each measurement
-					for (Map<String, Object> measurement : measurements) {
-						String metric = (String) measurement.get("name");
-						List<Map<String, Object>> dataPoints = (List<Map<String, Object>>) measurement
-								.get("dataPoints");
+					for (MeasurementSeries series : measurements) {
+						String metric = series.getName();
 
-						if (dataPoints == null || dataPoints.isEmpty()) {
+						if (series.isEmpty()) {
 							logger.debug("         ⚠️  Metric {} has no data points for partition '{}'", metric, partitionName);
 							continue;
 						}
 
-						logger.info("         📈 Processing disk metric {}: {} data points", metric, dataPoints.size());
+						logger.info("         📈 Processing disk metric {}: {} data points", metric, series.size());
 
 						// Count the data points
-						dataPointsCollected += dataPoints.size();
+						dataPointsCollected += series.size();
 
 						// Store the metrics if storage is enabled
 						if (storeMetrics && metricsStorage != null) {
-							logger.info("         💾 Storing {} data points for {} (partition {})...", dataPoints.size(), metric, partitionName);
-							int stored = metricsStorage.storeMetrics(projectName, hostname, port, partitionName, metric,
-									dataPoints);
-							result.addDataPointsStored(stored);
-							logger.info("         ✓ Stored {} new data points (skipped {} duplicates)", stored, dataPoints.size() - stored);
+							logger.info("         💾 Storing {} data points for {} (partition {})...", series.size(), metric, partitionName);
+							storeSeries(projectName, hostname, port, partitionName, metric, series, result,
+									stored -> logger.info("         ✓ Stored {} new data points (skipped {} duplicates)",
+											stored, series.size() - stored));
 						}
 
 						// If not in collect-only mode, process the measurements for the result
 						if (!collectOnly) {
 							String location = hostname + ":" + port + ", partition: " + partitionName;
-							processMetricData(metric, dataPoints, location, projectName, projectId);
+							processMetricData(metric, series, location, projectName, projectId);
 						}
 					}
 				} catch (Exception e) {
@@ -557,21 +553,39 @@ public class MetricsCollector {
 		return dataPointsCollected;
 	}
 
+	/**
+	 * Store a fetched series, through the storage pipeline when one is set so the
+	 * caller can go on fetching while it is written
+	 * 
+	 * @param onStored called with the number of new data points once stored
+	 */
+	private void storeSeries(String projectName, String hostname, int port, String partition, String metric,
+			MeasurementSeries series, ProjectCollectionResult result, IntConsumer onStored) {
+		if (storagePipeline != null) {
+			result.addPendingStore(storagePipeline.submit(projectName, hostname, port, partition, metric, series)
+					.thenAccept(stored -> {
+						result.addDataPointsStored(stored);
+						onStored.accept(stored);
+					}));
+			return;
+		}
+		int stored = metricsStorage.storeMetrics(projectName, hostname, port, partition, metric, series);
+		result.addDataPointsStored(stored);
+		onStored.accept(stored);
+	}
+
 	/**
 	 * Process metric data and add to project results if not in collect-only mode
 	 */
-	private void processMetricData(String metric, List<Map<String, Object>> dataPoints, String location,
+	private void processMetricData(String metric, MeasurementSeries series, String location,
 			String projectName, String projectId) {
 		if (collectOnly) {
 			return; // Skip processing in collect-only mode
 		}
 
-		// Extract values from data points
-		List<Double> values = MetricsUtils.extractDataPointValues(dataPoints);
-
-		if (!values.isEmpty()) {
+		if (!series.isEmpty()) {
 			// Calculate statistics from this batch of values
-			ProcessingResult result = MetricsUtils.processValues(values);
+			ProcessingResult result = MetricsUtils.processValues(series);
 
 			// TODO: Add to project result if needed
 			// Since we don't have the original ProjectMetricsResult class,
@@ -583,32 +597,33 @@ public class MetricsCollector {
 	/**
 	 * Validate data points for quality and detect potential gaps
 	 */
-	private void validateDataPoints(List<Map<String, Object>> dataPoints, String metric, String hostname, int port) {
-		if (dataPoints == null || dataPoints.isEmpty()) {
+	private void validateDataPoints(MeasurementSeries series, String metric, String hostname, int port) {
+		if (series == null || series.isEmpty()) {
 			return;
 		}
 		
 		try {
-			// Sort data points by timestamp to detect gaps
-			List<Instant> timestamps = dataPoints.stream()
-				.map(dp -> Instant.parse((String) dp.get("timestamp")))
-				.sorted()
-				.collect(Collectors.toList());
+			// Sort timestamps to detect gaps
+			long[] timestamps = series.getTimestamps();
+			if (!series.isStrictlyIncreasing()) {
+				Arrays.sort(timestamps);
+			}
 			
-			Instant first = timestamps.get(0);
-			Instant last = timestamps.get(timestamps.size() - 1);
+			Instant first = Instant.ofEpochMilli(timestamps[0]);
+			Instant last = Instant.ofEpochMilli(timestamps[timestamps.length - 1]);
 			
 			// Log the time span being processed
 			logger.debug("         📊 Data span for {}: {} to {} ({} points)", 
-					metric, first, last, dataPoints.size());
+					metric, first, last, series.size());
 			
 			// Check for large gaps (more than 10 minutes between consecutive points for 1-minute granularity)
-			if (granularity.equals("PT1M") && timestamps.size() > 1) {
-				for (int i = 1; i < timestamps.size(); i++) {
-					long gapMinutes = ChronoUnit.MINUTES.between(timestamps.get(i-1), timestamps.get(i));
+			if (granularity.equals("PT1M") && timestamps.length > 1) {
+				for (int i = 1; i < timestamps.length; i++) {
+					long gapMinutes = (timestamps[i] - timestamps[i - 1]) / 60_000L;
 					if (gapMinutes > 10) {
 						logger.warn("         ⚠️  Large gap detected in {} data for {}:{}: {} minutes between {} and {}", 
-								metric, hostname, port, gapMinutes, timestamps.get(i-1), timestamps.get(i));
+								metric, hostname, port, gapMinutes, Instant.ofEpochMilli(timestamps[i - 1]),
+								Instant.ofEpochMilli(timestamps[i]));
 					}
 				}
 			}
@@ -632,6 +647,8 @@ public class MetricsCollector {
 		totalProcessesScanned = 0;
 		totalDataPointsCollected = 0;
 		totalDataPointsStored = 0;
+		totalHostTimeNanos = 0;
+		totalHostWallNanos = 0;
 		projectDataPoints.clear();
 	}
 
@@ -645,6 +662,17 @@ public class MetricsCollector {
 			if (storeMetrics) {
 				logger.info("💾 {} data points stored to MongoDB", totalDataPointsStored);
 			}
+			if (storagePipeline != null) {
+				logger.info("🚰 Storage pipeline: {}", storagePipeline.getStats());
+			}
+			if (storeMetrics && metricsStorage.getWriteBehindStats() != null) {
+				logger.info("📦 Write-behind buffer: {}", metricsStorage.getWriteBehindStats());
+			}
+			if (hostParallelism > 1 && totalHostWallNanos > 0) {
+				logger.info("⚡ Host collection took {}s against a serial estimate of {}s (estimated {}x speedup)",
+						String.format("%.1f", totalHostWallNanos / 1e9), String.format("%.1f", totalHostTimeNanos / 1e9),
+						String.format("%.1f", getHostCollectionSpeedup()));
+			}
 		} else {
 			logger.warn("⚠️  Collection complete: No data points collected from {} processes", totalProcessesScanned);
 			logger.warn("💡 Try using --debug to investigate the issue");
@@ -652,21 +680,40 @@ public class MetricsCollector {
 	}
 
 	/**
-	 * Class to track collection statistics for a project
+	 * Progress counters shared by the hosts of one project
+	 */
+	private static class HostProgress {
+		private final int total;
+		private final int interval;
+		private final AtomicInteger started = new AtomicInteger();
+		private final AtomicInteger completed = new AtomicInteger();
+
+		HostProgress(int total) {
+			this.total = total;
+			this.interval = Math.max(1, Math.min(5, total / 4));
+		}
+	}
+
+	/**
+	 * Class to track collection statistics for a project. Counters are updated by
+	 * hosts collected concurrently, so they are atomic.
 	 */
 	private static class ProjectCollectionResult {
 		private final String projectName;
 		private final String projectId;
 		private int processCount;
-		private int dataPointsCollected;
-		private int dataPointsStored;
+		private final AtomicInteger dataPointsCollected = new AtomicInteger();
+		private final AtomicInteger dataPointsStored = new AtomicInteger();
+		// Time spent on each host, summed: what a serial run would roughly have taken
+		private final AtomicLong hostTimeNanos = new AtomicLong();
+		private long hostWallNanos;
+		// Writes handed to the storage pipeline that have not been awaited yet
+		private final Queue<CompletableFuture<Void>> pendingStores = new ConcurrentLinkedQueue<>();
 
 		public ProjectCollectionResult(String projectName, String projectId) {
 			this.projectName = projectName;
 			this.projectId = projectId;
 			this.processCount = 0;
-			this.dataPointsCollected = 0;
-			this.dataPointsStored = 0;
 		}
 
 		public String getProjectName() {
@@ -686,22 +733,90 @@ public class MetricsCollector {
 		}
 
 		public int getDataPointsCollected() {
-			return dataPointsCollected;
+			return dataPointsCollected.get();
 		}
 
 		public void addDataPointsCollected(int points) {
-			this.dataPointsCollected += points;
+			dataPointsCollected.addAndGet(points);
 		}
 
 		public int getDataPointsStored() {
-			return dataPointsStored;
+			return dataPointsStored.get();
 		}
 
 		public void addDataPointsStored(int points) {
-			this.dataPointsStored += points;
+			dataPointsStored.addAndGet(points);
+		}
+
+		public long getHostTimeNanos() {
+			return hostTimeNanos.get();
+		}
+
+		public void addHostTimeNanos(long nanos) {
+			hostTimeNanos.addAndGet(nanos);
+		}
+
+		public long getHostWallNanos() {
+			return hostWallNanos;
+		}
+
+		public void setHostWallNanos(long hostWallNanos) {
+			this.hostWallNanos = hostWallNanos;
+		}
+
+		public void addPendingStore(CompletableFuture<Void> store) {
+			pendingStores.add(store);
+		}
+
+		/**
+		 * Wait for this project's pipelined writes; failures were already logged by
+		 * the pipeline and simply leave the stored count short
+		 */
+		public void awaitPendingStores() {
+			CompletableFuture<?>[] stores = pendingStores.toArray(new CompletableFuture<?>[0]);
+			pendingStores.clear();
+			CompletableFuture.allOf(stores).handle((ignored, e) -> null).join();
+		}
+
+		/**
+		 * Summed host time over the time host collection actually took; an estimate,
+		 * since hosts slowed by running concurrently inflate the summed time
+		 */
+		public double getHostSpeedup() {
+			return hostWallNanos > 0 ? (double) hostTimeNanos.get() / hostWallNanos : 1.0;
 		}
 	}
 
+	/**
+	 * Set how many MongoDB instances of a project are collected concurrently; 1 (the
+	 * default) collects them one after another
+	 */
+	public void setHostParallelism(int hostParallelism) {
+		this.hostParallelism = Math.max(1, hostParallelism);
+	}
+
+	public int getHostParallelism() {
+		return hostParallelism;
+	}
+
+	/**
+	 * Hand fetched series to {@code storagePipeline} instead of storing them on the
+	 * fetching thread; null stores inline. The caller owns and closes the pipeline.
+	 */
+	public void setStoragePipeline(StoragePipeline storagePipeline) {
+		this.storagePipeline = this.storeMetrics ? storagePipeline : null;
+	}
+
+	/**
+	 * Speedup of the last collection run's host collection over collecting the same
+	 * hosts serially, estimated from the summed per-host collection times
+	 * 
+	 * @return the speedup factor, 1.0 when nothing was collected
+	 */
+	public double getHostCollectionSpeedup() {
+		return totalHostWallNanos > 0 ? (double) totalHostTimeNanos / totalHostWallNanos : 1.0;
+	}
+
 	/**
 	 * Check if there were any errors during collection for a specific project
 	 * @param projectName The project name to check
@@ -4,15 +4,16 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.atlas.api.clients.ProjectFanOut;
 import com.mongodb.atlas.api.util.MetricsUtils;
 
 /**
@@ -23,20 +24,47 @@ public class MetricsReporter {
     
     private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
     
-    private final MetricsStorage metricsStorage;
+    // Points per series a server-side summary may scan before switching to rollups
+    private static final int SUMMARY_POINT_BUDGET = 2_000;
+    
+    private final MetricsStore metricsStorage;
     private final List<String> metrics;
     private final PatternAnalyzer patternAnalyzer;
     private final boolean analyzePatterns;
+    private final ProjectFanOut projectFanOut;
+    private boolean serverSideAggregation; // Summarize series in the database instead of reading every point
     
-    public MetricsReporter(MetricsStorage metricsStorage, List<String> metrics) {
+    public MetricsReporter(MetricsStore metricsStorage, List<String> metrics) {
         this(metricsStorage, metrics, false);
     }
     
-    public MetricsReporter(MetricsStorage metricsStorage, List<String> metrics, boolean analyzePatterns) {
+    public MetricsReporter(MetricsStore metricsStorage, List<String> metrics, boolean analyzePatterns) {
+        this(metricsStorage, metrics, analyzePatterns, ProjectFanOut.withThreads(1));
+    }
+    
+    /**
+     * @param projectFanOut runs the per-project report queries, possibly concurrently
+     */
+    public MetricsReporter(MetricsStore metricsStorage, List<String> metrics, boolean analyzePatterns,
+            ProjectFanOut projectFanOut) {
         this.metricsStorage = metricsStorage;
         this.metrics = metrics;
         this.analyzePatterns = analyzePatterns;
         this.patternAnalyzer = analyzePatterns ? new PatternAnalyzer() : null;
+        this.projectFanOut = projectFanOut;
+    }
+    
+    /**
+     * Compute per-host and per-partition statistics with an aggregation in the database
+     * rather than loading every stored point into the report. Raw points are then only
+     * read for series whose patterns are analyzed.
+     */
+    public void setServerSideAggregation(boolean serverSideAggregation) {
+        this.serverSideAggregation = serverSideAggregation;
+    }
+    
+    public boolean isServerSideAggregation() {
+        return serverSideAggregation;
     }
     
     /**
@@ -66,34 +94,39 @@ public class MetricsReporter {
         
         Map<String, ProjectMetricsResult> results = new HashMap<>();
         
-        // Process each project
-        for (String projectName : projectNames) {
-            try {
-                logger.info("Processing project: {}", projectName);
-                
-                // Create project result object
-                ProjectMetricsResult projectResult = new ProjectMetricsResult(projectName, "from-storage");
-                
-                // Initialize metrics
-                metrics.forEach(projectResult::initializeMetric);
-                
-                // Process each metric for this project
-                for (String metric : metrics) {
-                    processMetricForProject(projectResult, projectName, metric, startTime, endTime);
-                }
-                
-                // Calculate final averages
-                projectResult.calculateAverages();
-                
-                results.put(projectName, projectResult);
-                
-                // Log project summary
-                logProjectSummary(projectResult);
-                
-            } catch (Exception e) {
-                logger.error("Error processing project {}: {}", projectName, e.getMessage(), e);
+        // Stored data is keyed by project name; the report has no project IDs
+        Map<String, String> projects = new LinkedHashMap<>();
+        projectNames.forEach(projectName -> projects.put(projectName, "from-storage"));
+        
+        // Process projects concurrently, collecting each result here as it completes
+        projectFanOut.forEach(projects, (projectName, projectId) -> {
+            logger.info("Processing project: {}", projectName);
+            
+            // Create project result object
+            ProjectMetricsResult projectResult = new ProjectMetricsResult(projectName, projectId);
+            
+            // Initialize metrics
+            metrics.forEach(projectResult::initializeMetric);
+            
+            // Process each metric for this project
+            for (String metric : metrics) {
+                processMetricForProject(projectResult, projectName, metric, startTime, endTime);
             }
-        }
+            
+            // Calculate final averages
+            projectResult.calculateAverages();
+            return projectResult;
+        }, outcome -> {
+            if (!outcome.isSuccess()) {
+                logger.error("Error processing project {}: {}", outcome.getProjectName(), 
+                        outcome.getError().getMessage(), outcome.getError());
+                return;
+            }
+            results.put(outcome.getProjectName(), outcome.getValue());
+            
+            // Log project summary
+            logProjectSummary(outcome.getValue());
+        });
         
         return results;
     }
@@ -132,36 +165,44 @@ public class MetricsReporter {
             Instant startTime, 
             Instant endTime) {
         
+        if (serverSideAggregation) {
+            processMetricSummariesForProject(projectResult, projectName, metric, startTime, endTime);
+            return;
+        }
+        
         try {
-            // Get all metrics data for this project and metric
-            List<Document> documents = metricsStorage.getMetrics(
-                    projectName, null, metric, startTime, endTime);
+            // Stream the stored points of each host and partition, keeping only running statistics
+            Map<String, SeriesStatistics> seriesStatistics = new LinkedHashMap<>();
+            metricsStorage.streamMetrics(projectName, null, metric, startTime, endTime, 
+                    MetricsRollups.Resolution.RAW, (host, partition, timestamps, values, length) -> 
+                            seriesStatistics.computeIfAbsent(location(host, partition), 
+                                    location -> new SeriesStatistics(analyzePatterns))
+                                    .add(values, length));
             
-            if (documents.isEmpty()) {
+            if (seriesStatistics.isEmpty()) {
                 logger.debug("No data found for project {} metric {}", projectName, metric);
                 return;
             }
             
-            logger.info("Found {} data points for project {} metric {}", 
-                    documents.size(), projectName, metric);
+            logger.info("Found {} data points in {} series for project {} metric {}", 
+                    seriesStatistics.values().stream().mapToLong(statistics -> statistics.count).sum(), 
+                    seriesStatistics.size(), projectName, metric);
             
-            // Group by host for processing
-            Map<String, List<Document>> hostGroups = groupDocumentsByHost(documents);
-            
-            // Process each host's data
-            for (Map.Entry<String, List<Document>> entry : hostGroups.entrySet()) {
-                String host = entry.getKey();
-                List<Document> hostDocuments = entry.getValue();
+            for (Map.Entry<String, SeriesStatistics> entry : seriesStatistics.entrySet()) {
+                String location = entry.getKey();
+                SeriesStatistics statistics = entry.getValue();
                 
-                // Check if this is disk data (has partition info)
-                boolean isDiskData = hostDocuments.stream()
-                        .anyMatch(doc -> doc.get("metadata", Document.class).containsKey("partition"));
+                // Add to project result
+                projectResult.addMeasurement(metric, statistics.max, location);
                 
-                if (isDiskData) {
-                    processDiskDataForHost(projectResult, host, metric, hostDocuments);
-                } else {
-                    processSystemDataForHost(projectResult, host, metric, hostDocuments);
+                // Analyze patterns if enabled
+                if (analyzePatterns && patternAnalyzer != null) {
+                    projectResult.addPatternResult(metric, location, 
+                            patternAnalyzer.analyzePattern(statistics.values));
                 }
+                
+                logger.debug("Processed {} values for {} metric {}: max={}, avg={}", 
+                        statistics.count, location, metric, statistics.max, statistics.sum / statistics.count);
             }
             
         } catch (Exception e) {
@@ -171,112 +212,95 @@ public class MetricsReporter {
     }
     
     /**
-     * Process system-level data for a host
+     * Process a specific metric for a project from summaries computed by the database
      */
-    private void processSystemDataForHost(
-            ProjectMetricsResult projectResult,
-            String host,
+    private void processMetricSummariesForProject(
+            ProjectMetricsResult projectResult, 
+            String projectName, 
             String metric,
-            List<Document> documents) {
-        
-        // Extract values
-        List<Double> values = extractValuesFromDocuments(documents);
+            Instant startTime, 
+            Instant endTime) {
         
-        if (!values.isEmpty()) {
-            // Calculate statistics
-            ProcessingResult result = MetricsUtils.processValues(values);
-            
-            // Add to project result
-            projectResult.addMeasurement(metric, result.getMaxValue(), host);
+        try {
+            MetricsRollups.Resolution resolution = metricsStorage.chooseResolution(startTime, endTime, 
+                    SUMMARY_POINT_BUDGET);
+            List<SeriesSummary> summaries = metricsStorage.summarizeMetrics(projectName, metric, startTime, endTime, 
+                    resolution);
             
-            // Analyze patterns if enabled
-            if (analyzePatterns && patternAnalyzer != null) {
-                PatternAnalyzer.PatternResult patternResult = patternAnalyzer.analyzePattern(values);
-                projectResult.addPatternResult(metric, host, patternResult);
+            if (summaries.isEmpty()) {
+                logger.debug("No data found for project {} metric {}", projectName, metric);
+                return;
             }
             
-            logger.debug("Processed {} values for host {} metric {}: max={}, avg={}", 
-                    values.size(), host, metric, result.getMaxValue(), result.getAvgValue());
-        }
-    }
-    
-    /**
-     * Process disk-level data for a host
-     */
-    private void processDiskDataForHost(
-            ProjectMetricsResult projectResult,
-            String host,
-            String metric,
-            List<Document> documents) {
-        
-        // Group by partition
-        Map<String, List<Document>> partitionGroups = groupDocumentsByPartition(documents);
-        
-        // Process each partition
-        for (Map.Entry<String, List<Document>> entry : partitionGroups.entrySet()) {
-            String partition = entry.getKey();
-            List<Document> partitionDocuments = entry.getValue();
+            logger.info("Found {} data points in {} series for project {} metric {} ({} resolution)", 
+                    summaries.stream().mapToLong(SeriesSummary::getCount).sum(), summaries.size(), 
+                    projectName, metric, resolution);
             
-            // Extract values
-            List<Double> values = extractValuesFromDocuments(partitionDocuments);
+            // Only pattern analysis needs the individual points
+            Map<String, List<Double>> seriesValues = new HashMap<>();
+            if (analyzePatterns && patternAnalyzer != null) {
+                metricsStorage.streamMetrics(projectName, null, metric, startTime, endTime, 
+                        MetricsRollups.Resolution.RAW, (host, partition, timestamps, values, length) -> {
+                            List<Double> series = seriesValues.computeIfAbsent(location(host, partition), 
+                                    location -> new ArrayList<>());
+                            for (int i = 0; i < length; i++) {
+                                series.add(values[i]);
+                            }
+                        });
+            }
             
-            if (!values.isEmpty()) {
-                // Calculate statistics
-                ProcessingResult result = MetricsUtils.processValues(values);
-                
-                // Create location string
-                String location = host + ", partition: " + partition;
+            for (SeriesSummary summary : summaries) {
+                String location = location(summary.getHost(), summary.getPartition());
                 
                 // Add to project result
-                projectResult.addMeasurement(metric, result.getMaxValue(), location);
+                projectResult.addMeasurement(metric, summary.getMaxValue(), location);
                 
-                // Analyze patterns if enabled
                 if (analyzePatterns && patternAnalyzer != null) {
-                    PatternAnalyzer.PatternResult patternResult = patternAnalyzer.analyzePattern(values);
-                    projectResult.addPatternResult(metric, location, patternResult);
+                    projectResult.addPatternResult(metric, location, patternAnalyzer.analyzePattern(
+                            seriesValues.getOrDefault(location, new ArrayList<>())));
                 }
                 
-                logger.debug("Processed {} values for host {} partition {} metric {}: max={}, avg={}", 
-                        values.size(), host, partition, metric, result.getMaxValue(), result.getAvgValue());
+                logger.debug("Summarized {} values for {} metric {}: max={} at {}, avg={}", 
+                        summary.getCount(), location, metric, summary.getMaxValue(), 
+                        summary.getMaxTimestamp(), summary.getAvgValue());
             }
+            
+        } catch (Exception e) {
+            logger.error("Error processing metric {} for project {}: {}", 
+                    metric, projectName, e.getMessage(), e);
         }
     }
     
     /**
-     * Group documents by host
-     */
-    private Map<String, List<Document>> groupDocumentsByHost(List<Document> documents) {
-        return documents.stream()
-                .collect(Collectors.groupingBy(doc -> 
-                    doc.get("metadata", Document.class).getString("host")));
-    }
-    
-    /**
-     * Group documents by partition
+     * Location of a series in the report: the host, and the partition for disk metrics
      */
-    private Map<String, List<Document>> groupDocumentsByPartition(List<Document> documents) {
-        return documents.stream()
-                .collect(Collectors.groupingBy(doc -> {
-                    Document metadata = doc.get("metadata", Document.class);
-                    return metadata.getString("partition");
-                }));
+    private static String location(String host, String partition) {
+        return partition == null ? host : host + ", partition: " + partition;
     }
     
     /**
-     * Extract numeric values from documents
+     * Running statistics of one streamed series
      */
-    private List<Double> extractValuesFromDocuments(List<Document> documents) {
-        List<Double> values = new ArrayList<>();
+    private static final class SeriesStatistics {
+        private double max = Double.NEGATIVE_INFINITY;
+        private double sum;
+        private long count;
+        private final List<Double> values; // Kept only for pattern analysis
         
-        for (Document doc : documents) {
-            Object valueObj = doc.get("value");
-            
-            if (valueObj instanceof Number) {
-                values.add(((Number) valueObj).doubleValue());
-            }
+        SeriesStatistics(boolean keepValues) {
+            this.values = keepValues ? new ArrayList<>() : null;
         }
         
-        return values;
+        void add(double[] chunk, int length) {
+            for (int i = 0; i < length; i++) {
+                max = Math.max(max, chunk[i]);
+                sum += chunk[i];
+                if (values != null) {
+                    values.add(chunk[i]);
+                }
+            }
+            count += length;
+        }
     }
     
     /**
@@ -355,16 +379,15 @@ public class MetricsReporter {
                     if (!earliest.equals(Instant.EPOCH) && !latest.equals(Instant.EPOCH)) {
                         long daysBetween = ChronoUnit.DAYS.between(earliest, latest);
                         
-                        // Get total data points
-                        List<Document> allData = metricsStorage.getMetrics(
-                                projectName, null, metric, earliest, latest);
-                        
-                        // Group by host to show per-host data
-                        Map<String, List<Document>> hostGroups = groupDocumentsByHost(allData);
+                        // Count points and hosts in the database rather than loading the data
+                        List<SeriesSummary> summaries = metricsStorage.summarizeMetrics(
+                                projectName, metric, earliest, latest);
+                        long hosts = summaries.stream().map(SeriesSummary::getHost).distinct().count();
+                        long totalPoints = summaries.stream().mapToLong(SeriesSummary::getCount).sum();
                         
                         logger.info("  {}: {} days of data ({} to {}), {} hosts, {} total points", 
                                 metric, daysBetween, earliest, latest, 
-                                hostGroups.size(), allData.size());
+                                hosts, totalPoints);
                         foundData = true;
                     } else {
                         logger.info("  {}: No data available", metric);
@@ -0,0 +1,388 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Hourly and daily rollups of the stored metrics: min, max, sum and count per host,
+ * metric, partition and bucket. Each resolution is its own collection next to the metrics
+ * collection ({@code <collection>_PT1H} and {@code <collection>_P1D}) holding one document
+ * per bucket, updated with {@code $min}/{@code $max}/{@code $inc} upserts whenever new
+ * points are inserted.
+ *
+ * Rollups are complete from their coverage start on: the time rollups were first
+ * maintained for a collection that already held data, or the earliest time backfilled
+ * since. Readers only use rollups for windows within the coverage. A failed rollup
+ * update moves the coverage start to the next day, until a backfill restores it.
+ */
+public class MetricsRollups {
+
+	private static final Logger logger = LoggerFactory.getLogger(MetricsRollups.class);
+
+	/**
+	 * Resolutions data can be read at, finest first
+	 */
+	public enum Resolution {
+		/** The stored points, collected at one minute granularity */
+		RAW(Duration.ofMinutes(1), null),
+		HOURLY(Duration.ofHours(1), "PT1H"),
+		DAILY(Duration.ofDays(1), "P1D");
+
+		private final Duration interval;
+		private final String collectionSuffix;
+
+		Resolution(Duration interval, String collectionSuffix) {
+			this.interval = interval;
+			this.collectionSuffix = collectionSuffix;
+		}
+
+		public Duration getInterval() {
+			return interval;
+		}
+
+		long bucketStart(long millis) {
+			long intervalMillis = interval.toMillis();
+			return Math.floorDiv(millis, intervalMillis) * intervalMillis;
+		}
+	}
+
+	/**
+	 * What a rollup bucket is read back as
+	 */
+	public enum Statistic {
+		/** The mean of the bucket's points */
+		AVERAGE,
+		/** The largest of the bucket's points, so short spikes stay visible */
+		MAX
+	}
+
+	private static final String COVERAGE_ID = "coverage";
+
+	private final MongoCollection<Document> metricsCollection;
+	private final MongoCollection<Document> hourlyCollection;
+	private final MongoCollection<Document> dailyCollection;
+	private final MongoCollection<Document> stateCollection;
+	private volatile Instant coverageStart;
+
+	public MetricsRollups(MongoDatabase database, String collectionName, MongoCollection<Document> metricsCollection) {
+		this.metricsCollection = metricsCollection;
+		this.hourlyCollection = database.getCollection(collectionName + "_" + Resolution.HOURLY.collectionSuffix);
+		this.dailyCollection = database.getCollection(collectionName + "_" + Resolution.DAILY.collectionSuffix);
+		this.stateCollection = database.getCollection(collectionName + "_rollup_state");
+
+		for (MongoCollection<Document> rollup : List.of(hourlyCollection, dailyCollection)) {
+			rollup.createIndex(Indexes.ascending("metadata.projectName", "metadata.metric", "timestamp"));
+			rollup.createIndex(Indexes.ascending("metadata.host", "metadata.metric", "timestamp"));
+		}
+		this.coverageStart = loadCoverageStart();
+	}
+
+	/**
+	 * Collection holding the rollups of a resolution
+	 */
+	public MongoCollection<Document> collection(Resolution resolution) {
+		switch (resolution) {
+		case HOURLY:
+			return hourlyCollection;
+		case DAILY:
+			return dailyCollection;
+		default:
+			return metricsCollection;
+		}
+	}
+
+	/**
+	 * @return the time from which rollups include every stored point
+	 */
+	public Instant getCoverageStart() {
+		return coverageStart;
+	}
+
+	/**
+	 * Pick the finest resolution that keeps a series over the window within the point
+	 * budget, falling back to raw points where rollups do not cover the window
+	 */
+	public Resolution choose(Instant startTime, Instant endTime, int maxPointsPerSeries) {
+		Instant end = endTime != null ? endTime : Instant.now();
+		Duration window = Duration.between(startTime, end);
+		if (startTime.isBefore(coverageStart)) {
+			return Resolution.RAW;
+		}
+		for (Resolution resolution : Resolution.values()) {
+			if (window.dividedBy(resolution.getInterval()) <= maxPointsPerSeries) {
+				return resolution;
+			}
+		}
+		return Resolution.DAILY;
+	}
+
+	/**
+	 * Add newly inserted metric points to the hourly and daily rollups, one bulk write
+	 * per resolution
+	 */
+	public void apply(List<MetricPoint> points) {
+		if (points.isEmpty()) {
+			return;
+		}
+		applyResolution(Resolution.HOURLY, points);
+		applyResolution(Resolution.DAILY, points);
+	}
+
+	/**
+	 * Rollups of points stored before now may be missing; read earlier windows from the
+	 * points until a {@link #backfill} covers them again
+	 */
+	public void invalidateCoverage() {
+		Instant since = nextDay();
+		coverageStart = since;
+		saveCoverageStart(since);
+		logger.warn("Metric rollups are complete from {} only; backfill rollups to restore earlier windows", since);
+	}
+
+	/**
+	 * Recompute the rollups of all data stored since {@code since} from the metrics
+	 * collection, {@code parallelism} hosts at a time, and extend the coverage to it.
+	 * Buckets are replaced as a whole, so a backfill can be repeated; points stored into a
+	 * bucket while it is recomputed may be left out, so run it while not collecting.
+	 *
+	 * @return the number of rollup buckets written
+	 */
+	public int backfill(Instant since, int parallelism) throws InterruptedException {
+		Instant start = Instant.ofEpochMilli(Resolution.DAILY.bucketStart(since.toEpochMilli()));
+		List<String> hosts = metricsCollection
+				.distinct("metadata.host", Filters.gte("timestamp", Date.from(start)), String.class)
+				.into(new ArrayList<>());
+		logger.info("Backfilling metric rollups since {} for {} hosts, {} in parallel", start, hosts.size(), parallelism);
+		long startTime = System.currentTimeMillis();
+
+		List<Callable<Integer>> tasks = new ArrayList<>(hosts.size());
+		for (String host : hosts) {
+			tasks.add(() -> backfillHost(host, start));
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, hosts.size())),
+				runnable -> {
+					Thread thread = new Thread(runnable, "rollup-backfill");
+					thread.setDaemon(true);
+					return thread;
+				});
+		int buckets = 0;
+		boolean failed = false;
+		try {
+			for (Future<Integer> future : pool.invokeAll(tasks)) {
+				try {
+					buckets += future.get();
+				} catch (ExecutionException e) {
+					failed = true;
+					logger.error("Rollup backfill of a host failed: {}", e.getCause().getMessage());
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		if (!failed && start.isBefore(coverageStart)) {
+			saveCoverageStart(start);
+			coverageStart = start;
+		}
+		logger.info("Rollup backfill wrote {} buckets for {} hosts in {}ms", buckets, hosts.size(),
+				System.currentTimeMillis() - startTime);
+		return buckets;
+	}
+
+	/**
+	 * Coverage recorded earlier, or starting now: from the beginning for an empty
+	 * collection, otherwise from the next day, the first bucket of every resolution
+	 * whose points will all be rolled up
+	 */
+	private Instant loadCoverageStart() {
+		Document state = stateCollection.find(Filters.eq("_id", COVERAGE_ID)).first();
+		if (state != null && state.getDate("since") != null) {
+			return state.getDate("since").toInstant();
+		}
+		Instant since = metricsCollection.estimatedDocumentCount() == 0 ? Instant.EPOCH : nextDay();
+		saveCoverageStart(since);
+		logger.info("Maintaining metric rollups, complete from {}", since);
+		return since;
+	}
+
+	/**
+	 * Start of the next day, the first bucket of every resolution that points rolled up
+	 * from now on fill completely
+	 */
+	private static Instant nextDay() {
+		return Instant.ofEpochMilli(Resolution.DAILY.bucketStart(System.currentTimeMillis()))
+				.plus(Resolution.DAILY.getInterval());
+	}
+
+	private void saveCoverageStart(Instant since) {
+		stateCollection.replaceOne(Filters.eq("_id", COVERAGE_ID),
+				new Document("_id", COVERAGE_ID).append("since", Date.from(since)), new ReplaceOptions().upsert(true));
+	}
+
+	private void applyResolution(Resolution resolution, List<MetricPoint> points) {
+		Map<String, Bucket> buckets = new LinkedHashMap<>();
+		Map<MetricPoint.Metadata, Document> metadataDocuments = new LinkedHashMap<>();
+		for (MetricPoint point : points) {
+			if (!point.hasValue()) {
+				continue;
+			}
+			Document metadata = metadataDocuments.computeIfAbsent(point.getMetadata(), MetricsRollups::toDocument);
+			long bucketStart = resolution.bucketStart(point.getTimestampMillis());
+			buckets.computeIfAbsent(bucketId(metadata, bucketStart), id -> new Bucket(metadata, bucketStart))
+					.add(point.getValue());
+		}
+		if (buckets.isEmpty()) {
+			return;
+		}
+
+		List<WriteModel<Document>> updates = new ArrayList<>(buckets.size());
+		UpdateOptions upsert = new UpdateOptions().upsert(true);
+		for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+			Bucket bucket = entry.getValue();
+			updates.add(new UpdateOneModel<>(Filters.eq("_id", entry.getKey()), Updates.combine(
+					Updates.setOnInsert("metadata", bucket.metadata),
+					Updates.setOnInsert("timestamp", new Date(bucket.start)),
+					Updates.min("min", bucket.min), Updates.max("max", bucket.max),
+					Updates.inc("sum", bucket.sum), Updates.inc("count", bucket.count)), upsert));
+		}
+		collection(resolution).bulkWrite(updates, new BulkWriteOptions().ordered(false));
+	}
+
+	/**
+	 * Hourly rollups of one host from a single aggregation over its raw points, daily
+	 * rollups folded from those
+	 */
+	private int backfillHost(String host, Instant start) {
+		long hourMillis = Resolution.HOURLY.getInterval().toMillis();
+		Document epochMillis = new Document("$toLong", "$timestamp");
+		List<Bson> pipeline = List.of(
+				Aggregates.match(Filters.and(Filters.eq("metadata.host", host), Filters.gte("timestamp", Date.from(start)),
+						Filters.type("value", "number"))),
+				Aggregates.group(
+						new Document("metadata", "$metadata").append("bucket",
+								new Document("$subtract", List.of(epochMillis,
+										new Document("$mod", List.of(epochMillis, hourMillis))))),
+						Accumulators.min("min", "$value"), Accumulators.max("max", "$value"),
+						Accumulators.sum("sum", "$value"), Accumulators.sum("count", 1)));
+
+		Map<String, Bucket> hourly = new LinkedHashMap<>();
+		Map<String, Bucket> daily = new LinkedHashMap<>();
+		for (Document group : metricsCollection.aggregate(pipeline)) {
+			Document id = group.get("_id", Document.class);
+			Document metadata = id.get("metadata", Document.class);
+			long hourStart = id.get("bucket", Number.class).longValue();
+			Bucket hour = new Bucket(metadata, hourStart, group.get("min", Number.class).doubleValue(),
+					group.get("max", Number.class).doubleValue(), group.get("sum", Number.class).doubleValue(),
+					group.get("count", Number.class).longValue());
+			hourly.put(bucketId(metadata, hourStart), hour);
+
+			long dayStart = Resolution.DAILY.bucketStart(hourStart);
+			daily.computeIfAbsent(bucketId(metadata, dayStart), key -> new Bucket(metadata, dayStart)).merge(hour);
+		}
+
+		replaceBuckets(Resolution.HOURLY, hourly);
+		replaceBuckets(Resolution.DAILY, daily);
+		return hourly.size() + daily.size();
+	}
+
+	private void replaceBuckets(Resolution resolution, Map<String, Bucket> buckets) {
+		if (buckets.isEmpty()) {
+			return;
+		}
+		List<WriteModel<Document>> replacements = new ArrayList<>(buckets.size());
+		ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+		for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+			Bucket bucket = entry.getValue();
+			Document doc = new Document("_id", entry.getKey())
+					.append("metadata", bucket.metadata)
+					.append("timestamp", new Date(bucket.start))
+					.append("min", bucket.min)
+					.append("max", bucket.max)
+					.append("sum", bucket.sum)
+					.append("count", bucket.count);
+			replacements.add(new ReplaceOneModel<>(Filters.eq("_id", entry.getKey()), doc, upsert));
+		}
+		collection(resolution).bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+	}
+
+	private static Document toDocument(MetricPoint.Metadata metadata) {
+		Document document = new Document("projectName", metadata.getProjectName())
+				.append("host", metadata.getHost())
+				.append("metric", metadata.getMetric());
+		if (metadata.getPartition() != null) {
+			document.append("partition", metadata.getPartition());
+		}
+		return document;
+	}
+
+	private static String bucketId(Document metadata, long bucketStart) {
+		String partition = metadata.getString("partition");
+		return metadata.getString("host") + ":" + metadata.getString("metric")
+				+ (partition != null ? ":" + partition : "") + "@" + bucketStart;
+	}
+
+	private static final class Bucket {
+		private final Document metadata;
+		private final long start;
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+		private double sum;
+		private long count;
+
+		Bucket(Document metadata, long start) {
+			this.metadata = metadata;
+			this.start = start;
+		}
+
+		Bucket(Document metadata, long start, double min, double max, double sum, long count) {
+			this(metadata, start);
+			this.min = min;
+			this.max = max;
+			this.sum = sum;
+			this.count = count;
+		}
+
+		void add(double value) {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+			sum += value;
+			count++;
+		}
+
+		void merge(Bucket other) {
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+			sum += other.sum;
+			count += other.count;
+		}
+	}
+}
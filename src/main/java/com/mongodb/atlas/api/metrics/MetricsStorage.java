@@ -1,49 +1,93 @@
 package com.mongodb.atlas.api.metrics;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoException;
+import com.mongodb.atlas.api.clients.MeasurementsParser;
+import com.mongodb.atlas.api.model.MeasurementSeries;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.TimeSeriesOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
 
 /**
  * Handles storing Atlas metrics in a MongoDB timeseries collection Enhanced
  * with better timestamp tracking for optimized metric collection
  */
-public class MetricsStorage {
+public class MetricsStorage implements MetricsStore {
 
 	private static final Logger logger = LoggerFactory.getLogger(MetricsStorage.class);
 
+	public static final int DEFAULT_READ_BATCH_SIZE = 4_096;
+
 	private final MongoClient mongoClient;
 	private final MongoDatabase database;
 	private final String collectionName;
 	private MongoCollection<Document> metricsCollection;
+	private MongoCollection<MetricPoint> metricPoints; // The metrics collection, read and written without Documents
 	private MongoCollection<Document> timestampTrackerCollection;
 	private final boolean interactive;
 
-	// In-memory tracker of the last timestamp for each host+metric combination
-	private final Map<String, Instant> lastTimestampTracker = new HashMap<>();
+	// In-memory tracker of the last timestamp for each host+metric combination;
+	// thread-safe because projects are collected in parallel
+	private final TimestampTracker lastTimestampTracker;
+
+	// Timestamps accepted into the write-behind buffer but not flushed yet; the tracker
+	// only advances once a flush wrote the points
+	private final WriteBehindTracker writeBehindTracker;
+
+	// Local snapshot of the tracker for warm starts; null when disabled
+	private final Path trackerSnapshot;
+
+	// Hourly and daily rollups, updated with every insert
+	private final MetricsRollups rollups;
+
+	// Compressed hourly chunks of the raw points, written with every insert once enabled;
+	// null otherwise
+	private volatile MetricChunks chunks;
+
+	// Whether points stored without chunks ended the coverage of chunks written earlier
+	private final AtomicBoolean chunkCoverageEnded = new AtomicBoolean();
+
+	// Buffers inserts across batches when enabled; null writes each batch immediately
+	private volatile WriteBehindBuffer writeBehind;
+
+	// Tracker reconciliation started with reconcileTracker(), if any
+	private volatile TrackerReconciler reconciler;
+
+	// Streaming read tuning, see streamMetrics()
+	private volatile int readBatchSize = DEFAULT_READ_BATCH_SIZE;
+	private volatile Duration readChunkWindow;
+	private volatile boolean readCompressedChunks = true;
 
 	/**
 	 * Creates a new MetricsStorage with the specified MongoDB connection string
@@ -65,7 +109,23 @@ public class MetricsStorage {
 	 * @param interactive      Enable interactive mode for long operations
 	 */
 	public MetricsStorage(String connectionString, String databaseName, String collectionName, boolean interactive) {
+		this(connectionString, databaseName, collectionName, interactive, null);
+	}
+
+	/**
+	 * Creates a new MetricsStorage with the specified MongoDB connection string
+	 * 
+	 * @param connectionString MongoDB connection string
+	 * @param databaseName     Database name to use
+	 * @param collectionName   Collection name to use
+	 * @param interactive      Enable interactive mode for long operations
+	 * @param trackerSnapshot  Local file the timestamp tracker is loaded from and saved to
+	 *                         on close (can be null)
+	 */
+	public MetricsStorage(String connectionString, String databaseName, String collectionName, boolean interactive,
+			Path trackerSnapshot) {
 		this.interactive = interactive;
+		this.trackerSnapshot = trackerSnapshot;
 		
 		logger.debug("Connecting to MongoDB at {}...", connectionString);
 		long startTime = System.currentTimeMillis();
@@ -86,6 +146,9 @@ public class MetricsStorage {
 		initializeCollection();
 		long metricsCollectionTime = System.currentTimeMillis() - startTime;
 		logger.info("Metrics collection initialization completed in {}ms", metricsCollectionTime);
+		this.metricPoints = metricsCollection.withCodecRegistry(
+				MetricPointCodec.withRegistry(metricsCollection.getCodecRegistry())).withDocumentClass(MetricPoint.class);
+		this.rollups = new MetricsRollups(database, collectionName, metricsCollection);
 		
 		logger.debug("Initializing timestamp tracker collection...");
 		startTime = System.currentTimeMillis();
@@ -96,7 +159,9 @@ public class MetricsStorage {
 		// Build the tracker of last timestamps
 		logger.debug("Loading timestamp tracker...");
 		startTime = System.currentTimeMillis();
-		loadLastTimestampTracker();
+		this.lastTimestampTracker = loadLastTimestampTracker();
+		this.writeBehindTracker = new WriteBehindTracker(lastTimestampTracker, this::afterInsert,
+				this::invalidateDerivedCoverage);
 		long trackerLoadTime = System.currentTimeMillis() - startTime;
 		logger.info("Timestamp tracker loading completed in {}ms", trackerLoadTime);
 
@@ -130,7 +195,8 @@ public class MetricsStorage {
 			logger.info("Creating indexes for collection '{}'...", collectionName);
 			startTime = System.currentTimeMillis();
 			metricsCollection = database.getCollection(collectionName);
-			metricsCollection.createIndex(Indexes.ascending("metadata.host", "metadata.metric"));
+			// Timestamp last so the per-batch duplicate lookup is a single index range scan
+			metricsCollection.createIndex(Indexes.ascending("metadata.host", "metadata.metric", "timestamp"));
 			metricsCollection.createIndex(Indexes.ascending("metadata.projectName"));
 			metricsCollection.createIndex(Indexes.ascending("metadata.partition"));
 			long indexTime = System.currentTimeMillis() - startTime;
@@ -161,382 +227,145 @@ public class MetricsStorage {
 	}
 
 	/**
-	 * Load timestamp tracker from the database
+	 * Load timestamp tracker from the local snapshot if it is still valid, otherwise
+	 * from the database
 	 */
-	private void loadLastTimestampTracker() {
+	private TimestampTracker loadLastTimestampTracker() {
+		long trackedEntries = timestampTrackerCollection.estimatedDocumentCount();
+		TimestampTracker tracker = loadTrackerSnapshot(trackedEntries);
+		if (tracker != null) {
+			return tracker;
+		}
+
 		logger.info("Loading timestamp tracker from database...");
-		
-		// First, load all existing tracker entries
-		logger.info("Querying timestamp tracker collection...");
 		long startTime = System.currentTimeMillis();
-		List<Document> trackerDocs = timestampTrackerCollection.find().into(new ArrayList<>());
-		long queryTime = System.currentTimeMillis() - startTime;
-		logger.info("Tracker query completed in {}ms, found {} documents", queryTime, trackerDocs.size());
-		
-		int loadedEntries = 0;
-		startTime = System.currentTimeMillis();
-		
-		for (Document doc : trackerDocs) {
-			String key = doc.getString("_id");
-			Date timestampDate = doc.getDate("lastTimestamp");
-			if (key != null && timestampDate != null) {
-				lastTimestampTracker.put(key, timestampDate.toInstant());
-				loadedEntries++;
-			}
-		}
-		
+		tracker = new TimestampTracker((int) Math.min(trackedEntries, Integer.MAX_VALUE / 4));
+		loadTrackerEntries(tracker, new Document());
 		long loadTime = System.currentTimeMillis() - startTime;
-		logger.info("Loaded {} timestamp tracker entries from database in {}ms", loadedEntries, loadTime);
+		logger.info("Loaded {} timestamp tracker entries from database in {}ms", tracker.size(), loadTime);
 		
-		// Check if we need to scan the metrics collection for missing entries
-		if (loadedEntries == 0) {
-			logger.info("No tracker entries found. Scanning metrics collection to build initial tracker...");
-			buildInitialTimestampTracker();
-		} else {
-			// Optionally check for new hosts/metrics not in tracker
-			logger.info("Checking for new host/metric combinations...");
-			startTime = System.currentTimeMillis();
-			checkForNewHostMetrics();
-			long checkTime = System.currentTimeMillis() - startTime;
-			logger.info("New host/metric check completed in {}ms", checkTime);
+		// The tracker is maintained by every write, so the metrics collection is not scanned here.
+		// Data written around this class can be picked up with reconcileTracker().
+		if (tracker.size() == 0 && metricsCollection.estimatedDocumentCount() > 0) {
+			logger.info("Timestamp tracker is empty but metrics are stored; duplicate checks fall back to stored data");
+			if (interactive) {
+				System.out.println("💡 Run a tracker reconciliation (--reconcileTracker) to rebuild timestamp tracking for existing data");
+			}
 		}
+		return tracker;
 	}
 
 	/**
-	 * Check for new host/metric combinations not in the tracker (optimized version)
+	 * Load the local tracker snapshot and check it against the tracker collection's
+	 * high-water mark and entry count. Entries the collection advanced past the snapshot
+	 * are read with one indexed range query. A snapshot behind the collection for some
+	 * other key only costs that key a wider duplicate check when storing, but a snapshot
+	 * ahead of the collection would skip data that was never stored, so it is discarded.
+	 * 
+	 * @return the tracker, or null if the snapshot is missing or cannot be used
 	 */
-	private void checkForNewHostMetrics() {
-		logger.info("Checking for new host/metric combinations...");
-		
-		// Use aggregation to efficiently find host/metric combinations not in tracker
-		// This is much faster than the previous approach that scanned all hosts
-		logger.info("Running aggregation to find missing tracker entries...");
+	private TimestampTracker loadTrackerSnapshot(long trackedEntries) {
+		if (trackerSnapshot == null || !Files.exists(trackerSnapshot)) {
+			return null;
+		}
 		long startTime = System.currentTimeMillis();
-		
+		TimestampTracker tracker;
 		try {
-			// Get distinct host:metric combinations from metrics collection using aggregation
-			List<String> existingKeys = new ArrayList<>(lastTimestampTracker.keySet());
-			
-			// Use a more efficient approach: aggregate unique host+metric combinations
-			List<Document> pipeline = List.of(
-				new Document("$group", new Document("_id", 
-					new Document("host", "$metadata.host")
-						.append("metric", "$metadata.metric"))
-					.append("lastTimestamp", new Document("$max", "$timestamp"))),
-				new Document("$project", new Document("key", 
-					new Document("$concat", List.of("$_id.host", ":", "$_id.metric")))
-					.append("host", "$_id.host")
-					.append("metric", "$_id.metric") 
-					.append("lastTimestamp", "$lastTimestamp"))
-			);
-			
-			List<Document> results = metricsCollection.aggregate(pipeline).into(new ArrayList<>());
-			long aggregationTime = System.currentTimeMillis() - startTime;
-			logger.info("Aggregation completed in {}ms, found {} unique combinations", aggregationTime, results.size());
-			
-			int newCombinations = 0;
-			for (Document result : results) {
-				String key = result.getString("key");
-				if (!lastTimestampTracker.containsKey(key)) {
-					String host = result.getString("host");
-					String metric = result.getString("metric");
-					Date timestampDate = result.getDate("lastTimestamp");
-					
-					if (timestampDate != null) {
-						Instant timestamp = timestampDate.toInstant();
-						lastTimestampTracker.put(key, timestamp);
-						
-						// Save to database
-						Document trackerDoc = new Document("_id", key)
-								.append("host", host)
-								.append("metric", metric)
-								.append("lastTimestamp", timestampDate);
-						timestampTrackerCollection.replaceOne(
-								Filters.eq("_id", key),
-								trackerDoc,
-								new com.mongodb.client.model.ReplaceOptions().upsert(true)
-						);
-						
-						newCombinations++;
-					}
-				}
-			}
-			
-			if (newCombinations > 0) {
-				logger.info("Found and added {} new host/metric combinations to tracker", newCombinations);
-			} else {
-				logger.info("No new host/metric combinations found");
+			tracker = TimestampTracker.readSnapshot(trackerSnapshot);
+		} catch (IOException e) {
+			logger.warn("Ignoring timestamp tracker snapshot: {}", e.getMessage());
+			return null;
+		}
+
+		Document latest = timestampTrackerCollection.find().sort(Sorts.descending("lastTimestamp"))
+				.projection(Projections.include("lastTimestamp")).first();
+		long storedHighWaterMark = latest != null && latest.getDate("lastTimestamp") != null
+				? latest.getDate("lastTimestamp").getTime() : TimestampTracker.NO_TIMESTAMP;
+		long snapshotHighWaterMark = tracker.getHighWaterMark();
+
+		if (storedHighWaterMark < snapshotHighWaterMark) {
+			logger.info("Timestamp tracker snapshot is ahead of the database, reloading from the database");
+			return null;
+		}
+		if (storedHighWaterMark > snapshotHighWaterMark) {
+			int caughtUp = loadTrackerEntries(tracker,
+					Filters.gt("lastTimestamp", new Date(snapshotHighWaterMark)));
+			logger.info("Caught up {} timestamp tracker entries written since the snapshot", caughtUp);
+		}
+		if (tracker.size() != trackedEntries) {
+			logger.info("Timestamp tracker snapshot has {} entries but the database has {}, reloading from the database",
+					tracker.size(), trackedEntries);
+			return null;
+		}
+
+		logger.info("Loaded {} timestamp tracker entries from snapshot {} in {}ms", tracker.size(), trackerSnapshot,
+				System.currentTimeMillis() - startTime);
+		return tracker;
+	}
+
+	private int loadTrackerEntries(TimestampTracker tracker, Bson filter) {
+		int loaded = 0;
+		for (Document doc : timestampTrackerCollection.find(filter)
+				.projection(Projections.include("lastTimestamp"))) {
+			String key = doc.getString("_id");
+			Date timestampDate = doc.getDate("lastTimestamp");
+			if (key != null && timestampDate != null) {
+				tracker.advance(key, timestampDate.getTime());
+				loaded++;
 			}
-			
-		} catch (Exception e) {
-			logger.error("Error checking for new host/metric combinations: {}", e.getMessage());
-			// Fall back to simpler approach if aggregation fails
-			logger.info("Falling back to simple approach...");
-			checkForNewHostMetricsSimple();
 		}
+		return loaded;
 	}
-	
+
 	/**
-	 * Simple fallback method for checking new host/metric combinations
+	 * Save the tracker to the local snapshot, unless buffered writes failed and the
+	 * tracker may be ahead of the stored data
 	 */
-	private void checkForNewHostMetricsSimple() {
-		// Only check if we have a reasonable number of existing entries
-		if (lastTimestampTracker.size() > 1000) {
-			logger.info("Large dataset detected ({}+ entries), skipping new combination check for performance", 
-					lastTimestampTracker.size());
+	private void saveTrackerSnapshot(WriteBehindBuffer buffer) {
+		if (trackerSnapshot == null) {
 			return;
 		}
-		
-		List<String> distinctHosts = metricsCollection.distinct("metadata.host", String.class).into(new ArrayList<>());
-		
-		int newCombinations = 0;
-		for (String host : distinctHosts) {
-			List<String> metrics = metricsCollection
-					.distinct("metadata.metric", Filters.eq("metadata.host", host), String.class)
-					.into(new ArrayList<>());
-			
-			for (String metric : metrics) {
-				String key = host + ":" + metric;
-				if (!lastTimestampTracker.containsKey(key)) {
-					Document latestDoc = metricsCollection
-							.find(Filters.and(Filters.eq("metadata.host", host), Filters.eq("metadata.metric", metric)))
-							.sort(Sorts.descending("timestamp")).first();
-					
-					if (latestDoc != null) {
-						Instant timestamp = latestDoc.getDate("timestamp").toInstant();
-						lastTimestampTracker.put(key, timestamp);
-						
-						Document trackerDoc = new Document("_id", key)
-								.append("host", host)
-								.append("metric", metric)
-								.append("lastTimestamp", Date.from(timestamp));
-						timestampTrackerCollection.replaceOne(
-								Filters.eq("_id", key),
-								trackerDoc,
-								new com.mongodb.client.model.ReplaceOptions().upsert(true)
-						);
-						
-						newCombinations++;
-					}
-				}
+		try {
+			if (buffer != null && buffer.getFailedFlushes() > 0) {
+				Files.deleteIfExists(trackerSnapshot);
+				logger.warn("Not saving timestamp tracker snapshot after failed writes");
+				return;
 			}
+			lastTimestampTracker.writeSnapshot(trackerSnapshot);
+			logger.info("Saved {} timestamp tracker entries to {}", lastTimestampTracker.size(), trackerSnapshot);
+		} catch (IOException e) {
+			logger.warn("Failed to save timestamp tracker snapshot {}: {}", trackerSnapshot, e.getMessage());
 		}
-		
-		logger.info("Simple check found {} new combinations", newCombinations);
 	}
 
 	/**
-	 * Build initial timestamp tracker by scanning the metrics collection
-	 * This is similar to the old buildLastTimestampCache but saves to database
+	 * Rebuild tracker entries from metrics stored in the last {@code window}, scanning
+	 * {@code parallelism} hosts at a time in the background. An interrupted
+	 * reconciliation with the same window resumes with the hosts it had not finished.
+	 * 
+	 * @return completes with the number of tracker entries created or advanced
 	 */
-	private void buildInitialTimestampTracker() {
-		long startTime = System.currentTimeMillis();
-		List<String> distinctHosts = metricsCollection.distinct("metadata.host", String.class).into(new ArrayList<>());
-		long queryTime = System.currentTimeMillis() - startTime;
-		logger.info("Found {} distinct hosts (query took {}ms)", distinctHosts.size(), queryTime);
-
-		if (distinctHosts.isEmpty()) {
-			logger.info("No hosts found in collection - cache will be empty");
-			return;
-		}
-
-		// Calculate total work for progress tracking
-		int totalMetrics = 0;
-		for (String host : distinctHosts) {
-			List<String> metrics = metricsCollection
-					.distinct("metadata.metric", Filters.eq("metadata.host", host), String.class)
-					.into(new ArrayList<>());
-			totalMetrics += metrics.size();
-		}
-		
-		logger.info("Total work: {} metrics across {} hosts", totalMetrics, distinctHosts.size());
-
-		// Check if interactive mode should be used for large datasets
-		if (interactive && totalMetrics > 100) {
-			logger.info("🔄 Large dataset detected ({} metrics). This operation may take several minutes.", totalMetrics);
-			handleInteractiveTrackerBuilding(distinctHosts, totalMetrics);
-		} else {
-			buildTrackerNonInteractive(distinctHosts, totalMetrics);
+	public CompletableFuture<Integer> reconcileTracker(Duration window, int parallelism) {
+		TrackerReconciler running = reconciler;
+		if (running != null) {
+			running.cancel();
 		}
+		TrackerReconciler started = new TrackerReconciler(metricsCollection, timestampTrackerCollection,
+				database.getCollection(collectionName + "_tracker_reconcile"), lastTimestampTracker, window, parallelism);
+		reconciler = started;
+		return started.start();
 	}
 
-	private void handleInteractiveTrackerBuilding(List<String> distinctHosts, int totalMetrics) {
-		Scanner scanner = new Scanner(System.in);
-		
-		System.out.println("\n⚠️  Timestamp Tracker Initialization Required");
-		System.out.println("==========================================");
-		System.out.printf("Found %d metrics across %d hosts that need timestamp tracking.\n", totalMetrics, distinctHosts.size());
-		System.out.println("This one-time process builds a database of latest timestamps to prevent duplicate data.");
-		System.out.printf("Estimated time: %d-%d minutes\n", totalMetrics / 60, totalMetrics / 30);
-		System.out.println("\nOptions:");
-		System.out.println("  1. Build tracker with progress updates (recommended)");
-		System.out.println("  2. Build tracker silently in background");
-		System.out.println("  3. Skip tracker building (slower duplicate detection)");
-		System.out.println("  4. Cancel operation");
-		System.out.print("\nSelect option [1-4]: ");
-		System.out.flush();
-		
-		String choice;
-		try {
-			choice = scanner.nextLine().trim();
-		} catch (Exception e) {
-			logger.warn("Failed to read user input, defaulting to option 2 (background build)");
-			choice = "2";
-		}
-		
-		switch (choice) {
-			case "1":
-				buildTrackerWithProgress(distinctHosts, totalMetrics, scanner);
-				break;
-			case "2":
-				logger.info("Building timestamp tracker in background...");
-				buildTrackerNonInteractive(distinctHosts, totalMetrics);
-				break;
-			case "3":
-				logger.warn("⚠️  Skipping timestamp tracker building. Performance may be slower for duplicate detection.");
-				System.out.println("✅ Tracker building skipped. Continuing with operation...");
-				break;
-			case "4":
-			default:
-				logger.info("Operation cancelled by user");
-				System.out.println("❌ Operation cancelled.");
-				throw new RuntimeException("Operation cancelled by user");
-		}
-	}
-
-	private void buildTrackerWithProgress(List<String> distinctHosts, int totalMetrics, Scanner scanner) {
-		System.out.println("\n🔄 Building timestamp tracker with progress updates...");
-		System.out.println("Press 'q' + Enter at any time to cancel");
-		
-		int cacheEntries = 0;
-		int processedHosts = 0;
-		int processedMetrics = 0;
-		long overallStartTime = System.currentTimeMillis();
-
-		for (String host : distinctHosts) {
-			processedHosts++;
-			long hostStartTime = System.currentTimeMillis();
-			
-			// Progress indicator
-			int progressPercent = (processedMetrics * 100) / totalMetrics;
-			System.out.printf("\r[%s%s] %d%% - Host %d/%d: %s", 
-					"=".repeat(progressPercent / 5), 
-					" ".repeat(20 - progressPercent / 5),
-					progressPercent, processedHosts, distinctHosts.size(), host);
-
-			List<String> metrics = metricsCollection
-					.distinct("metadata.metric", Filters.eq("metadata.host", host), String.class)
-					.into(new ArrayList<>());
-
-			for (String metric : metrics) {
-				processedMetrics++;
-				
-				// Check for user cancellation (non-blocking)
-				try {
-					if (System.in.available() > 0) {
-						String input = scanner.nextLine().trim();
-						if ("q".equalsIgnoreCase(input)) {
-							System.out.println("\n❌ Timestamp tracker building cancelled by user.");
-							logger.warn("Timestamp tracker building cancelled - partial tracker with {} entries", cacheEntries);
-							return;
-						}
-					}
-				} catch (IOException e) {
-					// Ignore - just continue without checking for input
-				}
-
-				// For each host+metric, find the document with the latest timestamp
-				Document latestDoc = metricsCollection
-						.find(Filters.and(Filters.eq("metadata.host", host), Filters.eq("metadata.metric", metric)))
-						.sort(Sorts.descending("timestamp")).first();
-
-				if (latestDoc != null) {
-					Instant timestamp = latestDoc.getDate("timestamp").toInstant();
-					String key = host + ":" + metric;
-					lastTimestampTracker.put(key, timestamp);
-					
-					// Save to database
-					Document trackerDoc = new Document("_id", key)
-							.append("host", host)
-							.append("metric", metric)
-							.append("lastTimestamp", Date.from(timestamp));
-					timestampTrackerCollection.replaceOne(
-							Filters.eq("_id", key),
-							trackerDoc,
-							new com.mongodb.client.model.ReplaceOptions().upsert(true)
-					);
-					
-					cacheEntries++;
-				}
-			}
-			
-			long hostTime = System.currentTimeMillis() - hostStartTime;
-			long elapsedTotal = System.currentTimeMillis() - overallStartTime;
-			long estimatedTotal = (elapsedTotal * totalMetrics) / Math.max(processedMetrics, 1);
-			long remaining = estimatedTotal - elapsedTotal;
-			
-			System.out.printf("\nHost %s complete (%dms) - ETA: %d seconds\n", 
-					host, hostTime, remaining / 1000);
-		}
-
-		System.out.printf("\n✅ Timestamp tracker building complete! Created %d entries in %d seconds.\n", 
-				cacheEntries, (System.currentTimeMillis() - overallStartTime) / 1000);
-		logger.info("Completed timestamp tracker with {} entries from {} hosts and {} total metrics", 
-				cacheEntries, distinctHosts.size(), processedMetrics);
-	}
-
-	private void buildTrackerNonInteractive(List<String> distinctHosts, int totalMetrics) {
-		int cacheEntries = 0;
-		int processedHosts = 0;
-		int processedMetrics = 0;
-
-		for (String host : distinctHosts) {
-			processedHosts++;
-			long hostStartTime = System.currentTimeMillis();
-			logger.info("Processing host {} ({}/{})", host, processedHosts, distinctHosts.size());
-
-			List<String> metrics = metricsCollection
-					.distinct("metadata.metric", Filters.eq("metadata.host", host), String.class)
-					.into(new ArrayList<>());
-
-			for (String metric : metrics) {
-				processedMetrics++;
-
-				Document latestDoc = metricsCollection
-						.find(Filters.and(Filters.eq("metadata.host", host), Filters.eq("metadata.metric", metric)))
-						.sort(Sorts.descending("timestamp")).first();
-
-				if (latestDoc != null) {
-					Instant timestamp = latestDoc.getDate("timestamp").toInstant();
-					String key = host + ":" + metric;
-					lastTimestampTracker.put(key, timestamp);
-					
-					// Save to database
-					Document trackerDoc = new Document("_id", key)
-							.append("host", host)
-							.append("metric", metric)
-							.append("lastTimestamp", Date.from(timestamp));
-					timestampTrackerCollection.replaceOne(
-							Filters.eq("_id", key),
-							trackerDoc,
-							new com.mongodb.client.model.ReplaceOptions().upsert(true)
-					);
-					
-					cacheEntries++;
-				}
-
-				// Log progress periodically
-				if (processedMetrics % 100 == 0) {
-					logger.info("Progress: processed {} total metrics, {} cache entries created", processedMetrics, cacheEntries);
-				}
-			}
-			
-			long hostTime = System.currentTimeMillis() - hostStartTime;
-			logger.info("Completed processing host {} - took {}ms, total cache entries: {}", host, hostTime, cacheEntries);
+	/**
+	 * Tracker update for a host/metric/partition key; only ever moves the timestamp forward
+	 */
+	static Bson trackerUpdate(String hostPort, String metric, String partition, Date lastTimestamp) {
+		List<Bson> fields = new ArrayList<>(List.of(Updates.set("host", hostPort), Updates.set("metric", metric),
+				Updates.max("lastTimestamp", lastTimestamp)));
+		if (partition != null) {
+			fields.add(Updates.set("partition", partition));
 		}
-
-		logger.info("Completed timestamp tracker with {} entries from {} hosts and {} total metrics", 
-				cacheEntries, distinctHosts.size(), processedMetrics);
+		return Updates.combine(fields);
 	}
 
 	/**
@@ -558,139 +387,110 @@ public class MetricsStorage {
 			return 0;
 		}
 
+		return storeMetrics(projectName, host, port, partition, metric,
+				MeasurementsParser.fromDataPoints(metric, dataPoints));
+	}
+
+	/**
+	 * Store a measurement series in the timeseries collection
+	 * 
+	 * @param projectName Atlas project name
+	 * @param host        Hostname of the MongoDB instance
+	 * @param port        Port of the MongoDB instance
+	 * @param partition   Optional partition name for disk metrics (can be null)
+	 * @param metric      Metric name
+	 * @param series      Data points of the metric; points without a value are skipped
+	 * @return Number of new documents inserted
+	 */
+	@Override
+	public int storeMetrics(String projectName, String host, int port, String partition, String metric,
+			MeasurementSeries series) {
+
+		if (series == null || series.isEmpty()) {
+			logger.debug("No data points to store for {}:{} metric {}", host, port, metric);
+			return 0;
+		}
+
 		String hostPort = host + ":" + port;
 		String cacheKey = hostPort + ":" + metric;
 		if (partition != null) {
 			cacheKey += ":" + partition;
 		}
 
-		Instant lastTimestamp = lastTimestampTracker.getOrDefault(cacheKey, Instant.EPOCH);
-		logger.debug("Last timestamp for {}: {}", cacheKey, lastTimestamp);
+		long lastMillis = Math.max(0,
+				Math.max(lastTimestampTracker.get(cacheKey), writeBehindTracker.getBuffered(cacheKey)));
+		logger.debug("Last timestamp for {}: {}", cacheKey, lastMillis);
 
-		List<Document> documents = new ArrayList<>();
+		List<MetricPoint> points = new ArrayList<>();
+		MetricPoint.Metadata metadata = new MetricPoint.Metadata(projectName, hostPort, metric, partition);
 		int newPoints = 0;
 		int skippedPoints = 0;
-		Instant latestTimestampInBatch = lastTimestamp;
+		long latestMillisInBatch = lastMillis;
 
-// Create a set to track unique timestamps within this batch
-		Set<Instant> seenTimestamps = new HashSet<>();
+// Atlas returns points in order, so intra-batch duplicates only need tracking otherwise
+		Set<Long> seenTimestamps = series.isStrictlyIncreasing() ? null : new HashSet<>();
 
-		for (Map<String, Object> dataPoint : dataPoints) {
-// Extract timestamp and value
-			String timestampStr = (String) dataPoint.get("timestamp");
-			Object valueObj = dataPoint.get("value");
-			Double value = null;
+// Points already stored in the batch's time range, fetched with a single query
+		Set<Long> storedTimestamps = findStoredTimestamps(projectName, hostPort, metric, partition, series, lastMillis);
 
-// Parse timestamp
-			Instant timestamp;
-			try {
-				timestamp = Instant.parse(timestampStr);
-			} catch (DateTimeParseException e) {
-				logger.warn("Failed to parse timestamp: {}", timestampStr);
-				continue;
-			}
+		for (int i = 0; i < series.size(); i++) {
+			long millis = series.getTimestampMillis(i);
 
 // Additional checks to prevent duplicates
 // 1. Ensure timestamp is strictly after the last known timestamp
 // 2. Ensure we haven't seen this exact timestamp in this batch
-			if (timestamp.isBefore(lastTimestamp) || timestamp.equals(lastTimestamp)
-					|| seenTimestamps.contains(timestamp)) {
+			if (millis <= lastMillis || (seenTimestamps != null && !seenTimestamps.add(millis))) {
 				skippedPoints++;
 				continue;
 			}
 
-// Add to seen timestamps to prevent intra-batch duplicates
-			seenTimestamps.add(timestamp);
-
 // Update the latest timestamp in this batch
-			if (timestamp.isAfter(latestTimestampInBatch)) {
-				latestTimestampInBatch = timestamp;
+			if (millis > latestMillisInBatch) {
+				latestMillisInBatch = millis;
 			}
 
-// Convert value to double
-			if (valueObj instanceof Integer) {
-				value = ((Integer) valueObj).doubleValue();
-			} else if (valueObj instanceof Double) {
-				value = (Double) valueObj;
-			} else if (valueObj instanceof Long) {
-				value = ((Long) valueObj).doubleValue();
-			}
-
-			if (value == null) {
-				logger.debug("Null or invalid value for {}:{} metric {} at {}", host, port, metric, timestampStr);
+			if (!series.hasValue(i)) {
+				logger.debug("Null or invalid value for {}:{} metric {} at {}", host, port, metric,
+						series.getTimestamp(i));
 				continue;
 			}
-
-// First, check if this exact data point already exists in the database
-			long existingCount = metricsCollection
-					.countDocuments(Filters.and(Filters.eq("timestamp", java.util.Date.from(timestamp)),
-							Filters.eq("value", value), Filters.eq("metadata.projectName", projectName),
-							Filters.eq("metadata.host", hostPort), Filters.eq("metadata.metric", metric),
-							(partition != null ? Filters.eq("metadata.partition", partition)
-									: Filters.or(Filters.exists("metadata.partition", false),
-											Filters.eq("metadata.partition", null)))));
-
-			if (existingCount > 0) {
-			    // Log the details of the existing document
-			    Document existingDoc = metricsCollection.find(
-			        Filters.and(
-			            Filters.eq("timestamp", java.util.Date.from(timestamp)),
-			            Filters.eq("value", value),
-			            Filters.eq("metadata.projectName", projectName),
-			            Filters.eq("metadata.host", hostPort),
-			            Filters.eq("metadata.metric", metric),
-			            (partition != null ? 
-			                Filters.eq("metadata.partition", partition) : 
-			                Filters.or(Filters.exists("metadata.partition", false), Filters.eq("metadata.partition", null)))
-			        )
-			    ).first();
-			    
-			    logger.debug("Duplicate document found: {}", existingDoc);
+// Skip points that are already stored
+			if (storedTimestamps.contains(millis)) {
+			    logger.debug("Duplicate document found for {} metric {} at {}", hostPort, metric, millis);
 			    skippedPoints++;
 			    continue;
 			}
 
-// Create the document
-			Document doc = new Document();
-			doc.append("timestamp", java.util.Date.from(timestamp));
-			doc.append("value", value);
-
-// Add metadata
-			Document metadata = new Document();
-			metadata.append("projectName", projectName);
-			metadata.append("host", hostPort);
-			metadata.append("metric", metric);
-			if (partition != null) {
-				metadata.append("partition", partition);
-			}
-
-			doc.append("metadata", metadata);
-			documents.add(doc);
+// Create the point; all points of the batch share the series metadata
+			points.add(new MetricPoint(millis, series.getValue(i), metadata));
 			newPoints++;
 		}
 
-// Insert documents if we have any
-		if (!documents.isEmpty()) {
+// Insert points if we have any
+		if (!points.isEmpty()) {
 			try {
-				metricsCollection.insertMany(documents, new InsertManyOptions().ordered(false));
-
-// Update the in-memory tracker and database with the latest timestamp
-				lastTimestampTracker.put(cacheKey, latestTimestampInBatch);
-				
-				// Update the database tracker
-				Document trackerDoc = new Document("_id", cacheKey)
-						.append("host", hostPort)
-						.append("metric", metric);
-				if (partition != null) {
-					trackerDoc.append("partition", partition);
+				Bson trackerUpdate = trackerUpdate(hostPort, metric, partition, new Date(latestMillisInBatch));
+
+				WriteBehindBuffer buffer = writeBehind;
+				if (buffer != null) {
+					// Written with other batches later; both trackers follow the inserts
+					writeBehindTracker.buffered(cacheKey, latestMillisInBatch);
+					buffer.add(points, cacheKey, latestMillisInBatch, trackerUpdate);
+				} else {
+					try {
+						metricPoints.insertMany(points, new InsertManyOptions().ordered(false));
+					} catch (MongoException e) {
+						// Unordered, so some of the points may be stored without their rollups and chunks
+						invalidateDerivedCoverage();
+						throw e;
+					}
+					afterInsert(points);
+					timestampTrackerCollection.updateOne(Filters.eq("_id", cacheKey), trackerUpdate,
+							new UpdateOptions().upsert(true));
+
+// Update the in-memory tracker with the latest timestamp, never moving it back
+					lastTimestampTracker.advance(cacheKey, latestMillisInBatch);
 				}
-				trackerDoc.append("lastTimestamp", Date.from(latestTimestampInBatch));
-				
-				timestampTrackerCollection.replaceOne(
-						Filters.eq("_id", cacheKey),
-						trackerDoc,
-						new com.mongodb.client.model.ReplaceOptions().upsert(true)
-				);
 
 				logger.debug("Stored {} new data points for {}:{} metric {} (skipped {} duplicates)", newPoints, host,
 						port, metric, skippedPoints);
@@ -705,6 +505,47 @@ public class MetricsStorage {
 		return newPoints;
 	}
 
+	/**
+	 * Find which timestamps of a batch are already stored, with one range query over
+	 * the batch's new points instead of one query per point
+	 * 
+	 * @param lastMillis points at or before this time are skipped anyway and not looked up
+	 * @return Epoch milliseconds of the stored points in the batch's time range
+	 */
+	private Set<Long> findStoredTimestamps(String projectName, String hostPort, String metric, String partition,
+			MeasurementSeries series, long lastMillis) {
+		long minMillis = Long.MAX_VALUE;
+		long maxMillis = Long.MIN_VALUE;
+		for (int i = 0; i < series.size(); i++) {
+			long millis = series.getTimestampMillis(i);
+			if (millis > lastMillis) {
+				minMillis = Math.min(minMillis, millis);
+				maxMillis = Math.max(maxMillis, millis);
+			}
+		}
+
+		Set<Long> stored = new HashSet<>();
+		if (minMillis > maxMillis) {
+			return stored;
+		}
+
+		Bson filter = Filters.and(Filters.eq("metadata.projectName", projectName),
+				Filters.eq("metadata.host", hostPort), Filters.eq("metadata.metric", metric),
+				(partition != null ? Filters.eq("metadata.partition", partition)
+						: Filters.or(Filters.exists("metadata.partition", false),
+								Filters.eq("metadata.partition", null))),
+				Filters.gte("timestamp", new Date(minMillis)), Filters.lte("timestamp", new Date(maxMillis)));
+
+		for (Document doc : metricsCollection.find(filter)
+				.projection(Projections.fields(Projections.include("timestamp"), Projections.excludeId()))) {
+			Date timestamp = doc.getDate("timestamp");
+			if (timestamp != null) {
+				stored.add(timestamp.getTime());
+			}
+		}
+		return stored;
+	}
+
 	/**
 	 * Get the latest timestamp for a specific metric across all hosts and projects
 	 * 
@@ -712,6 +553,7 @@ public class MetricsStorage {
 	 * @return The latest timestamp, or EPOCH if no data found
 	 */
 	public Instant getLatestTimestampForMetric(String metric) {
+		flush();
 		Document latest = metricsCollection.find(Filters.eq("metadata.metric", metric))
 				.sort(Sorts.descending("timestamp")).first();
 
@@ -730,6 +572,7 @@ public class MetricsStorage {
 	 * @return The latest timestamp, or EPOCH if no data found
 	 */
 	public Instant getLatestTimestampForProjectMetric(String projectName, String metric) {
+		flush();
 		Document latest = metricsCollection.find(
 				Filters.and(Filters.eq("metadata.projectName", projectName), Filters.eq("metadata.metric", metric)))
 				.sort(Sorts.descending("timestamp")).first();
@@ -748,16 +591,17 @@ public class MetricsStorage {
 	 * @param metric The metric name
 	 * @return The latest timestamp, or EPOCH if no data found
 	 */
+	@Override
 	public Instant getLatestTimestampForHostMetric(String host, String metric) {
 		Document latest = metricsCollection
 				.find(Filters.and(Filters.eq("metadata.host", host), Filters.eq("metadata.metric", metric)))
 				.sort(Sorts.descending("timestamp")).first();
 
 		if (latest != null) {
-			return latest.getDate("timestamp").toInstant();
+			return withBufferedWrites(host + ":" + metric, latest.getDate("timestamp").toInstant());
 		}
 
-		return Instant.EPOCH;
+		return withBufferedWrites(host + ":" + metric, Instant.EPOCH);
 	}
 
 	/**
@@ -768,16 +612,172 @@ public class MetricsStorage {
 	 * @param metric    The metric name
 	 * @return The latest timestamp, or EPOCH if no data found
 	 */
+	@Override
 	public Instant getLatestTimestampForHostPartitionMetric(String host, String partition, String metric) {
 		Document latest = metricsCollection.find(Filters.and(Filters.eq("metadata.host", host),
 				Filters.eq("metadata.partition", partition), Filters.eq("metadata.metric", metric)))
 				.sort(Sorts.descending("timestamp")).first();
 
+		String cacheKey = host + ":" + metric + ":" + partition;
 		if (latest != null) {
-			return latest.getDate("timestamp").toInstant();
+			return withBufferedWrites(cacheKey, latest.getDate("timestamp").toInstant());
 		}
 
-		return Instant.EPOCH;
+		return withBufferedWrites(cacheKey, Instant.EPOCH);
+	}
+
+	/**
+	 * Account for points accepted into the write-behind buffer but not written yet
+	 */
+	private Instant withBufferedWrites(String cacheKey, Instant stored) {
+		if (writeBehind == null) {
+			return stored;
+		}
+		long buffered = writeBehindTracker.getBuffered(cacheKey);
+		return buffered > stored.toEpochMilli() ? Instant.ofEpochMilli(buffered) : stored;
+	}
+
+	/**
+	 * Add inserted documents to the rollups and, when enabled, the compressed chunks.
+	 * Failures are logged rather than failing the store, the data itself is written; the
+	 * coverage of the rollups or chunks is moved past them, so reads fall back to the
+	 * points until a rollup backfill repairs the missing buckets.
+	 */
+	private void afterInsert(List<MetricPoint> insertedPoints) {
+		try {
+			rollups.apply(insertedPoints);
+		} catch (Exception e) {
+			logger.error("Failed to update rollups for {} metric points: {}", insertedPoints.size(),
+					e.getMessage());
+			invalidateRollupCoverage();
+		}
+		MetricChunks compressed = chunks;
+		if (compressed == null) {
+			endChunkCoverage();
+			return;
+		}
+		try {
+			compressed.apply(insertedPoints);
+		} catch (Exception e) {
+			logger.error("Failed to write compressed chunks for {} metric points: {}", insertedPoints.size(),
+					e.getMessage());
+			invalidateChunkCoverage();
+		}
+	}
+
+	/**
+	 * Points may have been stored without being added to the rollups and chunks
+	 */
+	private void invalidateDerivedCoverage() {
+		invalidateRollupCoverage();
+		invalidateChunkCoverage();
+	}
+
+	/**
+	 * The in-memory coverage moves even if recording it fails
+	 */
+	private void invalidateRollupCoverage() {
+		try {
+			rollups.invalidateCoverage();
+		} catch (Exception e) {
+			logger.error("Failed to record rollup coverage: {}", e.getMessage());
+		}
+	}
+
+	private void invalidateChunkCoverage() {
+		MetricChunks compressed = chunks;
+		if (compressed == null) {
+			endChunkCoverage();
+			return;
+		}
+		try {
+			compressed.invalidateCoverage();
+		} catch (Exception e) {
+			logger.error("Failed to record compressed chunk coverage: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Points are stored without chunks, so chunks written by an earlier run no longer
+	 * cover them; once per storage, retried if recording it fails
+	 */
+	private void endChunkCoverage() {
+		if (chunkCoverageEnded.compareAndSet(false, true)) {
+			try {
+				MetricChunks.endCoverage(database, collectionName);
+			} catch (Exception e) {
+				chunkCoverageEnded.set(false);
+				logger.error("Failed to record compressed chunk coverage: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Pick the resolution to read a time range at: the finest one that keeps each series
+	 * within {@code maxPointsPerSeries} points, or raw data where rollups do not cover the
+	 * range
+	 */
+	@Override
+	public MetricsRollups.Resolution chooseResolution(Instant startTime, Instant endTime, int maxPointsPerSeries) {
+		return rollups.choose(startTime, endTime, maxPointsPerSeries);
+	}
+
+	/**
+	 * Recompute the rollups of the data stored within {@code window}, scanning
+	 * {@code parallelism} hosts at a time, so reports over that range can use them
+	 * 
+	 * @return the number of rollup buckets written
+	 */
+	public int backfillRollups(Duration window, int parallelism) throws InterruptedException {
+		flush();
+		return rollups.backfill(Instant.now().minus(window), parallelism);
+	}
+
+	/**
+	 * Get metrics at a resolution. Rollup buckets are returned shaped like stored points,
+	 * with the bucket start as timestamp, the bucket average as value and additional
+	 * min, max and count fields; the range is widened to whole buckets.
+	 * 
+	 * @param resolution Resolution to read, see {@link #chooseResolution}
+	 * @return List of measurement or bucket documents in time order
+	 */
+	public List<Document> getMetrics(String projectName, String host, String metric, Instant startTime,
+			Instant endTime, MetricsRollups.Resolution resolution) {
+		if (resolution == MetricsRollups.Resolution.RAW) {
+			return getMetrics(projectName, host, metric, startTime, endTime);
+		}
+		flush();
+
+		List<Document> buckets = rollups.collection(resolution)
+				.find(rollupFilter(projectName, host, metric, startTime, endTime, resolution))
+				.sort(Sorts.ascending("timestamp")).into(new ArrayList<>());
+		for (Document bucket : buckets) {
+			bucket.remove("_id");
+			bucket.append("value",
+					bucket.get("sum", Number.class).doubleValue() / bucket.get("count", Number.class).longValue());
+		}
+		return buckets;
+	}
+
+	private Bson rollupFilter(String projectName, String host, String metric, Instant startTime, Instant endTime,
+			MetricsRollups.Resolution resolution) {
+		List<Bson> filters = new ArrayList<>();
+		if (projectName != null) {
+			filters.add(Filters.eq("metadata.projectName", projectName));
+		}
+		if (host != null) {
+			filters.add(Filters.eq("metadata.host", host));
+		}
+		if (metric != null) {
+			filters.add(Filters.eq("metadata.metric", metric));
+		}
+		long intervalMillis = resolution.getInterval().toMillis();
+		filters.add(Filters.gte("timestamp",
+				new Date(Math.floorDiv(startTime.toEpochMilli(), intervalMillis) * intervalMillis)));
+		if (endTime != null) {
+			filters.add(Filters.lte("timestamp", Date.from(endTime)));
+		}
+		return Filters.and(filters);
 	}
 
 	/**
@@ -792,6 +792,7 @@ public class MetricsStorage {
 	 */
 	public List<Document> getMetrics(String projectName, String host, String metric, Instant startTime,
 			Instant endTime) {
+		flush();
 
 		// Build the filter
 		List<org.bson.conversions.Bson> filters = new ArrayList<>();
@@ -818,10 +819,256 @@ public class MetricsStorage {
 		return metricsCollection.find(Filters.and(filters)).sort(Sorts.ascending("timestamp")).into(new ArrayList<>());
 	}
 
+	/**
+	 * Summarize a project's metric per host and partition in the database: maximum,
+	 * average, point count and when the maximum was measured. Only one document per
+	 * series is returned instead of every stored point.
+	 * 
+	 * @param projectName Project name
+	 * @param metric      Metric name
+	 * @param startTime   Start time for the query
+	 * @param endTime     End time for the query (can be null for 'now')
+	 * @return One summary per host and partition with data in the range
+	 */
+	@Override
+	public List<SeriesSummary> summarizeMetrics(String projectName, String metric, Instant startTime,
+			Instant endTime) {
+		return summarizeMetrics(projectName, metric, startTime, endTime, MetricsRollups.Resolution.RAW);
+	}
+
+	/**
+	 * Summarize a project's metric per host and partition from rollups of the given
+	 * resolution, or from the stored points for {@link MetricsRollups.Resolution#RAW}.
+	 * From rollups the range is widened to whole buckets and the time of the maximum is
+	 * the start of the bucket it was measured in.
+	 */
+	@Override
+	public List<SeriesSummary> summarizeMetrics(String projectName, String metric, Instant startTime,
+			Instant endTime, MetricsRollups.Resolution resolution) {
+		if (resolution != MetricsRollups.Resolution.RAW) {
+			return summarizeRollups(projectName, metric, startTime, endTime, resolution);
+		}
+		flush();
+
+		List<Bson> filters = new ArrayList<>();
+		filters.add(Filters.eq("metadata.projectName", projectName));
+		filters.add(Filters.eq("metadata.metric", metric));
+		filters.add(Filters.gte("timestamp", Date.from(startTime)));
+		if (endTime != null) {
+			filters.add(Filters.lte("timestamp", Date.from(endTime)));
+		}
+		filters.add(Filters.type("value", "number"));
+
+		List<Bson> pipeline = List.of(Aggregates.match(Filters.and(filters)),
+				Aggregates.group(new Document("host", "$metadata.host").append("partition", "$metadata.partition"),
+						Accumulators.max("max", "$value"), Accumulators.avg("avg", "$value"),
+						Accumulators.sum("count", 1),
+						// Documents compare field by field: the highest value, latest time on ties
+						Accumulators.max("peak", new Document("value", "$value").append("timestamp", "$timestamp"))));
+
+		List<SeriesSummary> summaries = new ArrayList<>();
+		for (Document group : metricsCollection.aggregate(pipeline)) {
+			Document id = group.get("_id", Document.class);
+			Document peak = group.get("peak", Document.class);
+			summaries.add(new SeriesSummary(id.getString("host"), id.getString("partition"),
+					group.get("max", Number.class).doubleValue(), group.get("avg", Number.class).doubleValue(),
+					group.get("count", Number.class).longValue(), peak.getDate("timestamp").toInstant()));
+		}
+		return summaries;
+	}
+
+	private List<SeriesSummary> summarizeRollups(String projectName, String metric, Instant startTime,
+			Instant endTime, MetricsRollups.Resolution resolution) {
+		flush();
+
+		List<Bson> pipeline = List.of(
+				Aggregates.match(rollupFilter(projectName, null, metric, startTime, endTime, resolution)),
+				Aggregates.group(new Document("host", "$metadata.host").append("partition", "$metadata.partition"),
+						Accumulators.max("max", "$max"), Accumulators.sum("sum", "$sum"),
+						Accumulators.sum("count", "$count"),
+						Accumulators.max("peak", new Document("value", "$max").append("timestamp", "$timestamp"))));
+
+		List<SeriesSummary> summaries = new ArrayList<>();
+		for (Document group : rollups.collection(resolution).aggregate(pipeline)) {
+			Document id = group.get("_id", Document.class);
+			Document peak = group.get("peak", Document.class);
+			long count = group.get("count", Number.class).longValue();
+			summaries.add(new SeriesSummary(id.getString("host"), id.getString("partition"),
+					group.get("max", Number.class).doubleValue(),
+					count > 0 ? group.get("sum", Number.class).doubleValue() / count : 0.0, count,
+					peak.getDate("timestamp").toInstant()));
+		}
+		return summaries;
+	}
+
+	/**
+	 * Stream stored metrics in time order per series, without materializing the result.
+	 * Only timestamp and value are read, plus the partition (and host when not filtered
+	 * by one) instead of the full metadata of every point. Points are handed to the
+	 * consumer in chunks of up to {@link #setReadBatchSize read batch size} per series,
+	 * so memory stays bounded by the number of series rather than the time range.
+	 * Raw ranges covered by the {@link MetricChunks compressed chunks}, when enabled, are
+	 * decoded from them instead of reading a document per point.
+	 * 
+	 * @param projectName Optional project name filter (can be null)
+	 * @param host        Optional host filter (can be null)
+	 * @param metric      Metric name
+	 * @param startTime   Start time for the query
+	 * @param endTime     End time for the query (can be null for 'now')
+	 * @param resolution  Resolution to read; for rollups the range is widened to whole
+	 *                    buckets
+	 * @param statistic   Whether rollup buckets are read as their average or maximum
+	 * @param consumer    Receives the chunks; chunks of one series arrive in time order
+	 */
+	@Override
+	public void streamMetrics(String projectName, String host, String metric, Instant startTime, Instant endTime,
+			MetricsRollups.Resolution resolution, MetricsRollups.Statistic statistic, SeriesChunkConsumer consumer) {
+		flush();
+
+		boolean rollup = resolution != MetricsRollups.Resolution.RAW;
+		MongoCollection<Document> collection = rollups.collection(resolution);
+		boolean bucketMax = statistic == MetricsRollups.Statistic.MAX;
+		List<String> fields = new ArrayList<>(!rollup ? List.of("timestamp", "value")
+				: bucketMax ? List.of("timestamp", "max") : List.of("timestamp", "sum", "count"));
+		fields.add("metadata.partition");
+		if (host == null) {
+			fields.add("metadata.host");
+		}
+		Bson projection = Projections.fields(Projections.include(fields), Projections.excludeId());
+
+		long intervalMillis = resolution.getInterval().toMillis();
+		long startMillis = rollup ? Math.floorDiv(startTime.toEpochMilli(), intervalMillis) * intervalMillis
+				: startTime.toEpochMilli();
+		long endMillis = (endTime != null ? endTime : Instant.now()).toEpochMilli();
+		Duration chunkWindow = readChunkWindow;
+		long windowMillis = chunkWindow != null ? Math.max(intervalMillis, chunkWindow.toMillis()) : Long.MAX_VALUE;
+		int batchSize = readBatchSize;
+		MetricChunks compressed = chunks;
+		boolean fromCompressedChunks = !rollup && readCompressedChunks && compressed != null
+				&& compressed.covers(startTime);
+
+		Map<String, SeriesChunk> seriesChunks = new LinkedHashMap<>();
+		long windowStart = startMillis;
+		do {
+			// Windows are half-open except for the last, which ends at the requested end
+			long windowEnd = endMillis - windowStart > windowMillis ? windowStart + windowMillis : endMillis;
+			if (fromCompressedChunks) {
+				compressed.read(projectName, host, metric, windowStart, windowEnd == endMillis ? windowEnd : windowEnd - 1,
+						batchSize, (chunkHost, partition, timestamps, values, length) -> {
+							for (int i = 0; i < length; i++) {
+								addToChunk(seriesChunks, consumer, batchSize, chunkHost, partition, timestamps[i],
+										values[i]);
+							}
+						});
+				windowStart = windowEnd;
+				continue;
+			}
+			List<Bson> filters = new ArrayList<>();
+			if (projectName != null) {
+				filters.add(Filters.eq("metadata.projectName", projectName));
+			}
+			if (host != null) {
+				filters.add(Filters.eq("metadata.host", host));
+			}
+			filters.add(Filters.eq("metadata.metric", metric));
+			filters.add(Filters.gte("timestamp", new Date(windowStart)));
+			filters.add(windowEnd == endMillis ? Filters.lte("timestamp", new Date(windowEnd))
+					: Filters.lt("timestamp", new Date(windowEnd)));
+
+			Bson query = Filters.and(filters);
+			if (rollup) {
+				for (Document doc : collection.find(query).projection(projection)
+						.sort(Sorts.ascending("timestamp")).batchSize(batchSize)) {
+					Document metadata = doc.get("metadata", Document.class);
+					addToChunk(seriesChunks, consumer, batchSize, host != null ? host : metadata.getString("host"),
+							metadata != null ? metadata.getString("partition") : null, doc.getDate("timestamp").getTime(),
+							bucketMax ? doc.get("max", Number.class).doubleValue()
+									: doc.get("sum", Number.class).doubleValue() / doc.get("count", Number.class).longValue());
+				}
+			} else {
+				// Raw points are decoded by MetricPointCodec, without a Document per point
+				for (MetricPoint point : metricPoints.find(query).projection(projection)
+						.sort(Sorts.ascending("timestamp")).batchSize(batchSize)) {
+					if (!point.hasValue()) {
+						continue;
+					}
+					MetricPoint.Metadata metadata = point.getMetadata();
+					addToChunk(seriesChunks, consumer, batchSize, host != null ? host : metadata.getHost(),
+							metadata != null ? metadata.getPartition() : null, point.getTimestampMillis(),
+							point.getValue());
+				}
+			}
+			windowStart = windowEnd;
+		} while (windowStart < endMillis);
+
+		for (SeriesChunk chunk : seriesChunks.values()) {
+			chunk.emit(consumer);
+		}
+	}
+
+	private static void addToChunk(Map<String, SeriesChunk> chunks, SeriesChunkConsumer consumer, int batchSize,
+			String host, String partition, long timestampMillis, double value) {
+		SeriesChunk chunk = chunks.computeIfAbsent(partition == null ? host : host + ":" + partition,
+				key -> new SeriesChunk(host, partition, batchSize));
+		chunk.timestamps[chunk.length] = timestampMillis;
+		chunk.values[chunk.length] = value;
+		if (++chunk.length == batchSize) {
+			chunk.emit(consumer);
+		}
+	}
+
+	/**
+	 * Number of documents fetched per round trip by {@link #streamMetrics}, which is also
+	 * the largest chunk handed to its consumer
+	 */
+	public void setReadBatchSize(int readBatchSize) {
+		this.readBatchSize = Math.max(1, readBatchSize);
+	}
+
+	/**
+	 * Split {@link #streamMetrics} queries into consecutive time windows of this length,
+	 * bounding each query's cursor; null reads a range with a single query
+	 */
+	public void setReadChunkWindow(Duration readChunkWindow) {
+		this.readChunkWindow = readChunkWindow;
+	}
+
+	/**
+	 * Whether {@link #streamMetrics} decodes raw ranges from the compressed chunks, when
+	 * enabled, where they cover them; otherwise every point document is read
+	 */
+	public void setReadCompressedChunks(boolean readCompressedChunks) {
+		this.readCompressedChunks = readCompressedChunks;
+	}
+
+	private static final class SeriesChunk {
+		private final String host;
+		private final String partition;
+		private final long[] timestamps;
+		private final double[] values;
+		private int length;
+
+		SeriesChunk(String host, String partition, int size) {
+			this.host = host;
+			this.partition = partition;
+			this.timestamps = new long[size];
+			this.values = new double[size];
+		}
+
+		void emit(SeriesChunkConsumer consumer) {
+			if (length > 0) {
+				consumer.accept(host, partition, timestamps, values, length);
+				length = 0;
+			}
+		}
+	}
+
 	/**
 	 * Get the start time of the earliest available data for the given filters
 	 */
+	@Override
 	public Instant getEarliestDataTime(String projectName, String host, String metric) {
+		flush();
 		List<org.bson.conversions.Bson> filters = new ArrayList<>();
 
 		if (projectName != null) {
@@ -849,7 +1096,9 @@ public class MetricsStorage {
 	/**
 	 * Get the end time of the latest available data for the given filters
 	 */
+	@Override
 	public Instant getLatestDataTime(String projectName, String host, String metric) {
+		flush();
 		List<org.bson.conversions.Bson> filters = new ArrayList<>();
 
 		if (projectName != null) {
@@ -875,9 +1124,67 @@ public class MetricsStorage {
 	}
 
 	/**
-	 * Close the MongoDB client connection
+	 * Also keep the stored points as {@link MetricChunks compressed hourly chunks} and
+	 * read raw ranges from them. The chunks are a copy next to the point documents, so
+	 * this adds storage rather than saving it, and each insert reads and rewrites the
+	 * chunks of its series' hours.
 	 */
+	public synchronized void enableCompressedChunks() {
+		if (chunks == null) {
+			chunks = new MetricChunks(database, collectionName, metricsCollection);
+			logger.info("Compressed metric chunks enabled, complete from {}", chunks.getCoverageStart());
+		}
+	}
+
+	/**
+	 * Buffer inserts across batches and write them in bulk once {@code flushDocuments}
+	 * are buffered or the oldest has waited {@code flushIntervalMillis}. Reads that
+	 * query stored data flush the buffer first.
+	 */
+	public void enableWriteBehind(int flushDocuments, long flushIntervalMillis) {
+		if (writeBehind == null) {
+			writeBehind = new WriteBehindBuffer(metricPoints, timestampTrackerCollection, flushDocuments,
+					flushIntervalMillis, writeBehindTracker);
+			logger.info("Write-behind enabled: flush every {} documents or {}ms", flushDocuments, flushIntervalMillis);
+		}
+	}
+
+	/**
+	 * Write any buffered inserts and tracker updates
+	 */
+	@Override
+	public void flush() {
+		WriteBehindBuffer buffer = writeBehind;
+		if (buffer != null) {
+			buffer.flush();
+		}
+	}
+
+	/**
+	 * Flush counts, batch sizes and latency of the write-behind buffer, or null when it
+	 * is not enabled
+	 */
+	@Override
+	public Map<String, Object> getWriteBehindStats() {
+		WriteBehindBuffer buffer = writeBehind;
+		return buffer != null ? buffer.getStats() : null;
+	}
+
+	/**
+	 * Flush buffered writes and close the MongoDB client connection
+	 */
+	@Override
 	public void close() {
+		TrackerReconciler running = reconciler;
+		if (running != null) {
+			running.cancel();
+		}
+		WriteBehindBuffer buffer = writeBehind;
+		if (buffer != null) {
+			buffer.close();
+			logger.info("Write-behind buffer flushed: {}", buffer.getStats());
+		}
+		saveTrackerSnapshot(buffer);
 		if (mongoClient != null) {
 			mongoClient.close();
 			logger.info("Closed MongoDB connection");
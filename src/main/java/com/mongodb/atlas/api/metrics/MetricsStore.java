@@ -0,0 +1,185 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Storage for collected Atlas metrics, read back for reports, charts and exports.
+ * {@link MetricsStorage} keeps them in a MongoDB time-series collection,
+ * {@link LocalMetricsStore} in local files for running without a mongod.
+ *
+ * Series are identified by project, host (hostname:port), metric and, for disk
+ * metrics, partition.
+ */
+public interface MetricsStore extends AutoCloseable {
+
+	/**
+	 * Store a measurement series. Points without a value and points at or before the
+	 * series' last stored timestamp are skipped.
+	 *
+	 * @param projectName Atlas project name
+	 * @param host        Hostname of the MongoDB instance
+	 * @param port        Port of the MongoDB instance
+	 * @param partition   Optional partition name for disk metrics (can be null)
+	 * @param metric      Metric name
+	 * @param series      Data points of the metric
+	 * @return Number of new points stored
+	 */
+	int storeMetrics(String projectName, String host, int port, String partition, String metric,
+			MeasurementSeries series);
+
+	/**
+	 * Get the latest timestamp stored for a host and metric
+	 *
+	 * @param host   The host identifier (hostname:port)
+	 * @param metric The metric name
+	 * @return The latest timestamp, or EPOCH if no data found
+	 */
+	Instant getLatestTimestampForHostMetric(String host, String metric);
+
+	/**
+	 * Get the latest timestamp stored for a host, partition and metric
+	 *
+	 * @param host      The host identifier (hostname:port)
+	 * @param partition The partition name
+	 * @param metric    The metric name
+	 * @return The latest timestamp, or EPOCH if no data found
+	 */
+	Instant getLatestTimestampForHostPartitionMetric(String host, String partition, String metric);
+
+	/**
+	 * Get the start time of the earliest available data for the given filters, any of
+	 * which can be null; EPOCH if no data exists
+	 */
+	Instant getEarliestDataTime(String projectName, String host, String metric);
+
+	/**
+	 * Get the end time of the latest available data for the given filters, any of which
+	 * can be null; EPOCH if no data exists
+	 */
+	Instant getLatestDataTime(String projectName, String host, String metric);
+
+	/**
+	 * Stream stored metrics in time order per series, without materializing the result;
+	 * rollup buckets are read as their average
+	 *
+	 * @param projectName Optional project name filter (can be null)
+	 * @param host        Optional host filter (can be null)
+	 * @param metric      Metric name
+	 * @param startTime   Start time for the query
+	 * @param endTime     End time for the query (can be null for 'now')
+	 * @param resolution  Resolution to read, see {@link #chooseResolution}
+	 * @param consumer    Receives the chunks; chunks of one series arrive in time order
+	 */
+	default void streamMetrics(String projectName, String host, String metric, Instant startTime, Instant endTime,
+			MetricsRollups.Resolution resolution, SeriesChunkConsumer consumer) {
+		streamMetrics(projectName, host, metric, startTime, endTime, resolution, MetricsRollups.Statistic.AVERAGE,
+				consumer);
+	}
+
+	/**
+	 * Stream stored metrics in time order per series, without materializing the result
+	 *
+	 * @param resolution Resolution to read, see {@link #chooseResolution}
+	 * @param statistic  What rollup buckets are read as; raw points are read as they are
+	 * @see #streamMetrics(String, String, String, Instant, Instant, MetricsRollups.Resolution, SeriesChunkConsumer)
+	 */
+	void streamMetrics(String projectName, String host, String metric, Instant startTime, Instant endTime,
+			MetricsRollups.Resolution resolution, MetricsRollups.Statistic statistic, SeriesChunkConsumer consumer);
+
+	/**
+	 * Pick the resolution to read a time range at, keeping each series within
+	 * {@code maxPointsPerSeries} points where the store has rollups. Stores without
+	 * rollups always read raw points.
+	 */
+	default MetricsRollups.Resolution chooseResolution(Instant startTime, Instant endTime, int maxPointsPerSeries) {
+		return MetricsRollups.Resolution.RAW;
+	}
+
+	/**
+	 * Summarize a project's metric per host and partition: maximum, average, point count
+	 * and when the maximum was measured
+	 *
+	 * @param endTime End time for the query (can be null for 'now')
+	 * @return One summary per host and partition with data in the range
+	 */
+	default List<SeriesSummary> summarizeMetrics(String projectName, String metric, Instant startTime,
+			Instant endTime) {
+		return summarizeMetrics(projectName, metric, startTime, endTime, MetricsRollups.Resolution.RAW);
+	}
+
+	/**
+	 * Summarize a project's metric at a resolution. By default the points are streamed
+	 * and summarized here; stores that can summarize where the data is override this.
+	 */
+	default List<SeriesSummary> summarizeMetrics(String projectName, String metric, Instant startTime,
+			Instant endTime, MetricsRollups.Resolution resolution) {
+		Map<String, double[]> totals = new LinkedHashMap<>(); // max, sum, count, time of max
+		Map<String, String[]> locations = new LinkedHashMap<>();
+		streamMetrics(projectName, null, metric, startTime, endTime, resolution,
+				(host, partition, timestamps, values, length) -> {
+					String key = partition == null ? host : host + ":" + partition;
+					double[] total = totals.computeIfAbsent(key, k -> {
+						locations.put(k, new String[] { host, partition });
+						return new double[] { Double.NEGATIVE_INFINITY, 0, 0, 0 };
+					});
+					for (int i = 0; i < length; i++) {
+						// Latest time of the maximum on ties, as chunks arrive in time order
+						if (values[i] >= total[0]) {
+							total[0] = values[i];
+							total[3] = timestamps[i];
+						}
+						total[1] += values[i];
+						total[2]++;
+					}
+				});
+
+		List<SeriesSummary> summaries = new ArrayList<>();
+		totals.forEach((key, total) -> {
+			String[] location = locations.get(key);
+			summaries.add(new SeriesSummary(location[0], location[1], total[0], total[1] / total[2], (long) total[2],
+					Instant.ofEpochMilli((long) total[3])));
+		});
+		return summaries;
+	}
+
+	/**
+	 * Write any buffered points, so reads see them
+	 */
+	default void flush() {
+	}
+
+	/**
+	 * Flush counts, batch sizes and latency of write buffering, or null when writes are
+	 * not buffered
+	 */
+	default Map<String, Object> getWriteBehindStats() {
+		return null;
+	}
+
+	/**
+	 * Write buffered points and release the store's resources
+	 */
+	@Override
+	void close();
+
+	/**
+	 * Receives the points of one series from {@link #streamMetrics}, a chunk at a time.
+	 * The arrays are reused for later chunks, so copy what needs to be kept.
+	 */
+	@FunctionalInterface
+	interface SeriesChunkConsumer {
+		/**
+		 * @param host       Host of the series (hostname:port)
+		 * @param partition  Partition of the series, or null for system metrics
+		 * @param timestamps Epoch milliseconds of the points, valid up to {@code length}
+		 * @param values     Values of the points, valid up to {@code length}
+		 */
+		void accept(String host, String partition, long[] timestamps, double[] values, int length);
+	}
+}
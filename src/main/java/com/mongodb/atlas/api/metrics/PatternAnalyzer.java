@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.atlas.api.clients.AtlasApiClient;
+import com.mongodb.atlas.api.model.AtlasProcess;
 
 /**
  * Analyzes time series data from MongoDB Atlas metrics to identify patterns
@@ -390,17 +391,16 @@ public class PatternAnalyzer {
         
         try {
             // Get all processes for this project
-            List<Map<String, Object>> processes = apiClient.clusters().getProcesses(projectId);
+            List<AtlasProcess> processes = apiClient.clusters().getAtlasProcesses(projectId);
             logger.info("Analyzing patterns for {} processes in project {}", processes.size(), projectId);
             
-            for (Map<String, Object> process : processes) {
-                String typeName = (String) process.get("typeName");
-                if (typeName.startsWith("SHARD_CONFIG") || typeName.equals("SHARD_MONGOS")) {
+            for (AtlasProcess process : processes) {
+                if (!process.isDataBearing()) {
                     continue; // Skip config servers and mongos instances
                 }
                 
-                String hostname = (String) process.get("hostname");
-                int port = (int) process.get("port");
+                String hostname = process.getHostname();
+                int port = process.getPort();
                 String instanceId = hostname + ":" + port;
                 
                 try {
@@ -10,7 +10,8 @@ import com.mongodb.atlas.api.metrics.PatternAnalyzer.PatternType;
 
 /**
  * Container for project metrics results
- * Stores maximum and average values for each metric in a project
+ * Stores maximum and average values for each metric in a project.
+ * Updates are synchronized since a project's hosts may be collected concurrently.
  */
 public class ProjectMetricsResult {
     
@@ -37,7 +38,7 @@ public class ProjectMetricsResult {
     /**
      * Initialize tracking for a new metric
      */
-    public void initializeMetric(String metric) {
+    public synchronized void initializeMetric(String metric) {
         maxValues.put(metric, Double.MIN_VALUE);
         maxLocations.put(metric, "");
         avgValues.put(metric, 0.0);
@@ -49,7 +50,7 @@ public class ProjectMetricsResult {
     /**
      * Add a measurement value for a metric
      */
-    public void addMeasurement(String metric, double value, String location) {
+    public synchronized void addMeasurement(String metric, double value, String location) {
         // Make sure the metric is initialized
         if (!maxValues.containsKey(metric)) {
             initializeMetric(metric);
@@ -73,7 +74,7 @@ public class ProjectMetricsResult {
      * @param location The location identifier (e.g. hostname:port)
      * @param result The pattern analysis result
      */
-    public void addPatternResult(String metric, String location, PatternResult result) {
+    public synchronized void addPatternResult(String metric, String location, PatternResult result) {
         // Make sure the metric is initialized
         if (!patternResults.containsKey(metric)) {
             patternResults.put(metric, new HashMap<>());
@@ -157,7 +158,7 @@ public class ProjectMetricsResult {
     /**
      * Calculate final averages for all metrics
      */
-    public void calculateAverages() {
+    public synchronized void calculateAverages() {
         for (String metric : maxValues.keySet()) {
             int count = measurementCounts.get(metric);
             if (count > 0) {
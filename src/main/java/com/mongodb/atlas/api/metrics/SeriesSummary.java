@@ -0,0 +1,56 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.time.Instant;
+
+/**
+ * Statistics of one stored series (a host's metric, or one partition of it) over a time
+ * range, computed by the database
+ */
+public class SeriesSummary {
+    private final String host;
+    private final String partition;
+    private final double maxValue;
+    private final double avgValue;
+    private final long count;
+    private final Instant maxTimestamp;
+
+    public SeriesSummary(String host, String partition, double maxValue, double avgValue, long count,
+            Instant maxTimestamp) {
+        this.host = host;
+        this.partition = partition;
+        this.maxValue = maxValue;
+        this.avgValue = avgValue;
+        this.count = count;
+        this.maxTimestamp = maxTimestamp;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the disk partition, or null for system metrics
+     */
+    public String getPartition() {
+        return partition;
+    }
+
+    public double getMaxValue() {
+        return maxValue;
+    }
+
+    public double getAvgValue() {
+        return avgValue;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return when the maximum was measured (the latest time if it was reached more than once)
+     */
+    public Instant getMaxTimestamp() {
+        return maxTimestamp;
+    }
+}
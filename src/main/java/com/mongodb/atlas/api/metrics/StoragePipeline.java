@@ -0,0 +1,281 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Decouples fetching metrics from storing them. Collector threads hand fetched series
+ * to {@link #submit} and go back to the Atlas API while dedicated writer threads drain
+ * a bounded queue into storage, so network and database I/O overlap and a collection
+ * run takes roughly as long as the slower of the two instead of their sum.
+ *
+ * The queue is bounded: when storage falls behind, {@link #submit} blocks until a
+ * writer frees a slot, which slows fetching down to the rate storage can sustain.
+ * {@link #flush()} waits for everything submitted so far and {@link #close()} flushes
+ * and stops the writers.
+ */
+public class StoragePipeline implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(StoragePipeline.class);
+
+	public static final int DEFAULT_WRITERS = 2;
+	public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+	/**
+	 * Stores one series; {@link MetricsStore#storeMetrics} in production
+	 */
+	@FunctionalInterface
+	public interface SeriesWriter {
+		int store(String projectName, String host, int port, String partition, String metric,
+				MeasurementSeries series);
+	}
+
+	private static final class Batch {
+		private final String projectName;
+		private final String host;
+		private final int port;
+		private final String partition;
+		private final String metric;
+		private final MeasurementSeries series;
+		private final CompletableFuture<Integer> stored = new CompletableFuture<>();
+
+		Batch(String projectName, String host, int port, String partition, String metric, MeasurementSeries series) {
+			this.projectName = projectName;
+			this.host = host;
+			this.port = port;
+			this.partition = partition;
+			this.metric = metric;
+			this.series = series;
+		}
+	}
+
+	private static final Batch SHUTDOWN = new Batch(null, null, 0, null, null, null);
+
+	private final SeriesWriter writer;
+	private final BlockingQueue<Batch> queue;
+	private final List<Thread> writerThreads = new ArrayList<>();
+	private volatile boolean closed;
+
+	// Batches submitted but not yet written, for flush()
+	private final Object flushLock = new Object();
+	private int pending;
+
+	// Stage metrics
+	private final long startNanos = System.nanoTime();
+	private final AtomicLong batchesSubmitted = new AtomicLong();
+	private final AtomicLong pointsSubmitted = new AtomicLong();
+	private final AtomicLong backpressureNanos = new AtomicLong();
+	private final AtomicLong backpressureWaits = new AtomicLong();
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+	private final AtomicLong batchesWritten = new AtomicLong();
+	private final AtomicLong batchesFailed = new AtomicLong();
+	private final AtomicLong pointsStored = new AtomicLong();
+	private final AtomicLong writeNanos = new AtomicLong();
+
+	public StoragePipeline(MetricsStore storage, int writers, int queueCapacity) {
+		this(storage::storeMetrics, writers, queueCapacity);
+	}
+
+	/**
+	 * @param writers       number of writer threads draining the queue
+	 * @param queueCapacity number of series that may wait for a writer before
+	 *                      {@link #submit} blocks
+	 */
+	public StoragePipeline(SeriesWriter writer, int writers, int queueCapacity) {
+		this.writer = writer;
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+		for (int i = 1; i <= Math.max(1, writers); i++) {
+			Thread thread = new Thread(this::drain, "metrics-writer-" + i);
+			thread.setDaemon(true);
+			thread.start();
+			writerThreads.add(thread);
+		}
+		logger.debug("Storage pipeline started: writers={}, queueCapacity={}", writerThreads.size(),
+				queue.remainingCapacity());
+	}
+
+	/**
+	 * Queue a series for storage, blocking while the queue is full
+	 *
+	 * @return completes with the number of new data points stored, or exceptionally if
+	 *         the write failed
+	 */
+	public CompletableFuture<Integer> submit(String projectName, String host, int port, String partition,
+			String metric, MeasurementSeries series) {
+		if (closed) {
+			throw new IllegalStateException("Storage pipeline is closed");
+		}
+		Batch batch = new Batch(projectName, host, port, partition, metric, series);
+		synchronized (flushLock) {
+			pending++;
+		}
+		batchesSubmitted.incrementAndGet();
+		pointsSubmitted.addAndGet(series.size());
+
+		if (!queue.offer(batch)) {
+			long waitStart = System.nanoTime();
+			backpressureWaits.incrementAndGet();
+			try {
+				// Managed so a fork-join request executor can compensate for the blocked worker
+				ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+					private boolean queued;
+
+					@Override
+					public boolean block() throws InterruptedException {
+						queue.put(batch);
+						queued = true;
+						return true;
+					}
+
+					@Override
+					public boolean isReleasable() {
+						return queued || (queued = queue.offer(batch));
+					}
+				});
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				completed();
+				batch.stored.completeExceptionally(e);
+				return batch.stored;
+			} finally {
+				backpressureNanos.addAndGet(System.nanoTime() - waitStart);
+			}
+		}
+		maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+		return batch.stored;
+	}
+
+	/**
+	 * Wait until every series submitted so far has been written
+	 */
+	public void flush() {
+		synchronized (flushLock) {
+			while (pending > 0) {
+				try {
+					flushLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Throughput, backpressure and queue depth of the pipeline's stages
+	 */
+	public Map<String, Object> getStats() {
+		double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+		double writeSeconds = writeNanos.get() / 1e9;
+
+		Map<String, Object> fetch = new HashMap<>();
+		fetch.put("batches", batchesSubmitted.get());
+		fetch.put("points", pointsSubmitted.get());
+		fetch.put("pointsPerSecond", elapsedSeconds > 0 ? pointsSubmitted.get() / elapsedSeconds : 0.0);
+		fetch.put("backpressureWaits", backpressureWaits.get());
+		fetch.put("backpressureMs", TimeUnit.NANOSECONDS.toMillis(backpressureNanos.get()));
+
+		Map<String, Object> store = new HashMap<>();
+		store.put("writers", writerThreads.size());
+		store.put("batches", batchesWritten.get());
+		store.put("failedBatches", batchesFailed.get());
+		store.put("pointsStored", pointsStored.get());
+		store.put("writeMs", TimeUnit.NANOSECONDS.toMillis(writeNanos.get()));
+		store.put("batchesPerWriterSecond", writeSeconds > 0 ? batchesWritten.get() / writeSeconds : 0.0);
+
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("fetch", fetch);
+		stats.put("store", store);
+		stats.put("queueDepth", queue.size());
+		stats.put("maxQueueDepth", maxQueueDepth.get());
+		stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+		return stats;
+	}
+
+	/**
+	 * Flush outstanding series and stop the writer threads
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		flush();
+		closed = true;
+		for (int i = 0; i < writerThreads.size(); i++) {
+			try {
+				queue.put(SHUTDOWN);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		for (Thread thread : writerThreads) {
+			try {
+				thread.join(TimeUnit.SECONDS.toMillis(30));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		logger.debug("Storage pipeline closed: {}", getStats());
+	}
+
+	private void drain() {
+		while (true) {
+			Batch batch;
+			try {
+				batch = queue.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			if (batch == SHUTDOWN) {
+				return;
+			}
+
+			long start = System.nanoTime();
+			try {
+				int stored = writer.store(batch.projectName, batch.host, batch.port, batch.partition, batch.metric,
+						batch.series);
+				batchesWritten.incrementAndGet();
+				pointsStored.addAndGet(stored);
+				batch.stored.complete(stored);
+			} catch (Throwable t) {
+				// Errors too, so the batch's future completes and the writer keeps draining
+				batchesFailed.incrementAndGet();
+				logger.error("Failed to store metrics for {}:{} metric {}: {}", batch.host, batch.port, batch.metric,
+						t.toString());
+				batch.stored.completeExceptionally(t);
+			} finally {
+				writeNanos.addAndGet(System.nanoTime() - start);
+				completed();
+			}
+		}
+	}
+
+	private void completed() {
+		synchronized (flushLock) {
+			if (--pending == 0) {
+				flushLock.notifyAll();
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Last stored timestamp per tracker key ({@code host:port:metric[:partition]}) in epoch
+ * milliseconds. Keys are interned and values kept in a primitive open-addressing table,
+ * so the tracker costs two array slots per entry instead of a map entry, a boxed
+ * {@code Instant} and a private copy of every key. Timestamps only ever move forward.
+ *
+ * The tracker can be written to a local snapshot file of sorted keys and timestamps and
+ * reloaded by memory-mapping it, which avoids reading the tracker collection on a warm
+ * start. All methods are synchronized; lookups and updates are far cheaper than the
+ * storage round trips they accompany.
+ */
+public class TimestampTracker {
+
+	/** Returned by {@link #get} for keys that are not tracked */
+	public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+	private static final int SNAPSHOT_MAGIC = 0x41545453; // "ATTS"
+	private static final int SNAPSHOT_VERSION = 1;
+	private static final int SNAPSHOT_HEADER_BYTES = 4 + 4 + 4 + 8;
+	private static final int SNAPSHOT_MIN_ENTRY_BYTES = 2 + 8;
+
+	@FunctionalInterface
+	public interface EntryConsumer {
+		void accept(String key, long timestampMillis);
+	}
+
+	private String[] keys;
+	private long[] values;
+	private int size;
+	private long highWaterMark = NO_TIMESTAMP;
+
+	public TimestampTracker() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedEntries number of entries to size the table for
+	 */
+	public TimestampTracker(int expectedEntries) {
+		int capacity = Integer.highestOneBit(Math.max(8, expectedEntries * 2 - 1)) << 1;
+		keys = new String[capacity];
+		values = new long[capacity];
+	}
+
+	/**
+	 * @return the tracked timestamp, or {@link #NO_TIMESTAMP}
+	 */
+	public synchronized long get(String key) {
+		int slot = slot(key);
+		return keys[slot] != null ? values[slot] : NO_TIMESTAMP;
+	}
+
+	/**
+	 * Move the timestamp of a key forward, adding the key if it is not tracked yet
+	 *
+	 * @return true if the tracked timestamp changed
+	 */
+	public synchronized boolean advance(String key, long timestampMillis) {
+		int slot = slot(key);
+		if (keys[slot] != null) {
+			if (timestampMillis <= values[slot]) {
+				return false;
+			}
+			values[slot] = timestampMillis;
+		} else {
+			keys[slot] = key.intern();
+			values[slot] = timestampMillis;
+			if (++size * 2 > keys.length) {
+				resize();
+			}
+		}
+		highWaterMark = Math.max(highWaterMark, timestampMillis);
+		return true;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return the latest timestamp of any key, or {@link #NO_TIMESTAMP} when empty
+	 */
+	public synchronized long getHighWaterMark() {
+		return highWaterMark;
+	}
+
+	/**
+	 * Visit every entry, in no particular order
+	 */
+	public synchronized void forEach(EntryConsumer consumer) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Atomically replace {@code file} with a snapshot of the tracker: a header with the
+	 * entry count and high-water mark followed by the entries sorted by key
+	 */
+	public void writeSnapshot(Path file) throws IOException {
+		String[] sortedKeys;
+		long[] sortedValues;
+		long snapshotHighWaterMark;
+		synchronized (this) {
+			sortedKeys = new String[size];
+			int n = 0;
+			for (String key : keys) {
+				if (key != null) {
+					sortedKeys[n++] = key;
+				}
+			}
+			Arrays.sort(sortedKeys);
+			sortedValues = new long[size];
+			for (int i = 0; i < size; i++) {
+				sortedValues[i] = values[slot(sortedKeys[i])];
+			}
+			snapshotHighWaterMark = highWaterMark;
+		}
+
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(SNAPSHOT_MAGIC);
+				out.writeInt(SNAPSHOT_VERSION);
+				out.writeInt(sortedKeys.length);
+				out.writeLong(snapshotHighWaterMark);
+				for (int i = 0; i < sortedKeys.length; i++) {
+					byte[] key = sortedKeys[i].getBytes(StandardCharsets.UTF_8);
+					out.writeShort(key.length);
+					out.write(key);
+					out.writeLong(sortedValues[i]);
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Load a snapshot written by {@link #writeSnapshot} by memory-mapping it
+	 *
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 */
+	public static TimestampTracker readSnapshot(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < SNAPSHOT_HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Not a timestamp tracker snapshot: " + file);
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+				throw new IOException("Not a timestamp tracker snapshot: " + file);
+			}
+			int count = buffer.getInt();
+			long highWaterMark = buffer.getLong();
+			// Each entry takes at least its key length and timestamp; checked before sizing
+			// the table for the count
+			if (count < 0 || count > (channel.size() - SNAPSHOT_HEADER_BYTES) / SNAPSHOT_MIN_ENTRY_BYTES) {
+				throw new IOException("Corrupt timestamp tracker snapshot: " + file);
+			}
+
+			TimestampTracker tracker = new TimestampTracker(count);
+			byte[] key = new byte[256];
+			try {
+				for (int i = 0; i < count; i++) {
+					int length = Short.toUnsignedInt(buffer.getShort());
+					if (length > key.length) {
+						key = new byte[length];
+					}
+					buffer.get(key, 0, length);
+					tracker.advance(new String(key, 0, length, StandardCharsets.UTF_8), buffer.getLong());
+				}
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Truncated timestamp tracker snapshot: " + file, e);
+			}
+			if (buffer.hasRemaining() || tracker.size() != count || tracker.getHighWaterMark() != highWaterMark) {
+				throw new IOException("Corrupt timestamp tracker snapshot: " + file);
+			}
+			return tracker;
+		}
+	}
+
+	private int slot(String key) {
+		int mask = keys.length - 1;
+		int h = key.hashCode();
+		int slot = (h ^ (h >>> 16)) & mask;
+		while (keys[slot] != null && !keys[slot].equals(key)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void resize() {
+		String[] oldKeys = keys;
+		long[] oldValues = values;
+		keys = new String[oldKeys.length * 2];
+		values = new long[oldValues.length * 2];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+}
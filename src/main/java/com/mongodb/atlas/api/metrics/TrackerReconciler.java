@@ -0,0 +1,235 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Rebuilds timestamp tracker entries from the metrics collection. The tracker is kept
+ * current by every write, so this is only needed after data was written around the
+ * storage (imports, restores, an older version of this tool) and is run on request
+ * instead of at startup.
+ *
+ * Only data newer than a time window is scanned, one host per task with several hosts
+ * in parallel, using one aggregation per host. Tracker entries only ever move forward.
+ * Progress is recorded per host in a job document, so an interrupted reconciliation
+ * picks up where it stopped when started again with the same window.
+ */
+public class TrackerReconciler {
+
+	private static final Logger logger = LoggerFactory.getLogger(TrackerReconciler.class);
+
+	private static final String JOB_ID = "current";
+
+	private final MongoCollection<Document> metricsCollection;
+	private final MongoCollection<Document> trackerCollection;
+	private final MongoCollection<Document> jobCollection;
+	private final TimestampTracker tracker;
+	private final Duration window;
+	private final int parallelism;
+
+	private volatile boolean cancelled;
+	private volatile ExecutorService workers;
+
+	/**
+	 * @param jobCollection records reconciliation progress for resuming
+	 * @param tracker       in-memory tracker to advance along with the tracker collection
+	 * @param window        only data newer than this is scanned
+	 * @param parallelism   hosts scanned at the same time
+	 */
+	public TrackerReconciler(MongoCollection<Document> metricsCollection, MongoCollection<Document> trackerCollection,
+			MongoCollection<Document> jobCollection, TimestampTracker tracker, Duration window, int parallelism) {
+		this.metricsCollection = metricsCollection;
+		this.trackerCollection = trackerCollection;
+		this.jobCollection = jobCollection;
+		this.tracker = tracker;
+		this.window = window;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Run the reconciliation on a background thread
+	 *
+	 * @return completes with the number of tracker entries created or advanced
+	 */
+	public CompletableFuture<Integer> start() {
+		CompletableFuture<Integer> result = new CompletableFuture<>();
+		Thread thread = new Thread(() -> {
+			try {
+				result.complete(run());
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			}
+		}, "tracker-reconcile");
+		thread.setDaemon(true);
+		thread.start();
+		return result;
+	}
+
+	/**
+	 * Stop after the hosts in progress; completed hosts stay recorded for resuming
+	 */
+	public void cancel() {
+		cancelled = true;
+		ExecutorService running = workers;
+		if (running != null) {
+			running.shutdown();
+		}
+	}
+
+	/**
+	 * Run the reconciliation on the calling thread
+	 *
+	 * @return the number of tracker entries created or advanced
+	 */
+	public int run() throws InterruptedException {
+		Document job = resumeOrStartJob();
+		Instant since = job.getDate("since").toInstant();
+		Set<String> completedHosts = new HashSet<>(job.getList("completedHosts", String.class, new ArrayList<>()));
+
+		List<String> hosts = metricsCollection
+				.distinct("metadata.host", Filters.gte("timestamp", Date.from(since)), String.class)
+				.into(new ArrayList<>());
+		hosts.removeAll(completedHosts);
+		logger.info("Reconciling timestamp tracker for data since {}: {} hosts to scan ({} already done), {} in parallel",
+				since, hosts.size(), completedHosts.size(), parallelism);
+
+		long startTime = System.currentTimeMillis();
+		AtomicInteger scannedHosts = new AtomicInteger();
+		List<Callable<Integer>> tasks = new ArrayList<>(hosts.size());
+		for (String host : hosts) {
+			tasks.add(() -> {
+				if (cancelled) {
+					return 0;
+				}
+				int updated = reconcileHost(host, since);
+				jobCollection.updateOne(Filters.eq("_id", JOB_ID), Updates.addToSet("completedHosts", host));
+				int done = scannedHosts.incrementAndGet();
+				if (done % 25 == 0 || done == hosts.size()) {
+					logger.info("Tracker reconciliation progress: {}/{} hosts", done, hosts.size());
+				}
+				return updated;
+			});
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, hosts.size())), runnable -> {
+			Thread thread = new Thread(runnable, "tracker-reconcile-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		workers = pool;
+		int updatedEntries = 0;
+		try {
+			for (Future<Integer> future : pool.invokeAll(tasks)) {
+				try {
+					updatedEntries += future.get();
+				} catch (ExecutionException e) {
+					logger.error("Tracker reconciliation of a host failed: {}", e.getCause().getMessage());
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+			workers = null;
+		}
+
+		if (!cancelled && scannedHosts.get() == hosts.size()) {
+			jobCollection.updateOne(Filters.eq("_id", JOB_ID), Updates.set("completedAt", new Date()));
+			logger.info("Tracker reconciliation complete: {} entries updated from {} hosts in {}ms", updatedEntries,
+					hosts.size(), System.currentTimeMillis() - startTime);
+		} else {
+			logger.info("Tracker reconciliation stopped after {}/{} hosts; run it again to resume",
+					scannedHosts.get(), hosts.size());
+		}
+		return updatedEntries;
+	}
+
+	/**
+	 * Continue an unfinished job for the same window, or record a new one
+	 */
+	private Document resumeOrStartJob() {
+		Document job = jobCollection.find(Filters.eq("_id", JOB_ID)).first();
+		if (job != null && job.getDate("completedAt") == null && window.toString().equals(job.getString("window"))) {
+			logger.info("Resuming tracker reconciliation started at {}", job.getDate("startedAt"));
+			return job;
+		}
+
+		job = new Document("_id", JOB_ID)
+				.append("window", window.toString())
+				.append("since", Date.from(Instant.now().minus(window)))
+				.append("startedAt", new Date())
+				.append("completedHosts", new ArrayList<String>())
+				.append("completedAt", null);
+		jobCollection.replaceOne(Filters.eq("_id", JOB_ID), job, new ReplaceOptions().upsert(true));
+		return job;
+	}
+
+	/**
+	 * Advance the tracker entries of one host's metrics and partitions to the latest
+	 * stored timestamp
+	 */
+	private int reconcileHost(String host, Instant since) {
+		List<Bson> pipeline = List.of(
+				Aggregates.match(Filters.and(Filters.eq("metadata.host", host), Filters.gte("timestamp", Date.from(since)))),
+				Aggregates.group(new Document("metric", "$metadata.metric").append("partition", "$metadata.partition"),
+						Accumulators.max("lastTimestamp", "$timestamp")));
+
+		List<WriteModel<Document>> updates = new ArrayList<>();
+		List<String> keys = new ArrayList<>();
+		List<Date> timestamps = new ArrayList<>();
+		for (Document latest : metricsCollection.aggregate(pipeline)) {
+			Document id = latest.get("_id", Document.class);
+			String metric = id.getString("metric");
+			String partition = id.getString("partition");
+			Date lastTimestamp = latest.getDate("lastTimestamp");
+			if (metric == null || lastTimestamp == null) {
+				continue;
+			}
+
+			String key = host + ":" + metric + (partition != null ? ":" + partition : "");
+			keys.add(key);
+			timestamps.add(lastTimestamp);
+			updates.add(new UpdateOneModel<>(Filters.eq("_id", key),
+					MetricsStorage.trackerUpdate(host, metric, partition, lastTimestamp), new UpdateOptions().upsert(true)));
+		}
+
+		if (!updates.isEmpty()) {
+			trackerCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+		}
+
+		// Only after the write, so the in-memory tracker never gets ahead of the collection
+		int advanced = 0;
+		for (int i = 0; i < keys.size(); i++) {
+			if (tracker.advance(keys.get(i), timestamps.get(i).getTime())) {
+				advanced++;
+			}
+		}
+		return advanced;
+	}
+}
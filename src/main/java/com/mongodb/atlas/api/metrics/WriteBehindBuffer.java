@@ -0,0 +1,307 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+import com.mongodb.atlas.api.http.LatencyHistogram;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Write-behind buffer for metric inserts. Documents from many host/metric batches are
+ * accumulated and written together once enough are buffered or the oldest has waited
+ * long enough, in unordered inserts kept under the server's 100,000 operation and
+ * 16 MB message limits. Timestamp tracker updates of a flush are coalesced per key into
+ * a single {@code bulkWrite}, written only after the inserts succeeded so the tracker
+ * never points past data that was not stored. The {@link FlushListener} learns which
+ * tracker keys a flush advanced, or failed to.
+ *
+ * {@link #close()} and a JVM shutdown hook flush what is left with a journaled majority
+ * write concern.
+ */
+public class WriteBehindBuffer implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+	public static final int DEFAULT_FLUSH_DOCUMENTS = 5_000;
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+
+	// Server limits for a single write command
+	static final int MAX_BATCH_COUNT = 100_000;
+	static final int MAX_BATCH_BYTES = 16 * 1024 * 1024;
+
+	private final MongoCollection<MetricPoint> metricsCollection;
+	private final MongoCollection<Document> trackerCollection;
+	private final int flushDocuments;
+	private final long flushIntervalNanos;
+	private final FlushListener listener;
+
+	// Buffered writes, swapped out as a whole by each flush
+	private final Object bufferLock = new Object();
+	private List<MetricPoint> documents = new ArrayList<>();
+	private Map<String, Bson> trackerUpdates = new LinkedHashMap<>();
+	private Map<String, Long> trackedMillis = new HashMap<>();
+	private long oldestBufferedNanos;
+
+	// Flushes are serialized so tracker updates never overtake the inserts they describe
+	private final Object flushLock = new Object();
+	private final ScheduledExecutorService scheduler;
+	private final Thread shutdownHook;
+	private volatile boolean closed;
+
+	private final AtomicLong flushes = new AtomicLong();
+	private final AtomicLong failedFlushes = new AtomicLong();
+	private final AtomicLong documentsFlushed = new AtomicLong();
+	private final AtomicLong trackerUpdatesFlushed = new AtomicLong();
+	private final AtomicLong insertBatches = new AtomicLong();
+	private final AtomicLong maxFlushDocuments = new AtomicLong();
+	private final LatencyHistogram flushLatency = new LatencyHistogram();
+
+	/**
+	 * Outcome of each flush, called on the flushing thread
+	 */
+	public interface FlushListener {
+		/**
+		 * The documents and tracker updates of a flush were written
+		 *
+		 * @param trackedMillis the timestamp each tracker key was advanced to
+		 */
+		void flushed(List<MetricPoint> documents, Map<String, Long> trackedMillis);
+
+		/**
+		 * A flush failed; any, all or none of its documents may have been written, its
+		 * tracker updates were not
+		 *
+		 * @param trackedMillis the timestamp each tracker key would have been advanced to
+		 */
+		void failed(List<MetricPoint> documents, Map<String, Long> trackedMillis);
+	}
+
+	public WriteBehindBuffer(MongoCollection<MetricPoint> metricsCollection,
+			MongoCollection<Document> trackerCollection, int flushDocuments, long flushIntervalMillis) {
+		this(metricsCollection, trackerCollection, flushDocuments, flushIntervalMillis, new FlushListener() {
+			@Override
+			public void flushed(List<MetricPoint> documents, Map<String, Long> trackedMillis) {
+			}
+
+			@Override
+			public void failed(List<MetricPoint> documents, Map<String, Long> trackedMillis) {
+			}
+		});
+	}
+
+	/**
+	 * @param flushDocuments      flush once this many documents are buffered
+	 * @param flushIntervalMillis flush documents that have been buffered this long
+	 * @param listener            told about each flush that succeeded or failed
+	 */
+	public WriteBehindBuffer(MongoCollection<MetricPoint> metricsCollection,
+			MongoCollection<Document> trackerCollection, int flushDocuments, long flushIntervalMillis,
+			FlushListener listener) {
+		this.listener = listener;
+		this.metricsCollection = metricsCollection;
+		this.trackerCollection = trackerCollection;
+		this.flushDocuments = Math.max(1, flushDocuments);
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long checkMillis = Math.max(1, flushIntervalMillis / 2);
+		scheduler.scheduleWithFixedDelay(this::flushIfDue, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+		this.shutdownHook = new Thread(this::flushDurably, "metrics-write-behind-shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/**
+	 * Buffer the new documents of one host/metric batch along with the tracker update
+	 * that advances past them to {@code trackerMillis}, flushing on the calling thread
+	 * when the buffer is full
+	 */
+	public void add(List<MetricPoint> batch, String trackerKey, long trackerMillis, Bson trackerUpdate) {
+		if (closed) {
+			throw new IllegalStateException("Write-behind buffer is closed");
+		}
+		boolean full;
+		synchronized (bufferLock) {
+			if (documents.isEmpty()) {
+				oldestBufferedNanos = System.nanoTime();
+			}
+			documents.addAll(batch);
+			trackerUpdates.put(trackerKey, trackerUpdate);
+			trackedMillis.merge(trackerKey, trackerMillis, Math::max);
+			full = documents.size() >= flushDocuments;
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	/**
+	 * Write everything buffered so far
+	 */
+	public void flush() {
+		flush(WriteConcern.ACKNOWLEDGED);
+	}
+
+	/**
+	 * Number of flushes whose writes failed and were dropped
+	 */
+	public long getFailedFlushes() {
+		return failedFlushes.get();
+	}
+
+	public int getBufferedDocuments() {
+		synchronized (bufferLock) {
+			return documents.size();
+		}
+	}
+
+	/**
+	 * Flush counts, batch sizes and flush latency
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("flushes", flushes.get());
+		stats.put("failedFlushes", failedFlushes.get());
+		stats.put("documentsFlushed", documentsFlushed.get());
+		stats.put("trackerUpdatesFlushed", trackerUpdatesFlushed.get());
+		stats.put("insertBatches", insertBatches.get());
+		stats.put("maxFlushDocuments", maxFlushDocuments.get());
+		long flushCount = flushes.get();
+		stats.put("avgFlushDocuments", flushCount > 0 ? (double) documentsFlushed.get() / flushCount : 0.0);
+		stats.put("bufferedDocuments", getBufferedDocuments());
+		stats.put("flushLatency", flushLatency.toMap());
+		return stats;
+	}
+
+	/**
+	 * Stop the flush timer and durably write what is left
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		scheduler.shutdownNow();
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException e) {
+			// Already shutting down; the hook flushes as well
+		}
+		flushDurably();
+	}
+
+	private void flushIfDue() {
+		boolean due;
+		synchronized (bufferLock) {
+			due = !documents.isEmpty() && System.nanoTime() - oldestBufferedNanos >= flushIntervalNanos;
+		}
+		if (due) {
+			flush();
+		}
+	}
+
+	private void flushDurably() {
+		flush(WriteConcern.MAJORITY.withJournal(true));
+	}
+
+	private void flush(WriteConcern writeConcern) {
+		synchronized (flushLock) {
+			List<MetricPoint> toInsert;
+			Map<String, Bson> toTrack;
+			Map<String, Long> toTrackMillis;
+			synchronized (bufferLock) {
+				if (documents.isEmpty() && trackerUpdates.isEmpty()) {
+					return;
+				}
+				toInsert = documents;
+				toTrack = trackerUpdates;
+				toTrackMillis = trackedMillis;
+				documents = new ArrayList<>();
+				trackerUpdates = new LinkedHashMap<>();
+				trackedMillis = new HashMap<>();
+			}
+
+			long start = System.nanoTime();
+			try {
+				insertInBatches(metricsCollection.withWriteConcern(writeConcern), toInsert);
+
+				if (!toTrack.isEmpty()) {
+					List<WriteModel<Document>> updates = new ArrayList<>(toTrack.size());
+					UpdateOptions upsert = new UpdateOptions().upsert(true);
+					for (Map.Entry<String, Bson> update : toTrack.entrySet()) {
+						updates.add(new UpdateOneModel<>(Filters.eq("_id", update.getKey()), update.getValue(), upsert));
+					}
+					trackerCollection.withWriteConcern(writeConcern).bulkWrite(updates,
+							new BulkWriteOptions().ordered(false));
+				}
+
+				listener.flushed(toInsert, toTrackMillis);
+
+				flushes.incrementAndGet();
+				documentsFlushed.addAndGet(toInsert.size());
+				trackerUpdatesFlushed.addAndGet(toTrack.size());
+				maxFlushDocuments.accumulateAndGet(toInsert.size(), Math::max);
+				logger.debug("Flushed {} documents and {} tracker updates in {}ms", toInsert.size(), toTrack.size(),
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			} catch (MongoException e) {
+				// Tracker updates are dropped with the failed inserts; once the listener has
+				// moved its tracker back, the next collection re-fetches the range and
+				// stores whatever is missing
+				failedFlushes.incrementAndGet();
+				logger.error("Failed to flush {} buffered metric documents: {}", toInsert.size(), e.getMessage());
+				listener.failed(toInsert, toTrackMillis);
+			} finally {
+				flushLatency.recordNanos(System.nanoTime() - start);
+			}
+		}
+	}
+
+	private void insertInBatches(MongoCollection<MetricPoint> collection, List<MetricPoint> toInsert) {
+		if (toInsert.isEmpty()) {
+			return;
+		}
+		// Metric documents all have the same shape; size batches from a sample
+		int sampleBytes = new RawBsonDocument(toInsert.get(0), new MetricPointCodec()).getByteBuffer().remaining();
+		int batchSize = insertBatchSize(sampleBytes);
+
+		InsertManyOptions unordered = new InsertManyOptions().ordered(false);
+		for (int from = 0; from < toInsert.size(); from += batchSize) {
+			collection.insertMany(toInsert.subList(from, Math.min(toInsert.size(), from + batchSize)), unordered);
+			insertBatches.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Documents per insert for documents of about {@code sampleBytes}, within both server
+	 * limits with twice the sample's size as headroom for longer metadata
+	 */
+	static int insertBatchSize(int sampleBytes) {
+		return Math.max(1, Math.min(MAX_BATCH_COUNT, MAX_BATCH_BYTES / (2 * sampleBytes)));
+	}
+}
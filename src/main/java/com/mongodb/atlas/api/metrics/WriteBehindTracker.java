@@ -0,0 +1,75 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Timestamp tracking of the inserts buffered by a {@link WriteBehindBuffer}. The latest
+ * timestamp of each tracker key accepted into the buffer is kept apart from the
+ * {@link TimestampTracker}, which only advances once a flush wrote the points. A failed
+ * flush forgets them, so the next collection fetches their range again.
+ */
+class WriteBehindTracker implements WriteBehindBuffer.FlushListener {
+
+	private final TimestampTracker tracker;
+	private final Consumer<List<MetricPoint>> afterInsert;
+	private final Runnable invalidateDerivedCoverage;
+
+	// Latest timestamp per tracker key accepted into the buffer but not flushed yet
+	private final Map<String, Long> bufferedTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * @param tracker                   advanced past the points of each flush
+	 * @param afterInsert               called with the points of each flush
+	 * @param invalidateDerivedCoverage called after a failed flush, whose points may
+	 *                                  be partly stored without what is derived from them
+	 */
+	WriteBehindTracker(TimestampTracker tracker, Consumer<List<MetricPoint>> afterInsert,
+			Runnable invalidateDerivedCoverage) {
+		this.tracker = tracker;
+		this.afterInsert = afterInsert;
+		this.invalidateDerivedCoverage = invalidateDerivedCoverage;
+	}
+
+	/**
+	 * Points of a tracker key up to {@code millis} were accepted into the buffer
+	 */
+	void buffered(String key, long millis) {
+		bufferedTimestamps.merge(key, millis, Math::max);
+	}
+
+	/**
+	 * @return the latest timestamp of a key accepted into the buffer but not flushed
+	 *         yet, or {@link TimestampTracker#NO_TIMESTAMP}
+	 */
+	long getBuffered(String key) {
+		return bufferedTimestamps.getOrDefault(key, TimestampTracker.NO_TIMESTAMP);
+	}
+
+	/**
+	 * The points of a flush are stored: advance the tracker past them
+	 */
+	@Override
+	public void flushed(List<MetricPoint> documents, Map<String, Long> trackedMillis) {
+		trackedMillis.forEach((key, millis) -> {
+			tracker.advance(key, millis);
+			// Unless a later batch of the key was buffered meanwhile
+			bufferedTimestamps.remove(key, millis);
+		});
+		afterInsert.accept(documents);
+	}
+
+	/**
+	 * The points of a flush may be lost: forget them, so the next collection fetches
+	 * their range again. Those that were stored have no rollups or chunks.
+	 */
+	@Override
+	public void failed(List<MetricPoint> documents, Map<String, Long> trackedMillis) {
+		trackedMillis.forEach(bufferedTimestamps::remove);
+		if (!documents.isEmpty()) {
+			invalidateDerivedCoverage.run();
+		}
+	}
+}
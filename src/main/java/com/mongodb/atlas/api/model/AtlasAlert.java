@@ -0,0 +1,182 @@
+package com.mongodb.atlas.api.model;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable view of an Atlas alert
+ *
+ * Status, event type and metric names come from small fixed vocabularies and are
+ * interned. Timestamps are decoded once to {@link Instant}, so sorting and filtering
+ * alerts does not re-parse strings.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AtlasAlert {
+
+    /**
+     * The {@code currentValue} of a metric alert
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class CurrentValue {
+
+        private final double number;
+        private final String units;
+
+        @JsonCreator
+        public CurrentValue(@JsonProperty("number") double number, @JsonProperty("units") String units) {
+            this.number = number;
+            this.units = units != null ? units.intern() : null;
+        }
+
+        public double getNumber() {
+            return number;
+        }
+
+        public String getUnits() {
+            return units;
+        }
+    }
+
+    private final String id;
+    private final String groupId;
+    private final String alertConfigId;
+    private final String eventTypeName;
+    private final String status;
+    private final String metricName;
+    private final String clusterName;
+    private final String hostnameAndPort;
+    private final String replicaSetName;
+    private final CurrentValue currentValue;
+    private final Instant created;
+    private final Instant updated;
+    private final Instant resolved;
+    private final Instant acknowledgedUntil;
+    private final String acknowledgingUsername;
+    private final String acknowledgementComment;
+
+    @JsonCreator
+    public AtlasAlert(@JsonProperty("id") String id,
+                      @JsonProperty("groupId") String groupId,
+                      @JsonProperty("alertConfigId") String alertConfigId,
+                      @JsonProperty("eventTypeName") String eventTypeName,
+                      @JsonProperty("status") String status,
+                      @JsonProperty("metricName") String metricName,
+                      @JsonProperty("clusterName") String clusterName,
+                      @JsonProperty("hostnameAndPort") String hostnameAndPort,
+                      @JsonProperty("replicaSetName") String replicaSetName,
+                      @JsonProperty("currentValue") CurrentValue currentValue,
+                      @JsonProperty("created") String created,
+                      @JsonProperty("updated") String updated,
+                      @JsonProperty("resolved") String resolved,
+                      @JsonProperty("acknowledgedUntil") String acknowledgedUntil,
+                      @JsonProperty("acknowledgingUsername") String acknowledgingUsername,
+                      @JsonProperty("acknowledgementComment") String acknowledgementComment) {
+        this.id = id;
+        this.groupId = groupId;
+        this.alertConfigId = alertConfigId;
+        this.eventTypeName = eventTypeName != null ? eventTypeName.intern() : null;
+        this.status = status != null ? status.intern() : null;
+        this.metricName = metricName != null ? metricName.intern() : null;
+        this.clusterName = clusterName;
+        this.hostnameAndPort = hostnameAndPort;
+        this.replicaSetName = replicaSetName;
+        this.currentValue = currentValue;
+        this.created = parseInstant(created);
+        this.updated = parseInstant(updated);
+        this.resolved = parseInstant(resolved);
+        this.acknowledgedUntil = parseInstant(acknowledgedUntil);
+        this.acknowledgingUsername = acknowledgingUsername;
+        this.acknowledgementComment = acknowledgementComment;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getAlertConfigId() {
+        return alertConfigId;
+    }
+
+    public String getEventTypeName() {
+        return eventTypeName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isOpen() {
+        return "OPEN".equals(status);
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public String getHostnameAndPort() {
+        return hostnameAndPort;
+    }
+
+    public String getReplicaSetName() {
+        return replicaSetName;
+    }
+
+    /**
+     * @return the current metric value, or null for non-metric alerts
+     */
+    public CurrentValue getCurrentValue() {
+        return currentValue;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public Instant getUpdated() {
+        return updated;
+    }
+
+    public Instant getResolved() {
+        return resolved;
+    }
+
+    public Instant getAcknowledgedUntil() {
+        return acknowledgedUntil;
+    }
+
+    public String getAcknowledgingUsername() {
+        return acknowledgingUsername;
+    }
+
+    public String getAcknowledgementComment() {
+        return acknowledgementComment;
+    }
+
+    @Override
+    public String toString() {
+        return "AtlasAlert{id=" + id + ", eventTypeName=" + eventTypeName + ", status=" + status + "}";
+    }
+
+    private static Instant parseInstant(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
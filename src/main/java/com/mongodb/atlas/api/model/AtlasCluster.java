@@ -0,0 +1,77 @@
+package com.mongodb.atlas.api.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable summary of an Atlas dedicated cluster
+ *
+ * Only the fields needed to list, select and monitor clusters are kept; use the
+ * Map-returning client methods when the full cluster description is required.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AtlasCluster {
+
+    private final String id;
+    private final String groupId;
+    private final String name;
+    private final String clusterType;
+    private final String stateName;
+    private final String mongoDBVersion;
+    private final boolean paused;
+
+    @JsonCreator
+    public AtlasCluster(@JsonProperty("id") String id,
+                        @JsonProperty("groupId") String groupId,
+                        @JsonProperty("name") String name,
+                        @JsonProperty("clusterType") String clusterType,
+                        @JsonProperty("stateName") String stateName,
+                        @JsonProperty("mongoDBVersion") String mongoDBVersion,
+                        @JsonProperty("paused") boolean paused) {
+        this.id = id;
+        this.groupId = groupId;
+        this.name = name;
+        this.clusterType = clusterType != null ? clusterType.intern() : null;
+        this.stateName = stateName != null ? stateName.intern() : null;
+        this.mongoDBVersion = mongoDBVersion;
+        this.paused = paused;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getClusterType() {
+        return clusterType;
+    }
+
+    public String getStateName() {
+        return stateName;
+    }
+
+    public String getMongoDBVersion() {
+        return mongoDBVersion;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isSharded() {
+        return "SHARDED".equals(clusterType) || "GEOSHARDED".equals(clusterType);
+    }
+
+    @Override
+    public String toString() {
+        return "AtlasCluster{name=" + name + ", stateName=" + stateName + "}";
+    }
+}
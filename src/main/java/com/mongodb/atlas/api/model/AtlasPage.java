@@ -0,0 +1,36 @@
+package com.mongodb.atlas.api.model;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One page of a paginated Atlas list response, with the results decoded to {@code T}
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AtlasPage<T> {
+
+    private final List<T> results;
+    private final Integer totalCount;
+
+    @JsonCreator
+    public AtlasPage(@JsonProperty("results") List<T> results,
+                     @JsonProperty("totalCount") Integer totalCount) {
+        this.results = results != null ? results : Collections.emptyList();
+        this.totalCount = totalCount;
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * @return the total result count across all pages, or null if Atlas did not report it
+     */
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+}
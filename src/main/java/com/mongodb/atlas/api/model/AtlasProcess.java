@@ -0,0 +1,108 @@
+package com.mongodb.atlas.api.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable view of an Atlas process (a mongod or mongos host)
+ *
+ * {@code typeName} is interned, so the handful of distinct values Atlas returns are
+ * shared by every process object rather than held once per host.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class AtlasProcess {
+
+    public static final String SHARD_MONGOS = "SHARD_MONGOS";
+    private static final String SHARD_CONFIG_PREFIX = "SHARD_CONFIG";
+
+    private final String id;
+    private final String groupId;
+    private final String hostname;
+    private final int port;
+    private final String typeName;
+    private final String replicaSetName;
+    private final String shardName;
+    private final String userAlias;
+    private final String version;
+
+    @JsonCreator
+    public AtlasProcess(@JsonProperty("id") String id,
+                        @JsonProperty("groupId") String groupId,
+                        @JsonProperty("hostname") String hostname,
+                        @JsonProperty("port") int port,
+                        @JsonProperty("typeName") String typeName,
+                        @JsonProperty("replicaSetName") String replicaSetName,
+                        @JsonProperty("shardName") String shardName,
+                        @JsonProperty("userAlias") String userAlias,
+                        @JsonProperty("version") String version) {
+        this.id = id != null ? id : hostname + ":" + port;
+        this.groupId = groupId;
+        this.hostname = hostname;
+        this.port = port;
+        this.typeName = typeName != null ? typeName.intern() : null;
+        this.replicaSetName = replicaSetName;
+        this.shardName = shardName;
+        this.userAlias = userAlias;
+        this.version = version;
+    }
+
+    /**
+     * @return the process ID, {@code hostname:port}
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getHostname() {
+        return hostname;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public String getReplicaSetName() {
+        return replicaSetName;
+    }
+
+    public String getShardName() {
+        return shardName;
+    }
+
+    public String getUserAlias() {
+        return userAlias;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public boolean isConfigServer() {
+        return typeName != null && typeName.startsWith(SHARD_CONFIG_PREFIX);
+    }
+
+    public boolean isMongos() {
+        return SHARD_MONGOS.equals(typeName);
+    }
+
+    /**
+     * Whether this is a data-bearing mongod, i.e. neither a config server nor a mongos
+     */
+    public boolean isDataBearing() {
+        return !isConfigServer() && !isMongos();
+    }
+
+    @Override
+    public String toString() {
+        return "AtlasProcess{id=" + id + ", typeName=" + typeName + "}";
+    }
+}
@@ -0,0 +1,196 @@
+package com.mongodb.atlas.api.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Compact time series for a single Atlas metric.
+ *
+ * Data points are held as two parallel primitive arrays: epoch milliseconds and values.
+ * A null value reported by Atlas is stored as {@link Double#NaN}. Compared with the
+ * {@code List<Map<String, Object>>} representation of a measurements response, a series
+ * needs no per-point objects at all, which matters for minute-granularity pulls spanning
+ * days and hundreds of hosts.
+ */
+public final class MeasurementSeries {
+
+    private static final long[] NO_TIMESTAMPS = new long[0];
+    private static final double[] NO_VALUES = new double[0];
+
+    private final String name;
+    private final String units;
+    private final long[] timestamps;
+    private final double[] values;
+
+    private MeasurementSeries(String name, String units, long[] timestamps, double[] values) {
+        this.name = name;
+        this.units = units;
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    public static MeasurementSeries of(String name, String units, long[] timestamps, double[] values) {
+        if (timestamps.length != values.length) {
+            throw new IllegalArgumentException("timestamps and values must have the same length");
+        }
+        return new MeasurementSeries(internName(name), units, timestamps.clone(), values.clone());
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnits() {
+        return units;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public boolean isEmpty() {
+        return timestamps.length == 0;
+    }
+
+    public long getTimestampMillis(int index) {
+        return timestamps[index];
+    }
+
+    public Instant getTimestamp(int index) {
+        return Instant.ofEpochMilli(timestamps[index]);
+    }
+
+    /**
+     * @return the value at {@code index}, or NaN if Atlas reported no value
+     */
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    public boolean hasValue(int index) {
+        return !Double.isNaN(values[index]);
+    }
+
+    public long getFirstTimestampMillis() {
+        return timestamps[0];
+    }
+
+    public long getLastTimestampMillis() {
+        return timestamps[timestamps.length - 1];
+    }
+
+    /**
+     * Copy of the timestamps in epoch milliseconds
+     */
+    public long[] getTimestamps() {
+        return timestamps.clone();
+    }
+
+    /**
+     * Copy of the values, NaN where Atlas reported no value
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * Whether every timestamp is strictly greater than the one before it, i.e. the
+     * series is sorted and contains no duplicate timestamps
+     */
+    public boolean isStrictlyIncreasing() {
+        for (int i = 1; i < timestamps.length; i++) {
+            if (timestamps[i] <= timestamps[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Append the data points of a later page of the same metric
+     */
+    public MeasurementSeries concat(MeasurementSeries next) {
+        if (next.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return new MeasurementSeries(name, units != null ? units : next.units, next.timestamps, next.values);
+        }
+        long[] t = Arrays.copyOf(timestamps, timestamps.length + next.timestamps.length);
+        double[] v = Arrays.copyOf(values, values.length + next.values.length);
+        System.arraycopy(next.timestamps, 0, t, timestamps.length, next.timestamps.length);
+        System.arraycopy(next.values, 0, v, values.length, next.values.length);
+        return new MeasurementSeries(name, units, t, v);
+    }
+
+    @Override
+    public String toString() {
+        return "MeasurementSeries{name=" + name + ", units=" + units + ", size=" + size() + "}";
+    }
+
+    /**
+     * Metric names repeat across every host and page, so share a single instance
+     */
+    static String internName(String name) {
+        return name != null ? name.intern() : null;
+    }
+
+    /**
+     * Growable builder used while decoding a response
+     */
+    public static final class Builder {
+
+        private String name;
+        private String units;
+        private long[] timestamps = NO_TIMESTAMPS;
+        private double[] values = NO_VALUES;
+        private int size;
+
+        private Builder(String name) {
+            this.name = internName(name);
+        }
+
+        public Builder name(String name) {
+            this.name = internName(name);
+            return this;
+        }
+
+        public Builder units(String units) {
+            this.units = units;
+            return this;
+        }
+
+        public Builder add(long timestampMillis, double value) {
+            if (size == timestamps.length) {
+                int capacity = Math.max(16, size + (size >> 1));
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            timestamps[size] = timestampMillis;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public MeasurementSeries build() {
+            if (size == 0) {
+                return new MeasurementSeries(name, units, NO_TIMESTAMPS, NO_VALUES);
+            }
+            long[] t = size == timestamps.length ? timestamps : Arrays.copyOf(timestamps, size);
+            double[] v = size == values.length ? values : Arrays.copyOf(values, size);
+            // The builder must not mutate arrays now owned by the series
+            timestamps = NO_TIMESTAMPS;
+            values = NO_VALUES;
+            size = 0;
+            return new MeasurementSeries(name, units, t, v);
+        }
+    }
+}
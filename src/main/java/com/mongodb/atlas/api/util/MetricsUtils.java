@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.atlas.api.metrics.ProcessingResult;
+import com.mongodb.atlas.api.model.MeasurementSeries;
 
 /**
  * Utility class for metrics processing operations
@@ -77,6 +78,32 @@ public class MetricsUtils {
         return new ProcessingResult(min, max, avg);
     }
     
+    /**
+     * Process the values of a series to find min, max, avg; points without a value are ignored
+     */
+    public static ProcessingResult processValues(MeasurementSeries series) {
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        int count = 0;
+        
+        for (int i = 0; i < series.size(); i++) {
+            if (!series.hasValue(i)) {
+                continue;
+            }
+            double value = series.getValue(i);
+            sum += value;
+            max = Math.max(max, value);
+            min = Math.min(min, value);
+            count++;
+        }
+        
+        if (count == 0) {
+            return new ProcessingResult(0.0, 0.0, 0.0);
+        }
+        return new ProcessingResult(min, max, sum / count);
+    }
+    
     /**
      * Returns the appropriate unit for a given metric
      */
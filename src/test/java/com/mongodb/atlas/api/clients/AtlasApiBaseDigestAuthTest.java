@@ -0,0 +1,161 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpMethod;
+
+import com.mongodb.atlas.api.http.RateLimiter;
+import com.mongodb.atlas.api.http.RetryPolicy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Verifies preemptive Digest authentication against a local server that checks every
+ * Digest response and rejects reused nonce counts
+ */
+public class AtlasApiBaseDigestAuthTest {
+
+    private static final String REALM = "MMS Public API";
+    private static final Pattern PARAM = Pattern.compile("(\\w+)=(?:\"([^\"]*)\"|([^,\\s]*))");
+
+    private HttpServer server;
+    private String baseUrl;
+    private AtlasApiBase apiBase;
+    private volatile String nonce = "nonce-1";
+    private final Map<String, Long> lastNonceCount = new ConcurrentHashMap<>();
+    private final AtomicInteger challenged = new AtomicInteger();
+    private final AtomicInteger authenticated = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/groups", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        apiBase = new AtlasApiBase("public", "private", 0);
+        apiBase.setRateLimiter(RateLimiter.UNLIMITED);
+        apiBase.setRetryPolicy(RetryPolicy.NONE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        apiBase.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testOnlyTheFirstRequestIsChallenged() {
+        for (int i = 0; i < 5; i++) {
+            apiBase.getResponseBody(baseUrl + "/groups/abc/alerts?pageNum=" + i, AtlasApiBase.API_VERSION_V2, "abc");
+        }
+        apiBase.makeApiRequest(baseUrl + "/groups/abc/alerts/1", HttpMethod.PATCH, "{}",
+                AtlasApiBase.API_VERSION_V2, "abc");
+
+        assertEquals(1, challenged.get());
+        assertEquals(6, authenticated.get());
+        Map<String, Object> stats = digestStats();
+        assertEquals(5L, stats.get("challengesAvoided"));
+        assertEquals(1L, stats.get("challenges"));
+    }
+
+    @Test
+    public void testStaleNonceFallsBackToChallenge() {
+        apiBase.getResponseBody(baseUrl + "/groups/abc/alerts", AtlasApiBase.API_VERSION_V2, "abc");
+        apiBase.getResponseBody(baseUrl + "/groups/abc/alerts?pageNum=2", AtlasApiBase.API_VERSION_V2, "abc");
+        nonce = "nonce-2";
+        apiBase.getResponseBody(baseUrl + "/groups/abc/alerts?pageNum=3", AtlasApiBase.API_VERSION_V2, "abc");
+        apiBase.getResponseBody(baseUrl + "/groups/abc/alerts?pageNum=4", AtlasApiBase.API_VERSION_V2, "abc");
+
+        assertEquals(2, challenged.get());
+        assertEquals(4, authenticated.get());
+        Map<String, Object> stats = digestStats();
+        assertEquals(1L, stats.get("staleNonces"));
+        assertEquals(2L, stats.get("challengesAvoided"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> digestStats() {
+        return (Map<String, Object>) apiBase.getApiStats().get("digestAuth");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        Map<String, String> params = authorization != null && authorization.startsWith("Digest ")
+                ? parse(authorization.substring(7)) : null;
+
+        if (params == null || !validResponse(params, exchange)) {
+            boolean stale = params != null && !nonce.equals(params.get("nonce"));
+            challenged.incrementAndGet();
+            exchange.getResponseHeaders().add("WWW-Authenticate", "Digest realm=\"" + REALM + "\", domain=\"\", nonce=\""
+                    + nonce + "\", algorithm=MD5, qop=\"auth\", stale=" + stale);
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(401, 0);
+            exchange.getResponseBody().close();
+            return;
+        }
+
+        authenticated.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        byte[] body = "{\"results\":[]}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private boolean validResponse(Map<String, String> params, HttpExchange exchange) {
+        if (!nonce.equals(params.get("nonce")) || !"public".equals(params.get("username"))) {
+            return false;
+        }
+        long nc = Long.parseLong(params.get("nc"), 16);
+        Long previous = lastNonceCount.get(nonce);
+        if (previous != null && nc <= previous) {
+            return false;
+        }
+        String uri = exchange.getRequestURI().toString();
+        String ha1 = md5("public:" + REALM + ":private");
+        String ha2 = md5(exchange.getRequestMethod() + ":" + uri);
+        String expected = md5(ha1 + ":" + nonce + ":" + params.get("nc") + ":" + params.get("cnonce") + ":auth:" + ha2);
+        if (!expected.equals(params.get("response")) || !uri.equals(params.get("uri"))) {
+            return false;
+        }
+        lastNonceCount.put(nonce, nc);
+        return true;
+    }
+
+    private static Map<String, String> parse(String value) {
+        Map<String, String> params = new HashMap<>();
+        Matcher matcher = PARAM.matcher(value);
+        while (matcher.find()) {
+            params.put(matcher.group(1), matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+        }
+        return params;
+    }
+
+    private static String md5(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return String.format("%032x", new BigInteger(1, digest));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.atlas.api.http.ApiKey;
+import com.mongodb.atlas.api.http.RateLimiter;
+import com.mongodb.atlas.api.http.RetryPolicy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Verifies that requests are spread over a pool of API keys against a local server that
+ * records which key authenticated each request
+ */
+public class AtlasApiBaseKeyPoolTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private AtlasApiBase apiBase;
+    private final Map<String, AtomicInteger> requestsByKey = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/groups", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        apiBase = new AtlasApiBase(List.of(new ApiKey("alpha", "secret"), new ApiKey("beta", "secret", Set.of("p2"))), 0);
+        apiBase.setRateLimiter(RateLimiter.UNLIMITED);
+        apiBase.setRetryPolicy(RetryPolicy.NONE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        apiBase.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testRequestsAreSpreadOverAuthorizedKeys() {
+        for (int i = 0; i < 4; i++) {
+            apiBase.getResponseBody(baseUrl + "/groups/p2/alerts?pageNum=" + i, AtlasApiBase.API_VERSION_V2, "p2");
+        }
+        for (int i = 0; i < 2; i++) {
+            apiBase.getResponseBody(baseUrl + "/groups/p1/alerts?pageNum=" + i, AtlasApiBase.API_VERSION_V2, "p1");
+        }
+
+        assertEquals(4, requestsByKey.get("alpha").get());
+        assertEquals(2, requestsByKey.get("beta").get());
+
+        Map<String, Object> keyStats = apiBase.getApiKeyStats();
+        assertEquals(4L, keyStat(keyStats, "alpha", "requests"));
+        assertEquals(2L, keyStat(keyStats, "beta", "requests"));
+        assertEquals(0, keyStat(keyStats, "beta", "inFlight"));
+    }
+
+    @Test
+    public void testProjectWithoutAuthorizedKeyIsRejected() {
+        AtlasApiBase restricted = new AtlasApiBase(List.of(new ApiKey("beta", "secret", Set.of("p2"))), 0);
+        try {
+            assertThrows(IllegalStateException.class, () -> restricted.getResponseBody(
+                    baseUrl + "/groups/p1/alerts", AtlasApiBase.API_VERSION_V2, "p1"));
+            assertTrue(requestsByKey.isEmpty());
+        } finally {
+            restricted.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object keyStat(Map<String, Object> keyStats, String publicKey, String name) {
+        return ((Map<String, Object>) keyStats.get(publicKey)).get(name);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"atlas\"");
+            exchange.sendResponseHeaders(401, 0);
+            exchange.getResponseBody().close();
+            return;
+        }
+
+        String credentials = new String(Base64.getDecoder().decode(authorization.substring(6)), StandardCharsets.UTF_8);
+        requestsByKey.computeIfAbsent(credentials.substring(0, credentials.indexOf(':')), k -> new AtomicInteger())
+                .incrementAndGet();
+        byte[] body = "{\"results\":[]}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+
+import com.mongodb.atlas.api.http.RateLimiter;
+import com.mongodb.atlas.api.http.RetryPolicy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Verifies the AtlasApiBase response cache against a local HTTP server
+ */
+public class AtlasApiBaseResponseCacheTest {
+
+    private static final String ETAG = "\"processes-v1\"";
+
+    private HttpServer server;
+    private String baseUrl;
+    private AtlasApiBase apiBase;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/groups", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        apiBase = new AtlasApiBase("public", "private", 0);
+        apiBase.setRateLimiter(RateLimiter.UNLIMITED);
+        apiBase.setRetryPolicy(RetryPolicy.NONE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        apiBase.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testRepeatedReadsAreServedFromCache() {
+        String url = baseUrl + "/groups/abc/processes";
+        String first = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+        String second = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+
+        assertEquals(first, second);
+        assertEquals(1, requests.get());
+        assertEquals(1L, cacheStats().get("hits"));
+    }
+
+    @Test
+    public void testExpiredEntryIsRevalidatedWithEtag() throws Exception {
+        apiBase.setResponseCacheTtl("/groups/{id}/processes", Duration.ofMillis(1));
+        String url = baseUrl + "/groups/abc/processes";
+        String first = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+        Thread.sleep(5);
+        String second = apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+
+        assertEquals(first, second);
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1L, cacheStats().get("revalidations"));
+    }
+
+    @Test
+    public void testMutationInvalidatesProjectEntries() {
+        String url = baseUrl + "/groups/abc/processes";
+        apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+        apiBase.makeApiRequest(baseUrl + "/groups/abc/clusters", HttpMethod.POST, "{}",
+                AtlasApiBase.API_VERSION_V2, "abc");
+        apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+
+        assertEquals(3, requests.get());
+        assertEquals(1L, cacheStats().get("invalidations"));
+    }
+
+    @Test
+    public void testUncachedEndpointsAlwaysHitTheServer() {
+        String url = baseUrl + "/groups/abc/alerts";
+        apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+        apiBase.getResponseBody(url, AtlasApiBase.API_VERSION_V2, "abc");
+        assertEquals(2, requests.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> cacheStats() {
+        return (Map<String, Object>) apiBase.getApiStats().get("responseCache");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = "{\"results\":[]}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.mongodb.atlas.api.http.EndpointMetrics;
+import com.mongodb.atlas.api.http.RateLimiter;
+import com.mongodb.atlas.api.http.RetryPolicy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Verifies AtlasApiBase retry behaviour against a local HTTP server
+ */
+public class AtlasApiBaseRetryTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private AtlasApiBase apiBase;
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int failureStatus = 503;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/groups", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        apiBase = new AtlasApiBase("public", "private", 0);
+        apiBase.setRateLimiter(RateLimiter.UNLIMITED);
+        apiBase.setRetryPolicy(new RetryPolicy(4, Duration.ofMillis(5), Duration.ofMillis(20), Duration.ofSeconds(5)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        apiBase.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() {
+        failuresRemaining.set(2);
+        String body = apiBase.getResponseBody(baseUrl + "/groups/abc/processes", AtlasApiBase.API_VERSION_V2, "abc");
+
+        assertEquals("{\"results\":[]}", body);
+        assertEquals(3, requests.get());
+
+        Map<String, Object> retryStats = retryStats("/groups/{id}/processes");
+        assertEquals(2L, retryStats.get("retries"));
+        assertEquals(2L, retryStats.get("serverErrors"));
+        assertEquals(1L, retryStats.get("recovered"));
+    }
+
+    @Test
+    public void testEndpointMetricsRecordEveryAttempt() {
+        failuresRemaining.set(1);
+        apiBase.getResponseBody(baseUrl + "/groups/abc/processes", AtlasApiBase.API_VERSION_V2, "abc");
+
+        EndpointMetrics metrics = apiBase.getApiMetrics().forEndpoint("/groups/{id}/processes");
+        assertEquals(2, metrics.getRequests());
+        assertEquals(1, metrics.getErrors());
+        assertEquals(1, metrics.getRetryStats().getRetries());
+        assertEquals("{\"results\":[]}".length(), metrics.getBytesReceived());
+        assertEquals(2, metrics.getLatency().getCount());
+        assertTrue(metrics.getLatency().getMaxMicros() > 0);
+    }
+
+    @Test
+    public void testRetriesGiveUpAfterMaxAttempts() {
+        failuresRemaining.set(10);
+        assertThrows(RuntimeException.class,
+                () -> apiBase.getResponseBody(baseUrl + "/groups/abc/clusters", AtlasApiBase.API_VERSION_V2, "abc"));
+
+        assertEquals(4, requests.get());
+        assertEquals(1L, retryStats("/groups/{id}/clusters").get("exhausted"));
+    }
+
+    @Test
+    public void testClientErrorsAreNotRetried() {
+        failureStatus = 404;
+        failuresRemaining.set(1);
+        assertThrows(HttpClientErrorException.class,
+                () -> apiBase.getResponseBody(baseUrl + "/groups/abc", AtlasApiBase.API_VERSION_V2, "abc"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testMutationsAreNotRetriedOnServerErrors() {
+        failuresRemaining.set(1);
+        assertThrows(RuntimeException.class, () -> apiBase.makeApiRequest(baseUrl + "/groups/abc/clusters",
+                HttpMethod.POST, "{}", AtlasApiBase.API_VERSION_V2, "abc"));
+        assertEquals(1, requests.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> retryStats(String endpoint) {
+        Map<String, Object> all = (Map<String, Object>) apiBase.getApiStats().get("retryStats");
+        return (Map<String, Object>) all.get(endpoint);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (failuresRemaining.getAndDecrement() > 0) {
+            exchange.sendResponseHeaders(failureStatus, 0);
+            exchange.getResponseBody().close();
+            return;
+        }
+        byte[] body = "{\"results\":[]}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.atlas.api.http.AsyncRequestExecutor;
+
+/**
+ * Unit tests for AtlasPaginator
+ */
+public class AtlasPaginatorTest {
+
+    private AtlasApiBase apiBase;
+
+    @BeforeEach
+    public void setUp() {
+        apiBase = new AtlasApiBase("public", "private", 0, new AsyncRequestExecutor(4, false));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        apiBase.close();
+    }
+
+    @Test
+    public void testRemainingPagesAreFetchedConcurrentlyInPageOrder() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<Integer> pages = AtlasPaginator.fetchAll(apiBase, pageNum -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(1, 10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return pageNum;
+        }, first -> 20, page -> false);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, pages);
+        assertTrue(maxInFlight.get() > 1, "pages should overlap");
+        assertTrue(maxInFlight.get() <= 4, "no more pages than the in-flight cap at once");
+    }
+
+    @Test
+    public void testUnknownCountFallsBackToSequentialWalk() {
+        List<Integer> fetched = new ArrayList<>();
+        List<Integer> pages = AtlasPaginator.fetchAll(apiBase, pageNum -> {
+            fetched.add(pageNum);
+            return pageNum;
+        }, first -> null, page -> page < 3);
+
+        assertEquals(List.of(1, 2, 3), pages);
+        assertEquals(List.of(1, 2, 3), fetched);
+    }
+
+    @Test
+    public void testSinglePageMakesOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> pages = AtlasPaginator.fetchAll(apiBase, pageNum -> {
+            calls.incrementAndGet();
+            return "page" + pageNum;
+        }, first -> 1, page -> true);
+
+        assertEquals(List.of("page1"), pages);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testPageFailureIsRethrown() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                AtlasPaginator.fetchAll(apiBase, pageNum -> {
+                    if (pageNum == 3) {
+                        throw new IllegalStateException("page 3 failed");
+                    }
+                    return pageNum;
+                }, first -> 5, page -> false));
+        assertEquals("page 3 failed", e.getMessage());
+    }
+
+    @Test
+    public void testPageCount() {
+        assertEquals(0, AtlasPaginator.pageCount(0, 500));
+        assertEquals(1, AtlasPaginator.pageCount(500, 500));
+        assertEquals(3, AtlasPaginator.pageCount(1001, 500));
+        assertEquals(0, AtlasPaginator.pageCount(10, 0));
+    }
+}
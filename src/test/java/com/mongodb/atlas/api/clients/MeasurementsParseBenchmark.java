@@ -0,0 +1,143 @@
+package com.mongodb.atlas.api.clients;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Microbenchmark comparing the Map-based decoding of a measurements page with the
+ * streaming {@link MeasurementsParser}.
+ *
+ * The payload is a synthetic page shaped like an Atlas process measurements response:
+ * several metrics with 1-minute data points and an occasional null value. Both paths
+ * end in a usable per-point timestamp and value, so the Map path includes parsing the
+ * timestamp strings. Throughput is measured in pages per second and allocation with the
+ * per-thread allocation counter of the HotSpot {@code ThreadMXBean}. Run with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.mongodb.atlas.api.clients.MeasurementsParseBenchmark
+ */
+public class MeasurementsParseBenchmark {
+
+    private static final int METRICS = 8;
+    private static final int POINTS_PER_METRIC = 1440;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 500;
+    private static final int ROUNDS = 5;
+
+    private static volatile double sink;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonFactory factory = objectMapper.getFactory();
+        String page = buildPage();
+        int points = METRICS * POINTS_PER_METRIC;
+
+        System.out.printf("Measurements page: %d metrics x %d points, %,d bytes%n",
+                METRICS, POINTS_PER_METRIC, page.length());
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += decodeWithMaps(objectMapper, page);
+            sink += decodeStreaming(factory, page);
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            Result maps = measure(() -> decodeWithMaps(objectMapper, page));
+            Result streaming = measure(() -> decodeStreaming(factory, page));
+            System.out.printf("round %d: Map path %,8.0f pages/s %,10.0f B/page %6.1f B/point | "
+                    + "streaming %,8.0f pages/s %,10.0f B/page %6.1f B/point%n", round,
+                    maps.pagesPerSecond, maps.bytesPerPage, maps.bytesPerPage / points,
+                    streaming.pagesPerSecond, streaming.bytesPerPage, streaming.bytesPerPage / points);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double decodeWithMaps(ObjectMapper objectMapper, String page) throws Exception {
+        Map<String, Object> response = objectMapper.readValue(page, Map.class);
+        List<Map<String, Object>> measurements = (List<Map<String, Object>>) response.get("measurements");
+        double checksum = 0;
+        for (Map<String, Object> measurement : measurements) {
+            for (Map<String, Object> dataPoint : (List<Map<String, Object>>) measurement.get("dataPoints")) {
+                long timestamp = Instant.parse((String) dataPoint.get("timestamp")).toEpochMilli();
+                Object value = dataPoint.get("value");
+                checksum += timestamp + (value instanceof Number ? ((Number) value).doubleValue() : 0);
+            }
+        }
+        return checksum;
+    }
+
+    private static double decodeStreaming(JsonFactory factory, String page) throws Exception {
+        double checksum = 0;
+        for (MeasurementSeries series : MeasurementsParser.parse(factory, page).getMeasurements()) {
+            for (int i = 0; i < series.size(); i++) {
+                checksum += series.getTimestampMillis(i) + (series.hasValue(i) ? series.getValue(i) : 0);
+            }
+        }
+        return checksum;
+    }
+
+    private interface Decoder {
+        double decode() throws Exception;
+    }
+
+    private static final class Result {
+        final double pagesPerSecond;
+        final double bytesPerPage;
+
+        Result(double pagesPerSecond, double bytesPerPage) {
+            this.pagesPerSecond = pagesPerSecond;
+            this.bytesPerPage = bytesPerPage;
+        }
+    }
+
+    private static Result measure(Decoder decoder) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += decoder.decode();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Result(ITERATIONS / (elapsed / 1e9), (double) allocated / ITERATIONS);
+    }
+
+    private static String buildPage() {
+        StringBuilder json = new StringBuilder(1 << 20);
+        long start = Instant.parse("2024-03-01T00:00:00Z").toEpochMilli();
+        json.append("{\"end\":\"2024-03-02T00:00:00Z\",\"granularity\":\"PT1M\",")
+            .append("\"groupId\":\"5f1a00000000000000000001\",\"hostId\":\"host-0:27017\",")
+            .append("\"links\":[],\"measurements\":[");
+        for (int m = 0; m < METRICS; m++) {
+            if (m > 0) {
+                json.append(',');
+            }
+            json.append("{\"dataPoints\":[");
+            for (int p = 0; p < POINTS_PER_METRIC; p++) {
+                if (p > 0) {
+                    json.append(',');
+                }
+                json.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(start + p * 60_000L))
+                    .append("\",\"value\":");
+                if (p % 97 == 0) {
+                    json.append("null");
+                } else {
+                    json.append(p * 0.731 + m);
+                }
+                json.append('}');
+            }
+            json.append("],\"name\":\"METRIC_").append(m).append("\",\"units\":\"PERCENT\"}");
+        }
+        json.append("],\"processId\":\"host-0:27017\",\"start\":\"2024-03-01T00:00:00Z\"}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Unit tests for MeasurementsParser
+ */
+public class MeasurementsParserTest {
+
+    private static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+
+    private static final String PAGE = "{"
+            + "\"end\":\"2024-03-01T00:03:00Z\",\"granularity\":\"PT1M\",\"groupId\":\"abc\","
+            + "\"links\":[{\"href\":\"https://example\",\"rel\":\"self\"}],"
+            + "\"measurements\":["
+            + "{\"dataPoints\":["
+            + "{\"timestamp\":\"2024-03-01T00:00:00Z\",\"value\":1.5},"
+            + "{\"timestamp\":\"2024-03-01T00:01:00Z\",\"value\":null},"
+            + "{\"timestamp\":\"2024-03-01T00:02:00Z\",\"value\":3}"
+            + "],\"name\":\"SYSTEM_NORMALIZED_CPU_USER\",\"units\":\"PERCENT\"},"
+            + "{\"name\":\"CONNECTIONS\",\"units\":\"SCALAR\",\"dataPoints\":[]}"
+            + "],"
+            + "\"processId\":\"host:27017\",\"totalCount\":7,\"resultsPerPage\":500}";
+
+    @Test
+    public void testParsesMeasurementsIntoSeries() throws Exception {
+        MeasurementsParser.Page page = MeasurementsParser.parse(FACTORY, PAGE);
+
+        assertEquals(7, page.getTotalCount());
+        assertEquals(500, page.getResultsPerPage());
+        assertEquals(2, page.getMeasurements().size());
+
+        MeasurementSeries cpu = page.getMeasurements().get(0);
+        assertEquals("SYSTEM_NORMALIZED_CPU_USER", cpu.getName());
+        assertEquals("PERCENT", cpu.getUnits());
+        assertEquals(3, cpu.size());
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z").toEpochMilli(), cpu.getTimestampMillis(0));
+        assertEquals(1.5, cpu.getValue(0));
+        assertTrue(Double.isNaN(cpu.getValue(1)));
+        assertFalse(cpu.hasValue(1));
+        assertEquals(3.0, cpu.getValue(2));
+        assertTrue(cpu.isStrictlyIncreasing());
+
+        MeasurementSeries connections = page.getMeasurements().get(1);
+        assertEquals("CONNECTIONS", connections.getName());
+        assertTrue(connections.isEmpty());
+    }
+
+    @Test
+    public void testMetricNamesAreInterned() throws Exception {
+        MeasurementSeries first = MeasurementsParser.parse(FACTORY, PAGE).getMeasurements().get(0);
+        MeasurementSeries second = MeasurementsParser.parse(FACTORY, PAGE).getMeasurements().get(0);
+        assertSame(first.getName(), second.getName());
+    }
+
+    @Test
+    public void testResponseWithoutPaginationFields() throws Exception {
+        MeasurementsParser.Page page = MeasurementsParser.parse(FACTORY, "{\"measurements\":[]}");
+        assertNull(page.getTotalCount());
+        assertTrue(page.getMeasurements().isEmpty());
+    }
+
+    @Test
+    public void testTimestampFastPathMatchesJavaTime() {
+        String[] samples = {
+                "1970-01-01T00:00:00Z", "2024-02-29T23:59:59Z", "2024-03-01T00:00:00.123Z",
+                "2023-12-31T12:34:56.7Z", "2000-01-01T00:00:00.123456789Z", "1969-12-31T23:59:59Z",
+                "2100-03-01T08:15:00Z"
+        };
+        for (String sample : samples) {
+            assertEquals(Instant.parse(sample).toEpochMilli(), MeasurementsParser.parseTimestamp(sample), sample);
+        }
+        assertEquals(OffsetDateTime.parse("2024-03-01T02:00:00+02:00").toInstant().toEpochMilli(),
+                MeasurementsParser.parseTimestamp("2024-03-01T02:00:00+02:00"));
+    }
+
+    @Test
+    public void testInvalidTimestampIsRejected() {
+        assertThrows(java.time.format.DateTimeParseException.class,
+                () -> MeasurementsParser.parseTimestamp("2023-02-30T00:00:00Z"));
+        assertThrows(java.time.format.DateTimeParseException.class,
+                () -> MeasurementsParser.parseTimestamp("not a timestamp"));
+    }
+
+    @Test
+    public void testMapAndStreamingPathsAgree() throws Exception {
+        Map<String, Object> response = new ObjectMapper().readValue(PAGE, new TypeReference<Map<String, Object>>() {
+        });
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> measurements = (List<Map<String, Object>>) response.get("measurements");
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> dataPoints = (List<Map<String, Object>>) measurements.get(0).get("dataPoints");
+
+        MeasurementSeries fromMaps = MeasurementsParser.fromDataPoints("SYSTEM_NORMALIZED_CPU_USER", dataPoints);
+        MeasurementSeries streamed = MeasurementsParser.parse(FACTORY, PAGE).getMeasurements().get(0);
+
+        assertArrayEquals(streamed.getTimestamps(), fromMaps.getTimestamps());
+        assertArrayEquals(streamed.getValues(), fromMaps.getValues());
+    }
+
+    @Test
+    public void testConcatAppendsLaterPage() {
+        MeasurementSeries a = MeasurementSeries.of("M", "SCALAR", new long[] {1, 2}, new double[] {1, 2});
+        MeasurementSeries b = MeasurementSeries.of("M", "SCALAR", new long[] {3}, new double[] {3});
+        MeasurementSeries merged = a.concat(b);
+        assertArrayEquals(new long[] {1, 2, 3}, merged.getTimestamps());
+        assertArrayEquals(new double[] {1, 2, 3}, merged.getValues());
+        assertEquals(2, a.size());
+    }
+}
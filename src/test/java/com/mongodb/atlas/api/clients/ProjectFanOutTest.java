@@ -0,0 +1,99 @@
+package com.mongodb.atlas.api.clients;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for ProjectFanOut concurrency, failure isolation and result delivery
+ */
+public class ProjectFanOutTest {
+
+    private static Map<String, String> projects(int count) {
+        Map<String, String> projects = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            projects.put("project-" + i, "id-" + i);
+        }
+        return projects;
+    }
+
+    @Test
+    public void testConcurrencyIsBoundedByParallelism() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Map<String, ProjectFanOut.ProjectResult<String>> results = ProjectFanOut.withThreads(3).run(projects(10),
+                (name, id) -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return id;
+                });
+
+        assertEquals(10, results.size());
+        assertTrue(maxRunning.get() > 1 && maxRunning.get() <= 3, "max concurrent tasks: " + maxRunning.get());
+        results.values().forEach(result -> assertTrue(result.isSuccess()));
+    }
+
+    @Test
+    public void testFailureIsIsolatedToItsProject() {
+        Map<String, ProjectFanOut.ProjectResult<Integer>> results = ProjectFanOut.withThreads(4).run(projects(5),
+                (name, id) -> {
+                    if (name.equals("project-2")) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return Integer.parseInt(id.substring(3));
+                });
+
+        ProjectFanOut.ProjectResult<Integer> failed = results.get("project-2");
+        assertFalse(failed.isSuccess());
+        assertEquals("boom", failed.getError().getMessage());
+        assertEquals("id-2", failed.getProjectId());
+        assertEquals(4, results.get("project-4").getValue());
+        assertEquals(4, results.values().stream().filter(ProjectFanOut.ProjectResult::isSuccess).count());
+    }
+
+    @Test
+    public void testResultsAreDeliveredOnCallingThreadInInputOrderForRun() {
+        Thread caller = Thread.currentThread();
+        List<Thread> deliveredOn = new ArrayList<>();
+        List<Thread> ranOn = new ArrayList<>();
+
+        ProjectFanOut fanOut = ProjectFanOut.withThreads(4);
+        fanOut.forEach(projects(6), (name, id) -> {
+            synchronized (ranOn) {
+                ranOn.add(Thread.currentThread());
+            }
+            return id;
+        }, result -> deliveredOn.add(Thread.currentThread()));
+
+        assertEquals(6, deliveredOn.size());
+        deliveredOn.forEach(thread -> assertSame(caller, thread));
+        assertFalse(ranOn.contains(caller));
+
+        // Reverse the completion order; run() still follows the input order
+        Map<String, ProjectFanOut.ProjectResult<String>> results = fanOut.run(projects(4), (name, id) -> {
+            Thread.sleep(40 - 10 * Integer.parseInt(id.substring(3)));
+            return id;
+        });
+        assertEquals(List.of("project-0", "project-1", "project-2", "project-3"), new ArrayList<>(results.keySet()));
+    }
+
+    @Test
+    public void testParallelismOfOneRunsInlineInOrder() {
+        Thread caller = Thread.currentThread();
+        List<String> order = new ArrayList<>();
+
+        ProjectFanOut.withThreads(1).forEach(projects(3), (name, id) -> {
+            assertSame(caller, Thread.currentThread());
+            return name;
+        }, result -> order.add(result.getValue()));
+
+        assertEquals(List.of("project-0", "project-1", "project-2"), order);
+    }
+}
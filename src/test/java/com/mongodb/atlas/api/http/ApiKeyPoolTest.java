@@ -0,0 +1,89 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for ApiKeyPool routing and ApiKey parsing
+ */
+public class ApiKeyPoolTest {
+
+    private static ApiKeyPool<String> pool(ApiKey... keys) {
+        return new ApiKeyPool<>(List.of(keys), ApiKey::getPublicKey, key -> RateLimiter.UNLIMITED);
+    }
+
+    @Test
+    public void testLeastLoadedKeyIsChosen() {
+        ApiKeyPool<String> pool = pool(new ApiKey("a", "x"), new ApiKey("b", "x"), new ApiKey("c", "x"));
+
+        ApiKeyPool.Member<String> first = pool.acquire("p1");
+        ApiKeyPool.Member<String> second = pool.acquire("p1");
+        ApiKeyPool.Member<String> third = pool.acquire("p1");
+        assertEquals(Set.of("a", "b", "c"), Set.of(first.getClient(), second.getClient(), third.getClient()));
+
+        // Only "b" is idle now, even though it has sent as many requests as the others
+        second.release();
+        assertEquals("b", pool.acquire("p1").getClient());
+
+        first.release();
+        third.release();
+        // "a" and "c" are idle with one request each; the first of them wins the tie
+        assertEquals(2, pool.getMembers().get(1).getRequests());
+        assertEquals("a", pool.acquire("p1").getClient());
+    }
+
+    @Test
+    public void testProjectRestrictionsAreHonoured() {
+        ApiKeyPool<String> pool = pool(new ApiKey("org", "x"), new ApiKey("p2only", "x", Set.of("p2")));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("org", pool.acquire("p1").getClient());
+        }
+        // The restricted key is idle and unused, so it wins for its own project
+        assertEquals("p2only", pool.acquire("p2").getClient());
+        // Requests without a project stay on unrestricted keys
+        assertEquals("org", pool.acquire(null).getClient());
+    }
+
+    @Test
+    public void testNoAuthorizedKeyFails() {
+        ApiKeyPool<String> pool = pool(new ApiKey("a", "x", Set.of("p1")), new ApiKey("b", "x", Set.of("p2")));
+
+        assertThrows(IllegalStateException.class, () -> pool.acquire("p3"));
+        // Without an unrestricted key, unscoped requests may use any key
+        assertNotNull(pool.acquire(null));
+    }
+
+    @Test
+    public void testStatsPerKey() {
+        ApiKeyPool<String> pool = pool(new ApiKey("a", "x"), new ApiKey("b", "x", Set.of("p1")));
+        ApiKeyPool.Member<String> member = pool.acquire("p1");
+        member.recordThrottled();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) pool.getStats().get(member.getClient());
+        assertEquals(1, stats.get("inFlight"));
+        assertEquals(1L, stats.get("requests"));
+        assertEquals(1L, stats.get("throttled"));
+        assertEquals(2, pool.getStats().size());
+    }
+
+    @Test
+    public void testParseKeys() {
+        List<ApiKey> keys = ApiKey.parseList("pub1:priv-1, pub2:priv-2:p1|p2 ,");
+
+        assertEquals(2, keys.size());
+        assertEquals("pub1", keys.get(0).getPublicKey());
+        assertFalse(keys.get(0).isRestricted());
+        assertEquals("priv-2", keys.get(1).getPrivateKey());
+        assertEquals(Set.of("p1", "p2"), keys.get(1).getProjectIds());
+        assertFalse(keys.get(1).toString().contains("priv"));
+
+        assertThrows(IllegalArgumentException.class, () -> ApiKey.parse("pubOnly"));
+        assertTrue(ApiKey.parseList(null).isEmpty());
+    }
+}
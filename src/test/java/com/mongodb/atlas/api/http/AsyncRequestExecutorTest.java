@@ -0,0 +1,76 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for AsyncRequestExecutor
+ */
+public class AsyncRequestExecutorTest {
+
+    @Test
+    public void testInFlightCapIsNeverExceeded() {
+        int maxInFlight = 4;
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (AsyncRequestExecutor executor = new AsyncRequestExecutor(maxInFlight)) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                int value = i;
+                futures.add(executor.submit(() -> executor.runWithPermit(() -> {
+                    int now = current.incrementAndGet();
+                    peak.accumulateAndGet(now, Math::max);
+                    sleepQuietly(5);
+                    current.decrementAndGet();
+                    return value;
+                })));
+            }
+
+            int sum = futures.stream().mapToInt(CompletableFuture::join).sum();
+            assertEquals(780, sum);
+            assertTrue(peak.get() <= maxInFlight, "peak in-flight was " + peak.get());
+            assertEquals(40L, executor.getStats().get("completed"));
+        }
+    }
+
+    @Test
+    public void testNestedTasksDoNotDeadlock() {
+        try (AsyncRequestExecutor executor = new AsyncRequestExecutor(1, false)) {
+            CompletableFuture<Integer> outer = executor.submit(() -> {
+                CompletableFuture<Integer> a = executor.submit(() -> executor.runWithPermit(() -> 1));
+                CompletableFuture<Integer> b = executor.submit(() -> executor.runWithPermit(() -> 2));
+                return a.join() + b.join();
+            });
+            assertEquals(3, outer.join());
+        }
+    }
+
+    @Test
+    public void testFailuresPropagateAndAreCounted() {
+        try (AsyncRequestExecutor executor = new AsyncRequestExecutor(2)) {
+            CompletableFuture<String> future = executor.submit(() -> executor.runWithPermit(() -> {
+                throw new IllegalStateException("boom");
+            }));
+
+            CompletionException e = assertThrows(CompletionException.class, future::join);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals(1L, executor.getStats().get("failed"));
+            assertEquals(0, executor.getStats().get("inFlight"));
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
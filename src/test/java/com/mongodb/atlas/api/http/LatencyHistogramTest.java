@@ -0,0 +1,59 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+/**
+ * Unit tests for LatencyHistogram
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverEveryValueWithBoundedError() {
+        long[] samples = { 0, 1, 31, 32, 33, 63, 64, 65, 1000, 123_456, 9_999_999, LatencyHistogram.MAX_TRACKABLE_MICROS };
+        for (long value : samples) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value, "bucket upper bound below " + value);
+            assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKETS, "bucket too wide for " + value);
+            assertEquals(index, LatencyHistogram.bucketIndex(highest));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordMicros(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxMicros());
+        assertEquals(500_500, histogram.getMeanMicros(), 0.001);
+        assertWithinPercent(500_000, histogram.getPercentileMicros(50), 3.2);
+        assertWithinPercent(900_000, histogram.getPercentileMicros(90), 3.2);
+        assertWithinPercent(990_000, histogram.getPercentileMicros(99), 3.2);
+        assertEquals(1_000_000, histogram.getPercentileMicros(100));
+    }
+
+    @Test
+    public void testEmptyAndClampedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileMicros(99));
+
+        histogram.recordMicros(-5);
+        histogram.recordMicros(Long.MAX_VALUE);
+        assertEquals(0, histogram.getPercentileMicros(50));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_MICROS, histogram.getMaxMicros());
+
+        Map<String, Object> stats = histogram.toMap();
+        assertEquals(2L, stats.get("count"));
+    }
+
+    private static void assertWithinPercent(long expected, long actual, double percent) {
+        assertTrue(Math.abs(actual - expected) <= expected * percent / 100,
+                "expected " + expected + " within " + percent + "% but was " + actual);
+    }
+}
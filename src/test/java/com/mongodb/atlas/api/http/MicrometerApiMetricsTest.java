@@ -0,0 +1,40 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the Micrometer binding of ApiMetrics
+ */
+public class MicrometerApiMetricsTest {
+
+    @Test
+    public void testEndpointsBeforeAndAfterBindingArePublished() {
+        ApiMetrics apiMetrics = new ApiMetrics();
+        EndpointMetrics processes = apiMetrics.forEndpoint("/groups/{id}/processes");
+        apiMetrics.recordExchange(processes, TimeUnit.MILLISECONDS.toNanos(40), 100, false);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MicrometerApiMetrics(apiMetrics).bindTo(registry);
+
+        EndpointMetrics alerts = apiMetrics.forEndpoint("/groups/{id}/alerts");
+        apiMetrics.recordExchange(alerts, TimeUnit.MILLISECONDS.toNanos(10), 0, true);
+        apiMetrics.recordExchange(processes, TimeUnit.MILLISECONDS.toNanos(20), 50, false);
+        alerts.recordRateLimitWait(TimeUnit.MILLISECONDS.toNanos(1500));
+        apiMetrics.recordParse(TimeUnit.MILLISECONDS.toNanos(3), 100);
+
+        assertEquals(1, registry.get("atlas.api.requests").tag("endpoint", "/groups/{id}/processes").timer().count());
+        assertEquals(1, registry.get("atlas.api.requests").tag("endpoint", "/groups/{id}/alerts").timer().count());
+        assertEquals(150, registry.get("atlas.api.bytes.received").tag("endpoint", "/groups/{id}/processes")
+                .functionCounter().count());
+        assertEquals(1, registry.get("atlas.api.errors").tag("endpoint", "/groups/{id}/alerts")
+                .functionCounter().count());
+        assertEquals(1.5, registry.get("atlas.api.ratelimit.wait").tag("endpoint", "/groups/{id}/alerts")
+                .functionCounter().count(), 0.001);
+        assertEquals(1, registry.get("atlas.api.parse").timer().count());
+    }
+}
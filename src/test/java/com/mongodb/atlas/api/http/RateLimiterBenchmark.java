@@ -0,0 +1,89 @@
+package com.mongodb.atlas.api.http;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Microbenchmark comparing acquire overhead of the lock-free token bucket with the
+ * previous synchronized LinkedList sliding window under heavy contention.
+ *
+ * Both limiters are configured with a budget high enough that no thread ever has to
+ * wait for a permit, so the figures are pure bookkeeping cost. Run with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.mongodb.atlas.api.http.RateLimiterBenchmark
+ */
+public class RateLimiterBenchmark {
+
+    private static final int THREADS = 64;
+    private static final int ACQUIRES_PER_THREAD = 20_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        RateLimiter tokenBucket = new TokenBucketRateLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE, 0, 1_000_000);
+        LegacyWindowLimiter legacy = new LegacyWindowLimiter(Integer.MAX_VALUE);
+
+        System.out.printf("Rate limiter acquire overhead, %d threads x %d acquires%n", THREADS, ACQUIRES_PER_THREAD);
+        for (int round = 1; round <= ROUNDS; round++) {
+            double bucketNanos = run(() -> tokenBucket.acquire("5f1a00000000000000000001", null));
+            double legacyNanos = run(legacy::acquire);
+            System.out.printf("round %d: token bucket %,8.1f ns/op | synchronized window %,8.1f ns/op%n",
+                    round, bucketNanos, legacyNanos);
+        }
+    }
+
+    private static double run(Runnable acquire) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicLong elapsed = new AtomicLong();
+
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    long begin = System.nanoTime();
+                    for (int i = 0; i < ACQUIRES_PER_THREAD; i++) {
+                        acquire.run();
+                    }
+                    elapsed.addAndGet(System.nanoTime() - begin);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        start.countDown();
+        done.await();
+        return (double) elapsed.get() / ((long) THREADS * ACQUIRES_PER_THREAD);
+    }
+
+    /**
+     * Equivalent of the original AtlasApiBase.checkRateLimit bookkeeping
+     */
+    private static class LegacyWindowLimiter {
+        private final Deque<Instant> requestTimestamps = new LinkedList<>();
+        private final int maxRequests;
+
+        LegacyWindowLimiter(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
+        synchronized void acquire() {
+            Instant cutoff = Instant.now().minus(1, ChronoUnit.MINUTES);
+            while (!requestTimestamps.isEmpty() && requestTimestamps.peekFirst().isBefore(cutoff)) {
+                requestTimestamps.removeFirst();
+            }
+            if (requestTimestamps.size() >= maxRequests) {
+                throw new IllegalStateException("benchmark budget exceeded");
+            }
+            requestTimestamps.addLast(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for ResponseCache, driven by a fake clock
+ */
+public class ResponseCacheTest {
+
+    private static final String PROCESSES = "/groups/{id}/processes";
+
+    private final AtomicLong now = new AtomicLong();
+
+    private ResponseCache newCache(int maxEntries) {
+        ResponseCache cache = new ResponseCache(maxEntries, now::get);
+        cache.setTtl(PROCESSES, Duration.ofSeconds(60));
+        return cache;
+    }
+
+    @Test
+    public void testFreshEntryIsServedUntilTtlExpires() {
+        ResponseCache cache = newCache(10);
+        String key = ResponseCache.key("https://h/groups/a/processes", "json");
+        cache.put(key, PROCESSES, "body", "\"v1\"");
+
+        assertEquals("body", cache.getFresh(key).getBody());
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertNull(cache.getFresh(key));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testExpiredEntryWithEtagCanBeRevalidated() {
+        ResponseCache cache = newCache(10);
+        String key = ResponseCache.key("https://h/groups/a/processes", "json");
+        cache.put(key, PROCESSES, "body", "\"v1\"");
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        ResponseCache.Entry stale = cache.getRevalidatable(key);
+        assertEquals("\"v1\"", stale.getEtag());
+        cache.revalidated(stale);
+
+        assertSame(stale, cache.getFresh(key));
+        assertEquals(1, cache.getRevalidations());
+    }
+
+    @Test
+    public void testEntriesWithoutEtagAreNotRevalidatable() {
+        ResponseCache cache = newCache(10);
+        String key = ResponseCache.key("https://h/groups/a/processes", "json");
+        cache.put(key, PROCESSES, "body", null);
+        assertNull(cache.getRevalidatable(key));
+    }
+
+    @Test
+    public void testOnlyConfiguredEndpointsAreCached() {
+        ResponseCache cache = newCache(10);
+        String key = ResponseCache.key("https://h/groups/a/alerts", "json");
+        cache.put(key, "/groups/{id}/alerts", "body", null);
+        assertFalse(cache.isCacheable("/groups/{id}/alerts"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        ResponseCache cache = newCache(2);
+        String a = ResponseCache.key("https://h/groups/a/processes", "json");
+        String b = ResponseCache.key("https://h/groups/b/processes", "json");
+        String c = ResponseCache.key("https://h/groups/c/processes", "json");
+        cache.put(a, PROCESSES, "a", null);
+        cache.put(b, PROCESSES, "b", null);
+        cache.getFresh(a);
+        cache.put(c, PROCESSES, "c", null);
+
+        assertNotNull(cache.getFresh(a));
+        assertNull(cache.getFresh(b));
+        assertNotNull(cache.getFresh(c));
+        assertEquals(1L, cache.getStats().get("evictions"));
+    }
+
+    @Test
+    public void testInvalidateMatchesOnUrl() {
+        ResponseCache cache = newCache(10);
+        cache.put(ResponseCache.key("https://h/groups/a/processes", "json"), PROCESSES, "a", null);
+        cache.put(ResponseCache.key("https://h/groups/b/processes", "json"), PROCESSES, "b", null);
+
+        assertEquals(1, cache.invalidate(url -> url.contains("/groups/a/")));
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Unit tests for RetryPolicy classification and back-off
+ */
+public class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(5, Duration.ofMillis(100), Duration.ofSeconds(5), Duration.ofSeconds(30));
+
+    @Test
+    public void testClassification() {
+        assertEquals(RetryPolicy.FailureType.THROTTLED,
+                RetryPolicy.classify(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertEquals(RetryPolicy.FailureType.SERVER_ERROR,
+                RetryPolicy.classify(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertEquals(RetryPolicy.FailureType.IO_ERROR,
+                RetryPolicy.classify(new ResourceAccessException("reset", new SocketTimeoutException())));
+        assertEquals(RetryPolicy.FailureType.IO_ERROR,
+                RetryPolicy.classify(new RuntimeException(new IOException("broken pipe"))));
+        assertEquals(RetryPolicy.FailureType.NOT_RETRYABLE,
+                RetryPolicy.classify(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        assertEquals(RetryPolicy.FailureType.NOT_RETRYABLE,
+                RetryPolicy.classify(new IllegalStateException("bug")));
+    }
+
+    @Test
+    public void testBackoffStaysWithinBounds() {
+        Duration previous = Duration.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            Duration next = policy.nextBackoff(previous);
+            assertTrue(next.toMillis() >= 100, "backoff below base: " + next);
+            assertTrue(next.toMillis() <= 5000, "backoff above cap: " + next);
+            long upper = Math.max(101, Math.min(5000, (previous.isZero() ? 100 : previous.toMillis()) * 3));
+            assertTrue(next.toMillis() <= upper, "backoff not decorrelated from previous: " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testAttemptLimitAndBudget() {
+        Duration smallBackoff = Duration.ofMillis(200);
+        assertTrue(policy.shouldRetry(1, RetryPolicy.FailureType.SERVER_ERROR, true, Duration.ZERO, smallBackoff));
+        assertFalse(policy.shouldRetry(5, RetryPolicy.FailureType.SERVER_ERROR, true, Duration.ZERO, smallBackoff));
+        assertFalse(policy.shouldRetry(1, RetryPolicy.FailureType.SERVER_ERROR, true, Duration.ofSeconds(29), Duration.ofSeconds(2)));
+        assertFalse(policy.shouldRetry(1, RetryPolicy.FailureType.NOT_RETRYABLE, true, Duration.ZERO, smallBackoff));
+    }
+
+    @Test
+    public void testNonIdempotentRequestsOnlyRetryThrottling() {
+        Duration backoff = Duration.ofMillis(200);
+        assertFalse(policy.shouldRetry(1, RetryPolicy.FailureType.SERVER_ERROR, false, Duration.ZERO, backoff));
+        assertFalse(policy.shouldRetry(1, RetryPolicy.FailureType.IO_ERROR, false, Duration.ZERO, backoff));
+        assertTrue(policy.shouldRetry(1, RetryPolicy.FailureType.THROTTLED, false, Duration.ZERO, backoff));
+    }
+}
@@ -0,0 +1,74 @@
+package com.mongodb.atlas.api.http;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for TokenBucket and TokenBucketRateLimiter pacing
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testBurstThenEvenPacing() {
+        AtomicLong clock = new AtomicLong(0);
+        // 60 per minute = one permit per second, burst of 3
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), 3, clock::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(SECOND, bucket.reserve());
+        assertEquals(2 * SECOND, bucket.reserve());
+        assertEquals(2, bucket.getPermitsDelayed());
+    }
+
+    @Test
+    public void testIdleBucketRefillsUpToBurstOnly() {
+        AtomicLong clock = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), 2, clock::get);
+
+        bucket.reserve();
+        bucket.reserve();
+        clock.addAndGet(3600 * SECOND);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(SECOND, bucket.reserve());
+    }
+
+    @Test
+    public void testPauseForHonoursRetryAfter() {
+        AtomicLong clock = new AtomicLong(0);
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), 5, clock::get);
+
+        bucket.pauseFor(Duration.ofSeconds(30));
+        assertEquals(30 * SECOND, bucket.reserve());
+
+        clock.addAndGet(31 * SECOND);
+        assertEquals(0, bucket.reserve());
+    }
+
+    @Test
+    public void testDisabledScopesDoNotDelay() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0, 0, 0, 1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.acquire("project", "org"));
+        }
+    }
+
+    @Test
+    public void testProjectBudgetsAreIndependent() {
+        // Burst of 2 per project, no global budget
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0, 1, 0, 2);
+        assertEquals(0, limiter.acquire("p1", null));
+        assertEquals(0, limiter.acquire("p1", null));
+        assertEquals(0, limiter.acquire("p2", null));
+        assertEquals(0, limiter.acquire("p2", null));
+        assertEquals(2, limiter.getStats().get("projectBuckets"));
+    }
+}
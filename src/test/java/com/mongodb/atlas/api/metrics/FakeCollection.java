@@ -0,0 +1,369 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * In-memory stand-in for a MongoCollection in unit tests, built as a dynamic proxy so no
+ * mongod is needed. Documents are kept by {@code _id}: {@code find} matches top-level
+ * equality filters (ignoring sorts and projections), and updates apply {@code $set},
+ * {@code $setOnInsert}, {@code $addToSet}, {@code $min}, {@code $max} and {@code $inc}.
+ * Every write is recorded with the write concern it was sent with. Other methods, or
+ * failures, are stubbed per test with {@link #on}.
+ */
+class FakeCollection<T> {
+
+    /**
+     * Replacement for a collection method
+     */
+    interface Stub {
+        Object invoke(Object[] args) throws Throwable;
+    }
+
+    /**
+     * A recorded call of a write or stubbed method
+     */
+    static final class Call {
+        final Object[] args;
+        final WriteConcern writeConcern;
+        final String thread = Thread.currentThread().getName();
+
+        Call(Object[] args, WriteConcern writeConcern) {
+            this.args = args;
+            this.writeConcern = writeConcern;
+        }
+
+        @SuppressWarnings("unchecked")
+        <E> List<E> list() {
+            return (List<E>) args[0];
+        }
+    }
+
+    private final Map<String, Stub> stubs = new ConcurrentHashMap<>();
+    private final Map<String, List<Call>> calls = new ConcurrentHashMap<>();
+    private final Map<BsonValue, Document> documents = new LinkedHashMap<>();
+
+    FakeCollection<T> on(String method, Stub stub) {
+        stubs.put(method, stub);
+        return this;
+    }
+
+    MongoCollection<T> collection() {
+        return proxy(WriteConcern.ACKNOWLEDGED);
+    }
+
+    /**
+     * Recorded calls of a write or stubbed method, in call order
+     */
+    List<Call> calls(String method) {
+        synchronized (calls) {
+            return new ArrayList<>(calls.getOrDefault(method, List.of()));
+        }
+    }
+
+    synchronized Document document(Object id) {
+        return documents.get(new Document("_id", id).toBsonDocument().get("_id"));
+    }
+
+    synchronized List<Document> documents() {
+        return new ArrayList<>(documents.values());
+    }
+
+    synchronized void insert(Document document) {
+        documents.put(document.toBsonDocument().get("_id"), document);
+    }
+
+    /**
+     * A database whose collections are looked up by name, created on first use
+     */
+    static MongoDatabase database(Map<String, FakeCollection<Document>> collections) {
+        Function<String, FakeCollection<Document>> lookup = name -> collections.computeIfAbsent(name,
+                key -> new FakeCollection<>());
+        return (MongoDatabase) Proxy.newProxyInstance(FakeCollection.class.getClassLoader(),
+                new Class<?>[] { MongoDatabase.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("getCollection") && args.length == 1) {
+                        return lookup.apply((String) args[0]).collection();
+                    }
+                    throw new UnsupportedOperationException("MongoDatabase." + method.getName());
+                });
+    }
+
+    /**
+     * A find, distinct or aggregate result over a list
+     */
+    static <I> I iterable(Class<I> type, List<?> results) {
+        return type.cast(Proxy.newProxyInstance(FakeCollection.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "first":
+                        return results.isEmpty() ? null : results.get(0);
+                    case "iterator":
+                    case "cursor":
+                        return cursor(results.iterator());
+                    case "into":
+                        @SuppressWarnings("unchecked")
+                        Collection<Object> target = (Collection<Object>) args[0];
+                        target.addAll(results);
+                        return target;
+                    case "forEach":
+                        @SuppressWarnings("unchecked")
+                        Consumer<Object> action = (Consumer<Object>) args[0];
+                        results.forEach(action);
+                        return null;
+                    default:
+                        // Options such as sort, projection and batch size
+                        if (method.getReturnType().isInstance(proxy)) {
+                            return proxy;
+                        }
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                    }
+                }));
+    }
+
+    private static MongoCursor<?> cursor(Iterator<?> iterator) {
+        return (MongoCursor<?>) Proxy.newProxyInstance(FakeCollection.class.getClassLoader(),
+                new Class<?>[] { MongoCursor.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "hasNext":
+                        return iterator.hasNext();
+                    case "next":
+                        return iterator.next();
+                    case "tryNext":
+                        return iterator.hasNext() ? iterator.next() : null;
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException("MongoCursor." + method.getName());
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<T> proxy(WriteConcern writeConcern) {
+        return (MongoCollection<T>) Proxy.newProxyInstance(FakeCollection.class.getClassLoader(),
+                new Class<?>[] { MongoCollection.class },
+                (proxy, method, args) -> invoke(proxy, method, args != null ? args : new Object[0], writeConcern));
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args, WriteConcern writeConcern) throws Throwable {
+        String name = method.getName();
+        Stub stub = stubs.get(name);
+        if (stub != null) {
+            record(name, args, writeConcern);
+            return stub.invoke(args);
+        }
+        switch (name) {
+        case "withWriteConcern":
+            return proxy((WriteConcern) args[0]);
+        case "getWriteConcern":
+            return writeConcern;
+        case "createIndex":
+            return "index";
+        case "estimatedDocumentCount":
+            synchronized (this) {
+                return (long) documents.size();
+            }
+        case "find":
+            return iterable(FindIterable.class, find(args.length > 0 && args[0] instanceof Bson ? (Bson) args[0]
+                    : new Document()));
+        case "insertMany":
+            record(name, args, writeConcern);
+            for (Object document : (List<?>) args[0]) {
+                if (document instanceof Document) {
+                    insert((Document) document);
+                }
+            }
+            return null;
+        case "replaceOne":
+            record(name, args, writeConcern);
+            return replace((Bson) args[0], (Document) args[1],
+                    args.length > 2 && ((ReplaceOptions) args[2]).isUpsert());
+        case "updateOne":
+            record(name, args, writeConcern);
+            return update((Bson) args[0], (Bson) args[1], args.length > 2 && ((UpdateOptions) args[2]).isUpsert());
+        case "deleteOne":
+            record(name, args, writeConcern);
+            return delete((Bson) args[0]);
+        case "bulkWrite":
+            record(name, args, writeConcern);
+            return bulkWrite((List<?>) args[0]);
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "equals":
+            return proxy == args[0];
+        case "toString":
+            return "FakeCollection";
+        default:
+            throw new UnsupportedOperationException("MongoCollection." + name);
+        }
+    }
+
+    private void record(String method, Object[] args, WriteConcern writeConcern) {
+        synchronized (calls) {
+            calls.computeIfAbsent(method, key -> new ArrayList<>()).add(new Call(args, writeConcern));
+        }
+    }
+
+    private synchronized List<Document> find(Bson filter) {
+        BsonDocument conditions = filter.toBsonDocument();
+        return documents.values().stream().filter(document -> matches(document, conditions))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean matches(Document document, BsonDocument conditions) {
+        BsonDocument fields = document.toBsonDocument();
+        for (Map.Entry<String, BsonValue> condition : conditions.entrySet()) {
+            if (condition.getKey().startsWith("$") || condition.getValue().isDocument()
+                    && condition.getValue().asDocument().keySet().stream().anyMatch(key -> key.startsWith("$"))) {
+                throw new UnsupportedOperationException("Filter " + conditions.toJson());
+            }
+            if (!condition.getValue().equals(fields.get(condition.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized UpdateResult replace(Bson filter, Document replacement, boolean upsert) {
+        List<Document> matched = find(filter);
+        if (matched.isEmpty() && !upsert) {
+            return UpdateResult.acknowledged(0, 0L, null);
+        }
+        Document document = new Document(replacement);
+        if (!document.containsKey("_id")) {
+            document.put("_id", matched.isEmpty() ? toDocument(filter.toBsonDocument()).get("_id")
+                    : matched.get(0).get("_id"));
+        }
+        insert(document);
+        return UpdateResult.acknowledged(matched.size(), (long) matched.size(), null);
+    }
+
+    private synchronized UpdateResult update(Bson filter, Bson update, boolean upsert) {
+        List<Document> matched = find(filter);
+        boolean inserting = matched.isEmpty();
+        if (inserting && !upsert) {
+            return UpdateResult.acknowledged(0, 0L, null);
+        }
+        Document document = inserting ? toDocument(filter.toBsonDocument()) : matched.get(0);
+        for (Map.Entry<String, Object> operator : toDocument(update.toBsonDocument()).entrySet()) {
+            Document fields = (Document) operator.getValue();
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                apply(document, operator.getKey(), field.getKey(), field.getValue(), inserting);
+            }
+        }
+        insert(document);
+        return UpdateResult.acknowledged(matched.size(), (long) matched.size(), null);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void apply(Document document, String operator, String field, Object value, boolean inserting) {
+        Object current = document.get(field);
+        switch (operator) {
+        case "$set":
+            document.put(field, value);
+            break;
+        case "$setOnInsert":
+            if (inserting) {
+                document.put(field, value);
+            }
+            break;
+        case "$addToSet":
+            List<Object> set = current != null ? new ArrayList<>((List<Object>) current) : new ArrayList<>();
+            if (!set.contains(value)) {
+                set.add(value);
+            }
+            document.put(field, set);
+            break;
+        case "$min":
+            if (current == null || ((Comparable) value).compareTo(current) < 0) {
+                document.put(field, value);
+            }
+            break;
+        case "$max":
+            if (current == null || ((Comparable) value).compareTo(current) > 0) {
+                document.put(field, value);
+            }
+            break;
+        case "$inc":
+            double sum = (current != null ? ((Number) current).doubleValue() : 0) + ((Number) value).doubleValue();
+            document.put(field, value instanceof Double || current instanceof Double ? (Object) sum
+                    : (Object) (long) sum);
+            break;
+        default:
+            throw new UnsupportedOperationException("Update operator " + operator);
+        }
+    }
+
+    private synchronized DeleteResult delete(Bson filter) {
+        List<Document> matched = find(filter);
+        if (!matched.isEmpty()) {
+            documents.remove(matched.get(0).toBsonDocument().get("_id"));
+        }
+        return DeleteResult.acknowledged(matched.size());
+    }
+
+    private synchronized BulkWriteResult bulkWrite(List<?> writes) {
+        int inserted = 0;
+        int matched = 0;
+        for (Object write : writes) {
+            if (write instanceof InsertOneModel) {
+                Object document = ((InsertOneModel<?>) write).getDocument();
+                if (document instanceof Document) {
+                    insert((Document) document);
+                }
+                inserted++;
+            } else if (write instanceof UpdateOneModel) {
+                UpdateOneModel<?> model = (UpdateOneModel<?>) write;
+                matched += update(model.getFilter(), model.getUpdate(), model.getOptions().isUpsert())
+                        .getMatchedCount();
+            } else if (write instanceof ReplaceOneModel) {
+                @SuppressWarnings("unchecked")
+                ReplaceOneModel<Document> model = (ReplaceOneModel<Document>) write;
+                matched += replace(model.getFilter(), model.getReplacement(),
+                        model.getReplaceOptions().isUpsert()).getMatchedCount();
+            } else {
+                throw new UnsupportedOperationException(((WriteModel<?>) write).getClass().getSimpleName());
+            }
+        }
+        return BulkWriteResult.acknowledged(inserted, matched, 0, matched, List.of(), List.of());
+    }
+
+    private static Document toDocument(BsonDocument document) {
+        return new DocumentCodec().decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
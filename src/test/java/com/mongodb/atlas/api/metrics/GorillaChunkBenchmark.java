@@ -0,0 +1,203 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.Random;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Binary;
+
+import com.mongodb.MongoClientSettings;
+
+/**
+ * Microbenchmark of the size and decode throughput of metric points as one BSON
+ * {@code Document} per point, as stored in the metrics collection, against hourly
+ * {@link GorillaChunk}s in chunk documents keyed by series and hour, as stored by
+ * {@link MetricChunks}.
+ *
+ * A batch is one day of 1-minute points of a single series, encoded as an array the way
+ * the driver reads a cursor batch: 1,440 point documents or 24 chunk documents. Two
+ * series shapes are measured, an integer counter and a slowly varying gauge (a random
+ * walk rounded to hundredths). Decoding reads every timestamp and value; the range decode
+ * reads ten minutes of each chunk. No mongod is needed. Run with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.mongodb.atlas.api.metrics.GorillaChunkBenchmark
+ */
+public class GorillaChunkBenchmark {
+
+    private static final int POINTS = 1440;
+    private static final int POINTS_PER_CHUNK = 60;
+    private static final int WARMUP_ITERATIONS = 1_000;
+    private static final int ITERATIONS = 1_000;
+    private static final int ROUNDS = 5;
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+
+    private static final Codec<Document> DOCUMENT_CODEC =
+            MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private static volatile double sink;
+
+    public static void main(String[] args) throws Exception {
+        long[] timestamps = new long[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            timestamps[i] = START + i * MINUTE;
+        }
+        double[] counter = new double[POINTS];
+        double[] gauge = new double[POINTS];
+        Random random = new Random(42);
+        double walk = 50;
+        for (int i = 0; i < POINTS; i++) {
+            counter[i] = i / 3;
+            walk = Math.max(0, walk + random.nextGaussian() * 0.5);
+            gauge[i] = Math.round(walk * 100) / 100.0;
+        }
+
+        run("counter", timestamps, counter);
+        run("gauge", timestamps, gauge);
+    }
+
+    private static void run(String name, long[] timestamps, double[] values) throws Exception {
+        byte[] documentBytes = encodeDocuments(timestamps, values);
+        byte[] chunkBytes = encodeChunks(timestamps, values);
+        int payload = 0;
+        for (int from = 0; from < POINTS; from += POINTS_PER_CHUNK) {
+            payload += GorillaChunk.encode(timestamps, values, from, from + POINTS_PER_CHUNK).length;
+        }
+        System.out.printf("%s: %.1f B/point as point documents | %.1f B/point as chunk documents, "
+                + "%.2f B/point of Gorilla data%n", name, (double) documentBytes.length / POINTS,
+                (double) chunkBytes.length / POINTS, (double) payload / POINTS);
+
+        long[] decodedTimestamps = new long[POINTS_PER_CHUNK];
+        double[] decodedValues = new double[POINTS_PER_CHUNK];
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += decodeDocuments(documentBytes);
+            sink += decodeChunks(chunkBytes, 0, Long.MAX_VALUE, decodedTimestamps, decodedValues);
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            double documents = measure(POINTS, () -> decodeDocuments(documentBytes));
+            double chunks = measure(POINTS, () -> decodeChunks(chunkBytes, 0, Long.MAX_VALUE, decodedTimestamps,
+                    decodedValues));
+            // Minutes 20 to 29 of every hour
+            double range = measure(POINTS / 6, () -> decodeChunks(chunkBytes, 20 * MINUTE, 29 * MINUTE,
+                    decodedTimestamps, decodedValues));
+            System.out.printf("  round %d: decode documents %,12.0f points/s | chunks %,12.0f points/s (%.1fx) "
+                    + "| chunk ranges %,12.0f points/s%n", round, documents, chunks, chunks / documents, range);
+        }
+    }
+
+    private static Document metadata() {
+        return new Document("projectName", "project")
+                .append("host", "host-0.mongodb.net:27017")
+                .append("metric", "DISK_PARTITION_IOPS_READ")
+                .append("partition", "data");
+    }
+
+    private static byte[] encodeDocuments(long[] timestamps, double[] values) {
+        BasicOutputBuffer output = new BasicOutputBuffer(POINTS * 256);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            writer.writeStartDocument();
+            writer.writeStartArray("batch");
+            for (int i = 0; i < POINTS; i++) {
+                Document doc = new Document("timestamp", new Date(timestamps[i]))
+                        .append("value", values[i])
+                        .append("metadata", metadata());
+                DOCUMENT_CODEC.encode(writer, doc, EncoderContext.builder().build());
+            }
+            writer.writeEndArray();
+            writer.writeEndDocument();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] encodeChunks(long[] timestamps, double[] values) {
+        BasicOutputBuffer output = new BasicOutputBuffer(POINTS * 16);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            writer.writeStartDocument();
+            writer.writeStartArray("batch");
+            for (int from = 0; from < POINTS; from += POINTS_PER_CHUNK) {
+                int to = from + POINTS_PER_CHUNK;
+                Document chunk = new Document("_id", metadata().append("hour", new Date(timestamps[from])))
+                        .append("metadata", metadata())
+                        .append("start", new Date(timestamps[from]))
+                        .append("end", new Date(timestamps[to - 1]))
+                        .append("count", to - from)
+                        .append("data", new Binary(GorillaChunk.encode(timestamps, values, from, to)));
+                DOCUMENT_CODEC.encode(writer, chunk, EncoderContext.builder().build());
+            }
+            writer.writeEndArray();
+            writer.writeEndDocument();
+        }
+        return output.toByteArray();
+    }
+
+    private static double decodeDocuments(byte[] bytes) {
+        double checksum = 0;
+        try (BsonBinaryReader reader = openBatch(bytes)) {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Document doc = DOCUMENT_CODEC.decode(reader, DecoderContext.builder().build());
+                checksum += doc.getDate("timestamp").getTime() + doc.getDouble("value");
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Decode the points of every chunk within minutes {@code [fromOffset, toOffset]} of
+     * the chunk's hour
+     */
+    private static double decodeChunks(byte[] bytes, long fromOffset, long toOffset, long[] timestamps,
+            double[] values) {
+        double checksum = 0;
+        try (BsonBinaryReader reader = openBatch(bytes)) {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Document chunk = DOCUMENT_CODEC.decode(reader, DecoderContext.builder().build());
+                long start = chunk.getDate("start").getTime();
+                int decoded = GorillaChunk.decodeRange(chunk.get("data", Binary.class).getData(), 0,
+                        start + fromOffset, toOffset == Long.MAX_VALUE ? toOffset : start + toOffset, timestamps,
+                        values);
+                for (int i = 0; i < decoded; i++) {
+                    checksum += timestamps[i] + values[i];
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * A reader positioned at the first document of the batch array, as a cursor batch is
+     * read
+     */
+    private static BsonBinaryReader openBatch(byte[] bytes) {
+        BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes));
+        reader.readStartDocument();
+        reader.readName("batch");
+        reader.readStartArray();
+        return reader;
+    }
+
+    private interface Operation {
+        double run() throws Exception;
+    }
+
+    /**
+     * @return points decoded per second
+     */
+    private static double measure(int pointsPerIteration, Operation operation) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) ITERATIONS * pointsPerIteration / (elapsed / 1e9);
+    }
+}
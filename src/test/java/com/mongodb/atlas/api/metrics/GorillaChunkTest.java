@@ -0,0 +1,112 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit tests for GorillaChunk encoding, decoding and range decoding
+ */
+public class GorillaChunkTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void testRegularSeriesRoundTrip() {
+        int points = 1440;
+        long[] timestamps = new long[points];
+        double[] values = new double[points];
+        for (int i = 0; i < points; i++) {
+            timestamps[i] = START + i * MINUTE;
+            values[i] = (i / 10) * 0.25;
+        }
+
+        byte[] chunk = GorillaChunk.encode(timestamps, values, 0, points);
+        assertEquals(points, GorillaChunk.count(chunk, 0));
+        // One bit per timestamp, mostly repeated values
+        assertTrue(chunk.length < points, "chunk of " + chunk.length + " bytes");
+        assertRoundTrip(timestamps, values, 0, points, chunk);
+    }
+
+    @Test
+    public void testIrregularTimestampsAndValues() {
+        Random random = new Random(42);
+        int points = 2000;
+        long[] timestamps = new long[points];
+        double[] values = new double[points];
+        long timestamp = START;
+        for (int i = 0; i < points; i++) {
+            // Jitter, gaps of every delta-of-delta size and repeated timestamps
+            switch (i % 5) {
+            case 0: timestamp += MINUTE + random.nextInt(100) - 50; break;
+            case 1: timestamp += random.nextInt(500); break;
+            case 2: timestamp += random.nextInt(4000); break;
+            case 3: timestamp += random.nextInt(10) == 0 ? 30L * 24 * 3600_000 : 0; break;
+            default: timestamp += MINUTE;
+            }
+            timestamps[i] = timestamp;
+            values[i] = random.nextInt(3) == 0 ? values[Math.max(0, i - 1)] : random.nextGaussian() * 1e6;
+        }
+        assertRoundTrip(timestamps, values, 0, points, GorillaChunk.encode(timestamps, values, 0, points));
+    }
+
+    @Test
+    public void testNegativeDeltasAndSpecialValues() {
+        long[] timestamps = { START, START + MINUTE, START + 2, START - 5, Long.MAX_VALUE / 2, START, 0 };
+        double[] values = { 0.0, -0.0, Double.MAX_VALUE, Double.MIN_VALUE, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, -1.5 };
+        assertRoundTrip(timestamps, values, 0, timestamps.length,
+                GorillaChunk.encode(timestamps, values, 0, timestamps.length));
+    }
+
+    @Test
+    public void testSinglePointAndSubrange() {
+        long[] timestamps = { START, START + MINUTE, START + 2 * MINUTE };
+        double[] values = { 1, 2, 3 };
+        assertRoundTrip(timestamps, values, 1, 2, GorillaChunk.encode(timestamps, values, 1, 2));
+        assertRoundTrip(timestamps, values, 1, 3, GorillaChunk.encode(timestamps, values, 1, 3));
+        assertThrows(IllegalArgumentException.class, () -> GorillaChunk.encode(timestamps, values, 2, 2));
+    }
+
+    @Test
+    public void testDecodeRange() {
+        int points = 60;
+        long[] timestamps = new long[points];
+        double[] values = new double[points];
+        for (int i = 0; i < points; i++) {
+            timestamps[i] = START + i * MINUTE;
+            values[i] = i;
+        }
+        // A chunk after other bytes, as in a segment block
+        byte[] encoded = GorillaChunk.encode(timestamps, values, 0, points);
+        byte[] chunk = new byte[encoded.length + 7];
+        System.arraycopy(encoded, 0, chunk, 7, encoded.length);
+
+        long[] decodedTimestamps = new long[points];
+        double[] decodedValues = new double[points];
+        int decoded = GorillaChunk.decodeRange(chunk, 7, START + 10 * MINUTE, START + 19 * MINUTE,
+                decodedTimestamps, decodedValues);
+        assertEquals(10, decoded);
+        for (int i = 0; i < decoded; i++) {
+            assertEquals(START + (10 + i) * MINUTE, decodedTimestamps[i]);
+            assertEquals(10.0 + i, decodedValues[i]);
+        }
+
+        assertEquals(0, GorillaChunk.decodeRange(chunk, 7, START - MINUTE, START - 1, decodedTimestamps, decodedValues));
+        assertEquals(0, GorillaChunk.decodeRange(chunk, 7, START + points * MINUTE, Long.MAX_VALUE, decodedTimestamps,
+                decodedValues));
+    }
+
+    private static void assertRoundTrip(long[] timestamps, double[] values, int from, int to, byte[] chunk) {
+        long[] decodedTimestamps = new long[to - from];
+        double[] decodedValues = new double[to - from];
+        assertEquals(to - from, GorillaChunk.decode(chunk, decodedTimestamps, decodedValues));
+        for (int i = from; i < to; i++) {
+            assertEquals(timestamps[i], decodedTimestamps[i - from], "timestamp " + i);
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(decodedValues[i - from]),
+                    "value " + i);
+        }
+    }
+}
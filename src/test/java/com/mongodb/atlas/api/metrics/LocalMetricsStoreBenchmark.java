@@ -0,0 +1,116 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Benchmark of scanning 30 days of 1-minute history, the longest report period, from
+ * {@link LocalMetricsStore} and, given a MongoDB URI as first argument, from
+ * {@link MetricsStorage} with the same data.
+ *
+ * Every host has one series written in daily batches, as collection stores them. Each
+ * round streams the whole range of all hosts; results are points read per second and
+ * the size of the data on disk. With a URI the {@code atlas_metrics_benchmark} database
+ * is dropped first. Run with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.mongodb.atlas.api.metrics.LocalMetricsStoreBenchmark \
+ *       [-Dexec.args=mongodb://localhost:27017]
+ */
+public class LocalMetricsStoreBenchmark {
+
+    private static final String DATABASE = "atlas_metrics_benchmark";
+    private static final String COLLECTION = "metrics";
+    private static final int HOSTS = 20;
+    private static final int DAYS = 30;
+    private static final int POINTS_PER_DAY = 1440;
+    private static final int ROUNDS = 5;
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+
+    private static volatile double sink;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("atlas-metrics-benchmark");
+        try {
+            LocalMetricsStore local = new LocalMetricsStore(directory);
+            long points = load(local);
+            System.out.printf("%d hosts x %d days of 1-minute points: %,d points, %,d bytes in local files%n",
+                    HOSTS, DAYS, points, size(directory));
+
+            MetricsStorage mongodb = null;
+            if (args.length > 0) {
+                try (MongoClient client = MongoClients.create(args[0])) {
+                    client.getDatabase(DATABASE).drop();
+                }
+                mongodb = new MetricsStorage(args[0], DATABASE, COLLECTION);
+                load(mongodb);
+            }
+
+            for (int round = 1; round <= ROUNDS; round++) {
+                double localRate = scan(local);
+                if (mongodb != null) {
+                    double mongodbRate = scan(mongodb);
+                    System.out.printf("round %d: local %,12.0f points/s | MongoDB %,12.0f points/s (%.1fx)%n",
+                            round, localRate, mongodbRate, localRate / mongodbRate);
+                } else {
+                    System.out.printf("round %d: local %,12.0f points/s%n", round, localRate);
+                }
+            }
+
+            local.close();
+            if (mongodb != null) {
+                mongodb.close();
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private static long load(MetricsStore store) {
+        long stored = 0;
+        for (int host = 0; host < HOSTS; host++) {
+            for (int day = 0; day < DAYS; day++) {
+                MeasurementSeries.Builder builder = MeasurementSeries.builder("CPU").units("PERCENT");
+                for (int i = 0; i < POINTS_PER_DAY; i++) {
+                    int minute = day * POINTS_PER_DAY + i;
+                    builder.add(START + minute * 60_000L, (minute * 7 + host) % 1000 / 10.0);
+                }
+                stored += store.storeMetrics("benchmark", "host-" + host + ".mongodb.net", 27017, null, "CPU",
+                        builder.build());
+            }
+        }
+        return stored;
+    }
+
+    private static double scan(MetricsStore store) {
+        long[] points = new long[1];
+        long start = System.nanoTime();
+        store.streamMetrics("benchmark", null, "CPU", Instant.ofEpochMilli(START),
+                Instant.ofEpochMilli(START + DAYS * POINTS_PER_DAY * 60_000L), MetricsRollups.Resolution.RAW,
+                (host, partition, timestamps, values, length) -> {
+                    double sum = 0;
+                    for (int i = 0; i < length; i++) {
+                        sum += values[i];
+                    }
+                    sink += sum;
+                    points[0] += length;
+                });
+        return points[0] / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Unit tests for LocalMetricsStore writes, range reads, reopening and segment repair
+ */
+public class LocalMetricsStoreTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testStoreAndStreamAcrossDaysAndBlocks() throws IOException {
+        // Three days of 1-minute points: several blocks per segment, one segment per day
+        int points = 3 * 1440;
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            store.setReadBatchSize(500);
+            assertEquals(points, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(0, points)));
+
+            Map<Long, Double> all = read(store, "project", null, "CPU", START, START + points * MINUTE);
+            assertEquals(points, all.size());
+            for (int i = 0; i < points; i++) {
+                assertEquals(value(i), all.get(START + i * MINUTE));
+            }
+
+            // A range inside the second day, boundaries included
+            long from = START + 1500 * MINUTE;
+            long to = START + 2000 * MINUTE;
+            Map<Long, Double> range = read(store, "project", "host-0:27017", "CPU", from, to);
+            assertEquals(501, range.size());
+            assertEquals(from, range.keySet().stream().mapToLong(Long::longValue).min().getAsLong());
+            assertEquals(to, range.keySet().stream().mapToLong(Long::longValue).max().getAsLong());
+        }
+    }
+
+    @Test
+    public void testSkipsStoredAndValuelessPoints() throws IOException {
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(100, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(0, 100)));
+            // Overlaps the stored points by half
+            assertEquals(50, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(50, 100)));
+
+            MeasurementSeries withGap = MeasurementSeries.builder("CPU")
+                    .add(START + 150 * MINUTE, Double.NaN)
+                    .add(START + 151 * MINUTE, 1.5)
+                    .build();
+            assertEquals(1, store.storeMetrics("project", "host-0", 27017, null, "CPU", withGap));
+
+            assertEquals(151, read(store, "project", null, "CPU", START, START + 1000 * MINUTE).size());
+            assertEquals(Instant.ofEpochMilli(START + 151 * MINUTE),
+                    store.getLatestTimestampForHostMetric("host-0:27017", "CPU"));
+        }
+    }
+
+    @Test
+    public void testOutOfOrderPointsAreSorted() throws IOException {
+        MeasurementSeries unordered = MeasurementSeries.builder("CPU")
+                .add(START + 2 * MINUTE, 2)
+                .add(START, 0)
+                .add(START + MINUTE, 1)
+                .add(START + MINUTE, 9)
+                .build();
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(3, store.storeMetrics("project", "host-0", 27017, null, "CPU", unordered));
+
+            List<Long> timestamps = new ArrayList<>();
+            List<Double> values = new ArrayList<>();
+            store.streamMetrics("project", null, "CPU", Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + MINUTE * 10),
+                    MetricsRollups.Resolution.RAW, (host, partition, ts, vs, length) -> {
+                        for (int i = 0; i < length; i++) {
+                            timestamps.add(ts[i]);
+                            values.add(vs[i]);
+                        }
+                    });
+            assertEquals(List.of(START, START + MINUTE, START + 2 * MINUTE), timestamps);
+            assertEquals(List.of(0.0, 1.0, 2.0), values);
+        }
+    }
+
+    @Test
+    public void testReopenAndFilterByHostPartitionAndProject() throws IOException {
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            store.storeMetrics("project", "host-0.example.net", 27017, null, "CPU", series(0, 10));
+            store.storeMetrics("project", "host-1.example.net", 27017, null, "CPU", series(5, 10));
+            store.storeMetrics("project", "host-0.example.net", 27017, "data/disk 1", "DISK_IOPS", series(0, 20));
+            store.storeMetrics("other project", "host-0.example.net", 27017, null, "CPU", series(100, 10));
+        }
+
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(Instant.ofEpochMilli(START), store.getEarliestDataTime("project", null, "CPU"));
+            assertEquals(Instant.ofEpochMilli(START + 14 * MINUTE), store.getLatestDataTime("project", null, "CPU"));
+            assertEquals(Instant.ofEpochMilli(START + 109 * MINUTE), store.getLatestDataTime(null, null, "CPU"));
+            assertEquals(Instant.ofEpochMilli(START + 19 * MINUTE),
+                    store.getLatestTimestampForHostPartitionMetric("host-0.example.net:27017", "data/disk 1", "DISK_IOPS"));
+            assertEquals(Instant.EPOCH, store.getLatestTimestampForHostMetric("host-2.example.net:27017", "CPU"));
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            store.streamMetrics("project", null, "DISK_IOPS", Instant.ofEpochMilli(START), null,
+                    MetricsRollups.Resolution.RAW,
+                    (host, partition, ts, vs, length) -> counts.merge(host + "|" + partition, length, Integer::sum));
+            assertEquals(Map.of("host-0.example.net:27017|data/disk 1", 20), counts);
+
+            // Appending continues after the reopened series' last point
+            assertEquals(5, store.storeMetrics("project", "host-0.example.net", 27017, null, "CPU", series(5, 10)));
+
+            List<SeriesSummary> summaries = store.summarizeMetrics("project", "CPU", Instant.ofEpochMilli(START), null);
+            assertEquals(2, summaries.size());
+            SeriesSummary host0 = summaries.get(0);
+            assertEquals("host-0.example.net:27017", host0.getHost());
+            assertEquals(15, host0.getCount());
+            assertEquals(value(14), host0.getMaxValue());
+            assertEquals(Instant.ofEpochMilli(START + 14 * MINUTE), host0.getMaxTimestamp());
+        }
+    }
+
+    @Test
+    public void testTornWritesAreRepairedOnOpen() throws IOException {
+        // Two blocks within one day
+        int points = 1_200;
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            store.storeMetrics("project", "host-0", 27017, null, "CPU", series(0, points));
+        }
+        Path segment = onlyFile(LocalMetricsStore.SEGMENT_SUFFIX);
+        Path index = onlyFile(LocalMetricsStore.INDEX_SUFFIX);
+
+        // The last block written but its index entry lost, then a partial block appended
+        long indexSize = Files.size(index);
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            channel.truncate(indexSize / 2);
+        }
+        Files.write(segment, new byte[] { 0, 0, 0, 5, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(points, read(store, "project", null, "CPU", START, START + points * MINUTE).size());
+            assertEquals(indexSize, Files.size(index));
+
+            // The repaired segment takes new blocks
+            assertEquals(10, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(points, 10)));
+            assertEquals(points + 10, read(store, "project", null, "CPU", START, START + 2 * points * MINUTE).size());
+        }
+    }
+
+    @Test
+    public void testFailedAppendsAreDiscarded() throws IOException {
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(10, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(0, 10)));
+            Path segment = onlyFile(LocalMetricsStore.SEGMENT_SUFFIX);
+            long segmentSize = Files.size(segment);
+
+            // The index can no longer be written: the block written before it is discarded
+            Path index = onlyFile(LocalMetricsStore.INDEX_SUFFIX);
+            byte[] indexContents = Files.readAllBytes(index);
+            Files.delete(index);
+            Files.createDirectory(index);
+            assertEquals(0, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(10, 10)));
+            assertEquals(segmentSize, Files.size(segment));
+
+            Files.delete(index);
+            Files.write(index, indexContents);
+            assertEquals(10, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(10, 10)));
+            Map<Long, Double> all = read(store, "project", null, "CPU", START, START + 100 * MINUTE);
+            assertEquals(20, all.size());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(value(i), all.get(START + i * MINUTE));
+            }
+        }
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(20, read(store, "project", null, "CPU", START, START + 100 * MINUTE).size());
+        }
+    }
+
+    @Test
+    public void testSegmentsInOtherFormatsAreLeftAlone() throws IOException {
+        // A segment without the segment header, as written before it had one
+        Path seriesDirectory = tempDir.resolve("project").resolve(LocalMetricsStore.encodeName("host-0:27017"))
+                .resolve("CPU");
+        Files.createDirectories(seriesDirectory);
+        Path segment = seriesDirectory.resolve(START + LocalMetricsStore.SEGMENT_SUFFIX);
+        byte[] contents = new byte[100];
+        contents[3] = 5;
+        Files.write(segment, contents);
+
+        long day = 1440;
+        try (LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            assertEquals(0, read(store, "project", null, "CPU", START, START + 2 * day * MINUTE).size());
+            // Its day refuses appends, the next day takes them
+            assertEquals(0, store.storeMetrics("project", "host-0", 27017, null, "CPU", series(0, 10)));
+            assertEquals(10, store.storeMetrics("project", "host-0", 27017, null, "CPU", series((int) day, 10)));
+            assertEquals(10, read(store, "project", null, "CPU", START, START + 2 * day * MINUTE).size());
+        }
+        assertArrayEquals(contents, Files.readAllBytes(segment));
+    }
+
+    @Test
+    public void testBlockEncodingRoundTrip() throws IOException {
+        long[] timestamps = { START, START + 1, START + 60_000, START + 60_000 * 3, START - 5 };
+        double[] values = { 0.0, -1.5, 42.0, 0.731 * 17, Double.MAX_VALUE };
+        long[] decodedTimestamps = new long[LocalMetricsStore.MAX_BLOCK_POINTS];
+        double[] decodedValues = new double[LocalMetricsStore.MAX_BLOCK_POINTS];
+
+        byte[] chunk = new byte[LocalMetricsStore.MAX_CHUNK_BYTES];
+
+        int count = LocalMetricsStore.decodeBlock(LocalMetricsStore.encodeBlock(timestamps, values, 1, 5),
+                Long.MIN_VALUE, Long.MAX_VALUE, chunk, decodedTimestamps, decodedValues);
+        assertEquals(4, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(timestamps[i + 1], decodedTimestamps[i]);
+            assertEquals(values[i + 1], decodedValues[i]);
+        }
+
+        // Only the points within the range
+        count = LocalMetricsStore.decodeBlock(LocalMetricsStore.encodeBlock(timestamps, values, 0, 4),
+                START + 1, START + 60_000, chunk, decodedTimestamps, decodedValues);
+        assertEquals(2, count);
+        assertEquals(START + 1, decodedTimestamps[0]);
+        assertEquals(42.0, decodedValues[1]);
+    }
+
+    @Test
+    public void testNamesAreEncodedForFiles() {
+        for (String name : List.of("host-0.mongodb.net:27017", "..", "data/disk 1", "ünïcode~%+")) {
+            String encoded = LocalMetricsStore.encodeName(name);
+            assertTrue(encoded.matches("[A-Za-z0-9_%-][A-Za-z0-9_.%-]*"), encoded);
+            assertEquals(name, LocalMetricsStore.decodeName(encoded));
+        }
+    }
+
+    private Path onlyFile(String suffix) throws IOException {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            List<Path> matching = files.filter(file -> file.toString().endsWith(suffix)).collect(Collectors.toList());
+            assertEquals(1, matching.size());
+            return matching.get(0);
+        }
+    }
+
+    private static Map<Long, Double> read(MetricsStore store, String projectName, String host, String metric,
+            long from, long to) {
+        Map<Long, Double> points = new LinkedHashMap<>();
+        store.streamMetrics(projectName, host, metric, Instant.ofEpochMilli(from), Instant.ofEpochMilli(to),
+                MetricsRollups.Resolution.RAW, (h, partition, timestamps, values, length) -> {
+                    for (int i = 0; i < length; i++) {
+                        assertNull(points.put(timestamps[i], values[i]));
+                    }
+                });
+        return points;
+    }
+
+    private static MeasurementSeries series(int first, int count) {
+        MeasurementSeries.Builder builder = MeasurementSeries.builder("CPU");
+        for (int i = first; i < first + count; i++) {
+            builder.add(START + i * MINUTE, value(i));
+        }
+        return builder.build();
+    }
+
+    private static double value(int i) {
+        return (i % 100) * 0.731;
+    }
+}
@@ -0,0 +1,181 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import com.mongodb.MongoClientSettings;
+
+/**
+ * Microbenchmark comparing BSON encoding and decoding of metric points as
+ * {@code Document}s, the former storage path, with {@link MetricPointCodec}.
+ *
+ * A batch is one day of 1-minute points of a single series, encoded as an array into a
+ * reused buffer the way the driver writes an insert and decoded back the way it reads a
+ * cursor batch. The Document path builds the timestamp {@code Date} and metadata
+ * {@code Document} of every point as storeMetrics did. Throughput is measured in points
+ * per second and allocation with the per-thread allocation counter of the HotSpot
+ * {@code ThreadMXBean}. No mongod is needed. Run with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.mongodb.atlas.api.metrics.MetricPointCodecBenchmark
+ */
+public class MetricPointCodecBenchmark {
+
+    private static final int POINTS = 1440;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int ITERATIONS = 500;
+    private static final int ROUNDS = 5;
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+
+    private static final Codec<Document> DOCUMENT_CODEC =
+            MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    private static final MetricPointCodec POINT_CODEC = new MetricPointCodec();
+
+    private static volatile double sink;
+
+    public static void main(String[] args) throws Exception {
+        BasicOutputBuffer output = new BasicOutputBuffer(POINTS * 256);
+        encodeDocuments(output);
+        byte[] documentBytes = output.toByteArray();
+        encodePoints(output);
+        byte[] pointBytes = output.toByteArray();
+        System.out.printf("Batch of %,d points: %,d bytes as Documents, %,d bytes with MetricPointCodec%n",
+                POINTS, documentBytes.length, pointBytes.length);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += encodeDocuments(output) + encodePoints(output);
+            sink += decodeDocuments(documentBytes) + decodePoints(pointBytes);
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            Result documentEncode = measure(() -> encodeDocuments(output));
+            Result pointEncode = measure(() -> encodePoints(output));
+            Result documentDecode = measure(() -> decodeDocuments(documentBytes));
+            Result pointDecode = measure(() -> decodePoints(pointBytes));
+            System.out.printf("round %d: encode Document %,11.0f points/s %6.1f B/point | codec %,11.0f points/s "
+                    + "%6.1f B/point%n", round, documentEncode.pointsPerSecond, documentEncode.bytesPerPoint,
+                    pointEncode.pointsPerSecond, pointEncode.bytesPerPoint);
+            System.out.printf("         decode Document %,11.0f points/s %6.1f B/point | codec %,11.0f points/s "
+                    + "%6.1f B/point%n", documentDecode.pointsPerSecond, documentDecode.bytesPerPoint,
+                    pointDecode.pointsPerSecond, pointDecode.bytesPerPoint);
+        }
+    }
+
+    private static int encodeDocuments(BasicOutputBuffer output) {
+        output.truncateToPosition(0);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            writer.writeStartDocument();
+            writer.writeStartArray("batch");
+            for (int i = 0; i < POINTS; i++) {
+                Document metadata = new Document("projectName", "project")
+                        .append("host", "host-0.mongodb.net:27017")
+                        .append("metric", "DISK_PARTITION_IOPS_READ")
+                        .append("partition", "data");
+                Document doc = new Document("timestamp", new Date(START + i * 60_000L))
+                        .append("value", i * 0.731)
+                        .append("metadata", metadata);
+                DOCUMENT_CODEC.encode(writer, doc, EncoderContext.builder().build());
+            }
+            writer.writeEndArray();
+            writer.writeEndDocument();
+        }
+        return output.getPosition();
+    }
+
+    private static int encodePoints(BasicOutputBuffer output) {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "host-0.mongodb.net:27017",
+                "DISK_PARTITION_IOPS_READ", "data");
+        List<MetricPoint> points = new ArrayList<>(POINTS);
+        for (int i = 0; i < POINTS; i++) {
+            points.add(new MetricPoint(START + i * 60_000L, i * 0.731, metadata));
+        }
+        output.truncateToPosition(0);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            writer.writeStartDocument();
+            writer.writeStartArray("batch");
+            for (MetricPoint point : points) {
+                POINT_CODEC.encode(writer, point, EncoderContext.builder().build());
+            }
+            writer.writeEndArray();
+            writer.writeEndDocument();
+        }
+        return output.getPosition();
+    }
+
+    private static double decodeDocuments(byte[] bytes) {
+        double checksum = 0;
+        try (BsonBinaryReader reader = openBatch(bytes)) {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Document doc = DOCUMENT_CODEC.decode(reader, DecoderContext.builder().build());
+                checksum += doc.getDate("timestamp").getTime() + ((Number) doc.get("value")).doubleValue()
+                        + doc.get("metadata", Document.class).getString("host").length();
+            }
+        }
+        return checksum;
+    }
+
+    private static double decodePoints(byte[] bytes) {
+        double checksum = 0;
+        try (BsonBinaryReader reader = openBatch(bytes)) {
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                MetricPoint point = POINT_CODEC.decode(reader, DecoderContext.builder().build());
+                checksum += point.getTimestampMillis() + point.getValue() + point.getMetadata().getHost().length();
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * A reader positioned at the first point of the batch array, as a cursor batch is read
+     */
+    private static BsonBinaryReader openBatch(byte[] bytes) {
+        BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes));
+        reader.readStartDocument();
+        reader.readName("batch");
+        reader.readStartArray();
+        return reader;
+    }
+
+    private interface Operation {
+        double run() throws Exception;
+    }
+
+    private static final class Result {
+        final double pointsPerSecond;
+        final double bytesPerPoint;
+
+        Result(double pointsPerSecond, double bytesPerPoint) {
+            this.pointsPerSecond = pointsPerSecond;
+            this.bytesPerPoint = bytesPerPoint;
+        }
+    }
+
+    private static Result measure(Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        long points = (long) ITERATIONS * POINTS;
+        return new Result(points / (elapsed / 1e9), (double) allocated / points);
+    }
+}
@@ -0,0 +1,101 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+import com.mongodb.MongoClientSettings;
+
+/**
+ * Unit tests for MetricPointCodec encoding, decoding of Document-written points and
+ * decoding of projections
+ */
+public class MetricPointCodecTest {
+
+    private static final long TIMESTAMP = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final CodecRegistry REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+
+    private final MetricPointCodec codec = new MetricPointCodec();
+
+    @Test
+    public void testRoundTrip() {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "host:27017", "DISK_PARTITION_IOPS_READ",
+                "data");
+        MetricPoint decoded = decode(encode(new MetricPoint(TIMESTAMP, 42.5, metadata)));
+
+        assertEquals(TIMESTAMP, decoded.getTimestampMillis());
+        assertEquals(42.5, decoded.getValue());
+        assertEquals(metadata, decoded.getMetadata());
+    }
+
+    @Test
+    public void testEncodesSameLayoutAsDocument() {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "host:27017", "CPU", null);
+        Document expected = new Document("timestamp", new Date(TIMESTAMP))
+                .append("value", 12.0)
+                .append("metadata", new Document("projectName", "project")
+                        .append("host", "host:27017")
+                        .append("metric", "CPU"));
+
+        assertEquals(expected.toBsonDocument(Document.class, REGISTRY),
+                encode(new MetricPoint(TIMESTAMP, 12.0, metadata)));
+    }
+
+    @Test
+    public void testDecodesDocumentWrittenPointsWithIntegerValues() {
+        Document stored = new Document("_id", "ignored")
+                .append("timestamp", new Date(TIMESTAMP))
+                .append("value", 7)
+                .append("metadata", new Document("projectName", "project")
+                        .append("host", "host:27017")
+                        .append("metric", "CONNECTIONS")
+                        .append("extra", 1));
+        MetricPoint decoded = decode(stored.toBsonDocument(Document.class, REGISTRY));
+
+        assertEquals(7.0, decoded.getValue());
+        assertEquals("CONNECTIONS", decoded.getMetadata().getMetric());
+        assertNull(decoded.getMetadata().getPartition());
+    }
+
+    @Test
+    public void testMissingOrNullValueIsNaN() {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "host:27017", "CPU", null);
+        MetricPoint decoded = decode(encode(new MetricPoint(TIMESTAMP, Double.NaN, metadata)));
+        assertFalse(decoded.hasValue());
+
+        decoded = decode(new Document("timestamp", new Date(TIMESTAMP)).toBsonDocument(Document.class, REGISTRY));
+        assertFalse(decoded.hasValue());
+        assertNull(decoded.getMetadata());
+    }
+
+    @Test
+    public void testConsecutivePointsShareMetadata() {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "host:27017", "CPU", null);
+        MetricPoint first = decode(encode(new MetricPoint(TIMESTAMP, 1, metadata)));
+        MetricPoint second = decode(encode(new MetricPoint(TIMESTAMP + 60_000, 2, metadata)));
+        assertSame(first.getMetadata(), second.getMetadata());
+
+        MetricPoint other = decode(encode(new MetricPoint(TIMESTAMP, 3,
+                new MetricPoint.Metadata("project", "host:27018", "CPU", null))));
+        assertNotSame(first.getMetadata(), other.getMetadata());
+        assertEquals("host:27018", other.getMetadata().getHost());
+    }
+
+    private BsonDocument encode(MetricPoint point) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), point, EncoderContext.builder().build());
+        return document;
+    }
+
+    private MetricPoint decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
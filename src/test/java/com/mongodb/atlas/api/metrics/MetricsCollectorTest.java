@@ -0,0 +1,162 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mongodb.atlas.api.clients.AtlasApiBase;
+import com.mongodb.atlas.api.clients.AtlasApiClient;
+import com.mongodb.atlas.api.clients.AtlasClustersClient;
+import com.mongodb.atlas.api.clients.AtlasMonitoringClient;
+import com.mongodb.atlas.api.model.AtlasProcess;
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Unit tests for MetricsCollector host collection concurrency and failure isolation,
+ * against a stub API client and a local store
+ */
+public class MetricsCollectorTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+    private static final int HOSTS = 8;
+    private static final int POINTS = 10;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Client answering from memory: one project of {@link #HOSTS} hosts, each fetch
+     * taking a little while, the fetch of {@code failingHost} failing
+     */
+    private static final class StubClient extends AtlasApiClient {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final Set<String> fetchedHosts = ConcurrentHashMap.newKeySet();
+        private final AtlasClustersClient clusters;
+        private final AtlasMonitoringClient monitoring;
+
+        StubClient(String failingHost) {
+            super("public", "private");
+            AtlasApiBase base = base();
+            this.clusters = new AtlasClustersClient(base) {
+                @Override
+                public Map<String, String> getProjects(Set<String> includeProjectNames) {
+                    return Map.of("project", "project-id");
+                }
+
+                @Override
+                public List<AtlasProcess> getAtlasProcesses(String projectId) {
+                    List<AtlasProcess> processes = new ArrayList<>();
+                    for (int i = 0; i < HOSTS; i++) {
+                        processes.add(new AtlasProcess(null, projectId, "host-" + i, 27017, "REPLICA_PRIMARY", "rs0",
+                                null, null, "7.0"));
+                    }
+                    // Not collected
+                    processes.add(new AtlasProcess(null, projectId, "router", 27016, AtlasProcess.SHARD_MONGOS, null,
+                            null, null, "7.0"));
+                    return processes;
+                }
+            };
+            this.monitoring = new AtlasMonitoringClient(base) {
+                @Override
+                public List<MeasurementSeries> getProcessMeasurementSeries(String projectId, String hostname, int port,
+                        List<String> metrics, String granularity, Instant startTime, Instant endTime) {
+                    fetchedHosts.add(hostname);
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(30);
+                        if (hostname.equals(failingHost)) {
+                            throw new IllegalStateException("fetch failed");
+                        }
+                        MeasurementSeries.Builder builder = MeasurementSeries.builder("CPU");
+                        for (int i = 0; i < POINTS; i++) {
+                            builder.add(START + i * MINUTE, i);
+                        }
+                        return List.of(builder.build());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return List.of();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public AtlasClustersClient clusters() {
+            return clusters;
+        }
+
+        @Override
+        public AtlasMonitoringClient monitoring() {
+            return monitoring;
+        }
+    }
+
+    private static int storedPoints(LocalMetricsStore store, String host) {
+        AtomicInteger points = new AtomicInteger();
+        store.streamMetrics("project", host + ":27017", "CPU", Instant.ofEpochMilli(START),
+                Instant.ofEpochMilli(START + POINTS * MINUTE), MetricsRollups.Resolution.RAW,
+                (series, partition, timestamps, values, length) -> points.addAndGet(length));
+        return points.get();
+    }
+
+    @Test
+    public void testHostConcurrencyIsBoundedByHostParallelism() throws IOException {
+        try (StubClient client = new StubClient(null); LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            MetricsCollector collector = new MetricsCollector(client, List.of("CPU"), "P1D", "PT1M", store, true, true);
+            collector.setHostParallelism(3);
+            collector.collectMetrics(Set.of("project"));
+
+            assertTrue(client.maxRunning.get() > 1 && client.maxRunning.get() <= 3,
+                    "max concurrent hosts: " + client.maxRunning.get());
+            assertEquals(HOSTS, client.fetchedHosts.size());
+            for (int i = 0; i < HOSTS; i++) {
+                assertEquals(POINTS, storedPoints(store, "host-" + i));
+            }
+            assertFalse(collector.hasCollectionErrors("project"));
+        }
+    }
+
+    @Test
+    public void testSerialCollectionFetchesOneHostAtATime() throws IOException {
+        try (StubClient client = new StubClient(null); LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            MetricsCollector collector = new MetricsCollector(client, List.of("CPU"), "P1D", "PT1M", store, true, true);
+            collector.setHostParallelism(1);
+            collector.collectMetrics(Set.of("project"));
+
+            assertEquals(1, client.maxRunning.get());
+            assertEquals(HOSTS, client.fetchedHosts.size());
+        }
+    }
+
+    @Test
+    public void testFailingHostDoesNotStopTheOthers() throws IOException {
+        try (StubClient client = new StubClient("host-2"); LocalMetricsStore store = new LocalMetricsStore(tempDir)) {
+            MetricsCollector collector = new MetricsCollector(client, List.of("CPU"), "P1D", "PT1M", store, true, true);
+            collector.setHostParallelism(4);
+            collector.collectMetrics(Set.of("project"));
+
+            assertEquals(HOSTS, client.fetchedHosts.size());
+            assertEquals(0, storedPoints(store, "host-2"));
+            for (int i = 0; i < HOSTS; i++) {
+                if (i != 2) {
+                    assertEquals(POINTS, storedPoints(store, "host-" + i));
+                }
+            }
+            assertTrue(collector.getHostCollectionSpeedup() > 1.0);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * Unit tests for MetricsRollups bucketing, resolution choice, bucket statistics and
+ * coverage after failures, against in-memory collections
+ */
+public class MetricsRollupsTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    private final Map<String, FakeCollection<Document>> collections = new HashMap<>();
+    private final MongoDatabase database = FakeCollection.database(collections);
+    private final FakeCollection<Document> metrics = new FakeCollection<>();
+
+    private MetricsRollups rollups() {
+        return new MetricsRollups(database, "metrics", metrics.collection());
+    }
+
+    private static Instant nextDay() {
+        return Instant.ofEpochMilli(Math.floorDiv(System.currentTimeMillis(), DAY) * DAY + DAY);
+    }
+
+    @Test
+    public void testBucketStartFloorsToTheInterval() {
+        assertEquals(START + 2 * MINUTE, MetricsRollups.Resolution.RAW.bucketStart(START + 2 * MINUTE + 59_999));
+        assertEquals(START + HOUR, MetricsRollups.Resolution.HOURLY.bucketStart(START + HOUR + 30 * MINUTE));
+        assertEquals(START + HOUR, MetricsRollups.Resolution.HOURLY.bucketStart(START + HOUR));
+        assertEquals(START, MetricsRollups.Resolution.DAILY.bucketStart(START + DAY - 1));
+
+        // Before the epoch buckets still start at or before the time
+        assertEquals(-HOUR, MetricsRollups.Resolution.HOURLY.bucketStart(-1));
+    }
+
+    @Test
+    public void testChooseTheFinestResolutionWithinTheBudget() {
+        // An empty collection is covered from the start
+        MetricsRollups rollups = rollups();
+        assertEquals(Instant.EPOCH, rollups.getCoverageStart());
+
+        Instant start = Instant.ofEpochMilli(START);
+        assertEquals(MetricsRollups.Resolution.RAW, rollups.choose(start, start.plus(Duration.ofHours(10)), 600));
+        assertEquals(MetricsRollups.Resolution.HOURLY, rollups.choose(start, start.plus(Duration.ofHours(11)), 600));
+        assertEquals(MetricsRollups.Resolution.HOURLY, rollups.choose(start, start.plus(Duration.ofDays(25)), 600));
+        assertEquals(MetricsRollups.Resolution.DAILY, rollups.choose(start, start.plus(Duration.ofDays(26)), 600));
+
+        // Windows too long even for daily rollups still get the coarsest
+        assertEquals(MetricsRollups.Resolution.DAILY, rollups.choose(start, start.plus(Duration.ofDays(1_000)), 600));
+
+        // A larger budget keeps finer resolutions for longer
+        assertEquals(MetricsRollups.Resolution.RAW,
+                rollups.choose(start, start.plus(Duration.ofDays(25)), 50_000));
+
+        // An open end is now
+        Instant now = Instant.now();
+        assertEquals(MetricsRollups.Resolution.HOURLY, rollups.choose(now.minus(Duration.ofDays(7)), null, 600));
+    }
+
+    @Test
+    public void testCollectionWithDataIsCoveredFromTheNextDay() {
+        metrics.insert(new Document("_id", 1));
+        Instant expected = nextDay();
+        MetricsRollups rollups = rollups();
+
+        assertEquals(expected, rollups.getCoverageStart());
+        assertEquals(Date.from(expected), collections.get("metrics_rollup_state").document("coverage").getDate("since"));
+
+        // Windows before the coverage are read from the points whatever their length
+        Instant start = expected.minus(Duration.ofDays(365));
+        assertEquals(MetricsRollups.Resolution.RAW, rollups.choose(start, expected, 600));
+        assertEquals(MetricsRollups.Resolution.DAILY, rollups.choose(expected, expected.plus(Duration.ofDays(365)), 600));
+    }
+
+    @Test
+    public void testInvalidatedCoverageIsPersisted() {
+        MetricsRollups rollups = rollups();
+        assertEquals(Instant.EPOCH, rollups.getCoverageStart());
+
+        Instant expected = nextDay();
+        rollups.invalidateCoverage();
+        assertEquals(expected, rollups.getCoverageStart());
+
+        // A later run, even over a collection that is empty again, keeps the invalidated coverage
+        assertEquals(expected, rollups().getCoverageStart());
+        assertEquals(MetricsRollups.Resolution.RAW,
+                rollups.choose(Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 365 * DAY), 600));
+    }
+
+    @Test
+    public void testApplyKeepsMinMaxSumAndCountPerBucket() {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "host-a", "CPU", null);
+        MetricsRollups rollups = rollups();
+        rollups.apply(List.of(new MetricPoint(START, 10, metadata), new MetricPoint(START + MINUTE, 95, metadata),
+                new MetricPoint(START + 2 * MINUTE, 15, metadata), new MetricPoint(START + HOUR, 20, metadata)));
+        rollups.apply(List.of(new MetricPoint(START + HOUR + MINUTE, 40, metadata)));
+
+        List<Document> hourly = collections.get("metrics_PT1H").documents();
+        assertEquals(2, hourly.size());
+        Document spike = collections.get("metrics_PT1H").document("host-a:CPU@" + START);
+        assertEquals(10.0, spike.getDouble("min"));
+        assertEquals(95.0, spike.getDouble("max"));
+        assertEquals(120.0, spike.getDouble("sum"));
+        assertEquals(3L, spike.get("count", Number.class).longValue());
+        assertEquals(new Date(START), spike.getDate("timestamp"));
+
+        Document day = collections.get("metrics_P1D").document("host-a:CPU@" + START);
+        assertEquals(95.0, day.getDouble("max"));
+        assertEquals(180.0, day.getDouble("sum"));
+        assertEquals(5L, day.get("count", Number.class).longValue());
+    }
+
+    @Test
+    public void testFailedBackfillKeepsTheCoverage() throws InterruptedException {
+        metrics.insert(new Document("_id", 1));
+        stubBackfill("host-b");
+        MetricsRollups rollups = rollups();
+        Instant coverage = rollups.getCoverageStart();
+
+        rollups.backfill(Instant.ofEpochMilli(START + HOUR), 2);
+
+        assertEquals(coverage, rollups.getCoverageStart());
+        assertEquals(Date.from(coverage), collections.get("metrics_rollup_state").document("coverage").getDate("since"));
+        // The host that succeeded is still written
+        assertNotNull(collections.get("metrics_PT1H").document("host-a:CPU@" + START));
+    }
+
+    @Test
+    public void testBackfillExtendsTheCoverageToWholeDays() throws InterruptedException {
+        metrics.insert(new Document("_id", 1));
+        stubBackfill(null);
+        MetricsRollups rollups = rollups();
+
+        assertEquals(4, rollups.backfill(Instant.ofEpochMilli(START + HOUR), 2));
+
+        assertEquals(Instant.ofEpochMilli(START), rollups.getCoverageStart());
+        assertEquals(new Date(START), collections.get("metrics_rollup_state").document("coverage").getDate("since"));
+        assertEquals(MetricsRollups.Resolution.DAILY,
+                rollups.choose(Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 365 * DAY), 600));
+
+        Document day = collections.get("metrics_P1D").document("host-b:CPU@" + START);
+        assertEquals(80.0, day.getDouble("max"));
+        assertEquals(4L, day.get("count", Number.class).longValue());
+    }
+
+    /**
+     * Two hosts with one hourly group each, the aggregation of {@code failingHost} failing
+     */
+    private void stubBackfill(String failingHost) {
+        metrics.on("distinct", args -> FakeCollection.iterable(DistinctIterable.class, List.of("host-a", "host-b")));
+        metrics.on("aggregate", args -> {
+            @SuppressWarnings("unchecked")
+            String match = ((List<Bson>) args[0]).get(0).toBsonDocument().toJson();
+            String host = match.contains("host-a") ? "host-a" : "host-b";
+            if (host.equals(failingHost)) {
+                throw new MongoException("aggregation failed");
+            }
+            Document metadata = new Document("projectName", "project").append("host", host).append("metric", "CPU");
+            Document group = new Document("_id", new Document("metadata", metadata).append("bucket", START))
+                    .append("min", 5.0).append("max", 80.0).append("sum", 120.0).append("count", 4);
+            return FakeCollection.iterable(AggregateIterable.class, List.of(group));
+        });
+    }
+}
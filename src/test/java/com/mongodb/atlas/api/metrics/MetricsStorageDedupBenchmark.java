@@ -0,0 +1,120 @@
+package com.mongodb.atlas.api.metrics;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Benchmark of duplicate detection when storing a batch of metrics against a real
+ * mongod: the former one {@code countDocuments} per point against
+ * {@link MetricsStorage#storeMetrics}, which looks up the batch's stored timestamps
+ * with one range query.
+ *
+ * Every batch overlaps the previous data by half, the situation after a collection
+ * restarts from an older timestamp, so half of its points are duplicates. Results are
+ * new points inserted per second. Needs a local mongod (or a URI as first argument) and
+ * drops the {@code atlas_metrics_benchmark} database. Run with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.mongodb.atlas.api.metrics.MetricsStorageDedupBenchmark
+ */
+public class MetricsStorageDedupBenchmark {
+
+    private static final String DATABASE = "atlas_metrics_benchmark";
+    private static final String COLLECTION = "metrics";
+    private static final int POINTS_PER_BATCH = 10_000;
+    private static final int ROUNDS = 5;
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+
+    public static void main(String[] args) {
+        String uri = args.length > 0 ? args[0] : "mongodb://localhost:27017";
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            client.getDatabase(DATABASE).drop();
+        }
+        MetricsStorage storage = new MetricsStorage(uri, DATABASE, COLLECTION);
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection(COLLECTION);
+            System.out.printf("Batches of %,d points, half of them already stored%n", POINTS_PER_BATCH);
+
+            for (int round = 1; round <= ROUNDS; round++) {
+                // A distinct host per round and method, so every run sees the same overlap
+                String perPointHost = "per-point-" + round;
+                prefill(collection, perPointHost);
+                long start = System.nanoTime();
+                int perPointInserted = storePerPoint(collection, perPointHost, series());
+                double perPointRate = perPointInserted / ((System.nanoTime() - start) / 1e9);
+
+                String batchedHost = "batched-" + round;
+                prefill(collection, batchedHost);
+                start = System.nanoTime();
+                int batchedInserted = storage.storeMetrics("benchmark", batchedHost, 27017, null, "CPU", series());
+                double batchedRate = batchedInserted / ((System.nanoTime() - start) / 1e9);
+
+                System.out.printf("round %d: per-point %,10.0f inserts/s | batched %,10.0f inserts/s (%.1fx)%n",
+                        round, perPointRate, batchedRate, batchedRate / perPointRate);
+            }
+        } finally {
+            storage.close();
+        }
+    }
+
+    private static MeasurementSeries series() {
+        MeasurementSeries.Builder builder = MeasurementSeries.builder("CPU").units("PERCENT");
+        for (int i = 0; i < POINTS_PER_BATCH; i++) {
+            builder.add(START + i * 60_000L, i % 100);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Store the first half of the series directly, bypassing the storage's timestamp
+     * tracker so duplicates have to be found in the collection
+     */
+    private static void prefill(MongoCollection<Document> collection, String host) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < POINTS_PER_BATCH / 2; i++) {
+            documents.add(document(host, START + i * 60_000L, i % 100));
+        }
+        collection.insertMany(documents);
+    }
+
+    /**
+     * The previous storage path: a count query per point, then one insertMany
+     */
+    private static int storePerPoint(MongoCollection<Document> collection, String host, MeasurementSeries series) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < series.size(); i++) {
+            Bson filter = Filters.and(Filters.eq("timestamp", new Date(series.getTimestampMillis(i))),
+                    Filters.eq("value", series.getValue(i)), Filters.eq("metadata.projectName", "benchmark"),
+                    Filters.eq("metadata.host", host + ":27017"), Filters.eq("metadata.metric", "CPU"),
+                    Filters.or(Filters.exists("metadata.partition", false), Filters.eq("metadata.partition", null)));
+            if (collection.countDocuments(filter) == 0) {
+                documents.add(document(host, series.getTimestampMillis(i), series.getValue(i)));
+            }
+        }
+        if (!documents.isEmpty()) {
+            collection.insertMany(documents, new InsertManyOptions().ordered(false));
+        }
+        return documents.size();
+    }
+
+    private static Document document(String host, long millis, double value) {
+        return new Document("timestamp", new Date(millis))
+                .append("value", value)
+                .append("metadata", new Document("projectName", "benchmark")
+                        .append("host", host + ":27017")
+                        .append("metric", "CPU"));
+    }
+}
@@ -0,0 +1,159 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Unit tests for the default MetricsStore summaries, over a stub store that streams
+ * fixed chunks
+ */
+public class MetricsStoreTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+
+    /**
+     * Streams its chunks in order, reusing one pair of arrays larger than any chunk as
+     * real stores do
+     */
+    private static final class StubStore implements MetricsStore {
+        private final List<Object[]> chunks = new ArrayList<>();
+        private MetricsRollups.Resolution streamedResolution;
+
+        StubStore chunk(String host, String partition, double... values) {
+            long first = chunks.stream().filter(chunk -> chunk[0].equals(host)
+                    && Objects.equals(chunk[1], partition)).mapToLong(chunk -> ((double[]) chunk[2]).length)
+                    .sum();
+            chunks.add(new Object[] { host, partition, values, first });
+            return this;
+        }
+
+        @Override
+        public void streamMetrics(String projectName, String host, String metric, Instant startTime,
+                Instant endTime, MetricsRollups.Resolution resolution, MetricsRollups.Statistic statistic,
+                SeriesChunkConsumer consumer) {
+            streamedResolution = resolution;
+            long[] timestamps = new long[16];
+            double[] values = new double[16];
+            for (Object[] chunk : chunks) {
+                double[] chunkValues = (double[]) chunk[2];
+                long first = (long) chunk[3];
+                // Stale data past the chunk's length must be ignored
+                Arrays.fill(values, 1_000);
+                for (int i = 0; i < chunkValues.length; i++) {
+                    timestamps[i] = START + (first + i) * MINUTE;
+                    values[i] = chunkValues[i];
+                }
+                consumer.accept((String) chunk[0], (String) chunk[1], timestamps, values, chunkValues.length);
+            }
+        }
+
+        @Override
+        public int storeMetrics(String projectName, String host, int port, String partition, String metric,
+                MeasurementSeries series) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant getLatestTimestampForHostMetric(String host, String metric) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant getLatestTimestampForHostPartitionMetric(String host, String partition, String metric) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant getEarliestDataTime(String projectName, String host, String metric) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant getLatestDataTime(String projectName, String host, String metric) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static Instant minute(int index) {
+        return Instant.ofEpochMilli(START + index * MINUTE);
+    }
+
+    @Test
+    public void testSummaryMaxAverageAndCountPerSeries() {
+        StubStore store = new StubStore()
+                .chunk("host-a:27017", null, 10, 30, 20)
+                .chunk("host-b:27017", null, 5)
+                .chunk("host-a:27017", null, 40, 0);
+
+        List<SeriesSummary> summaries = store.summarizeMetrics("project", "CPU", minute(0), minute(10));
+
+        assertEquals(MetricsRollups.Resolution.RAW, store.streamedResolution);
+        assertEquals(2, summaries.size());
+        SeriesSummary a = summaries.get(0);
+        assertEquals("host-a:27017", a.getHost());
+        assertNull(a.getPartition());
+        assertEquals(40, a.getMaxValue());
+        assertEquals(20, a.getAvgValue(), 1e-9);
+        assertEquals(5, a.getCount());
+        assertEquals(minute(3), a.getMaxTimestamp());
+
+        SeriesSummary b = summaries.get(1);
+        assertEquals(5, b.getMaxValue());
+        assertEquals(5, b.getAvgValue());
+        assertEquals(1, b.getCount());
+        assertEquals(minute(0), b.getMaxTimestamp());
+    }
+
+    @Test
+    public void testTiedMaximumReportsItsLatestTime() {
+        StubStore store = new StubStore()
+                .chunk("host-a:27017", null, 7, 9, 3)
+                .chunk("host-a:27017", null, 9, 1)
+                .chunk("host-a:27017", null, 2);
+
+        SeriesSummary summary = store.summarizeMetrics("project", "CPU", minute(0), minute(10)).get(0);
+
+        assertEquals(9, summary.getMaxValue());
+        assertEquals(minute(3), summary.getMaxTimestamp());
+        assertEquals(6, summary.getCount());
+    }
+
+    @Test
+    public void testPartitionsAreSummarizedSeparately() {
+        StubStore store = new StubStore()
+                .chunk("host-a:27017", "data", 100, 300)
+                .chunk("host-a:27017", "journal", 50)
+                .chunk("host-a:27017", "data", 200);
+
+        List<SeriesSummary> summaries = store.summarizeMetrics("project", "DISK_PARTITION_IOPS_READ", minute(0),
+                minute(10), MetricsRollups.Resolution.HOURLY);
+
+        assertEquals(MetricsRollups.Resolution.HOURLY, store.streamedResolution);
+        assertEquals(2, summaries.size());
+        assertEquals("data", summaries.get(0).getPartition());
+        assertEquals(300, summaries.get(0).getMaxValue());
+        assertEquals(200, summaries.get(0).getAvgValue(), 1e-9);
+        assertEquals(3, summaries.get(0).getCount());
+        assertEquals(minute(1), summaries.get(0).getMaxTimestamp());
+        assertEquals("journal", summaries.get(1).getPartition());
+        assertEquals(1, summaries.get(1).getCount());
+    }
+
+    @Test
+    public void testNothingStoredGivesNoSummaries() {
+        assertTrue(new StubStore().summarizeMetrics("project", "CPU", minute(0), minute(10)).isEmpty());
+    }
+}
@@ -0,0 +1,159 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import com.mongodb.atlas.api.model.MeasurementSeries;
+
+/**
+ * Unit tests for StoragePipeline hand-off, backpressure, failure handling and shutdown
+ */
+public class StoragePipelineTest {
+
+    private static MeasurementSeries series(int points) {
+        MeasurementSeries.Builder builder = MeasurementSeries.builder("CPU");
+        for (int i = 0; i < points; i++) {
+            builder.add(i * 60_000L, i);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testSubmittedSeriesAreStoredAndFlushed() {
+        AtomicInteger storedPoints = new AtomicInteger();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        try (StoragePipeline pipeline = new StoragePipeline((project, host, port, partition, metric, series) -> {
+            storedPoints.addAndGet(series.size());
+            return series.size();
+        }, 2, 4)) {
+            for (int i = 1; i <= 20; i++) {
+                results.add(pipeline.submit("project", "host-" + i, 27017, null, "CPU", series(i)));
+            }
+            pipeline.flush();
+
+            assertEquals(210, storedPoints.get());
+            assertEquals(0, pipeline.getQueueDepth());
+            results.forEach(result -> assertTrue(result.isDone()));
+            assertEquals(20, results.get(19).join());
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> store = (Map<String, Object>) pipeline.getStats().get("store");
+            assertEquals(20L, store.get("batches"));
+            assertEquals(210L, store.get("pointsStored"));
+        }
+    }
+
+    @Test
+    public void testFullQueueBlocksSubmitterUntilWriterCatchesUp() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StoragePipeline pipeline = new StoragePipeline((project, host, port, partition, metric, series) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return series.size();
+        }, 1, 1);
+
+        try {
+            // The first series occupies the only writer, the second fills the queue
+            pipeline.submit("project", "host", 27017, null, "CPU", series(1));
+            waitFor(() -> pipeline.getQueueDepth() == 0);
+            pipeline.submit("project", "host", 27017, null, "CPU", series(1));
+
+            Thread producer = new Thread(() -> pipeline.submit("project", "host", 27017, null, "CPU", series(1)));
+            producer.start();
+            waitFor(() -> producer.getState() == Thread.State.WAITING);
+            assertTrue(producer.isAlive());
+
+            release.countDown();
+            producer.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(producer.isAlive());
+            pipeline.flush();
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> fetch = (Map<String, Object>) pipeline.getStats().get("fetch");
+            assertEquals(1L, fetch.get("backpressureWaits"));
+            assertEquals(1, pipeline.getStats().get("maxQueueDepth"));
+        } finally {
+            release.countDown();
+            pipeline.close();
+        }
+    }
+
+    @Test
+    public void testFailedWriteCompletesExceptionallyWithoutStoppingWriter() {
+        try (StoragePipeline pipeline = new StoragePipeline((project, host, port, partition, metric, series) -> {
+            if (host.equals("bad")) {
+                throw new IllegalStateException("write failed");
+            }
+            return series.size();
+        }, 1, 4)) {
+            CompletableFuture<Integer> failed = pipeline.submit("project", "bad", 27017, null, "CPU", series(3));
+            CompletableFuture<Integer> stored = pipeline.submit("project", "good", 27017, null, "CPU", series(3));
+            pipeline.flush();
+
+            assertTrue(failed.isCompletedExceptionally());
+            assertEquals(3, stored.join());
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> store = (Map<String, Object>) pipeline.getStats().get("store");
+            assertEquals(1L, store.get("failedBatches"));
+        }
+    }
+
+    @Test
+    public void testErrorInWriteCompletesExceptionallyWithoutStoppingWriter() {
+        try (StoragePipeline pipeline = new StoragePipeline((project, host, port, partition, metric, series) -> {
+            if (host.equals("bad")) {
+                throw new StackOverflowError();
+            }
+            return series.size();
+        }, 1, 4)) {
+            CompletableFuture<Integer> failed = pipeline.submit("project", "bad", 27017, null, "CPU", series(3));
+            CompletableFuture<Integer> stored = pipeline.submit("project", "good", 27017, null, "CPU", series(3));
+            pipeline.flush();
+
+            CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+            assertTrue(thrown.getCause() instanceof StackOverflowError);
+            assertEquals(3, stored.join());
+        }
+    }
+
+    @Test
+    public void testCloseFlushesAndRejectsFurtherSeries() {
+        AtomicInteger writes = new AtomicInteger();
+        StoragePipeline pipeline = new StoragePipeline((project, host, port, partition, metric, series) -> {
+            writes.incrementAndGet();
+            return series.size();
+        }, 2, 8);
+
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit("project", "host", 27017, "data", "DISK_PARTITION_IOPS_READ", series(2));
+        }
+        pipeline.close();
+
+        assertEquals(5, writes.get());
+        assertThrows(IllegalStateException.class,
+                () -> pipeline.submit("project", "host", 27017, null, "CPU", series(1)));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for condition");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for TimestampTracker lookups, forward-only updates and snapshot files
+ */
+public class TimestampTrackerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAdvanceOnlyMovesForward() {
+        TimestampTracker tracker = new TimestampTracker();
+        assertEquals(TimestampTracker.NO_TIMESTAMP, tracker.get("host:27017:CPU"));
+        assertEquals(TimestampTracker.NO_TIMESTAMP, tracker.getHighWaterMark());
+
+        assertTrue(tracker.advance("host:27017:CPU", 2_000));
+        assertFalse(tracker.advance("host:27017:CPU", 1_000));
+        assertFalse(tracker.advance("host:27017:CPU", 2_000));
+        assertEquals(2_000, tracker.get("host:27017:CPU"));
+
+        assertTrue(tracker.advance("host:27017:DISK_PARTITION_IOPS_READ:data", 5_000));
+        assertEquals(2, tracker.size());
+        assertEquals(5_000, tracker.getHighWaterMark());
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        TimestampTracker tracker = new TimestampTracker(4);
+        for (int i = 0; i < 10_000; i++) {
+            tracker.advance("host-" + i + ":27017:CPU", i);
+        }
+
+        assertEquals(10_000, tracker.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, tracker.get("host-" + i + ":27017:CPU"));
+        }
+        assertEquals(TimestampTracker.NO_TIMESTAMP, tracker.get("host-10000:27017:CPU"));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        TimestampTracker tracker = new TimestampTracker();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            String key = "shard-" + (i % 7) + ".mongodb.net:27017:METRIC_" + i + (i % 3 == 0 ? ":data" : "");
+            tracker.advance(key, 1_700_000_000_000L + i * 60_000L);
+            expected.put(key, 1_700_000_000_000L + i * 60_000L);
+        }
+
+        Path snapshot = tempDir.resolve("nested").resolve("metrics.tracker");
+        tracker.writeSnapshot(snapshot);
+        TimestampTracker loaded = TimestampTracker.readSnapshot(snapshot);
+
+        assertEquals(expected.size(), loaded.size());
+        assertEquals(tracker.getHighWaterMark(), loaded.getHighWaterMark());
+        Map<String, Long> actual = new HashMap<>();
+        loaded.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testEmptySnapshotRoundTrip() throws IOException {
+        Path snapshot = tempDir.resolve("empty.tracker");
+        new TimestampTracker().writeSnapshot(snapshot);
+
+        TimestampTracker loaded = TimestampTracker.readSnapshot(snapshot);
+        assertEquals(0, loaded.size());
+        assertEquals(TimestampTracker.NO_TIMESTAMP, loaded.getHighWaterMark());
+    }
+
+    @Test
+    public void testTruncatedOrForeignSnapshotIsRejected() throws IOException {
+        TimestampTracker tracker = new TimestampTracker();
+        tracker.advance("host:27017:CPU", 1_000);
+        tracker.advance("host:27017:MEMORY", 2_000);
+        Path snapshot = tempDir.resolve("metrics.tracker");
+        tracker.writeSnapshot(snapshot);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Path truncated = tempDir.resolve("truncated.tracker");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> TimestampTracker.readSnapshot(truncated));
+
+        // An entry count far beyond what the file holds is rejected before sizing the table
+        Path corrupt = tempDir.resolve("corrupt.tracker");
+        byte[] corruptCount = bytes.clone();
+        corruptCount[8] = 0x18;
+        Files.write(corrupt, corruptCount);
+        assertThrows(IOException.class, () -> TimestampTracker.readSnapshot(corrupt));
+
+        Path foreign = tempDir.resolve("foreign.tracker");
+        Files.write(foreign, "not a tracker snapshot at all".getBytes());
+        assertThrows(IOException.class, () -> TimestampTracker.readSnapshot(foreign));
+    }
+}
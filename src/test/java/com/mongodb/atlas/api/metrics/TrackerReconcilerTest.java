@@ -0,0 +1,142 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
+
+/**
+ * Unit tests for TrackerReconciler tracker updates, job bookkeeping and resuming,
+ * against in-memory collections
+ */
+public class TrackerReconcilerTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+    private static final Duration WINDOW = Duration.ofDays(7);
+    private static final List<String> HOSTS = List.of("host-a:27017", "host-b:27017", "host-c:27017");
+
+    private final FakeCollection<Document> metrics = new FakeCollection<>();
+    private final FakeCollection<Document> trackerCollection = new FakeCollection<>();
+    private final FakeCollection<Document> jobs = new FakeCollection<>();
+    private final TimestampTracker tracker = new TimestampTracker();
+    private final Set<String> scannedHosts = ConcurrentHashMap.newKeySet();
+    private final Set<String> failingHosts = ConcurrentHashMap.newKeySet();
+
+    public TrackerReconcilerTest() {
+        metrics.on("distinct", args -> FakeCollection.iterable(DistinctIterable.class, HOSTS));
+        metrics.on("aggregate", args -> {
+            @SuppressWarnings("unchecked")
+            String match = ((List<Bson>) args[0]).get(0).toBsonDocument().toJson();
+            String host = HOSTS.stream().filter(match::contains).findFirst().get();
+            scannedHosts.add(host);
+            if (failingHosts.contains(host)) {
+                throw new MongoException("aggregation failed");
+            }
+            // CPU latest at index minutes, one partition's IOPS a minute later
+            long latest = START + HOSTS.indexOf(host) * MINUTE;
+            return FakeCollection.iterable(AggregateIterable.class, List.of(
+                    new Document("_id", new Document("metric", "CPU").append("partition", null))
+                            .append("lastTimestamp", new Date(latest)),
+                    new Document("_id", new Document("metric", "DISK_PARTITION_IOPS_READ").append("partition", "data"))
+                            .append("lastTimestamp", new Date(latest + MINUTE))));
+        });
+    }
+
+    private TrackerReconciler reconciler() {
+        return new TrackerReconciler(metrics.collection(), trackerCollection.collection(), jobs.collection(), tracker,
+                WINDOW, 2);
+    }
+
+    private List<String> completedHosts() {
+        return jobs.document("current").getList("completedHosts", String.class);
+    }
+
+    @Test
+    public void testAdvancesTrackerAndCompletesJob() throws InterruptedException {
+        assertEquals(6, reconciler().run());
+
+        assertEquals(Set.copyOf(HOSTS), scannedHosts);
+        assertEquals(START + MINUTE, tracker.get("host-b:27017:CPU"));
+        assertEquals(START + 2 * MINUTE, tracker.get("host-b:27017:DISK_PARTITION_IOPS_READ:data"));
+        Document entry = trackerCollection.document("host-c:27017:DISK_PARTITION_IOPS_READ:data");
+        assertEquals(new Date(START + 3 * MINUTE), entry.getDate("lastTimestamp"));
+        assertEquals("data", entry.getString("partition"));
+
+        Document job = jobs.document("current");
+        assertEquals(WINDOW.toString(), job.getString("window"));
+        assertEquals(Set.copyOf(HOSTS), Set.copyOf(completedHosts()));
+        assertNotNull(job.getDate("completedAt"));
+
+        // Entries already current are not counted again
+        scannedHosts.clear();
+        assertEquals(0, reconciler().run());
+        assertEquals(Set.copyOf(HOSTS), scannedHosts);
+    }
+
+    @Test
+    public void testFailedHostLeavesJobOpenAndIsScannedOnResume() throws InterruptedException {
+        failingHosts.add("host-b:27017");
+        assertEquals(4, reconciler().run());
+
+        assertEquals(Set.of("host-a:27017", "host-c:27017"), Set.copyOf(completedHosts()));
+        assertNull(jobs.document("current").getDate("completedAt"));
+        assertEquals(TimestampTracker.NO_TIMESTAMP, tracker.get("host-b:27017:CPU"));
+        Date since = jobs.document("current").getDate("since");
+
+        // The next run resumes the same job and only scans the host not done
+        failingHosts.clear();
+        scannedHosts.clear();
+        assertEquals(2, reconciler().run());
+
+        assertEquals(Set.of("host-b:27017"), scannedHosts);
+        assertEquals(START + MINUTE, tracker.get("host-b:27017:CPU"));
+        assertEquals(since, jobs.document("current").getDate("since"));
+        assertEquals(Set.copyOf(HOSTS), Set.copyOf(completedHosts()));
+        assertNotNull(jobs.document("current").getDate("completedAt"));
+    }
+
+    @Test
+    public void testJobForAnotherWindowStartsOver() throws InterruptedException {
+        jobs.insert(new Document("_id", "current").append("window", Duration.ofDays(30).toString())
+                .append("since", new Date(START)).append("startedAt", new Date(START))
+                .append("completedHosts", new ArrayList<>(HOSTS)).append("completedAt", null));
+
+        Instant before = Instant.ofEpochMilli(System.currentTimeMillis());
+        reconciler().run();
+
+        assertEquals(Set.copyOf(HOSTS), scannedHosts);
+        Document job = jobs.document("current");
+        assertEquals(WINDOW.toString(), job.getString("window"));
+        assertFalse(job.getDate("since").toInstant().isBefore(before.minus(WINDOW)));
+        assertNotNull(job.getDate("completedAt"));
+    }
+
+    @Test
+    public void testFailedTrackerWriteDoesNotAdvanceInMemoryTracker() throws InterruptedException {
+        trackerCollection.on("bulkWrite", args -> {
+            throw new MongoException("write failed");
+        });
+        assertEquals(0, reconciler().run());
+
+        assertEquals(0, tracker.size());
+        assertTrue(completedHosts().isEmpty());
+        assertNull(jobs.document("current").getDate("completedAt"));
+        // Every host was attempted, two entries each
+        assertEquals(HOSTS.size(), trackerCollection.calls("bulkWrite").size());
+        trackerCollection.calls("bulkWrite").forEach(call -> assertEquals(2, call.list().size()));
+    }
+}
@@ -0,0 +1,237 @@
+package com.mongodb.atlas.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+
+/**
+ * Unit tests for WriteBehindBuffer flush triggers, insert batching, tracker updates,
+ * failed flushes and close, against in-memory collections
+ */
+public class WriteBehindBufferTest {
+
+    private static final long START = 1_709_251_200_000L; // 2024-03-01T00:00:00Z
+    private static final long MINUTE = 60_000L;
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final FakeCollection<MetricPoint> metrics = new FakeCollection<>();
+    private final FakeCollection<Document> tracker = new FakeCollection<>();
+
+    private static List<MetricPoint> points(String host, int from, int count) {
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", host, "CPU", null);
+        List<MetricPoint> points = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            points.add(new MetricPoint(START + i * MINUTE, i, metadata));
+        }
+        return points;
+    }
+
+    private static void add(WriteBehindBuffer buffer, String host, int from, int count) {
+        long lastMillis = START + (from + count - 1) * MINUTE;
+        buffer.add(points(host, from, count), host + ":CPU", lastMillis,
+                MetricsStorage.trackerUpdate(host, "CPU", null, new Date(lastMillis)));
+    }
+
+    private static int inserted(FakeCollection<MetricPoint> metrics) {
+        return metrics.calls("insertMany").stream().mapToInt(call -> call.list().size()).sum();
+    }
+
+    @Test
+    public void testFullBufferFlushesInsertsThenOneTrackerWrite() {
+        List<Map<String, Long>> flushed = new CopyOnWriteArrayList<>();
+        try (WriteBehindBuffer buffer = new WriteBehindBuffer(metrics.collection(), tracker.collection(), 5, NEVER,
+                listener(flushed, new ArrayList<>()))) {
+            add(buffer, "host-a", 0, 2);
+            add(buffer, "host-b", 0, 2);
+            assertTrue(metrics.calls("insertMany").isEmpty());
+            assertEquals(4, buffer.getBufferedDocuments());
+
+            // Fills the buffer and flushes on the calling thread
+            add(buffer, "host-a", 2, 2);
+            assertEquals(0, buffer.getBufferedDocuments());
+            assertEquals(1, metrics.calls("insertMany").size());
+            assertEquals(Thread.currentThread().getName(), metrics.calls("insertMany").get(0).thread);
+            assertEquals(6, inserted(metrics));
+
+            // Updates of a key are coalesced into one bulk write per flush
+            assertEquals(1, tracker.calls("bulkWrite").size());
+            assertEquals(2, tracker.calls("bulkWrite").get(0).list().size());
+            assertEquals(new Date(START + 3 * MINUTE), tracker.document("host-a:CPU").getDate("lastTimestamp"));
+            assertEquals(new Date(START + MINUTE), tracker.document("host-b:CPU").getDate("lastTimestamp"));
+            assertEquals(Map.of("host-a:CPU", START + 3 * MINUTE, "host-b:CPU", START + MINUTE), flushed.get(0));
+        }
+    }
+
+    @Test
+    public void testBufferedDocumentsAreFlushedOnceOldEnough() throws Exception {
+        List<Map<String, Long>> flushed = new CopyOnWriteArrayList<>();
+        try (WriteBehindBuffer buffer = new WriteBehindBuffer(metrics.collection(), tracker.collection(), 1_000, 20,
+                listener(flushed, new ArrayList<>()))) {
+            add(buffer, "host-a", 0, 3);
+            waitFor(() -> !flushed.isEmpty());
+
+            assertEquals(1, metrics.calls("insertMany").size());
+            assertEquals("metrics-write-behind", metrics.calls("insertMany").get(0).thread);
+            assertEquals(3, inserted(metrics));
+            assertEquals(1, tracker.calls("bulkWrite").size());
+            assertEquals(0, buffer.getBufferedDocuments());
+        }
+    }
+
+    @Test
+    public void testInsertsStayWithinTheMessageSizeLimit() {
+        // Metadata of about 4 KB per document, so a flush does not fit one 16 MB message
+        MetricPoint.Metadata metadata = new MetricPoint.Metadata("project", "h".repeat(4_000), "CPU", null);
+        List<MetricPoint> batch = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(new MetricPoint(START + i * MINUTE, i, metadata));
+        }
+        int documentBytes = new RawBsonDocument(batch.get(0), new MetricPointCodec()).getByteBuffer().remaining();
+        int batchSize = WriteBehindBuffer.insertBatchSize(documentBytes);
+
+        try (WriteBehindBuffer buffer = new WriteBehindBuffer(metrics.collection(), tracker.collection(), 100_000,
+                NEVER)) {
+            buffer.add(batch, "key", START, MetricsStorage.trackerUpdate("host", "CPU", null, new Date(START)));
+            buffer.flush();
+        }
+
+        List<FakeCollection.Call> inserts = metrics.calls("insertMany");
+        assertEquals((10_000 + batchSize - 1) / batchSize, inserts.size());
+        assertTrue(inserts.size() > 1);
+        for (FakeCollection.Call insert : inserts) {
+            assertTrue((long) insert.list().size() * documentBytes <= WriteBehindBuffer.MAX_BATCH_BYTES / 2);
+        }
+        assertEquals(10_000, inserted(metrics));
+    }
+
+    @Test
+    public void testInsertsStayWithinTheOperationLimit() {
+        // Documents without metadata are small enough for the 100,000 operation limit to apply
+        List<MetricPoint> batch = new ArrayList<>();
+        for (int i = 0; i < 150_000; i++) {
+            batch.add(new MetricPoint(START + i * MINUTE, i, null));
+        }
+        try (WriteBehindBuffer buffer = new WriteBehindBuffer(metrics.collection(), tracker.collection(), 1_000_000,
+                NEVER)) {
+            buffer.add(batch, "key", START, MetricsStorage.trackerUpdate("host", "CPU", null, new Date(START)));
+            buffer.flush();
+        }
+
+        List<FakeCollection.Call> inserts = metrics.calls("insertMany");
+        assertEquals(2, inserts.size());
+        assertEquals(WriteBehindBuffer.MAX_BATCH_COUNT, inserts.get(0).list().size());
+        assertEquals(50_000, inserts.get(1).list().size());
+
+        assertEquals(WriteBehindBuffer.MAX_BATCH_COUNT, WriteBehindBuffer.insertBatchSize(1));
+        assertEquals(1, WriteBehindBuffer.insertBatchSize(WriteBehindBuffer.MAX_BATCH_BYTES));
+    }
+
+    @Test
+    public void testFailedFlushForgetsBufferedTimestampsAndInvalidatesCoverage() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        metrics.on("insertMany", args -> {
+            if (failing.get()) {
+                throw new MongoException("insert failed");
+            }
+            return null;
+        });
+        TimestampTracker timestamps = new TimestampTracker();
+        List<List<MetricPoint>> afterInsert = new ArrayList<>();
+        AtomicInteger invalidations = new AtomicInteger();
+        WriteBehindTracker tracking = new WriteBehindTracker(timestamps, afterInsert::add,
+                invalidations::incrementAndGet);
+
+        try (WriteBehindBuffer buffer = new WriteBehindBuffer(metrics.collection(), tracker.collection(), 1_000,
+                NEVER, tracking)) {
+            tracking.buffered("host-a:CPU", START + 2 * MINUTE);
+            add(buffer, "host-a", 0, 3);
+            buffer.flush();
+
+            assertEquals(1, buffer.getFailedFlushes());
+            assertTrue(tracker.calls("bulkWrite").isEmpty());
+            assertEquals(TimestampTracker.NO_TIMESTAMP, tracking.getBuffered("host-a:CPU"));
+            assertEquals(TimestampTracker.NO_TIMESTAMP, timestamps.get("host-a:CPU"));
+            assertEquals(1, invalidations.get());
+            assertTrue(afterInsert.isEmpty());
+
+            // The next collection fetches the range again and stores it
+            failing.set(false);
+            tracking.buffered("host-a:CPU", START + 2 * MINUTE);
+            add(buffer, "host-a", 0, 3);
+            buffer.flush();
+
+            assertEquals(START + 2 * MINUTE, timestamps.get("host-a:CPU"));
+            assertEquals(TimestampTracker.NO_TIMESTAMP, tracking.getBuffered("host-a:CPU"));
+            assertEquals(1, afterInsert.size());
+            assertEquals(3, afterInsert.get(0).size());
+            assertEquals(1, invalidations.get());
+        }
+    }
+
+    @Test
+    public void testLaterBufferedBatchSurvivesTheFlushOfAnEarlierOne() {
+        TimestampTracker timestamps = new TimestampTracker();
+        WriteBehindTracker tracking = new WriteBehindTracker(timestamps, points -> {
+        }, () -> {
+        });
+        tracking.buffered("host-a:CPU", START + MINUTE);
+        tracking.buffered("host-a:CPU", START + 3 * MINUTE);
+
+        tracking.flushed(points("host-a", 0, 2), Map.of("host-a:CPU", START + MINUTE));
+
+        assertEquals(START + MINUTE, timestamps.get("host-a:CPU"));
+        assertEquals(START + 3 * MINUTE, tracking.getBuffered("host-a:CPU"));
+    }
+
+    @Test
+    public void testCloseFlushesDurablyAndRejectsFurtherBatches() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(metrics.collection(), tracker.collection(), 1_000, NEVER);
+        add(buffer, "host-a", 0, 3);
+        buffer.close();
+
+        WriteConcern durable = WriteConcern.MAJORITY.withJournal(true);
+        assertEquals(1, metrics.calls("insertMany").size());
+        assertEquals(durable, metrics.calls("insertMany").get(0).writeConcern);
+        assertEquals(durable, tracker.calls("bulkWrite").get(0).writeConcern);
+        assertEquals(0, buffer.getBufferedDocuments());
+        assertThrows(IllegalStateException.class, () -> add(buffer, "host-a", 3, 1));
+    }
+
+    private static WriteBehindBuffer.FlushListener listener(List<Map<String, Long>> flushed,
+            List<Map<String, Long>> failed) {
+        return new WriteBehindBuffer.FlushListener() {
+            @Override
+            public void flushed(List<MetricPoint> documents, Map<String, Long> trackedMillis) {
+                flushed.add(trackedMillis);
+            }
+
+            @Override
+            public void failed(List<MetricPoint> documents, Map<String, Long> trackedMillis) {
+                failed.add(trackedMillis);
+            }
+        };
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for condition");
+            Thread.sleep(5);
+        }
+    }
+}
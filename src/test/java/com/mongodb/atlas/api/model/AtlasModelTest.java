@@ -0,0 +1,84 @@
+package com.mongodb.atlas.api.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for decoding the typed Atlas models
+ */
+public class AtlasModelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testProcessPageDecodesAndInternsTypeName() throws Exception {
+        String json = "{\"links\":[],\"results\":["
+                + "{\"id\":\"c0-shard-00-00.abc.mongodb.net:27017\",\"hostname\":\"c0-shard-00-00.abc.mongodb.net\","
+                + "\"port\":27017,\"typeName\":\"REPLICA_PRIMARY\",\"userAlias\":\"c0-shard-00-00.abc.mongodb.net\","
+                + "\"replicaSetName\":\"atlas-abc-shard-0\",\"version\":\"7.0.12\",\"lastPing\":\"2024-01-01T00:00:00Z\"},"
+                + "{\"id\":\"c0-config-00-00.abc.mongodb.net:27017\",\"hostname\":\"c0-config-00-00.abc.mongodb.net\","
+                + "\"port\":27017,\"typeName\":\"SHARD_CONFIG_PRIMARY\"},"
+                + "{\"id\":\"c0-mongos-00-00.abc.mongodb.net:27016\",\"hostname\":\"c0-mongos-00-00.abc.mongodb.net\","
+                + "\"port\":27016,\"typeName\":\"SHARD_MONGOS\"}"
+                + "],\"totalCount\":3}";
+
+        JavaType type = objectMapper.getTypeFactory().constructParametricType(AtlasPage.class, AtlasProcess.class);
+        AtlasPage<AtlasProcess> page = objectMapper.readValue(json, type);
+
+        assertEquals(3, page.getTotalCount());
+        List<AtlasProcess> processes = page.getResults();
+        assertEquals(3, processes.size());
+
+        AtlasProcess primary = processes.get(0);
+        assertEquals("c0-shard-00-00.abc.mongodb.net", primary.getHostname());
+        assertEquals(27017, primary.getPort());
+        assertEquals("atlas-abc-shard-0", primary.getReplicaSetName());
+        assertSame("REPLICA_PRIMARY", primary.getTypeName());
+        assertTrue(primary.isDataBearing());
+
+        assertTrue(processes.get(1).isConfigServer());
+        assertFalse(processes.get(1).isDataBearing());
+        assertTrue(processes.get(2).isMongos());
+        assertFalse(processes.get(2).isDataBearing());
+    }
+
+    @Test
+    public void testAlertDecodesTimestampsAndCurrentValue() throws Exception {
+        String json = "{\"id\":\"65a000000000000000000001\",\"eventTypeName\":\"OUTSIDE_METRIC_THRESHOLD\","
+                + "\"status\":\"OPEN\",\"metricName\":\"NORMALIZED_SYSTEM_CPU_USER\",\"clusterName\":\"c0\","
+                + "\"hostnameAndPort\":\"c0-shard-00-00.abc.mongodb.net:27017\","
+                + "\"currentValue\":{\"number\":91.5,\"units\":\"RAW\"},"
+                + "\"created\":\"2024-03-01T10:15:30Z\",\"updated\":\"2024-03-01T10:20:30.123Z\","
+                + "\"links\":[{\"rel\":\"self\"}]}";
+
+        AtlasAlert alert = objectMapper.readValue(json, AtlasAlert.class);
+
+        assertTrue(alert.isOpen());
+        assertSame("OPEN", alert.getStatus());
+        assertSame("NORMALIZED_SYSTEM_CPU_USER", alert.getMetricName());
+        assertEquals(Instant.parse("2024-03-01T10:15:30Z"), alert.getCreated());
+        assertEquals(Instant.parse("2024-03-01T10:20:30.123Z"), alert.getUpdated());
+        assertNull(alert.getResolved());
+        assertEquals(91.5, alert.getCurrentValue().getNumber());
+        assertEquals("RAW", alert.getCurrentValue().getUnits());
+    }
+
+    @Test
+    public void testClusterIgnoresUnknownFields() throws Exception {
+        String json = "{\"id\":\"x\",\"name\":\"c0\",\"clusterType\":\"SHARDED\",\"stateName\":\"IDLE\","
+                + "\"paused\":false,\"replicationSpecs\":[{\"numShards\":2}],\"mongoDBVersion\":\"7.0.12\"}";
+
+        AtlasCluster cluster = objectMapper.readValue(json, AtlasCluster.class);
+
+        assertEquals("c0", cluster.getName());
+        assertEquals("IDLE", cluster.getStateName());
+        assertTrue(cluster.isSharded());
+        assertFalse(cluster.isPaused());
+    }
+}